@@ -0,0 +1,392 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ *
+ * Copyright 2026 Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package dev.resteasy.grpc.bridge.runtime;
+
+import java.util.AbstractMap;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.function.Function;
+
+import jakarta.ws.rs.core.HttpHeaders;
+import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.core.MultivaluedMap;
+
+import io.undertow.util.LocaleUtils;
+
+/**
+ * A case-insensitive, read-mostly view of request headers.
+ * <p>
+ * The headers sent in a GeneralEntityMessage are not copied. The proto {@code gHeader} map is
+ * held as is and each value list is obtained from it only when the header is asked for. Entries
+ * are looked up in three layers:
+ * <ol>
+ * <li>entries put after the client headers were attached,</li>
+ * <li>the client headers,</li>
+ * <li>entries put before the client headers were attached, such as the bridge's fixed
+ * {@code Accept} and {@code Content-Type} values.</li>
+ * </ol>
+ * so that, as with a plain map, the most recent write of a header wins. Lists passed to
+ * {@link #put(String, List)} are stored by reference; the {@link MultivaluedMap} mutators copy a
+ * list before changing it.
+ * <p>
+ * The parsed {@code Content-Type} and {@code Accept-Language} values are cached until either header
+ * is changed. This class is not thread safe.
+ */
+public final class HeaderMap extends AbstractMap<String, List<String>> implements MultivaluedMap<String, String> {
+
+    public static final List<String> ACCEPT_VALUES = List.of("application/grpc-jaxrs", "*/*;grpc-jaxrs=true");
+    public static final List<String> CONTENT_TYPE_VALUES = List.of("*/*;grpc-jaxrs=true");
+    public static final List<String> ANY_VALUES = List.of("true");
+
+    private static final MediaType UNPARSEABLE = new MediaType("unparseable", "unparseable");
+
+    private Map<String, ?> source;
+    private Function<Object, List<String>> values;
+    private Map<String, List<String>> defaults;
+    private Map<String, List<String>> local;
+    private Map<String, List<String>> merged;
+    private MediaType mediaType;
+    private List<Locale> locales;
+
+    public HeaderMap() {
+    }
+
+    /**
+     * Creates a view over the headers of a GeneralEntityMessage.
+     *
+     * @param source the proto header map, typically {@code GeneralEntityMessage.getHeadersMap()}
+     * @param values extracts the value list from a proto header, typically {@code gHeader::getValuesList}
+     * @param <T>    the generated {@code gHeader} type
+     *
+     * @return a new header map backed by {@code source}
+     */
+    @SuppressWarnings("unchecked")
+    public static <T> HeaderMap of(final Map<String, T> source, final Function<? super T, List<String>> values) {
+        HeaderMap map = new HeaderMap();
+        map.source = source;
+        map.values = (Function<Object, List<String>>) (Function<?, ?>) values;
+        return map;
+    }
+
+    /**
+     * Creates a header map holding the fixed {@code Accept} and {@code Content-Type} values the bridge
+     * sends to every resource.
+     */
+    public static HeaderMap withBridgeDefaults() {
+        HeaderMap map = new HeaderMap();
+        map.put(HttpHeaders.ACCEPT, ACCEPT_VALUES);
+        map.put(HttpHeaders.CONTENT_TYPE, CONTENT_TYPE_VALUES);
+        return map;
+    }
+
+    @Override
+    public List<String> get(final Object key) {
+        if (!(key instanceof String)) {
+            return null;
+        }
+        String name = (String) key;
+        if (local != null && local.containsKey(name)) {
+            return local.get(name);
+        }
+        List<String> list = fromSource(name);
+        if (list != null) {
+            return list;
+        }
+        return defaults == null ? null : defaults.get(name);
+    }
+
+    @Override
+    public boolean containsKey(final Object key) {
+        return get(key) != null;
+    }
+
+    @Override
+    public List<String> put(final String key, final List<String> value) {
+        List<String> previous = get(key);
+        local().put(key, value);
+        changed();
+        return previous;
+    }
+
+    /**
+     * Adds all entries of {@code m}. If {@code m} is itself a view over proto headers and no proto headers
+     * are attached to this map yet, they are attached without being read; the entries already present
+     * become defaults that the attached headers override.
+     */
+    @Override
+    public void putAll(final Map<? extends String, ? extends List<String>> m) {
+        if (m instanceof HeaderMap && ((HeaderMap) m).source != null && source == null) {
+            HeaderMap other = (HeaderMap) m;
+            if (local != null) {
+                if (defaults == null) {
+                    defaults = local;
+                } else {
+                    defaults.putAll(local);
+                }
+                defaults.values().removeIf(v -> v == null);
+                local = null;
+            }
+            if (other.defaults != null) {
+                defaults().putAll(other.defaults);
+            }
+            source = other.source;
+            values = other.values;
+            if (other.local != null) {
+                local().putAll(other.local);
+            }
+            changed();
+            return;
+        }
+        for (Map.Entry<? extends String, ? extends List<String>> entry : m.entrySet()) {
+            put(entry.getKey(), entry.getValue());
+        }
+    }
+
+    @Override
+    public List<String> remove(final Object key) {
+        if (!(key instanceof String)) {
+            return null;
+        }
+        List<String> previous = get(key);
+        if (previous != null) {
+            // A null value hides the entry in the lower layers.
+            local().put((String) key, null);
+            changed();
+        }
+        return previous;
+    }
+
+    @Override
+    public void clear() {
+        source = null;
+        values = null;
+        defaults = null;
+        local = null;
+        changed();
+    }
+
+    @Override
+    public Set<Map.Entry<String, List<String>>> entrySet() {
+        return merged().entrySet();
+    }
+
+    @Override
+    public Set<String> keySet() {
+        return merged().keySet();
+    }
+
+    @Override
+    public int size() {
+        return merged().size();
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return size() == 0;
+    }
+
+    ////////////////////////////////////////////////////////////////////////////////////////////////
+    //////////////////////////////////////   MultivaluedMap   //////////////////////////////////////
+    ////////////////////////////////////////////////////////////////////////////////////////////////
+    @Override
+    public void putSingle(final String key, final String value) {
+        put(key, Collections.singletonList(value));
+    }
+
+    @Override
+    public void add(final String key, final String value) {
+        owned(key).add(value);
+    }
+
+    @Override
+    public String getFirst(final String key) {
+        List<String> list = get(key);
+        return list == null || list.isEmpty() ? null : list.get(0);
+    }
+
+    @Override
+    public void addAll(final String key, final String... newValues) {
+        addAll(key, Arrays.asList(newValues));
+    }
+
+    @Override
+    public void addAll(final String key, final List<String> valueList) {
+        owned(key).addAll(valueList);
+    }
+
+    @Override
+    public void addFirst(final String key, final String value) {
+        owned(key).add(0, value);
+    }
+
+    @Override
+    public boolean equalsIgnoreValueOrder(final MultivaluedMap<String, String> otherMap) {
+        if (this == otherMap) {
+            return true;
+        }
+        if (!keySet().equals(otherMap.keySet())) {
+            return false;
+        }
+        for (Map.Entry<String, List<String>> entry : entrySet()) {
+            List<String> other = otherMap.get(entry.getKey());
+            if (other == null || entry.getValue().size() != other.size()
+                    || !entry.getValue().containsAll(other)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    ////////////////////////////////////////////////////////////////////////////////////////////////
+    //////////////////////////////////////   parsed values   ///////////////////////////////////////
+    ////////////////////////////////////////////////////////////////////////////////////////////////
+
+    /**
+     * Returns the first {@code Content-Type} value parsed as a {@link MediaType}, or {@code null} if there
+     * is none or it cannot be parsed. The result is cached until {@code Content-Type} is changed.
+     */
+    public MediaType getMediaType() {
+        MediaType result = mediaType;
+        if (result == null) {
+            String value = getFirst(HttpHeaders.CONTENT_TYPE);
+            result = UNPARSEABLE;
+            if (value != null) {
+                try {
+                    result = MediaType.valueOf(value);
+                } catch (IllegalArgumentException e) {
+                    // leave as UNPARSEABLE
+                }
+            }
+            mediaType = result;
+        }
+        return result == UNPARSEABLE ? null : result;
+    }
+
+    /**
+     * Returns the locales listed in {@code Accept-Language}, in order of preference. The result is cached
+     * until {@code Accept-Language} is changed.
+     */
+    public List<Locale> getLocales() {
+        List<Locale> result = locales;
+        if (result == null) {
+            List<String> acceptLanguage = get(HttpHeaders.ACCEPT_LANGUAGE);
+            result = acceptLanguage == null ? List.of()
+                    : Collections.unmodifiableList(LocaleUtils.getLocalesFromHeader(acceptLanguage));
+            locales = result;
+        }
+        return result;
+    }
+
+    ////////////////////////////////////////////////////////////////////////////////////////////////
+    /////////////////////////////////////   private methods   //////////////////////////////////////
+    ////////////////////////////////////////////////////////////////////////////////////////////////
+    private List<String> fromSource(final String name) {
+        if (source == null) {
+            return null;
+        }
+        Object header = source.get(name);
+        if (header == null) {
+            // Header names are few, so a scan is cheaper than building an index.
+            for (Map.Entry<String, ?> entry : source.entrySet()) {
+                if (entry.getKey().equalsIgnoreCase(name)) {
+                    header = entry.getValue();
+                    break;
+                }
+            }
+        }
+        return header == null ? null : values.apply(header);
+    }
+
+    private Map<String, List<String>> merged() {
+        Map<String, List<String>> result = merged;
+        if (result == null) {
+            result = new TreeMap<String, List<String>>(String.CASE_INSENSITIVE_ORDER);
+            if (defaults != null) {
+                result.putAll(defaults);
+            }
+            if (source != null) {
+                for (Map.Entry<String, ?> entry : source.entrySet()) {
+                    result.put(entry.getKey(), values.apply(entry.getValue()));
+                }
+            }
+            if (local != null) {
+                for (Map.Entry<String, List<String>> entry : local.entrySet()) {
+                    if (entry.getValue() == null) {
+                        result.remove(entry.getKey());
+                    } else {
+                        result.put(entry.getKey(), entry.getValue());
+                    }
+                }
+            }
+            merged = result = Collections.unmodifiableMap(result);
+        }
+        return result;
+    }
+
+    private List<String> owned(final String key) {
+        List<String> list = get(key);
+        if (!(list instanceof OwnedList)) {
+            list = list == null ? new OwnedList() : new OwnedList(list);
+            local().put(key, list);
+        }
+        changed();
+        return list;
+    }
+
+    private Map<String, List<String>> local() {
+        if (local == null) {
+            local = new TreeMap<String, List<String>>(String.CASE_INSENSITIVE_ORDER);
+        }
+        return local;
+    }
+
+    private Map<String, List<String>> defaults() {
+        if (defaults == null) {
+            defaults = new TreeMap<String, List<String>>(String.CASE_INSENSITIVE_ORDER);
+        }
+        return defaults;
+    }
+
+    private void changed() {
+        merged = null;
+        mediaType = null;
+        locales = null;
+    }
+
+    /**
+     * A list created by this map, which may be modified in place.
+     */
+    private static final class OwnedList extends ArrayList<String> {
+        private static final long serialVersionUID = 1L;
+
+        OwnedList() {
+        }
+
+        OwnedList(final List<String> values) {
+            super(values);
+        }
+    }
+}
@@ -0,0 +1,149 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ *
+ * Copyright 2026 Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package dev.resteasy.grpc.bridge.runtime;
+
+import java.util.Locale;
+
+import jakarta.ws.rs.core.Cookie;
+import jakarta.ws.rs.core.NewCookie;
+import jakarta.ws.rs.ext.RuntimeDelegate;
+import jakarta.ws.rs.ext.RuntimeDelegate.HeaderDelegate;
+
+/**
+ * Naming rules for carrying HTTP headers and cookies in gRPC metadata rather than in
+ * GeneralEntityMessage and GeneralReturnMessage.
+ * <p>
+ * A client asks for this encoding by sending the metadata entry {@value #NEGOTIATION_KEY}. It then
+ * sends each HTTP header {@code h} as the metadata entry {@value #HEADER_PREFIX}{@code h}, and each
+ * cookie, in {@code Cookie} header format, as a separate {@value #COOKIE_KEY} entry. The server
+ * answers with {@value #NEGOTIATION_KEY} in its response headers, followed by response headers
+ * under the same prefix and each cookie, in {@code Set-Cookie} format, as a {@value #SET_COOKIE_KEY}
+ * entry. Because metadata travels as HTTP/2 headers, HPACK can index the entries that repeat across
+ * calls on a channel.
+ * <p>
+ * This class does not depend on gRPC; the generated service applies these rules to
+ * {@code io.grpc.Metadata}.
+ */
+public final class MetadataHeaders {
+
+    public static final String NEGOTIATION_KEY = "jaxrs-metadata";
+    public static final String HEADER_PREFIX = "jaxrs-h-";
+    public static final String COOKIE_KEY = "jaxrs-cookie";
+    public static final String SET_COOKIE_KEY = "jaxrs-set-cookie";
+
+    private static final String BINARY_SUFFIX = "-bin";
+
+    private MetadataHeaders() {
+        // restrict instantiation
+    }
+
+    /**
+     * Returns the HTTP header name carried by a metadata key, or {@code null} if the key doesn't carry
+     * an HTTP header.
+     */
+    public static String toHeaderName(final String key) {
+        if (!key.startsWith(HEADER_PREFIX) || key.endsWith(BINARY_SUFFIX) || key.length() == HEADER_PREFIX.length()) {
+            return null;
+        }
+        return key.substring(HEADER_PREFIX.length());
+    }
+
+    /**
+     * Returns the metadata key for an HTTP header, or {@code null} if the name can't be expressed as a
+     * metadata key. gRPC only allows lower case letters, digits, '-', '_' and '.' in keys.
+     */
+    public static String toMetadataKey(final String headerName) {
+        if (headerName.isEmpty()) {
+            return null;
+        }
+        String name = headerName.toLowerCase(Locale.ROOT);
+        if (name.endsWith(BINARY_SUFFIX)) {
+            return null;
+        }
+        for (int i = 0; i < name.length(); i++) {
+            char c = name.charAt(i);
+            if (!((c >= 'a' && c <= 'z') || (c >= '0' && c <= '9') || c == '-' || c == '_' || c == '.')) {
+                return null;
+            }
+        }
+        return HEADER_PREFIX + name;
+    }
+
+    /**
+     * Parses a {@value #COOKIE_KEY} value.
+     */
+    public static Cookie toCookie(final String value) {
+        HeaderDelegate<Cookie> delegate = RuntimeDelegate.getInstance().createHeaderDelegate(Cookie.class);
+        return delegate.fromString(value);
+    }
+
+    /**
+     * Parses a {@value #COOKIE_KEY} value into a servlet cookie.
+     */
+    public static jakarta.servlet.http.Cookie toServletCookie(final String value) {
+        Cookie cookie = toCookie(value);
+        jakarta.servlet.http.Cookie servletCookie = new jakarta.servlet.http.Cookie(cookie.getName(), cookie.getValue());
+        servletCookie.setVersion(cookie.getVersion());
+        if (cookie.getPath() != null) {
+            servletCookie.setPath(cookie.getPath());
+        }
+        if (cookie.getDomain() != null) {
+            servletCookie.setDomain(cookie.getDomain());
+        }
+        return servletCookie;
+    }
+
+    /**
+     * Formats a cookie set by a Jakarta REST resource as a {@value #SET_COOKIE_KEY} value.
+     */
+    public static String toSetCookie(final NewCookie cookie) {
+        return RuntimeDelegate.getInstance().createHeaderDelegate(NewCookie.class).toString(cookie);
+    }
+
+    /**
+     * Formats a cookie added with {@code HttpServletResponse.addCookie()} as a {@value #SET_COOKIE_KEY} value.
+     */
+    public static String toSetCookie(final jakarta.servlet.http.Cookie cookie) {
+        StringBuilder sb = new StringBuilder();
+        sb.append(cookie.getName()).append('=').append(cookie.getValue() == null ? "" : cookie.getValue());
+        if (cookie.getVersion() != 0) {
+            sb.append(";Version=").append(cookie.getVersion());
+        }
+        if (cookie.getComment() != null) {
+            sb.append(";Comment=").append(cookie.getComment());
+        }
+        if (cookie.getDomain() != null) {
+            sb.append(";Domain=").append(cookie.getDomain());
+        }
+        if (cookie.getPath() != null) {
+            sb.append(";Path=").append(cookie.getPath());
+        }
+        if (cookie.getMaxAge() >= 0) {
+            sb.append(";Max-Age=").append(cookie.getMaxAge());
+        }
+        if (cookie.getSecure()) {
+            sb.append(";Secure");
+        }
+        if (cookie.isHttpOnly()) {
+            sb.append(";HttpOnly");
+        }
+        return sb.toString();
+    }
+}
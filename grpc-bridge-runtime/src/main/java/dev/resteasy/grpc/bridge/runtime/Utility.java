@@ -42,6 +42,7 @@ import com.google.protobuf.GeneratedMessage.Builder;
 import com.google.protobuf.Message;
 
 import dev.resteasy.grpc.bridge.runtime.i18n.Messages;
+import dev.resteasy.grpc.bridge.runtime.protobuf.InstantiationPlan;
 import dev.resteasy.grpc.bridge.runtime.protobuf.JavabufTranslator;
 
 public final class Utility {
@@ -158,11 +159,8 @@ public final class Utility {
                 return;
             }
 
-            var lookup = MethodHandles.privateLookupIn(Field.class, MethodHandles.lookup());
-            VarHandle MODIFIERS = lookup.findVarHandle(Field.class, "modifiers", int.class);
-
             // make field non-final
-            MODIFIERS.set(field, field.getModifiers() & ~Modifier.FINAL);
+            FieldModifiers.get().set(field, field.getModifiers() & ~Modifier.FINAL);
             field.setAccessible(true);
         }
         field.setAccessible(true);
@@ -258,16 +256,13 @@ public final class Utility {
         return null;
     }
 
-    @SuppressWarnings("deprecation")
     public static Object getHiddenObject(Class<?> clazz, String hidden) {
         try {
-            for (Class<?> c : clazz.getDeclaredClasses()) {
-                if (hidden.equals(c.getSimpleName())) {
-
-                    return c.newInstance();
-                }
+            Class<?> c = InstantiationPlan.of(clazz).getDeclaredClass(hidden);
+            if (c == null) {
+                throw Messages.MESSAGES.cantFind(clazz.getName() + "." + hidden);
             }
-            throw Messages.MESSAGES.cantFind(clazz.getName() + "." + hidden);
+            return InstantiationPlan.of(c).newInstance();
         } catch (Exception e) {
             throw new RuntimeException(e);
         }
@@ -408,4 +403,32 @@ public final class Utility {
             return sb.toString();
         }
     }
+
+    /**
+     * Holds the handle used to clear the final modifier of a field, looked up once.
+     */
+    private static final class FieldModifiers {
+        private static final VarHandle MODIFIERS;
+        private static final Exception FAILURE;
+
+        static {
+            VarHandle modifiers = null;
+            Exception failure = null;
+            try {
+                var lookup = MethodHandles.privateLookupIn(Field.class, MethodHandles.lookup());
+                modifiers = lookup.findVarHandle(Field.class, "modifiers", int.class);
+            } catch (Exception e) {
+                failure = e;
+            }
+            MODIFIERS = modifiers;
+            FAILURE = failure;
+        }
+
+        static VarHandle get() throws Exception {
+            if (MODIFIERS == null) {
+                throw FAILURE;
+            }
+            return MODIFIERS;
+        }
+    }
 }
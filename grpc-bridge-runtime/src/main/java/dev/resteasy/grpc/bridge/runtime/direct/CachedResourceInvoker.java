@@ -0,0 +1,134 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ *
+ * Copyright 2026 Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package dev.resteasy.grpc.bridge.runtime.direct;
+
+import java.util.List;
+import java.util.Objects;
+
+import jakarta.ws.rs.core.HttpHeaders;
+
+import org.jboss.resteasy.core.ResourceMethodInvoker;
+import org.jboss.resteasy.core.SynchronousDispatcher;
+import org.jboss.resteasy.core.registry.SegmentNode;
+import org.jboss.resteasy.specimpl.ResteasyUriInfo;
+import org.jboss.resteasy.spi.HttpRequest;
+import org.jboss.resteasy.spi.ResourceInvoker;
+
+/**
+ * Remembers the {@link ResourceMethodInvoker} chosen for an rpc whose resource method has a static path, so
+ * that later calls can skip Jakarta REST request matching. The generated &lt;prefix&gt;ServiceGrpcImpl holds
+ * one instance for each such rpc.
+ * <p>
+ * The cached invoker is used only if the request has the static path and the same HTTP method, Accept and
+ * Content-Type headers as the request which was matched. Any other request is matched normally. Caching is
+ * off unless the system property {@value #CACHED_INVOKERS} is set to "true".
+ */
+public final class CachedResourceInvoker {
+
+    public static final String CACHED_INVOKERS = "dev.resteasy.grpc.direct.cached-invokers";
+    private static final boolean ENABLED = Boolean.getBoolean(CACHED_INVOKERS);
+
+    private final String path;
+    private final String httpMethod;
+    private volatile Match match;
+
+    /**
+     * @param path       the path of the resource method, without templates
+     * @param httpMethod the HTTP method of the resource method
+     */
+    public CachedResourceInvoker(final String path, final String httpMethod) {
+        this.path = normalize(path);
+        this.httpMethod = httpMethod;
+    }
+
+    public static boolean isEnabled() {
+        return ENABLED;
+    }
+
+    /**
+     * Finds the invoker for {@code request}, matching the request only if the cached invoker doesn't apply.
+     *
+     * @param dispatcher the deployment's dispatcher
+     * @param request    the request
+     * @return the invoker
+     */
+    ResourceInvoker getInvoker(final SynchronousDispatcher dispatcher, final HttpRequest request) {
+        if (!path.equals(normalize(request.getUri().getPath())) || !httpMethod.equals(request.getHttpMethod())) {
+            return dispatcher.getInvoker(request);
+        }
+        final String accept = request.getHttpHeaders().getHeaderString(HttpHeaders.ACCEPT);
+        final String contentType = request.getHttpHeaders().getHeaderString(HttpHeaders.CONTENT_TYPE);
+        final Match current = match;
+        if (current != null && current.matches(accept, contentType)) {
+            current.apply(request);
+            return current.invoker;
+        }
+        final ResourceInvoker invoker = dispatcher.getInvoker(request);
+        if (invoker instanceof ResourceMethodInvoker) {
+            match = new Match((ResourceMethodInvoker) invoker, accept, contentType,
+                    request.getAttribute(SegmentNode.RESTEASY_CHOSEN_ACCEPT),
+                    request.getUri().getMatchedURIs(false));
+        }
+        return invoker;
+    }
+
+    private static String normalize(final String path) {
+        String result = path.replaceAll("/+", "/");
+        if (result.length() > 1 && result.endsWith("/")) {
+            result = result.substring(0, result.length() - 1);
+        }
+        return result;
+    }
+
+    /**
+     * The outcome of matching a request, along with the state that matching leaves behind in the request.
+     */
+    private static final class Match {
+        private final ResourceMethodInvoker invoker;
+        private final String accept;
+        private final String contentType;
+        private final Object chosenAccept;
+        private final String[] matchedPaths;
+
+        private Match(final ResourceMethodInvoker invoker, final String accept, final String contentType,
+                final Object chosenAccept, final List<String> matchedUris) {
+            this.invoker = invoker;
+            this.accept = accept;
+            this.contentType = contentType;
+            this.chosenAccept = chosenAccept;
+            this.matchedPaths = matchedUris.toArray(new String[0]);
+        }
+
+        private boolean matches(final String accept, final String contentType) {
+            return Objects.equals(this.accept, accept) && Objects.equals(this.contentType, contentType);
+        }
+
+        private void apply(final HttpRequest request) {
+            if (chosenAccept != null) {
+                request.setAttribute(SegmentNode.RESTEASY_CHOSEN_ACCEPT, chosenAccept);
+            }
+            // getMatchedURIs() lists the most recent match first
+            final ResteasyUriInfo uriInfo = request.getUri();
+            for (int i = matchedPaths.length - 1; i >= 0; i--) {
+                uriInfo.pushMatchedPath(matchedPaths[i]);
+            }
+        }
+    }
+}
@@ -0,0 +1,176 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ *
+ * Copyright 2026 Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package dev.resteasy.grpc.bridge.runtime.direct;
+
+import java.io.IOException;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.concurrent.Callable;
+
+import jakarta.servlet.ServletConfig;
+import jakarta.servlet.ServletContext;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.ws.rs.core.SecurityContext;
+
+import org.jboss.resteasy.core.ResteasyContext;
+import org.jboss.resteasy.core.SynchronousDispatcher;
+import org.jboss.resteasy.core.SynchronousExecutionContext;
+import org.jboss.resteasy.plugins.server.servlet.HttpServletDispatcher;
+import org.jboss.resteasy.plugins.server.servlet.ResteasyContextParameters;
+import org.jboss.resteasy.specimpl.ResteasyUriInfo;
+import org.jboss.resteasy.spi.ResourceInvoker;
+
+import dev.resteasy.grpc.bridge.runtime.servlet.HttpServletResponseImpl;
+
+/**
+ * Invokes a resource method by handing a {@link GrpcHttpRequest} and a {@link GrpcHttpResponse} straight
+ * to the deployment's {@link SynchronousDispatcher}, skipping the servlet emulation layer.
+ * <p>
+ * The generated &lt;prefix&gt;ServiceGrpcImpl can only take this path for synchronous resource methods
+ * which do not refer to servlet types themselves. The generator can't see whether the filters, providers,
+ * superclasses or CDI beans involved in a call use them, so the path is off unless the system property
+ * {@value #DIRECT_DISPATCH} is "true". Even then, an {@link HttpServletRequest} is available to Jakarta REST
+ * components through {@code @Context}; it is only built if one of them calls it.
+ */
+public final class DirectDispatcher {
+
+    public static final String DIRECT_DISPATCH = "dev.resteasy.grpc.direct";
+    private static volatile boolean enabled = Boolean.getBoolean(DIRECT_DISPATCH);
+
+    private DirectDispatcher() {
+    }
+
+    public static boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Turns the direct path on or off for the deployment, overriding the system property
+     * {@value #DIRECT_DISPATCH}.
+     *
+     * @param enabled true if rpcs marked "direct" should skip the servlet emulation layer
+     */
+    public static void setEnabled(final boolean enabled) {
+        DirectDispatcher.enabled = enabled;
+    }
+
+    /**
+     * Builds the {@link ResteasyUriInfo} for {@code url} relative to the context path and the
+     * RESTEasy servlet mapping prefix of {@code servlet}, as the servlet layer would.
+     *
+     * @param servlet the servlet hosting the deployment
+     * @param url     the request URL
+     * @return the URI info
+     */
+    public static ResteasyUriInfo getUriInfo(final HttpServletDispatcher servlet, final String url) {
+        final ServletConfig config = servlet.getServletConfig();
+        final ServletContext context = servlet.getServletContext();
+        String prefix = config.getInitParameter(ResteasyContextParameters.RESTEASY_SERVLET_MAPPING_PREFIX);
+        if (prefix == null) {
+            prefix = context.getInitParameter(ResteasyContextParameters.RESTEASY_SERVLET_MAPPING_PREFIX);
+        }
+        String contextPath = context.getContextPath();
+        if (prefix != null && !prefix.isEmpty() && !"/".equals(prefix)) {
+            if (!contextPath.endsWith("/") && !prefix.startsWith("/")) {
+                contextPath += "/";
+            }
+            contextPath += prefix.trim();
+        }
+        return new ResteasyUriInfo(url, contextPath);
+    }
+
+    /**
+     * Dispatches {@code request} to the resource method, leaving the result in {@code servletResponse}. If
+     * {@code cachedInvoker} is not null and caching is enabled, it is used in place of request matching.
+     *
+     * @param servlet         the servlet hosting the deployment
+     * @param request         the request
+     * @param servletResponse the response that the generated service reads the result from
+     * @param cachedInvoker   the invoker cache of the rpc, or null
+     * @param securityContext the security context of the call
+     * @param servletRequest  builds the {@link HttpServletRequest} of the call, if a filter, provider or resource
+     *                        asks for it
+     */
+    public static void invoke(final HttpServletDispatcher servlet, final GrpcHttpRequest request,
+            final HttpServletResponseImpl servletResponse, final CachedResourceInvoker cachedInvoker,
+            final SecurityContext securityContext, final Callable<HttpServletRequest> servletRequest)
+            throws IOException {
+        final SynchronousDispatcher dispatcher = (SynchronousDispatcher) servlet.getDispatcher();
+        final GrpcHttpResponse response = new GrpcHttpResponse(servletResponse, dispatcher.getProviderFactory());
+        request.setAsynchronousContext(new SynchronousExecutionContext(dispatcher, request, response));
+        try {
+            // The generated MessageBodyReaderWriter finds the response through HttpServletResponse
+            ResteasyContext.pushContext(HttpServletResponse.class, servletResponse);
+            ResteasyContext.pushContext(HttpServletRequest.class, lazyServletRequest(servletRequest));
+            ResteasyContext.pushContext(SecurityContext.class, securityContext);
+            if (cachedInvoker == null || !CachedResourceInvoker.isEnabled()) {
+                dispatcher.invoke(request, response);
+                return;
+            }
+            // Same as SynchronousDispatcher.invoke(HttpRequest, HttpResponse), but with the cached invoker
+            dispatcher.pushContextObjects(request, response);
+            dispatcher.preprocess(request, response, () -> {
+                final ResourceInvoker invoker;
+                try {
+                    invoker = cachedInvoker.getInvoker(dispatcher, request);
+                } catch (Exception e) {
+                    dispatcher.writeException(request, response, e, t -> {
+                    });
+                    return;
+                }
+                dispatcher.invoke(request, response, invoker);
+            });
+        } finally {
+            ResteasyContext.clearContextData();
+        }
+    }
+
+    private static HttpServletRequest lazyServletRequest(final Callable<HttpServletRequest> servletRequest) {
+        return (HttpServletRequest) Proxy.newProxyInstance(HttpServletRequest.class.getClassLoader(),
+                new Class<?>[] { HttpServletRequest.class }, new LazyServletRequest(servletRequest));
+    }
+
+    /**
+     * Builds the {@link HttpServletRequest} of a direct call the first time it is used.
+     */
+    private static final class LazyServletRequest implements InvocationHandler {
+        private final Callable<HttpServletRequest> factory;
+        private HttpServletRequest request;
+
+        private LazyServletRequest(final Callable<HttpServletRequest> factory) {
+            this.factory = factory;
+        }
+
+        @Override
+        public Object invoke(final Object proxy, final Method method, final Object[] args) throws Throwable {
+            if (request == null) {
+                request = factory.call();
+            }
+            try {
+                return method.invoke(request, args);
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+        }
+    }
+}
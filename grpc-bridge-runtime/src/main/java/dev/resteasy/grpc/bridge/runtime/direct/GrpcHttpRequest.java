@@ -0,0 +1,184 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ *
+ * Copyright 2026 Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package dev.resteasy.grpc.bridge.runtime.direct;
+
+import static dev.resteasy.grpc.bridge.runtime.Constants.ANY;
+
+import java.io.InputStream;
+import java.util.Collections;
+import java.util.Enumeration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import jakarta.ws.rs.core.Cookie;
+import jakarta.ws.rs.core.HttpHeaders;
+import jakarta.ws.rs.core.MultivaluedMap;
+
+import org.jboss.resteasy.plugins.server.BaseHttpRequest;
+import org.jboss.resteasy.specimpl.ResteasyHttpHeaders;
+import org.jboss.resteasy.specimpl.ResteasyUriInfo;
+import org.jboss.resteasy.spi.ResteasyAsynchronousContext;
+
+import dev.resteasy.grpc.bridge.runtime.HeaderMap;
+import dev.resteasy.grpc.bridge.runtime.i18n.Messages;
+
+/**
+ * A RESTEasy {@link org.jboss.resteasy.spi.HttpRequest} built directly from the contents of a
+ * GeneralEntityMessage, used when a resource method can be invoked without the servlet emulation
+ * layer. This class is not thread safe.
+ */
+public class GrpcHttpRequest extends BaseHttpRequest {
+
+    private final HeaderMap headers = HeaderMap.withBridgeDefaults();
+    private final Map<String, Cookie> cookies = new HashMap<String, Cookie>();
+    private final Map<String, Object> attributes = new HashMap<String, Object>();
+    private ResteasyHttpHeaders httpHeaders;
+    private String httpMethod;
+    private InputStream inputStream;
+    private ResteasyAsynchronousContext asynchronousContext;
+    private String remoteAddress;
+    private String remoteHost;
+
+    public GrpcHttpRequest(final ResteasyUriInfo uri, final String httpMethod, final InputStream inputStream) {
+        super(uri);
+        this.httpMethod = httpMethod;
+        this.inputStream = inputStream;
+    }
+
+    @Override
+    public HttpHeaders getHttpHeaders() {
+        if (httpHeaders == null) {
+            httpHeaders = new ResteasyHttpHeaders(headers);
+            httpHeaders.setCookies(cookies);
+        }
+        return httpHeaders;
+    }
+
+    @Override
+    public MultivaluedMap<String, String> getMutableHeaders() {
+        return headers;
+    }
+
+    @Override
+    public InputStream getInputStream() {
+        return inputStream;
+    }
+
+    @Override
+    public void setInputStream(final InputStream stream) {
+        this.inputStream = stream;
+    }
+
+    @Override
+    public String getHttpMethod() {
+        return httpMethod;
+    }
+
+    @Override
+    public void setHttpMethod(final String method) {
+        this.httpMethod = method;
+    }
+
+    @Override
+    public Object getAttribute(final String attribute) {
+        return attributes.get(attribute);
+    }
+
+    @Override
+    public void setAttribute(final String name, final Object value) {
+        attributes.put(name, value);
+    }
+
+    @Override
+    public void removeAttribute(final String name) {
+        attributes.remove(name);
+    }
+
+    @Override
+    public Enumeration<String> getAttributeNames() {
+        return Collections.enumeration(attributes.keySet());
+    }
+
+    @Override
+    public ResteasyAsynchronousContext getAsyncContext() {
+        return asynchronousContext;
+    }
+
+    @Override
+    public boolean isInitial() {
+        return true;
+    }
+
+    @Override
+    public void forward(final String path) {
+        throw Messages.MESSAGES.isNotImplemented("forward()");
+    }
+
+    @Override
+    public boolean wasForwarded() {
+        return false;
+    }
+
+    @Override
+    public String getRemoteAddress() {
+        return remoteAddress;
+    }
+
+    @Override
+    public String getRemoteHost() {
+        return remoteHost;
+    }
+
+    ////////////////////////////////////////////////////////////////////////////////////////////////
+    //////////////////////////////   public non override methods   /////////////////////////////////
+    ////////////////////////////////////////////////////////////////////////////////////////////////
+    public void setAsynchronousContext(final ResteasyAsynchronousContext asynchronousContext) {
+        this.asynchronousContext = asynchronousContext;
+    }
+
+    /**
+     * Adds the headers sent by the client. They replace any default values of the same name.
+     */
+    public void setHeaders(final Map<String, List<String>> headers) {
+        this.headers.putAll(headers);
+        httpHeaders = null;
+    }
+
+    public void setEntityType(final String entityType) {
+        if ("com.google.protobuf.Any".equals(entityType)
+                || "google.protobuf.Any".equals(entityType)
+                || "Any".equals(entityType)) {
+            headers.put(ANY, HeaderMap.ANY_VALUES);
+        }
+    }
+
+    public void addCookie(final Cookie cookie) {
+        cookies.put(cookie.getName(), cookie);
+    }
+
+    public void setRemoteAddress(final String remoteAddress) {
+        this.remoteAddress = remoteAddress;
+    }
+
+    public void setRemoteHost(final String remoteHost) {
+        this.remoteHost = remoteHost;
+    }
+}
@@ -0,0 +1,130 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ *
+ * Copyright 2026 Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package dev.resteasy.grpc.bridge.runtime.direct;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+import jakarta.ws.rs.core.HttpHeaders;
+import jakarta.ws.rs.core.MultivaluedMap;
+import jakarta.ws.rs.core.NewCookie;
+
+import org.jboss.resteasy.plugins.server.servlet.HttpServletResponseHeaders;
+import org.jboss.resteasy.spi.HttpResponse;
+import org.jboss.resteasy.spi.ResteasyProviderFactory;
+
+import dev.resteasy.grpc.bridge.runtime.servlet.HttpServletResponseImpl;
+
+/**
+ * A RESTEasy {@link HttpResponse} which writes everything into an {@link HttpServletResponseImpl}, from
+ * which the generated service builds the GeneralReturnMessage. Used together with {@link GrpcHttpRequest}.
+ */
+public class GrpcHttpResponse implements HttpResponse {
+
+    private final HttpServletResponseImpl response;
+    private final MultivaluedMap<String, Object> outputHeaders;
+    private OutputStream outputStream;
+
+    public GrpcHttpResponse(final HttpServletResponseImpl response, final ResteasyProviderFactory providerFactory) {
+        this.response = response;
+        this.outputHeaders = new OutputHeaders(response, providerFactory);
+    }
+
+    @Override
+    public int getStatus() {
+        return response.getStatus();
+    }
+
+    @Override
+    public void setStatus(final int status) {
+        response.setStatus(status);
+    }
+
+    @Override
+    public MultivaluedMap<String, Object> getOutputHeaders() {
+        return outputHeaders;
+    }
+
+    @Override
+    public OutputStream getOutputStream() throws IOException {
+        if (outputStream == null) {
+            outputStream = response.getOutputStream();
+        }
+        return outputStream;
+    }
+
+    @Override
+    public void setOutputStream(final OutputStream os) {
+        this.outputStream = os;
+    }
+
+    @Override
+    public void addNewCookie(final NewCookie cookie) {
+        response.addNewCookie(cookie);
+    }
+
+    @Override
+    public void sendError(final int status) throws IOException {
+        response.sendError(status);
+    }
+
+    @Override
+    public void sendError(final int status, final String message) throws IOException {
+        response.sendError(status, message);
+    }
+
+    @Override
+    public boolean isCommitted() {
+        return response.isCommitted();
+    }
+
+    @Override
+    public void reset() {
+        response.reset();
+        outputStream = null;
+    }
+
+    @Override
+    public void flushBuffer() throws IOException {
+        response.flushBuffer();
+    }
+
+    /**
+     * Hands NewCookie values of Set-Cookie to the HttpServletResponseImpl as they are, instead of
+     * formatting them as header strings.
+     */
+    private static final class OutputHeaders extends HttpServletResponseHeaders {
+        private final HttpServletResponseImpl response;
+
+        OutputHeaders(final HttpServletResponseImpl response, final ResteasyProviderFactory providerFactory) {
+            super(response, providerFactory);
+            this.response = response;
+        }
+
+        @Override
+        public void add(final String key, final Object value) {
+            if (value instanceof NewCookie && HttpHeaders.SET_COOKIE.equalsIgnoreCase(key)) {
+                response.addNewCookie((NewCookie) value);
+                return;
+            }
+            super.add(key, value);
+        }
+    }
+}
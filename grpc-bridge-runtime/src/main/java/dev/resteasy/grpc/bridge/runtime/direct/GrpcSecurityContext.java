@@ -0,0 +1,83 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ *
+ * Copyright 2026 Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package dev.resteasy.grpc.bridge.runtime.direct;
+
+import java.security.Principal;
+
+import javax.net.ssl.SSLPeerUnverifiedException;
+import javax.net.ssl.SSLSession;
+
+import jakarta.ws.rs.core.SecurityContext;
+
+/**
+ * The {@link SecurityContext} of a gRPC call dispatched by {@link DirectDispatcher}, derived from the TLS session
+ * of the call. The call is secure if it arrived over TLS, and the user principal is the principal of the client's
+ * certificate, if the client presented one. gRPC has no notion of roles, so {@link #isUserInRole(String)} is
+ * always false.
+ */
+public final class GrpcSecurityContext implements SecurityContext {
+
+    private static final GrpcSecurityContext INSECURE = new GrpcSecurityContext(null, false);
+
+    private final Principal principal;
+    private final boolean secure;
+
+    private GrpcSecurityContext(final Principal principal, final boolean secure) {
+        this.principal = principal;
+        this.secure = secure;
+    }
+
+    /**
+     * @param session the TLS session of the call, or null if the call didn't arrive over TLS
+     * @return the security context of the call
+     */
+    public static SecurityContext of(final SSLSession session) {
+        if (session == null) {
+            return INSECURE;
+        }
+        Principal principal;
+        try {
+            principal = session.getPeerPrincipal();
+        } catch (SSLPeerUnverifiedException e) {
+            principal = null;
+        }
+        return new GrpcSecurityContext(principal, true);
+    }
+
+    @Override
+    public Principal getUserPrincipal() {
+        return principal;
+    }
+
+    @Override
+    public boolean isUserInRole(final String role) {
+        return false;
+    }
+
+    @Override
+    public boolean isSecure() {
+        return secure;
+    }
+
+    @Override
+    public String getAuthenticationScheme() {
+        return principal != null ? CLIENT_CERT_AUTH : null;
+    }
+}
@@ -0,0 +1,63 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ *
+ * Copyright 2026 Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package dev.resteasy.grpc.bridge.runtime.dispatch;
+
+import java.util.Locale;
+
+import dev.resteasy.grpc.bridge.runtime.i18n.Messages;
+
+/**
+ * Determines the thread on which a generated &lt;prefix&gt;ServiceGrpcImpl rpc method invokes
+ * the Jakarta REST resource.
+ */
+public enum DispatchMode {
+
+    /**
+     * Run on the gRPC transport thread which delivered the call. This is the historical behavior.
+     */
+    DIRECT,
+
+    /**
+     * Run each call on its own virtual thread. Falls back to an unbounded cached pool on JVMs
+     * without virtual thread support.
+     */
+    VIRTUAL,
+
+    /**
+     * Run on a fixed size platform thread pool with a bounded queue. Calls which cannot be queued
+     * are rejected.
+     */
+    BOUNDED;
+
+    /**
+     * Parses a configured value, ignoring case.
+     *
+     * @param value the configured value
+     * @param key   the configuration key, used for error reporting
+     * @return the matching mode
+     */
+    public static DispatchMode parse(final String value, final String key) {
+        try {
+            return valueOf(value.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw Messages.MESSAGES.invalidDispatchMode(value, key);
+        }
+    }
+}
@@ -0,0 +1,285 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ *
+ * Copyright 2026 Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package dev.resteasy.grpc.bridge.runtime.dispatch;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+import org.jboss.logging.Logger;
+
+import dev.resteasy.grpc.bridge.runtime.i18n.Messages;
+
+/**
+ * Hands the body of a generated &lt;prefix&gt;ServiceGrpcImpl rpc method to the executor selected
+ * by its {@link DispatchMode}.
+ * <p>
+ * The mode is resolved from the configured parameters, from the most to the least specific:
+ * <ul>
+ * <li>{@code dev.resteasy.grpc.dispatch.<service>.<rpc>}</li>
+ * <li>{@code dev.resteasy.grpc.dispatch.<service>}</li>
+ * <li>{@code dev.resteasy.grpc.dispatch}</li>
+ * </ul>
+ * where the value is one of {@code direct}, {@code virtual} or {@code bounded}. The default is {@code direct}.
+ * <p>
+ * A {@code bounded} pool is shared by all of the rpcs of a service. Its size is read from
+ * {@code dev.resteasy.grpc.dispatch.<service>.pool-size} or {@code dev.resteasy.grpc.dispatch.pool-size}
+ * (default twice the number of processors) and its queue length from
+ * {@code dev.resteasy.grpc.dispatch.<service>.queue-size} or {@code dev.resteasy.grpc.dispatch.queue-size}
+ * (default 256). A call which cannot be queued is rejected with a {@link RejectedExecutionException}.
+ * <p>
+ * The parameters are system properties unless {@link #configure(Function)} is called; the generated
+ * &lt;prefix&gt;_Server passes its {@code GrpcServerConfig}, so they can also be given as context
+ * parameters of the deployment or in the server's configuration file.
+ */
+public class RpcDispatcher {
+
+    public static final String PROPERTY_PREFIX = "dev.resteasy.grpc.dispatch";
+    public static final String POOL_SIZE = "pool-size";
+    public static final String QUEUE_SIZE = "queue-size";
+    private static final int DEFAULT_QUEUE_SIZE = 256;
+
+    private static final Logger logger = Logger.getLogger(RpcDispatcher.class);
+    private static final MethodHandle NEW_VIRTUAL_THREAD_EXECUTOR = findVirtualThreadExecutorFactory();
+
+    private final String serviceName;
+    private final Map<String, DispatchMode> modes = new ConcurrentHashMap<String, DispatchMode>();
+    private volatile Function<String, String> parameters = System::getProperty;
+    private volatile ExecutorService boundedExecutor;
+    private volatile ExecutorService virtualExecutor;
+
+    public RpcDispatcher(final String serviceName) {
+        this.serviceName = serviceName;
+    }
+
+    /**
+     * Reads the dispatch settings with {@code parameters} rather than {@link System#getProperty(String)}.
+     * Modes which were already resolved are forgotten, and a bounded pool is replaced on the next call.
+     *
+     * @param parameters looks up a setting by its full name, returning {@code null} if it isn't given
+     */
+    public void configure(final Function<String, String> parameters) {
+        this.parameters = parameters;
+        shutdown();
+    }
+
+    /**
+     * Runs {@code task} according to the {@link DispatchMode} configured for {@code rpcName}.
+     * <p>
+     * If the task runs on another thread and throws, the {@code Throwable} is logged and passed to
+     * {@code onFailure}, which should close the call; otherwise the executor would swallow it and the
+     * client would wait until its deadline.
+     *
+     * @param rpcName   the name of the rpc method
+     * @param task      the body of the rpc method
+     * @param onFailure closes the call if {@code task} throws on another thread
+     * @throws RejectedExecutionException if a bounded pool cannot accept the task
+     */
+    public void dispatch(final String rpcName, final Runnable task, final Consumer<Throwable> onFailure) {
+        switch (getMode(rpcName)) {
+            case VIRTUAL:
+                getVirtualExecutor().execute(guard(rpcName, task, onFailure));
+                return;
+            case BOUNDED:
+                getBoundedExecutor().execute(guard(rpcName, task, onFailure));
+                return;
+            default:
+                task.run();
+        }
+    }
+
+    /**
+     * @param rpcName the name of the rpc method
+     * @return the {@link DispatchMode} configured for {@code rpcName}
+     */
+    public DispatchMode getMode(final String rpcName) {
+        DispatchMode mode = modes.get(rpcName);
+        if (mode == null) {
+            mode = resolveMode(rpcName);
+            modes.put(rpcName, mode);
+        }
+        return mode;
+    }
+
+    public String getServiceName() {
+        return serviceName;
+    }
+
+    /**
+     * Stops the executors created by this dispatcher. Calls arriving afterwards cause new
+     * executors to be created.
+     */
+    public void shutdown() {
+        final ExecutorService bounded;
+        final ExecutorService virtual;
+        synchronized (this) {
+            bounded = boundedExecutor;
+            boundedExecutor = null;
+            virtual = virtualExecutor;
+            virtualExecutor = null;
+        }
+        if (bounded != null) {
+            bounded.shutdown();
+        }
+        if (virtual != null) {
+            virtual.shutdown();
+        }
+        modes.clear();
+    }
+
+    private Runnable guard(final String rpcName, final Runnable task, final Consumer<Throwable> onFailure) {
+        return () -> {
+            try {
+                task.run();
+            } catch (Throwable t) {
+                logger.error(Messages.MESSAGES.dispatchedCallFailed(serviceName, rpcName), t);
+                try {
+                    onFailure.accept(t);
+                } catch (RuntimeException e) {
+                    // the call was already closed
+                    logger.debugf(e, "%s.%s: unable to close the call", serviceName, rpcName);
+                }
+            }
+        };
+    }
+
+    private DispatchMode resolveMode(final String rpcName) {
+        final Function<String, String> parameters = this.parameters;
+        String key = PROPERTY_PREFIX + "." + serviceName + "." + rpcName;
+        String value = parameters.apply(key);
+        if (value == null) {
+            key = PROPERTY_PREFIX + "." + serviceName;
+            value = parameters.apply(key);
+        }
+        if (value == null) {
+            key = PROPERTY_PREFIX;
+            value = parameters.apply(key);
+        }
+        return value == null ? DispatchMode.DIRECT : DispatchMode.parse(value, key);
+    }
+
+    private int getIntProperty(final String name, final int defaultValue) {
+        final Function<String, String> parameters = this.parameters;
+        String key = PROPERTY_PREFIX + "." + serviceName + "." + name;
+        String value = parameters.apply(key);
+        if (value == null) {
+            key = PROPERTY_PREFIX + "." + name;
+            value = parameters.apply(key);
+        }
+        if (value == null) {
+            return defaultValue;
+        }
+        try {
+            int i = Integer.parseInt(value.trim());
+            if (i > 0) {
+                return i;
+            }
+        } catch (NumberFormatException e) {
+            // fall through
+        }
+        throw Messages.MESSAGES.invalidPositiveInteger(value, key);
+    }
+
+    private ExecutorService getBoundedExecutor() {
+        ExecutorService executor = boundedExecutor;
+        if (executor == null) {
+            synchronized (this) {
+                executor = boundedExecutor;
+                if (executor == null) {
+                    final int poolSize = getIntProperty(POOL_SIZE, Runtime.getRuntime().availableProcessors() * 2);
+                    final int queueSize = getIntProperty(QUEUE_SIZE, DEFAULT_QUEUE_SIZE);
+                    final ThreadPoolExecutor tpe = new ThreadPoolExecutor(poolSize, poolSize, 60L, TimeUnit.SECONDS,
+                            new ArrayBlockingQueue<Runnable>(queueSize), new DispatchThreadFactory(serviceName),
+                            (r, e) -> {
+                                throw Messages.MESSAGES.dispatchQueueFull(serviceName, queueSize);
+                            });
+                    tpe.allowCoreThreadTimeOut(true);
+                    logger.debugf("%s: bounded dispatch pool of %d threads, queue size %d", serviceName, poolSize,
+                            queueSize);
+                    boundedExecutor = executor = tpe;
+                }
+            }
+        }
+        return executor;
+    }
+
+    private ExecutorService getVirtualExecutor() {
+        ExecutorService executor = virtualExecutor;
+        if (executor == null) {
+            synchronized (this) {
+                executor = virtualExecutor;
+                if (executor == null) {
+                    virtualExecutor = executor = createVirtualExecutor();
+                }
+            }
+        }
+        return executor;
+    }
+
+    private static ExecutorService createVirtualExecutor() {
+        if (NEW_VIRTUAL_THREAD_EXECUTOR != null) {
+            try {
+                return (ExecutorService) NEW_VIRTUAL_THREAD_EXECUTOR.invoke();
+            } catch (Throwable t) {
+                logger.debug("Unable to create virtual thread executor", t);
+            }
+        }
+        logger.debug("Virtual threads are not available, using a cached thread pool");
+        return Executors.newCachedThreadPool(new DispatchThreadFactory("virtual"));
+    }
+
+    private static MethodHandle findVirtualThreadExecutorFactory() {
+        // Executors.newVirtualThreadPerTaskExecutor() is only available from Java 21, the project targets Java 17
+        try {
+            return MethodHandles.publicLookup().findStatic(Executors.class, "newVirtualThreadPerTaskExecutor",
+                    MethodType.methodType(ExecutorService.class));
+        } catch (NoSuchMethodException | IllegalAccessException e) {
+            return null;
+        }
+    }
+
+    private static class DispatchThreadFactory implements ThreadFactory {
+        private final AtomicInteger counter = new AtomicInteger();
+        private final String name;
+
+        DispatchThreadFactory(final String name) {
+            this.name = name;
+        }
+
+        @Override
+        public Thread newThread(final Runnable r) {
+            final Thread thread = new Thread(r, "grpc-dispatch-" + name + "-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
+}
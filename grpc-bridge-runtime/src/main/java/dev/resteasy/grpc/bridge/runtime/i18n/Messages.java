@@ -19,10 +19,14 @@
 
 package dev.resteasy.grpc.bridge.runtime.i18n;
 
+import java.io.IOException;
+import java.util.concurrent.RejectedExecutionException;
+
 import jakarta.servlet.ServletRequest;
 import jakarta.servlet.ServletResponse;
 import jakarta.ws.rs.NotSupportedException;
 
+import org.jboss.logging.annotations.Cause;
 import org.jboss.logging.annotations.Message;
 import org.jboss.logging.annotations.MessageBundle;
 
@@ -112,4 +116,103 @@ public interface Messages {
 
     @Message(id = 3500, value = "Unable to process as Any: %s")
     RuntimeException unableToProcessAsAny(Object o);
+
+    @Message(id = 3600, value = "Invalid dispatch mode %s for %s: expected direct, virtual or bounded")
+    IllegalArgumentException invalidDispatchMode(String value, String key);
+
+    @Message(id = 3700, value = "Invalid value %s for %s: expected a positive integer")
+    IllegalArgumentException invalidPositiveInteger(String value, String key);
+
+    @Message(id = 3800, value = "Dispatch queue for %s is full (%s calls waiting)")
+    RejectedExecutionException dispatchQueueFull(String service, int queueSize);
+
+    @Message(id = 3900, value = "Stream buffer queue is full (%s buffers waiting)")
+    IOException asyncQueueFull(int queueSize);
+
+    @Message(id = 4000, value = "Invalid overflow policy %s for %s: expected block, drop-oldest or fail")
+    IllegalArgumentException invalidOverflowPolicy(String value, String key);
+
+    @Message(id = 4100, value = "SseEventSink is closed")
+    IllegalStateException sseEventSinkClosed();
+
+    @Message(id = 4200, value = "Invalid async executor %s for %s: expected default, fixed, virtual or grpc")
+    IllegalArgumentException invalidAsyncExecutor(String value, String key);
+
+    @Message(id = 4300, value = "Async executor queue for %s is full (%s tasks waiting)")
+    RejectedExecutionException asyncExecutorQueueFull(String name, int queueSize);
+
+    @Message(id = 4400, value = "Async executor for %s has been shut down")
+    RejectedExecutionException asyncExecutorShutDown(String name);
+
+    @Message(id = 4500, value = "ReadListener has already been set")
+    IllegalStateException readListenerAlreadySet();
+
+    @Message(id = 4600, value = "WriteListener has already been set")
+    IllegalStateException writeListenerAlreadySet();
+
+    @Message(id = 4700, value = "The gRPC call has been cancelled")
+    IOException callCancelled();
+
+    @Message(id = 4800, value = "Invalid transport %s for %s: expected auto, nio or epoll")
+    IllegalArgumentException invalidServerTransport(String value, String key);
+
+    @Message(id = 4900, value = "Invalid executor %s for %s: expected default, direct or fixed")
+    IllegalArgumentException invalidServerExecutor(String value, String key);
+
+    @Message(id = 5000, value = "Invalid value %s for %s: expected true or false")
+    IllegalArgumentException invalidBoolean(String value, String key);
+
+    @Message(id = 5100, value = "Invalid value %s for %s: expected a number of seconds or an ISO-8601 duration")
+    IllegalArgumentException invalidDuration(String value, String key);
+
+    @Message(id = 5200, value = "Unable to read the gRPC server configuration from %s")
+    IllegalArgumentException cannotReadServerConfig(@Cause Throwable cause, String fileName);
+
+    @Message(id = 5300, value = "Unable to configure the Netty server transport")
+    IllegalStateException cannotConfigureNettyTransport(@Cause Throwable cause);
+
+    @Message(id = 5400, value = "The epoll transport is not available on this platform")
+    IllegalStateException epollNotAvailable();
+
+    @Message(id = 5500, value = "Netty is not available, ignoring the Netty settings of %s")
+    String nettyNotAvailable(Object config);
+
+    @Message(id = 5600, value = "The gRPC in-process transport is not available, %s is only reachable over the network")
+    String inProcessNotAvailable(String name);
+
+    @Message(id = 5700, value = "No in-process gRPC server named %s is running")
+    IllegalStateException inProcessServerNotRunning(String name);
+
+    @Message(id = 5800, value = "Unable to configure the in-process transport")
+    IllegalStateException cannotConfigureInProcessTransport(@Cause Throwable cause);
+
+    @Message(id = 5900, value = "Started the standalone bridge %s in %d ms")
+    String standaloneBridgeStarted(String servletName, long millis);
+
+    @Message(id = 6000, value = "Warmed up %d javabuf translators and %d resource methods and made %d calls in %d ms")
+    String warmedUp(int translators, int resourceMethods, int calls, long millis);
+
+    @Message(id = 6100, value = "Servlet %s was not initialized within %s, skipping its part of the warm-up")
+    String warmUpServletNotInitialized(String servletName, Object timeout);
+
+    @Message(id = 6200, value = "not ready")
+    String notReady();
+
+    @Message(id = 6300, value = "Unable to start the gRPC server on port %d")
+    String cannotStartGrpcServer(int port);
+
+    @Message(id = 6400, value = "Unable to configure the gRPC health service")
+    IllegalStateException cannotConfigureHealthService(@Cause Throwable cause);
+
+    @Message(id = 6500, value = "Unable to find field %s in %s")
+    IllegalStateException fieldNotFound(String field, String className);
+
+    @Message(id = 6600, value = "Unable to instantiate %s")
+    IllegalStateException cannotInstantiate(String className);
+
+    @Message(id = 6700, value = "Dispatched call %s.%s failed")
+    String dispatchedCallFailed(String serviceName, String rpcName);
+
+    @Message(id = 6800, value = "There is no delegate stream; use toByteString(), size() or reset()")
+    UnsupportedOperationException noDelegate();
 }
@@ -0,0 +1,240 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ *
+ * Copyright 2026 Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package dev.resteasy.grpc.bridge.runtime.protobuf;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+
+import com.google.protobuf.Any;
+
+import dev.resteasy.grpc.bridge.runtime.HolderMap;
+import dev.resteasy.grpc.bridge.runtime.Utility;
+import dev.resteasy.grpc.bridge.runtime.i18n.Messages;
+
+/**
+ * Reads and writes one field of a Java class on behalf of a generated {@link JavabufTranslator}.
+ * <p>
+ * The field is looked up, made accessible and turned into method handles once, when the translator
+ * for its class is initialized, rather than each time an object is translated. Final instance fields
+ * get a writable handle as well where the JVM allows it. Writes that need more than a plain assignment,
+ * such as {@link HolderMap} targets and {@link Any} values, are passed on to
+ * {@link Utility#setField(Field, Object, Object, JavabufTranslator)}.
+ * <p>
+ * Primitive fields can also be read without boxing, widened to the type of the corresponding javabuf
+ * field, with {@link #getInt(Object)} and its siblings.
+ * <p>
+ * The components of a record are collected in an {@code Object[]}, indexed as in the canonical
+ * constructor, before the record is created. See {@link InstantiationPlan}.
+ */
+public final class FieldAccessor {
+
+    private static final MethodType GETTER_TYPE = MethodType.methodType(Object.class, Object.class);
+    private static final MethodType SETTER_TYPE = MethodType.methodType(void.class, Object.class, Object.class);
+
+    private final Field field;
+    private final MethodHandle getter;
+    private final MethodHandle primitiveGetter;
+    private final MethodHandle setter;
+    private final int componentIndex;
+
+    private FieldAccessor(final Field field, final MethodHandle getter, final MethodHandle primitiveGetter,
+            final MethodHandle setter, final int componentIndex) {
+        this.field = field;
+        this.getter = getter;
+        this.primitiveGetter = primitiveGetter;
+        this.setter = setter;
+        this.componentIndex = componentIndex;
+    }
+
+    /**
+     * Resolves the field {@code name} of {@code clazz} or one of its superclasses. As with
+     * {@link Utility#getField(Class, String)}, anything from the first {@code "___"} on is ignored.
+     *
+     * @throws IllegalStateException if there is no such field
+     */
+    public static FieldAccessor of(final Class<?> clazz, final String name) {
+        final Field field = Utility.getField(clazz, name);
+        if (field == null) {
+            throw Messages.MESSAGES.fieldNotFound(name, clazz.getName());
+        }
+        field.setAccessible(true);
+        try {
+            final MethodHandles.Lookup lookup = MethodHandles.lookup();
+            MethodHandle getter = lookup.unreflectGetter(field);
+            MethodHandle setter = null;
+            if (Modifier.isStatic(field.getModifiers())) {
+                getter = MethodHandles.dropArguments(getter, 0, Object.class);
+            } else {
+                setter = setter(lookup, field);
+            }
+            int componentIndex = InstantiationPlan.of(field.getDeclaringClass()).getComponentIndex(field.getName());
+            return new FieldAccessor(field, getter.asType(GETTER_TYPE), primitiveGetter(getter, field.getType()),
+                    setter, componentIndex);
+        } catch (IllegalAccessException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    public Field getField() {
+        return field;
+    }
+
+    public Class<?> getType() {
+        return field.getType();
+    }
+
+    /**
+     * @return the value of the field in {@code object}, boxed if the field is primitive
+     */
+    public Object get(final Object object) {
+        try {
+            return (Object) getter.invokeExact(object);
+        } catch (RuntimeException | Error e) {
+            throw e;
+        } catch (Throwable t) {
+            throw new IllegalStateException(t);
+        }
+    }
+
+    /**
+     * @return true if the field is primitive and can be read with the getter for {@code type}, e.g.
+     *         {@link #getInt(Object)} for {@code int.class}
+     */
+    public boolean isReadableAs(final Class<?> type) {
+        return primitiveGetter != null && primitiveGetter.type().returnType().equals(type);
+    }
+
+    /**
+     * @return the value of a {@code byte}, {@code short} or {@code int} field in {@code object}
+     */
+    public int getInt(final Object object) {
+        try {
+            return (int) primitiveGetter.invokeExact(object);
+        } catch (RuntimeException | Error e) {
+            throw e;
+        } catch (Throwable t) {
+            throw new IllegalStateException(t);
+        }
+    }
+
+    public long getLong(final Object object) {
+        try {
+            return (long) primitiveGetter.invokeExact(object);
+        } catch (RuntimeException | Error e) {
+            throw e;
+        } catch (Throwable t) {
+            throw new IllegalStateException(t);
+        }
+    }
+
+    public float getFloat(final Object object) {
+        try {
+            return (float) primitiveGetter.invokeExact(object);
+        } catch (RuntimeException | Error e) {
+            throw e;
+        } catch (Throwable t) {
+            throw new IllegalStateException(t);
+        }
+    }
+
+    public double getDouble(final Object object) {
+        try {
+            return (double) primitiveGetter.invokeExact(object);
+        } catch (RuntimeException | Error e) {
+            throw e;
+        } catch (Throwable t) {
+            throw new IllegalStateException(t);
+        }
+    }
+
+    public boolean getBoolean(final Object object) {
+        try {
+            return (boolean) primitiveGetter.invokeExact(object);
+        } catch (RuntimeException | Error e) {
+            throw e;
+        } catch (Throwable t) {
+            throw new IllegalStateException(t);
+        }
+    }
+
+    /**
+     * Assigns {@code value} to the field in {@code object}, with the same semantics as
+     * {@link Utility#setField(Field, Object, Object, JavabufTranslator)}. If the field is a record
+     * component and {@code object} is an {@code Object[]}, {@code value} is stored at the component's
+     * position instead.
+     */
+    public void set(final Object object, final Object value, final JavabufTranslator translator) throws Exception {
+        if (componentIndex >= 0 && object instanceof Object[]) {
+            setComponent((Object[]) object, value, translator);
+            return;
+        }
+        if (setter == null || object instanceof HolderMap || (value != null && Any.class.equals(value.getClass()))) {
+            Utility.setField(field, object, value, translator);
+            return;
+        }
+        try {
+            setter.invokeExact(object, value);
+        } catch (Exception | Error e) {
+            throw e;
+        } catch (Throwable t) {
+            throw new IllegalStateException(t);
+        }
+    }
+
+    private void setComponent(final Object[] components, final Object value, final JavabufTranslator translator)
+            throws Exception {
+        if (value == null) {
+            return;
+        }
+        if (Any.class.equals(value.getClass())) {
+            Any any = (Any) value;
+            if (any.getSerializedSize() == 0) {
+                return;
+            }
+            components[componentIndex] = translator.translateFromJavabuf(Utility.unpack(any, translator));
+            return;
+        }
+        components[componentIndex] = value;
+    }
+
+    /**
+     * A {@code char} is sent as a string, so it gets no primitive getter; {@code byte} and {@code short}
+     * are widened to {@code int}, as in their javabuf form.
+     */
+    private static MethodHandle primitiveGetter(final MethodHandle getter, final Class<?> type) {
+        if (!type.isPrimitive() || char.class.equals(type)) {
+            return null;
+        }
+        Class<?> widened = byte.class.equals(type) || short.class.equals(type) ? int.class : type;
+        return getter.asType(MethodType.methodType(widened, Object.class));
+    }
+
+    private static MethodHandle setter(final MethodHandles.Lookup lookup, final Field field) {
+        try {
+            return lookup.unreflectSetter(field).asType(SETTER_TYPE);
+        } catch (IllegalAccessException e) {
+            // A final field of a record or a hidden class; Utility.setField() decides what to do with it.
+            return null;
+        }
+    }
+}
@@ -0,0 +1,142 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ *
+ * Copyright 2026 Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package dev.resteasy.grpc.bridge.runtime.protobuf;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.RecordComponent;
+import java.util.HashMap;
+import java.util.Map;
+
+import dev.resteasy.grpc.bridge.runtime.i18n.Messages;
+
+/**
+ * How a generated {@link JavabufTranslator} creates instances of a Java class.
+ * <p>
+ * A plan is built the first time a class is translated and then kept, per class, in a {@link ClassValue}.
+ * It holds a method handle for the no-argument constructor, if there is one, and for a record, the
+ * position of each component in the canonical constructor, so that components can be collected in an
+ * array rather than a map.
+ */
+public final class InstantiationPlan {
+
+    private static final ClassValue<InstantiationPlan> PLANS = new ClassValue<InstantiationPlan>() {
+        @Override
+        protected InstantiationPlan computeValue(final Class<?> type) {
+            return new InstantiationPlan(type);
+        }
+    };
+
+    private static final MethodType FACTORY_TYPE = MethodType.methodType(Object.class);
+
+    private final Class<?> type;
+    private final MethodHandle factory;
+    private final Map<String, Integer> components;
+    private volatile Map<String, Class<?>> declaredClasses;
+
+    private InstantiationPlan(final Class<?> type) {
+        this.type = type;
+        this.factory = factory(type);
+        this.components = components(type);
+    }
+
+    public static InstantiationPlan of(final Class<?> type) {
+        return PLANS.get(type);
+    }
+
+    /**
+     * @return a new instance created with the no-argument constructor
+     * @throws IllegalStateException if the class has no usable no-argument constructor
+     */
+    public Object newInstance() throws Exception {
+        if (factory == null) {
+            throw Messages.MESSAGES.cannotInstantiate(type.getName());
+        }
+        try {
+            return (Object) factory.invokeExact();
+        } catch (Exception | Error e) {
+            throw e;
+        } catch (Throwable t) {
+            throw new IllegalStateException(t);
+        }
+    }
+
+    /**
+     * @return the number of components if the class is a record, otherwise 0
+     */
+    public int getComponentCount() {
+        return components == null ? 0 : components.size();
+    }
+
+    /**
+     * @return the position of the record component {@code name} in the canonical constructor, or -1 if the
+     *         class is not a record or has no such component
+     */
+    public int getComponentIndex(final String name) {
+        if (components == null) {
+            return -1;
+        }
+        Integer index = components.get(name);
+        return index == null ? -1 : index;
+    }
+
+    /**
+     * @return the class declared in this class with the simple name {@code simpleName}, or {@code null}
+     */
+    public Class<?> getDeclaredClass(final String simpleName) {
+        Map<String, Class<?>> map = declaredClasses;
+        if (map == null) {
+            map = new HashMap<String, Class<?>>();
+            for (Class<?> c : type.getDeclaredClasses()) {
+                map.put(c.getSimpleName(), c);
+            }
+            declaredClasses = map;
+        }
+        return map.get(simpleName);
+    }
+
+    private static MethodHandle factory(final Class<?> type) {
+        if (type.isInterface() || type.isArray() || type.isPrimitive() || Modifier.isAbstract(type.getModifiers())) {
+            return null;
+        }
+        try {
+            Constructor<?> constructor = type.getDeclaredConstructor();
+            constructor.setAccessible(true);
+            return MethodHandles.lookup().unreflectConstructor(constructor).asType(FACTORY_TYPE);
+        } catch (NoSuchMethodException | IllegalAccessException | RuntimeException e) {
+            return null;
+        }
+    }
+
+    private static Map<String, Integer> components(final Class<?> type) {
+        if (!type.isRecord()) {
+            return null;
+        }
+        RecordComponent[] recordComponents = type.getRecordComponents();
+        Map<String, Integer> map = new HashMap<String, Integer>();
+        for (int i = 0; i < recordComponents.length; i++) {
+            map.put(recordComponents[i].getName(), i);
+        }
+        return map;
+    }
+}
@@ -0,0 +1,61 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ *
+ * Copyright 2026 Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package dev.resteasy.grpc.bridge.runtime.protobuf;
+
+/**
+ * Typed setters of a javabuf builder, passed to a generated {@link JavabufTranslator} as method
+ * references such as {@code CC5.Builder::setK}. They let scalar fields be assigned without boxing
+ * their values and without going through {@code Message.Builder.setField()}.
+ */
+public final class JavabufSetter {
+
+    private JavabufSetter() {
+    }
+
+    @FunctionalInterface
+    public interface OfInt<B> {
+        void set(B builder, int value);
+    }
+
+    @FunctionalInterface
+    public interface OfLong<B> {
+        void set(B builder, long value);
+    }
+
+    @FunctionalInterface
+    public interface OfFloat<B> {
+        void set(B builder, float value);
+    }
+
+    @FunctionalInterface
+    public interface OfDouble<B> {
+        void set(B builder, double value);
+    }
+
+    @FunctionalInterface
+    public interface OfBoolean<B> {
+        void set(B builder, boolean value);
+    }
+
+    @FunctionalInterface
+    public interface OfString<B> {
+        void set(B builder, String value);
+    }
+}
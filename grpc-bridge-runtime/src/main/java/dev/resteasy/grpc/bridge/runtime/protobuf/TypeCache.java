@@ -0,0 +1,104 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ *
+ * Copyright 2026 Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package dev.resteasy.grpc.bridge.runtime.protobuf;
+
+import java.lang.reflect.Type;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.BiFunction;
+
+/**
+ * A bounded cache of values computed from a {@code (Class, Type)} pair, such as the decisions a generated
+ * MessageBodyReader and MessageBodyWriter make about an entity type.
+ * <p>
+ * Values are kept per class, in a map keyed by generic type, so that a hit doesn't allocate. Once
+ * {@code maxClasses} classes, or {@code maxTypesPerClass} generic types of one class, are cached, further
+ * values are computed on each call and not kept.
+ *
+ * @param <V> the type of the cached values
+ */
+public final class TypeCache<V> {
+
+    public static final int DEFAULT_MAX_CLASSES = 1024;
+    public static final int DEFAULT_MAX_TYPES_PER_CLASS = 64;
+
+    // Stands in for a null generic type, which ConcurrentHashMap can't hold.
+    private static final Type NO_GENERIC_TYPE = new Type() {
+    };
+
+    private final ConcurrentHashMap<Class<?>, ConcurrentHashMap<Type, V>> cache =
+            new ConcurrentHashMap<Class<?>, ConcurrentHashMap<Type, V>>();
+    private final int maxClasses;
+    private final int maxTypesPerClass;
+
+    public TypeCache() {
+        this(DEFAULT_MAX_CLASSES, DEFAULT_MAX_TYPES_PER_CLASS);
+    }
+
+    public TypeCache(final int maxClasses, final int maxTypesPerClass) {
+        this.maxClasses = maxClasses;
+        this.maxTypesPerClass = maxTypesPerClass;
+    }
+
+    /**
+     * Returns the value cached for {@code type} and {@code genericType}, computing it with {@code function}
+     * if there is none. {@code function} may be called more than once for the same pair.
+     *
+     * @param type        the class
+     * @param genericType the generic type, which may be {@code null}
+     * @param function    computes the value; it must not return {@code null}
+     * @return the cached or computed value
+     */
+    public V get(final Class<?> type, final Type genericType, final BiFunction<Class<?>, Type, V> function) {
+        final Type key = genericType == null ? NO_GENERIC_TYPE : genericType;
+        ConcurrentHashMap<Type, V> types = cache.get(type);
+        if (types != null) {
+            final V value = types.get(key);
+            if (value != null) {
+                return value;
+            }
+        }
+        final V value = function.apply(type, genericType);
+        if (types == null) {
+            if (cache.size() >= maxClasses) {
+                return value;
+            }
+            types = cache.computeIfAbsent(type, c -> new ConcurrentHashMap<Type, V>());
+        }
+        if (types.size() < maxTypesPerClass) {
+            types.putIfAbsent(key, value);
+        }
+        return value;
+    }
+
+    /**
+     * @return the number of cached values
+     */
+    public int size() {
+        int size = 0;
+        for (ConcurrentHashMap<Type, V> types : cache.values()) {
+            size += types.size();
+        }
+        return size;
+    }
+
+    public void clear() {
+        cache.clear();
+    }
+}
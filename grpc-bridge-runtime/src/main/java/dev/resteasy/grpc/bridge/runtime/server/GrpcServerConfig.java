@@ -0,0 +1,535 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ *
+ * Copyright 2026 Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package dev.resteasy.grpc.bridge.runtime.server;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.time.format.DateTimeParseException;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.Locale;
+import java.util.Properties;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import jakarta.servlet.ServletContext;
+
+import dev.resteasy.grpc.bridge.runtime.dispatch.RpcDispatcher;
+import dev.resteasy.grpc.bridge.runtime.i18n.Messages;
+
+/**
+ * The configuration of the gRPC server started by a generated &lt;prefix&gt;_Server.
+ * <p>
+ * Each setting is read from the context parameters of the deployment, then from system properties,
+ * and then from the properties file named by {@code dev.resteasy.grpc.server.config-file}, if any:
+ * <ul>
+ * <li>{@code dev.resteasy.grpc.server.port}: the port to listen on (default 8082)</li>
+ * <li>{@code dev.resteasy.grpc.server.bind-address}: the address to listen on (default all addresses)</li>
+ * <li>{@code dev.resteasy.grpc.server.transport}: the Netty channel type, one of {@code auto} (epoll
+ * where available, otherwise NIO; the default), {@code nio} or {@code epoll}</li>
+ * <li>{@code dev.resteasy.grpc.server.boss-threads}, {@code dev.resteasy.grpc.server.worker-threads}:
+ * the sizes of the Netty event loop groups which accept connections and do the I/O (default gRPC's
+ * shared groups)</li>
+ * <li>{@code dev.resteasy.grpc.server.executor}: the executor on which gRPC runs calls, one of
+ * {@code default} (gRPC's shared cached pool), {@code direct} (the Netty event loop, for services
+ * which never block, e.g. because they dispatch with {@code dev.resteasy.grpc.dispatch}) or
+ * {@code fixed}</li>
+ * <li>{@code dev.resteasy.grpc.server.executor-threads}: the size of a {@code fixed} executor (default
+ * twice the number of processors)</li>
+ * <li>{@code dev.resteasy.grpc.server.flow-control-window}: a fixed HTTP/2 flow control window, in bytes</li>
+ * <li>{@code dev.resteasy.grpc.server.initial-flow-control-window}: the initial flow control window, in
+ * bytes, which Netty then tunes from the measured bandwidth-delay product</li>
+ * <li>{@code dev.resteasy.grpc.server.max-inbound-message-size},
+ * {@code dev.resteasy.grpc.server.max-inbound-metadata-size}: in bytes</li>
+ * <li>{@code dev.resteasy.grpc.server.keep-alive-time}, {@code dev.resteasy.grpc.server.keep-alive-timeout},
+ * {@code dev.resteasy.grpc.server.permit-keep-alive-time},
+ * {@code dev.resteasy.grpc.server.permit-keep-alive-without-calls} ({@code true} or {@code false}),
+ * {@code dev.resteasy.grpc.server.max-connection-idle}, {@code dev.resteasy.grpc.server.max-connection-age},
+ * {@code dev.resteasy.grpc.server.max-connection-age-grace}</li>
+ * <li>{@code dev.resteasy.grpc.server.max-concurrent-calls-per-connection}</li>
+ * <li>{@code dev.resteasy.grpc.server.in-process}: whether to also register the service with gRPC's
+ * in-process transport, for callers in the same JVM (default {@code true})</li>
+ * <li>{@code dev.resteasy.grpc.server.in-process-name}: the name of the in-process server (default the
+ * class name of the generated server)</li>
+ * <li>{@code dev.resteasy.grpc.server.autostart}: whether the generated listener starts the server when
+ * the deployment starts (default {@code true})</li>
+ * <li>{@code dev.resteasy.grpc.server.warm-up}: whether to warm the server up before it reports that it is
+ * ready (default {@code true}), see {@link WarmUp}</li>
+ * <li>{@code dev.resteasy.grpc.server.warm-up-methods}: a comma separated list of the unary rpc methods,
+ * such as {@code getInt}, which the warm-up calls through the in-process transport with an empty
+ * message, or {@code *} for all of them (default none, since calls may have side effects)</li>
+ * <li>{@code dev.resteasy.grpc.server.warm-up-iterations}: how often each of those methods is called
+ * (default 1000)</li>
+ * <li>{@code dev.resteasy.grpc.server.warm-up-timeout}: how long the warm-up waits for the bridge servlet
+ * to be initialized, before it resolves the entity providers of the resource methods (default 60 seconds)</li>
+ * <li>{@code dev.resteasy.grpc.dispatch} and the settings below it: how the service dispatches its calls,
+ * see {@link RpcDispatcher}</li>
+ * </ul>
+ * Durations are a number of seconds or an ISO-8601 duration such as {@code PT0.5S}. Settings which are
+ * not given are left to gRPC. The transport, event loop, flow control and concurrent call settings
+ * apply only when the server runs on Netty, see {@link NettyServerTransport}.
+ */
+public final class GrpcServerConfig {
+
+    public static final String PROPERTY_PREFIX = "dev.resteasy.grpc.server";
+    public static final String CONFIG_FILE = PROPERTY_PREFIX + ".config-file";
+    public static final String PORT = PROPERTY_PREFIX + ".port";
+    public static final String BIND_ADDRESS = PROPERTY_PREFIX + ".bind-address";
+    public static final String TRANSPORT = PROPERTY_PREFIX + ".transport";
+    public static final String BOSS_THREADS = PROPERTY_PREFIX + ".boss-threads";
+    public static final String WORKER_THREADS = PROPERTY_PREFIX + ".worker-threads";
+    public static final String EXECUTOR = PROPERTY_PREFIX + ".executor";
+    public static final String EXECUTOR_THREADS = PROPERTY_PREFIX + ".executor-threads";
+    public static final String FLOW_CONTROL_WINDOW = PROPERTY_PREFIX + ".flow-control-window";
+    public static final String INITIAL_FLOW_CONTROL_WINDOW = PROPERTY_PREFIX + ".initial-flow-control-window";
+    public static final String MAX_INBOUND_MESSAGE_SIZE = PROPERTY_PREFIX + ".max-inbound-message-size";
+    public static final String MAX_INBOUND_METADATA_SIZE = PROPERTY_PREFIX + ".max-inbound-metadata-size";
+    public static final String KEEP_ALIVE_TIME = PROPERTY_PREFIX + ".keep-alive-time";
+    public static final String KEEP_ALIVE_TIMEOUT = PROPERTY_PREFIX + ".keep-alive-timeout";
+    public static final String PERMIT_KEEP_ALIVE_TIME = PROPERTY_PREFIX + ".permit-keep-alive-time";
+    public static final String PERMIT_KEEP_ALIVE_WITHOUT_CALLS = PROPERTY_PREFIX + ".permit-keep-alive-without-calls";
+    public static final String MAX_CONNECTION_IDLE = PROPERTY_PREFIX + ".max-connection-idle";
+    public static final String MAX_CONNECTION_AGE = PROPERTY_PREFIX + ".max-connection-age";
+    public static final String MAX_CONNECTION_AGE_GRACE = PROPERTY_PREFIX + ".max-connection-age-grace";
+    public static final String MAX_CONCURRENT_CALLS_PER_CONNECTION = PROPERTY_PREFIX
+            + ".max-concurrent-calls-per-connection";
+    public static final String IN_PROCESS = PROPERTY_PREFIX + ".in-process";
+    public static final String IN_PROCESS_NAME = PROPERTY_PREFIX + ".in-process-name";
+    public static final String AUTOSTART = PROPERTY_PREFIX + ".autostart";
+    public static final String WARM_UP = PROPERTY_PREFIX + ".warm-up";
+    public static final String WARM_UP_METHODS = PROPERTY_PREFIX + ".warm-up-methods";
+    public static final String WARM_UP_ITERATIONS = PROPERTY_PREFIX + ".warm-up-iterations";
+    public static final String WARM_UP_TIMEOUT = PROPERTY_PREFIX + ".warm-up-timeout";
+    public static final int DEFAULT_PORT = 8082;
+    public static final int DEFAULT_WARM_UP_ITERATIONS = 1000;
+    public static final Duration DEFAULT_WARM_UP_TIMEOUT = Duration.ofSeconds(60);
+
+    /**
+     * The Netty channel types which can be configured with {@code dev.resteasy.grpc.server.transport}.
+     */
+    public enum Transport {
+        AUTO,
+        NIO,
+        EPOLL;
+
+        /**
+         * Parses a configured value, ignoring case.
+         *
+         * @param value the configured value
+         * @param key   the configuration key, used for error reporting
+         * @return the matching transport
+         */
+        public static Transport parse(final String value, final String key) {
+            try {
+                return valueOf(value.trim().toUpperCase(Locale.ROOT));
+            } catch (IllegalArgumentException e) {
+                throw Messages.MESSAGES.invalidServerTransport(value, key);
+            }
+        }
+    }
+
+    /**
+     * The call executors which can be configured with {@code dev.resteasy.grpc.server.executor}.
+     */
+    public enum CallExecutor {
+        DEFAULT,
+        DIRECT,
+        FIXED;
+
+        /**
+         * Parses a configured value, ignoring case.
+         *
+         * @param value the configured value
+         * @param key   the configuration key, used for error reporting
+         * @return the matching executor
+         */
+        public static CallExecutor parse(final String value, final String key) {
+            try {
+                return valueOf(value.trim().toUpperCase(Locale.ROOT));
+            } catch (IllegalArgumentException e) {
+                throw Messages.MESSAGES.invalidServerExecutor(value, key);
+            }
+        }
+    }
+
+    private final ServletContext context;
+    private final Properties file;
+    private final int port;
+    private final String bindAddress;
+    private final Transport transport;
+    private final Integer bossThreads;
+    private final Integer workerThreads;
+    private final CallExecutor executor;
+    private final int executorThreads;
+    private final Integer flowControlWindow;
+    private final Integer initialFlowControlWindow;
+    private final Integer maxInboundMessageSize;
+    private final Integer maxInboundMetadataSize;
+    private final Duration keepAliveTime;
+    private final Duration keepAliveTimeout;
+    private final Duration permitKeepAliveTime;
+    private final Boolean permitKeepAliveWithoutCalls;
+    private final Duration maxConnectionIdle;
+    private final Duration maxConnectionAge;
+    private final Duration maxConnectionAgeGrace;
+    private final Integer maxConcurrentCallsPerConnection;
+    private final boolean inProcess;
+    private final String inProcessName;
+    private final boolean autoStart;
+    private final boolean warmUp;
+    private final Set<String> warmUpMethods;
+    private final int warmUpIterations;
+    private final Duration warmUpTimeout;
+
+    private GrpcServerConfig(final ServletContext context, final Properties properties) {
+        this.context = context;
+        this.file = properties == null ? loadFile(getParameter(context, null, CONFIG_FILE)) : properties;
+        port = getInt(PORT, DEFAULT_PORT);
+        bindAddress = getParameter(BIND_ADDRESS);
+        String value = getParameter(TRANSPORT);
+        transport = value == null ? Transport.AUTO : Transport.parse(value, TRANSPORT);
+        bossThreads = getInt(BOSS_THREADS);
+        workerThreads = getInt(WORKER_THREADS);
+        value = getParameter(EXECUTOR);
+        executor = value == null ? CallExecutor.DEFAULT : CallExecutor.parse(value, EXECUTOR);
+        executorThreads = getInt(EXECUTOR_THREADS, Runtime.getRuntime().availableProcessors() * 2);
+        flowControlWindow = getInt(FLOW_CONTROL_WINDOW);
+        initialFlowControlWindow = getInt(INITIAL_FLOW_CONTROL_WINDOW);
+        maxInboundMessageSize = getInt(MAX_INBOUND_MESSAGE_SIZE);
+        maxInboundMetadataSize = getInt(MAX_INBOUND_METADATA_SIZE);
+        keepAliveTime = getDuration(KEEP_ALIVE_TIME);
+        keepAliveTimeout = getDuration(KEEP_ALIVE_TIMEOUT);
+        permitKeepAliveTime = getDuration(PERMIT_KEEP_ALIVE_TIME);
+        permitKeepAliveWithoutCalls = getBoolean(PERMIT_KEEP_ALIVE_WITHOUT_CALLS);
+        maxConnectionIdle = getDuration(MAX_CONNECTION_IDLE);
+        maxConnectionAge = getDuration(MAX_CONNECTION_AGE);
+        maxConnectionAgeGrace = getDuration(MAX_CONNECTION_AGE_GRACE);
+        maxConcurrentCallsPerConnection = getInt(MAX_CONCURRENT_CALLS_PER_CONNECTION);
+        inProcess = getBoolean(IN_PROCESS, true);
+        inProcessName = getParameter(IN_PROCESS_NAME);
+        autoStart = getBoolean(AUTOSTART, true);
+        warmUp = getBoolean(WARM_UP, true);
+        warmUpMethods = getSet(WARM_UP_METHODS);
+        warmUpIterations = getInt(WARM_UP_ITERATIONS, DEFAULT_WARM_UP_ITERATIONS);
+        final Duration timeout = getDuration(WARM_UP_TIMEOUT);
+        warmUpTimeout = timeout == null ? DEFAULT_WARM_UP_TIMEOUT : timeout;
+    }
+
+    /**
+     * Reads the configuration from the context parameters of a deployment, system properties and the
+     * configured properties file.
+     *
+     * @param context the servlet context of the deployment, or {@code null} outside of a deployment
+     * @return the configuration
+     */
+    public static GrpcServerConfig load(final ServletContext context) {
+        return new GrpcServerConfig(context, null);
+    }
+
+    /**
+     * Reads the configuration from system properties and then {@code properties}, ignoring
+     * {@code dev.resteasy.grpc.server.config-file}.
+     *
+     * @param properties the settings which are not given as system properties
+     * @return the configuration
+     */
+    public static GrpcServerConfig load(final Properties properties) {
+        return new GrpcServerConfig(null, properties);
+    }
+
+    public int getPort() {
+        return port;
+    }
+
+    /**
+     * @return the address to listen on, or {@code null} for all addresses
+     */
+    public String getBindAddress() {
+        return bindAddress;
+    }
+
+    public Transport getTransport() {
+        return transport;
+    }
+
+    public Integer getBossThreads() {
+        return bossThreads;
+    }
+
+    public Integer getWorkerThreads() {
+        return workerThreads;
+    }
+
+    public CallExecutor getExecutor() {
+        return executor;
+    }
+
+    public int getExecutorThreads() {
+        return executorThreads;
+    }
+
+    public Integer getFlowControlWindow() {
+        return flowControlWindow;
+    }
+
+    public Integer getInitialFlowControlWindow() {
+        return initialFlowControlWindow;
+    }
+
+    public Integer getMaxInboundMessageSize() {
+        return maxInboundMessageSize;
+    }
+
+    public Integer getMaxInboundMetadataSize() {
+        return maxInboundMetadataSize;
+    }
+
+    public Duration getKeepAliveTime() {
+        return keepAliveTime;
+    }
+
+    public Duration getKeepAliveTimeout() {
+        return keepAliveTimeout;
+    }
+
+    public Duration getPermitKeepAliveTime() {
+        return permitKeepAliveTime;
+    }
+
+    public Boolean getPermitKeepAliveWithoutCalls() {
+        return permitKeepAliveWithoutCalls;
+    }
+
+    public Duration getMaxConnectionIdle() {
+        return maxConnectionIdle;
+    }
+
+    public Duration getMaxConnectionAge() {
+        return maxConnectionAge;
+    }
+
+    public Duration getMaxConnectionAgeGrace() {
+        return maxConnectionAgeGrace;
+    }
+
+    public Integer getMaxConcurrentCallsPerConnection() {
+        return maxConcurrentCallsPerConnection;
+    }
+
+    public boolean isInProcess() {
+        return inProcess;
+    }
+
+    /**
+     * @return the configured name of the in-process server, or {@code null} for the generated default
+     */
+    public String getInProcessName() {
+        return inProcessName;
+    }
+
+    public boolean isAutoStart() {
+        return autoStart;
+    }
+
+    public boolean isWarmUp() {
+        return warmUp;
+    }
+
+    /**
+     * @return the names of the rpc methods to call during the warm-up; {@code *} stands for all unary methods
+     */
+    public Set<String> getWarmUpMethods() {
+        return warmUpMethods;
+    }
+
+    /**
+     * @param methodName the bare name of an rpc method, such as {@code getInt}
+     * @return {@code true} if the warm-up calls the method
+     */
+    public boolean isWarmUpMethod(final String methodName) {
+        return warmUpMethods.contains("*") || warmUpMethods.contains(methodName);
+    }
+
+    public int getWarmUpIterations() {
+        return warmUpIterations;
+    }
+
+    public Duration getWarmUpTimeout() {
+        return warmUpTimeout;
+    }
+
+    /**
+     * Looks up a dispatch setting, such as {@code dev.resteasy.grpc.dispatch.CC1Service.pool-size}, in the
+     * same places as the other settings. Pass it to {@link RpcDispatcher#configure(java.util.function.Function)}.
+     *
+     * @param key the full name of the setting
+     * @return the value, or {@code null} if it isn't given or {@code key} isn't a dispatch setting
+     */
+    public String getDispatchParameter(final String key) {
+        if (!key.equals(RpcDispatcher.PROPERTY_PREFIX) && !key.startsWith(RpcDispatcher.PROPERTY_PREFIX + ".")) {
+            return null;
+        }
+        return getParameter(key);
+    }
+
+    /**
+     * Creates the executor for {@code dev.resteasy.grpc.server.executor=fixed}. The caller shuts it down
+     * after the server has terminated.
+     *
+     * @return a fixed size thread pool, or {@code null} for the {@code default} and {@code direct} executors
+     */
+    public ExecutorService createCallExecutor() {
+        if (executor != CallExecutor.FIXED) {
+            return null;
+        }
+        final AtomicInteger count = new AtomicInteger();
+        return Executors.newFixedThreadPool(executorThreads, r -> {
+            final Thread thread = new Thread(r, "grpc-server-executor-" + count.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * @return {@code true} if any setting which only Netty understands is given
+     */
+    public boolean hasNettySettings() {
+        return bindAddress != null || transport != Transport.AUTO || bossThreads != null || workerThreads != null
+                || flowControlWindow != null || initialFlowControlWindow != null
+                || maxConcurrentCallsPerConnection != null;
+    }
+
+    @Override
+    public String toString() {
+        return "GrpcServerConfig[port=" + port + ", bindAddress=" + bindAddress + ", transport=" + transport
+                + ", bossThreads=" + bossThreads + ", workerThreads=" + workerThreads + ", executor=" + executor
+                + ", flowControlWindow=" + flowControlWindow + ", initialFlowControlWindow=" + initialFlowControlWindow
+                + ", maxInboundMessageSize=" + maxInboundMessageSize + ", maxInboundMetadataSize="
+                + maxInboundMetadataSize + ", keepAliveTime=" + keepAliveTime + ", keepAliveTimeout=" + keepAliveTimeout
+                + ", maxConnectionAge=" + maxConnectionAge + ", maxConcurrentCallsPerConnection="
+                + maxConcurrentCallsPerConnection + ", inProcess=" + inProcess + ", autoStart=" + autoStart
+                + ", warmUp=" + warmUp + ", warmUpMethods=" + warmUpMethods + "]";
+    }
+
+    private String getParameter(final String key) {
+        return getParameter(context, file, key);
+    }
+
+    private static String getParameter(final ServletContext context, final Properties file, final String key) {
+        String value = context == null ? null : context.getInitParameter(key);
+        if (value == null) {
+            value = System.getProperty(key);
+        }
+        if (value == null && file != null) {
+            value = file.getProperty(key);
+        }
+        return value;
+    }
+
+    private Integer getInt(final String key) {
+        final String value = getParameter(key);
+        if (value == null) {
+            return null;
+        }
+        try {
+            int i = Integer.parseInt(value.trim());
+            if (i > 0) {
+                return i;
+            }
+        } catch (NumberFormatException e) {
+            // fall through
+        }
+        throw Messages.MESSAGES.invalidPositiveInteger(value, key);
+    }
+
+    private int getInt(final String key, final int defaultValue) {
+        final Integer i = getInt(key);
+        return i == null ? defaultValue : i;
+    }
+
+    private Boolean getBoolean(final String key) {
+        final String value = getParameter(key);
+        if (value == null) {
+            return null;
+        }
+        final String trimmed = value.trim();
+        if ("true".equalsIgnoreCase(trimmed)) {
+            return Boolean.TRUE;
+        }
+        if ("false".equalsIgnoreCase(trimmed)) {
+            return Boolean.FALSE;
+        }
+        throw Messages.MESSAGES.invalidBoolean(value, key);
+    }
+
+    private boolean getBoolean(final String key, final boolean defaultValue) {
+        final Boolean b = getBoolean(key);
+        return b == null ? defaultValue : b;
+    }
+
+    private Set<String> getSet(final String key) {
+        final String value = getParameter(key);
+        if (value == null) {
+            return Set.of();
+        }
+        final Set<String> set = new LinkedHashSet<String>();
+        for (String element : value.split(",")) {
+            if (!element.isBlank()) {
+                set.add(element.trim());
+            }
+        }
+        return Collections.unmodifiableSet(set);
+    }
+
+    private Duration getDuration(final String key) {
+        final String value = getParameter(key);
+        if (value == null) {
+            return null;
+        }
+        final String trimmed = value.trim();
+        try {
+            final Duration duration = trimmed.startsWith("P") || trimmed.startsWith("p") ? Duration.parse(trimmed)
+                    : Duration.ofSeconds(Long.parseLong(trimmed));
+            if (!duration.isNegative()) {
+                return duration;
+            }
+        } catch (DateTimeParseException | NumberFormatException e) {
+            // fall through
+        }
+        throw Messages.MESSAGES.invalidDuration(value, key);
+    }
+
+    private static Properties loadFile(final String fileName) {
+        final Properties properties = new Properties();
+        if (fileName != null) {
+            try (InputStream in = Files.newInputStream(Paths.get(fileName.trim()))) {
+                properties.load(in);
+            } catch (IOException e) {
+                throw Messages.MESSAGES.cannotReadServerConfig(e, fileName);
+            }
+        }
+        return properties;
+    }
+}
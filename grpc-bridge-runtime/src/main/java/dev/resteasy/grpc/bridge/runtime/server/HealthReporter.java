@@ -0,0 +1,119 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ *
+ * Copyright 2026 Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package dev.resteasy.grpc.bridge.runtime.server;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+
+import dev.resteasy.grpc.bridge.runtime.i18n.Messages;
+
+/**
+ * Reports the state of a generated &lt;prefix&gt;_Server through the standard gRPC health service,
+ * {@code grpc.health.v1.Health}. The service reports {@code NOT_SERVING} while the server warms up and
+ * {@code SERVING} once it is ready.
+ * <p>
+ * The health service is part of {@code grpc-services}, which a deployment may not see, and the bridge
+ * runtime does not depend on gRPC, so {@code HealthStatusManager} is used reflectively. The generated
+ * server casts {@link #getHealthService()} to {@code io.grpc.BindableService}.
+ */
+public final class HealthReporter {
+
+    /**
+     * The service name which stands for the server as a whole.
+     */
+    public static final String ALL_SERVICES = "";
+
+    private static final String STATUS_MANAGER = "io.grpc.protobuf.services.HealthStatusManager";
+    private static final String SERVING_STATUS = "io.grpc.health.v1.HealthCheckResponse$ServingStatus";
+
+    private final Object manager;
+    private final Method setStatus;
+    private final Object serving;
+    private final Object notServing;
+
+    private HealthReporter(final Class<?> managerClass, final Class<?> statusClass)
+            throws ReflectiveOperationException {
+        manager = managerClass.getConstructor().newInstance();
+        setStatus = managerClass.getMethod("setStatus", String.class, statusClass);
+        serving = statusClass.getField("SERVING").get(null);
+        notServing = statusClass.getField("NOT_SERVING").get(null);
+    }
+
+    /**
+     * @param loader the class loader which sees gRPC
+     * @return a reporter whose services are {@code NOT_SERVING}, or {@code null} if {@code grpc-services} is
+     *         not available
+     */
+    public static HealthReporter create(final ClassLoader loader) {
+        final Class<?> managerClass;
+        final Class<?> statusClass;
+        try {
+            managerClass = Class.forName(STATUS_MANAGER, true, loader);
+            statusClass = Class.forName(SERVING_STATUS, true, loader);
+        } catch (ClassNotFoundException | LinkageError e) {
+            return null;
+        }
+        try {
+            final HealthReporter reporter = new HealthReporter(managerClass, statusClass);
+            reporter.setServing(ALL_SERVICES, false);
+            return reporter;
+        } catch (ReflectiveOperationException e) {
+            throw Messages.MESSAGES.cannotConfigureHealthService(e);
+        }
+    }
+
+    /**
+     * @return the {@code io.grpc.BindableService} to add to the server
+     */
+    public Object getHealthService() {
+        return invoke("getHealthService");
+    }
+
+    /**
+     * @param service the full name of a gRPC service, or {@link #ALL_SERVICES}
+     * @param ready   {@code true} for {@code SERVING}, {@code false} for {@code NOT_SERVING}
+     */
+    public void setServing(final String service, final boolean ready) {
+        try {
+            setStatus.invoke(manager, service, ready ? serving : notServing);
+        } catch (InvocationTargetException e) {
+            throw Messages.MESSAGES.cannotConfigureHealthService(e.getCause());
+        } catch (ReflectiveOperationException e) {
+            throw Messages.MESSAGES.cannotConfigureHealthService(e);
+        }
+    }
+
+    /**
+     * Reports {@code NOT_SERVING} for all services and ignores later changes, while the server shuts down.
+     */
+    public void shutdown() {
+        invoke("enterTerminalState");
+    }
+
+    private Object invoke(final String methodName) {
+        try {
+            return manager.getClass().getMethod(methodName).invoke(manager);
+        } catch (InvocationTargetException e) {
+            throw Messages.MESSAGES.cannotConfigureHealthService(e.getCause());
+        } catch (ReflectiveOperationException e) {
+            throw Messages.MESSAGES.cannotConfigureHealthService(e);
+        }
+    }
+}
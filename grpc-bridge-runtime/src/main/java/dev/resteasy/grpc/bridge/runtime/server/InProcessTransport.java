@@ -0,0 +1,79 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ *
+ * Copyright 2026 Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package dev.resteasy.grpc.bridge.runtime.server;
+
+import java.lang.reflect.InvocationTargetException;
+
+import dev.resteasy.grpc.bridge.runtime.i18n.Messages;
+
+/**
+ * Creates gRPC's in-process server and channel builders, which connect callers in the same JVM to a
+ * service without TLS, HTTP/2 framing or sockets.
+ * <p>
+ * As with {@link NettyServerTransport}, the builders are found reflectively, since the bridge runtime
+ * does not depend on gRPC. The generated &lt;prefix&gt;_Server casts them to {@code io.grpc.ServerBuilder}
+ * and {@code io.grpc.ManagedChannelBuilder}.
+ */
+public final class InProcessTransport {
+
+    private static final String SERVER_BUILDER = "io.grpc.inprocess.InProcessServerBuilder";
+    private static final String CHANNEL_BUILDER = "io.grpc.inprocess.InProcessChannelBuilder";
+
+    private InProcessTransport() {
+        // restrict instantiation
+    }
+
+    /**
+     * @param name   the name under which the server is registered
+     * @param loader the class loader which sees gRPC
+     * @return an {@code InProcessServerBuilder}, or {@code null} if the in-process transport is not available
+     */
+    public static Object newServerBuilder(final String name, final ClassLoader loader) {
+        return forName(SERVER_BUILDER, name, loader);
+    }
+
+    /**
+     * @param name   the name of a running in-process server
+     * @param loader the class loader which sees gRPC
+     * @return an {@code InProcessChannelBuilder}, or {@code null} if the in-process transport is not available
+     */
+    public static Object newChannelBuilder(final String name, final ClassLoader loader) {
+        return forName(CHANNEL_BUILDER, name, loader);
+    }
+
+    private static Object forName(final String className, final String name, final ClassLoader loader) {
+        final Class<?> builderClass;
+        try {
+            builderClass = Class.forName(className, true, loader);
+        } catch (ClassNotFoundException | LinkageError e) {
+            return null;
+        }
+        try {
+            return builderClass.getMethod("forName", String.class).invoke(null, name);
+        } catch (InvocationTargetException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw Messages.MESSAGES.cannotConfigureInProcessTransport(e.getCause());
+        } catch (ReflectiveOperationException e) {
+            throw Messages.MESSAGES.cannotConfigureInProcessTransport(e);
+        }
+    }
+}
@@ -0,0 +1,169 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ *
+ * Copyright 2026 Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package dev.resteasy.grpc.bridge.runtime.server;
+
+import java.lang.reflect.InvocationTargetException;
+import java.net.InetSocketAddress;
+import java.net.SocketAddress;
+
+import org.jboss.logging.Logger;
+
+import dev.resteasy.grpc.bridge.runtime.i18n.Messages;
+
+/**
+ * Creates a {@code NettyServerBuilder} configured from a {@link GrpcServerConfig}, and owns the event loop
+ * groups it creates for it.
+ * <p>
+ * The bridge runtime does not depend on gRPC, and a deployment may see either {@code grpc-netty-shaded} or
+ * {@code grpc-netty}, so the builder is found and configured reflectively, trying the shaded flavor first.
+ * The generated &lt;prefix&gt;_Server casts the result of {@link #getServerBuilder()} to
+ * {@code io.grpc.ServerBuilder} and applies the transport independent settings itself.
+ * <p>
+ * Event loop groups are only created if {@code boss-threads}, {@code worker-threads} or a {@code transport}
+ * other than {@code auto} is configured; otherwise gRPC's shared groups are used. If both
+ * {@code initial-flow-control-window} and {@code flow-control-window} are given, the fixed window wins.
+ */
+public final class NettyServerTransport implements AutoCloseable {
+
+    private static final Logger logger = Logger.getLogger(NettyServerTransport.class);
+    private static final String[] SHADE_PREFIXES = { "io.grpc.netty.shaded.", "" };
+
+    private final Object builder;
+    private final Object bossGroup;
+    private final Object workerGroup;
+
+    private NettyServerTransport(final GrpcServerConfig config, final ClassLoader loader, final String shade,
+            final Class<?> builderClass) throws ReflectiveOperationException {
+        final SocketAddress address = config.getBindAddress() == null ? new InetSocketAddress(config.getPort())
+                : new InetSocketAddress(config.getBindAddress(), config.getPort());
+        builder = builderClass.getMethod("forAddress", SocketAddress.class).invoke(null, address);
+        if (config.getTransport() != GrpcServerConfig.Transport.AUTO || config.getBossThreads() != null
+                || config.getWorkerThreads() != null) {
+            final boolean epoll = useEpoll(config.getTransport(), loader, shade);
+            final String netty = shade + "io.netty.channel.";
+            final Class<?> groupClass = Class.forName(
+                    netty + (epoll ? "epoll.EpollEventLoopGroup" : "nio.NioEventLoopGroup"), true, loader);
+            final Class<?> channelClass = Class.forName(
+                    netty + (epoll ? "epoll.EpollServerSocketChannel" : "socket.nio.NioServerSocketChannel"), true,
+                    loader);
+            final Class<?> groupType = Class.forName(netty + "EventLoopGroup", true, loader);
+            // 0 lets Netty choose the number of worker threads, twice the number of processors
+            bossGroup = groupClass.getConstructor(int.class)
+                    .newInstance(config.getBossThreads() == null ? 1 : config.getBossThreads());
+            workerGroup = groupClass.getConstructor(int.class)
+                    .newInstance(config.getWorkerThreads() == null ? 0 : config.getWorkerThreads());
+            invoke("channelType", Class.class, channelClass);
+            invoke("bossEventLoopGroup", groupType, bossGroup);
+            invoke("workerEventLoopGroup", groupType, workerGroup);
+            logger.debugf("gRPC server transport: %s", groupClass.getName());
+        } else {
+            bossGroup = null;
+            workerGroup = null;
+        }
+        if (config.getInitialFlowControlWindow() != null) {
+            invoke("initialFlowControlWindow", int.class, config.getInitialFlowControlWindow());
+        }
+        if (config.getFlowControlWindow() != null) {
+            invoke("flowControlWindow", int.class, config.getFlowControlWindow());
+        }
+        if (config.getMaxConcurrentCallsPerConnection() != null) {
+            invoke("maxConcurrentCallsPerConnection", int.class, config.getMaxConcurrentCallsPerConnection());
+        }
+    }
+
+    /**
+     * Creates a Netty server builder listening on the configured port and address.
+     *
+     * @param config the server configuration
+     * @param loader the class loader which sees gRPC, typically that of the generated server
+     * @return the transport, or {@code null} if neither flavor of gRPC's Netty transport can be loaded
+     */
+    public static NettyServerTransport create(final GrpcServerConfig config, final ClassLoader loader) {
+        for (String shade : SHADE_PREFIXES) {
+            final Class<?> builderClass;
+            try {
+                builderClass = Class.forName(shade + "io.grpc.netty.NettyServerBuilder", true, loader);
+            } catch (ClassNotFoundException | LinkageError e) {
+                continue;
+            }
+            try {
+                return new NettyServerTransport(config, loader, shade, builderClass);
+            } catch (InvocationTargetException e) {
+                if (e.getCause() instanceof RuntimeException) {
+                    throw (RuntimeException) e.getCause();
+                }
+                throw Messages.MESSAGES.cannotConfigureNettyTransport(e.getCause());
+            } catch (ReflectiveOperationException e) {
+                throw Messages.MESSAGES.cannotConfigureNettyTransport(e);
+            }
+        }
+        return null;
+    }
+
+    /**
+     * @return the {@code NettyServerBuilder}, to be cast to {@code io.grpc.ServerBuilder}
+     */
+    public Object getServerBuilder() {
+        return builder;
+    }
+
+    /**
+     * Shuts down the event loop groups created for the server, if any. Call this after the server
+     * has terminated.
+     */
+    @Override
+    public void close() {
+        shutdownGracefully(bossGroup);
+        shutdownGracefully(workerGroup);
+    }
+
+    private void invoke(final String name, final Class<?> type, final Object arg) throws ReflectiveOperationException {
+        builder.getClass().getMethod(name, type).invoke(builder, arg);
+    }
+
+    private static boolean useEpoll(final GrpcServerConfig.Transport transport, final ClassLoader loader,
+            final String shade) {
+        if (transport == GrpcServerConfig.Transport.NIO) {
+            return false;
+        }
+        boolean available;
+        try {
+            available = (Boolean) Class.forName(shade + "io.netty.channel.epoll.Epoll", true, loader)
+                    .getMethod("isAvailable").invoke(null);
+        } catch (ReflectiveOperationException | LinkageError e) {
+            available = false;
+        }
+        if (!available && transport == GrpcServerConfig.Transport.EPOLL) {
+            throw Messages.MESSAGES.epollNotAvailable();
+        }
+        return available;
+    }
+
+    private static void shutdownGracefully(final Object group) {
+        if (group == null) {
+            return;
+        }
+        try {
+            group.getClass().getMethod("shutdownGracefully").invoke(group);
+        } catch (ReflectiveOperationException e) {
+            logger.debugf(e, "Unable to shut down %s", group);
+        }
+    }
+}
@@ -0,0 +1,182 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ *
+ * Copyright 2026 Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package dev.resteasy.grpc.bridge.runtime.server;
+
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Method;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.util.List;
+import java.util.concurrent.CompletionStage;
+
+import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.core.Response;
+
+import org.jboss.logging.Logger;
+import org.jboss.resteasy.core.ResourceMethodInvoker;
+import org.jboss.resteasy.core.ResourceMethodRegistry;
+import org.jboss.resteasy.spi.Dispatcher;
+import org.jboss.resteasy.spi.ResourceInvoker;
+import org.jboss.resteasy.spi.ResteasyProviderFactory;
+
+import com.google.protobuf.Message;
+
+import dev.resteasy.grpc.bridge.runtime.HeaderMap;
+import dev.resteasy.grpc.bridge.runtime.protobuf.JavabufTranslator;
+
+/**
+ * The part of a server warm-up which does not need gRPC. The generated &lt;prefix&gt;_Server runs it before it
+ * reports that it is ready: it initializes the javabuf translators and resolves the entity providers of
+ * every resource method, neither of which calls a resource. Then, if
+ * {@code dev.resteasy.grpc.server.warm-up-methods} is given, it calls those methods through the in-process
+ * transport, which, with enough {@code warm-up-iterations}, lets the JIT compile the request path.
+ */
+public final class WarmUp {
+
+    private static final Logger logger = Logger.getLogger(WarmUp.class);
+
+    private WarmUp() {
+        // restrict instantiation
+    }
+
+    /**
+     * Initializes every message class of a generated {@code <prefix>_proto} class, builds its parser, and
+     * translates its default instance to Java and back with the generated {@code <prefix>JavabufTranslator},
+     * which initializes the {@code *_FromJavabuf} and {@code *_ToJavabuf} translators. Messages which have no
+     * Java counterpart, such as {@code GeneralEntityMessage}, are skipped.
+     *
+     * @param protoClassName      the name of the {@code <prefix>_proto} class
+     * @param translatorClassName the name of the {@code <prefix>JavabufTranslator} class
+     * @param loader              the class loader of the deployment
+     * @return the number of messages translated
+     */
+    public static int translators(final String protoClassName, final String translatorClassName,
+            final ClassLoader loader) {
+        final Class<?> protoClass;
+        try {
+            protoClass = Class.forName(protoClassName, true, loader);
+        } catch (ClassNotFoundException | LinkageError e) {
+            logger.debugf("Not warming up %s: %s", protoClassName, e);
+            return 0;
+        }
+        JavabufTranslator translator = null;
+        try {
+            translator = (JavabufTranslator) Class.forName(translatorClassName, true, loader).getConstructor()
+                    .newInstance();
+        } catch (ReflectiveOperationException | LinkageError | ClassCastException e) {
+            logger.debugf("Not warming up %s: %s", translatorClassName, e);
+        }
+        int count = 0;
+        for (Class<?> messageClass : protoClass.getClasses()) {
+            if (!Message.class.isAssignableFrom(messageClass)) {
+                continue;
+            }
+            try {
+                final Message message = (Message) messageClass.getMethod("getDefaultInstance").invoke(null);
+                message.getParserForType().parseFrom(message.toByteString());
+                if (translator != null) {
+                    final Object object = translator.translateFromJavabuf(message);
+                    if (object != null) {
+                        translator.translateToJavabuf(object);
+                    }
+                    count++;
+                }
+            } catch (Exception | LinkageError e) {
+                logger.tracef("Not translating %s: %s", messageClass.getName(), e);
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Resolves, for each resource method of the deployment, the {@code MessageBodyReader} of its entity
+     * parameter and the {@code MessageBodyWriter} of its return type, with the media types the bridge uses.
+     * This fills the decisions the providers cache per type, such as those of the generated
+     * {@code <prefix>MessageBodyReaderWriter}, without invoking any resource method.
+     *
+     * @param dispatcher the dispatcher of the bridge servlet
+     * @return the number of resource methods resolved
+     */
+    public static int invokers(final Dispatcher dispatcher) {
+        if (!(dispatcher.getRegistry() instanceof ResourceMethodRegistry)) {
+            return 0;
+        }
+        final ResteasyProviderFactory providerFactory = dispatcher.getProviderFactory();
+        final MediaType contentType = MediaType.valueOf(HeaderMap.CONTENT_TYPE_VALUES.get(0));
+        final MediaType accept = MediaType.valueOf(HeaderMap.ACCEPT_VALUES.get(1));
+        int count = 0;
+        for (List<ResourceInvoker> invokers : ((ResourceMethodRegistry) dispatcher.getRegistry()).getBounded()
+                .values()) {
+            for (ResourceInvoker invoker : invokers) {
+                if (!(invoker instanceof ResourceMethodInvoker)) {
+                    continue;
+                }
+                final Method method = ((ResourceMethodInvoker) invoker).getMethod();
+                try {
+                    final Annotation[][] parameterAnnotations = method.getParameterAnnotations();
+                    for (int i = 0; i < method.getParameterCount(); i++) {
+                        if (isEntity(parameterAnnotations[i])) {
+                            providerFactory.getMessageBodyReader(method.getParameterTypes()[i],
+                                    method.getGenericParameterTypes()[i], parameterAnnotations[i], contentType);
+                        }
+                    }
+                    Type returnType = method.getGenericReturnType();
+                    if (CompletionStage.class.isAssignableFrom(method.getReturnType())
+                            && returnType instanceof ParameterizedType) {
+                        returnType = ((ParameterizedType) returnType).getActualTypeArguments()[0];
+                    }
+                    final Class<?> rawType = rawType(returnType);
+                    if (rawType != null && !void.class.equals(rawType) && !Void.class.equals(rawType)
+                            && !Response.class.isAssignableFrom(rawType)) {
+                        providerFactory.getMessageBodyWriter(rawType, returnType, method.getAnnotations(), accept);
+                    }
+                    count++;
+                } catch (RuntimeException e) {
+                    logger.tracef("Not resolving the providers of %s: %s", method, e);
+                }
+            }
+        }
+        return count;
+    }
+
+    /**
+     * @return {@code true} if a parameter with these annotations is the entity, i.e. has no Jakarta REST or
+     *         RESTEasy injection annotation
+     */
+    private static boolean isEntity(final Annotation[] annotations) {
+        for (Annotation annotation : annotations) {
+            final String name = annotation.annotationType().getName();
+            if (name.startsWith("jakarta.ws.rs.") || name.startsWith("org.jboss.resteasy.annotations.")) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static Class<?> rawType(final Type type) {
+        if (type instanceof Class) {
+            return (Class<?>) type;
+        }
+        if (type instanceof ParameterizedType) {
+            return (Class<?>) ((ParameterizedType) type).getRawType();
+        }
+        return null;
+    }
+}
@@ -19,38 +19,78 @@
 
 package dev.resteasy.grpc.bridge.runtime.servlet;
 
-import java.util.HashSet;
+import java.io.IOException;
 import java.util.Set;
+import java.util.concurrent.CopyOnWriteArraySet;
 import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
 
 import jakarta.servlet.AsyncContext;
+import jakarta.servlet.AsyncEvent;
 import jakarta.servlet.AsyncListener;
 import jakarta.servlet.ServletContext;
 import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletOutputStream;
 import jakarta.servlet.ServletRequest;
 import jakarta.servlet.ServletResponse;
+import jakarta.servlet.http.HttpServletRequest;
 
-import org.jboss.resteasy.concurrent.ContextualExecutors;
+import org.jboss.logging.Logger;
 
 import dev.resteasy.grpc.bridge.runtime.i18n.Messages;
 
 public class AsyncContextImpl implements AsyncContext {
 
-    private static ExecutorService executorService = ContextualExecutors.threadPool();
+    private static final Logger logger = Logger.getLogger(AsyncContextImpl.class);
 
     private ServletRequest servletRequest;
     private ServletResponse servletResponse;
-    private Set<AsyncListener> listeners = new HashSet<AsyncListener>();
+    private Set<AsyncListener> listeners = new CopyOnWriteArraySet<AsyncListener>();
     long timeout;
     private volatile boolean complete = false;
+    private ScheduledFuture<?> timer;
 
     public AsyncContextImpl(final ServletRequest servletRequest, final ServletResponse servletResponse) {
         this.servletRequest = servletRequest;
         this.servletResponse = servletResponse;
     }
 
+    /**
+     * @return the executor service behind the shared {@link AsyncExecutor}, or null if it runs tasks on the
+     *         calling thread
+     * @deprecated {@link #start(Runnable)} uses the {@link AsyncExecutor} of the request's deployment; tasks
+     *             submitted here bypass its statistics
+     */
+    @Deprecated
     public static ExecutorService getExecutorService() {
-        return executorService;
+        return AsyncExecutor.getShared().getExecutorService();
+    }
+
+    /**
+     * Called when the gRPC call behind {@code request} is cancelled by the client, or its deadline expires,
+     * while an asynchronous resource method is still running. Any output which hasn't been passed to gRPC is
+     * discarded, and the listeners of the request's {@link AsyncContext}, e.g., the one by which RESTEasy
+     * tracks a suspended {@link jakarta.ws.rs.container.AsyncResponse}, are told that the request has timed
+     * out, if the deadline expired, and that it is complete.
+     *
+     * @param request  the request
+     * @param response the response
+     * @param timedOut true if the deadline of the call expired
+     */
+    public static void cancel(final HttpServletRequest request, final ServletResponse response, final boolean timedOut) {
+        try {
+            ServletOutputStream os = response.getOutputStream();
+            if (os instanceof AsyncMockServletOutputStream) {
+                ((AsyncMockServletOutputStream) os).cancel();
+            }
+        } catch (IOException | IllegalStateException e) {
+            // the resource is using getWriter()
+        }
+        if (request != null && request.isAsyncStarted() && request.getAsyncContext() instanceof AsyncContextImpl) {
+            ((AsyncContextImpl) request.getAsyncContext()).cancel(timedOut);
+        }
     }
 
     @Override
@@ -84,16 +124,24 @@ public class AsyncContextImpl implements AsyncContext {
     }
 
     @Override
-    public synchronized void complete() {
-        if (complete) {
-            return;
+    public void complete() {
+        synchronized (this) {
+            if (complete) {
+                return;
+            }
+            complete = true;
+            cancelTimer();
         }
-        complete = true;
+        releaseOutput();
+        fireOnComplete();
     }
 
+    /**
+     * Runs {@code run} on the {@link AsyncExecutor} of the request's deployment.
+     */
     @Override
     public void start(Runnable run) {
-        executorService.execute(run);
+        AsyncExecutor.getInstance(servletRequest.getServletContext()).execute(run);
     }
 
     @Override
@@ -112,13 +160,103 @@ public class AsyncContextImpl implements AsyncContext {
 
     }
 
+    /**
+     * Sets the timeout and, if it is positive, (re)starts the timer. When the timer expires, the listeners'
+     * {@link AsyncListener#onTimeout(AsyncEvent)} methods are called, and the context is completed if none of
+     * them completed it.
+     */
     @Override
-    public void setTimeout(long timeout) {
+    public synchronized void setTimeout(long timeout) {
         this.timeout = timeout;
+        cancelTimer();
+        if (timeout > 0 && !complete) {
+            timer = TimerHolder.TIMER.schedule(this::timeout, timeout, TimeUnit.MILLISECONDS);
+        }
     }
 
     @Override
     public long getTimeout() {
         return timeout;
     }
+
+    // The generated MessageBodyWriter releases the entity itself, unless a WriterInterceptor, such as GZIP
+    // encoding, wrapped the stream it was given. The interceptor's bytes are only complete now.
+    private void releaseOutput() {
+        try {
+            ServletOutputStream os = servletResponse.getOutputStream();
+            if (os instanceof AsyncMockServletOutputStream) {
+                AsyncMockServletOutputStream amsos = (AsyncMockServletOutputStream) os;
+                if (amsos.size() > 0) {
+                    amsos.release();
+                }
+                // A call which released nothing, e.g., one with a null entity, is completed with null
+                amsos.close();
+            }
+        } catch (IOException | IllegalStateException e) {
+            // the resource is using getWriter()
+        }
+    }
+
+    private void timeout() {
+        if (complete) {
+            return;
+        }
+        fireOnTimeout();
+        complete();
+    }
+
+    private void cancel(final boolean timedOut) {
+        synchronized (this) {
+            if (complete) {
+                return;
+            }
+            complete = true;
+            cancelTimer();
+        }
+        if (timedOut) {
+            fireOnTimeout();
+        }
+        fireOnComplete();
+    }
+
+    private void cancelTimer() {
+        if (timer != null) {
+            timer.cancel(false);
+            timer = null;
+        }
+    }
+
+    private void fireOnTimeout() {
+        AsyncEvent event = new AsyncEvent(this, servletRequest, servletResponse);
+        for (AsyncListener listener : listeners) {
+            try {
+                listener.onTimeout(event);
+            } catch (Exception e) {
+                logger.debugf(e, "AsyncListener %s failed in onTimeout()", listener);
+            }
+        }
+    }
+
+    private void fireOnComplete() {
+        AsyncEvent event = new AsyncEvent(this, servletRequest, servletResponse);
+        for (AsyncListener listener : listeners) {
+            try {
+                listener.onComplete(event);
+            } catch (Exception e) {
+                logger.debugf(e, "AsyncListener %s failed in onComplete()", listener);
+            }
+        }
+    }
+
+    private static final class TimerHolder {
+        private static final ScheduledThreadPoolExecutor TIMER = new ScheduledThreadPoolExecutor(1, r -> {
+            Thread t = new Thread(r, "grpc-async-timeout");
+            t.setDaemon(true);
+            return t;
+        });
+
+        static {
+            TIMER.setRemoveOnCancelPolicy(true);
+        }
+    }
 }
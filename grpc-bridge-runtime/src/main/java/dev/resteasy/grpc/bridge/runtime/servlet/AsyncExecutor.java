@@ -0,0 +1,501 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ *
+ * Copyright 2026 Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package dev.resteasy.grpc.bridge.runtime.servlet;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.management.ManagementFactory;
+import java.util.Locale;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+import jakarta.servlet.ServletConfig;
+import jakarta.servlet.ServletContext;
+
+import org.jboss.logging.Logger;
+import org.jboss.resteasy.concurrent.ContextualExecutors;
+
+import dev.resteasy.grpc.bridge.runtime.i18n.Messages;
+
+/**
+ * Runs the tasks passed to {@link AsyncContextImpl#start(Runnable)}.
+ * <p>
+ * There is one {@code AsyncExecutor} per deployment, created by the first {@link GrpcHttpServletDispatcher}
+ * of the deployment to be initialized and shut down when the last one is destroyed. Its configuration
+ * is read from the init parameters of that servlet, then from the context parameters of the deployment,
+ * and then from system properties:
+ * <ul>
+ * <li>{@code dev.resteasy.grpc.async.executor}: one of
+ * <ul>
+ * <li>{@code default}: RESTEasy's contextual thread pool, which is the container's managed executor
+ * if there is one (the default);</li>
+ * <li>{@code fixed}: a fixed size thread pool with a bounded queue. A task which cannot be queued is
+ * rejected with a {@link RejectedExecutionException};</li>
+ * <li>{@code virtual}: a virtual thread per task, or an unbounded cached thread pool if the JVM does
+ * not support virtual threads;</li>
+ * <li>{@code grpc}: the thread which calls {@code start()}, i.e., the gRPC call executor or
+ * dispatch thread running the resource method.</li>
+ * </ul>
+ * </li>
+ * <li>{@code dev.resteasy.grpc.async.pool-size}: the number of threads of a {@code fixed} pool (default
+ * twice the number of processors)</li>
+ * <li>{@code dev.resteasy.grpc.async.queue-size}: the queue length of a {@code fixed} pool (default 256)</li>
+ * <li>{@code dev.resteasy.grpc.async.shutdown-timeout}: the number of seconds to wait for running tasks
+ * when the deployment is stopped (default 10)</li>
+ * </ul>
+ * Requests which don't belong to a deployment with a {@link GrpcHttpServletDispatcher} use a shared
+ * executor configured by system properties.
+ * <p>
+ * Each executor is registered with the platform MBean server as
+ * {@code dev.resteasy.grpc:type=AsyncExecutor,context="<context path>"} (or {@code context="shared"}),
+ * see {@link AsyncExecutorMXBean}.
+ */
+public class AsyncExecutor implements Executor, AsyncExecutorMXBean {
+
+    public static final String PROPERTY_PREFIX = "dev.resteasy.grpc.async";
+    public static final String EXECUTOR = PROPERTY_PREFIX + ".executor";
+    public static final String POOL_SIZE = PROPERTY_PREFIX + ".pool-size";
+    public static final String QUEUE_SIZE = PROPERTY_PREFIX + ".queue-size";
+    public static final String SHUTDOWN_TIMEOUT = PROPERTY_PREFIX + ".shutdown-timeout";
+    private static final String ATTRIBUTE = AsyncExecutor.class.getName();
+    private static final String SHARED = "shared";
+    private static final int DEFAULT_QUEUE_SIZE = 256;
+    private static final int DEFAULT_SHUTDOWN_TIMEOUT = 10;
+
+    private static final Logger logger = Logger.getLogger(AsyncExecutor.class);
+    private static final MethodHandle NEW_VIRTUAL_THREAD_EXECUTOR = findVirtualThreadExecutorFactory();
+    private static volatile AsyncExecutor shared;
+
+    /**
+     * The kinds of executor which can be configured with {@code dev.resteasy.grpc.async.executor}.
+     */
+    public enum Type {
+        DEFAULT,
+        FIXED,
+        VIRTUAL,
+        GRPC;
+
+        /**
+         * Parses a configured value, ignoring case.
+         *
+         * @param value the configured value
+         * @param key   the configuration key, used for error reporting
+         * @return the matching type
+         */
+        public static Type parse(final String value, final String key) {
+            try {
+                return valueOf(value.trim().toUpperCase(Locale.ROOT));
+            } catch (IllegalArgumentException e) {
+                throw Messages.MESSAGES.invalidAsyncExecutor(value, key);
+            }
+        }
+    }
+
+    private final String name;
+    private final Type type;
+    // The executor tasks are handed to, null if they run on the calling thread
+    private final ExecutorService delegate;
+    // The pool created by, and to be stopped by, this executor, if any
+    private final ExecutorService owned;
+    private final int shutdownTimeout;
+    private volatile ObjectName objectName;
+    private volatile boolean shutdown;
+    // Guarded by AsyncExecutor.class
+    private int references;
+
+    private final AtomicInteger active = new AtomicInteger();
+    private final AtomicInteger queued = new AtomicInteger();
+    private final LongAdder started = new LongAdder();
+    private final LongAdder completed = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+    private final LongAdder waitNanos = new LongAdder();
+    private final LongAdder runNanos = new LongAdder();
+    private final LongAccumulator maxWaitNanos = new LongAccumulator(Long::max, 0L);
+    private final LongAccumulator maxRunNanos = new LongAccumulator(Long::max, 0L);
+
+    private AsyncExecutor(final String name, final ServletConfig config, final ServletContext context) {
+        this.name = name;
+        String value = getParameter(config, context, EXECUTOR);
+        type = value == null ? Type.DEFAULT : Type.parse(value, EXECUTOR);
+        shutdownTimeout = getIntParameter(config, context, SHUTDOWN_TIMEOUT, DEFAULT_SHUTDOWN_TIMEOUT);
+        switch (type) {
+            case FIXED:
+                owned = createFixedExecutor(name, getIntParameter(config, context, POOL_SIZE,
+                        Runtime.getRuntime().availableProcessors() * 2),
+                        getIntParameter(config, context, QUEUE_SIZE, DEFAULT_QUEUE_SIZE));
+                delegate = ContextualExecutors.wrap(owned);
+                break;
+            case VIRTUAL:
+                owned = createVirtualExecutor(name);
+                delegate = ContextualExecutors.wrap(owned);
+                break;
+            case GRPC:
+                owned = null;
+                delegate = null;
+                break;
+            default:
+                owned = null;
+                delegate = ContextualExecutors.threadPool();
+        }
+        logger.debugf("%s: %s async executor", name, type);
+    }
+
+    /**
+     * Creates the executor of the deployment of {@code config}, unless it already exists, and registers
+     * it with JMX.
+     *
+     * @param config the configuration of a {@link GrpcHttpServletDispatcher}
+     * @return the executor of the deployment
+     */
+    public static AsyncExecutor install(final ServletConfig config) {
+        final ServletContext context = config.getServletContext();
+        synchronized (AsyncExecutor.class) {
+            AsyncExecutor executor = (AsyncExecutor) context.getAttribute(ATTRIBUTE);
+            if (executor == null) {
+                executor = new AsyncExecutor(getName(context), config, context);
+                executor.register();
+                context.setAttribute(ATTRIBUTE, executor);
+            }
+            executor.references++;
+            return executor;
+        }
+    }
+
+    /**
+     * Called when a {@link GrpcHttpServletDispatcher} is destroyed. When the last one of a deployment is gone,
+     * the executor is unregistered from JMX and shut down, waiting up to
+     * {@code dev.resteasy.grpc.async.shutdown-timeout} seconds for running tasks to finish.
+     *
+     * @param context the context of the deployment
+     */
+    public static void uninstall(final ServletContext context) {
+        final AsyncExecutor executor;
+        synchronized (AsyncExecutor.class) {
+            executor = (AsyncExecutor) context.getAttribute(ATTRIBUTE);
+            if (executor == null || --executor.references > 0) {
+                return;
+            }
+            context.removeAttribute(ATTRIBUTE);
+        }
+        executor.shutdown();
+    }
+
+    /**
+     * @param context the context of a deployment, may be null
+     * @return the executor of the deployment or, if it has none, the shared executor
+     */
+    public static AsyncExecutor getInstance(final ServletContext context) {
+        final Object executor = context == null ? null : context.getAttribute(ATTRIBUTE);
+        if (executor instanceof AsyncExecutor) {
+            return (AsyncExecutor) executor;
+        }
+        return getShared();
+    }
+
+    /**
+     * @return the executor used by requests which don't belong to a deployment with a
+     *         {@link GrpcHttpServletDispatcher}. It is configured by system properties and is never shut down.
+     */
+    public static AsyncExecutor getShared() {
+        AsyncExecutor executor = shared;
+        if (executor == null) {
+            synchronized (AsyncExecutor.class) {
+                executor = shared;
+                if (executor == null) {
+                    executor = new AsyncExecutor(SHARED, null, null);
+                    executor.register();
+                    shared = executor;
+                }
+            }
+        }
+        return executor;
+    }
+
+    /**
+     * Runs {@code task} on the configured executor, recording how long it waited and how long it ran.
+     *
+     * @param task the task
+     * @throws RejectedExecutionException if the executor is shut down or a {@code fixed} pool cannot accept the
+     *                                    task
+     */
+    @Override
+    public void execute(final Runnable task) {
+        if (shutdown) {
+            rejected.increment();
+            throw Messages.MESSAGES.asyncExecutorShutDown(name);
+        }
+        final long submitted = System.nanoTime();
+        queued.incrementAndGet();
+        if (delegate == null) {
+            try {
+                run(task, submitted);
+            } catch (RuntimeException e) {
+                logger.debugf(e, "%s: async task %s failed", name, task);
+            }
+            return;
+        }
+        try {
+            delegate.execute(() -> run(task, submitted));
+        } catch (RejectedExecutionException e) {
+            queued.decrementAndGet();
+            rejected.increment();
+            throw e;
+        }
+    }
+
+    /**
+     * @return the executor service tasks are handed to, or null if they run on the calling thread
+     */
+    public ExecutorService getExecutorService() {
+        return delegate;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public String getType() {
+        return type.name().toLowerCase(Locale.ROOT);
+    }
+
+    @Override
+    public int getActiveCount() {
+        return active.get();
+    }
+
+    @Override
+    public int getQueuedCount() {
+        return queued.get();
+    }
+
+    @Override
+    public long getCompletedCount() {
+        return completed.sum();
+    }
+
+    @Override
+    public long getRejectedCount() {
+        return rejected.sum();
+    }
+
+    @Override
+    public double getAverageWaitMillis() {
+        final long count = started.sum();
+        return count == 0 ? 0 : toMillis(waitNanos.sum()) / count;
+    }
+
+    @Override
+    public double getMaxWaitMillis() {
+        return toMillis(maxWaitNanos.get());
+    }
+
+    @Override
+    public double getAverageRunMillis() {
+        final long count = completed.sum();
+        return count == 0 ? 0 : toMillis(runNanos.sum()) / count;
+    }
+
+    @Override
+    public double getMaxRunMillis() {
+        return toMillis(maxRunNanos.get());
+    }
+
+    @Override
+    public void resetStatistics() {
+        started.reset();
+        completed.reset();
+        rejected.reset();
+        waitNanos.reset();
+        runNanos.reset();
+        maxWaitNanos.reset();
+        maxRunNanos.reset();
+    }
+
+    private void run(final Runnable task, final long submitted) {
+        final long start = System.nanoTime();
+        queued.decrementAndGet();
+        active.incrementAndGet();
+        started.increment();
+        waitNanos.add(start - submitted);
+        maxWaitNanos.accumulate(start - submitted);
+        try {
+            task.run();
+        } finally {
+            final long elapsed = System.nanoTime() - start;
+            active.decrementAndGet();
+            completed.increment();
+            runNanos.add(elapsed);
+            maxRunNanos.accumulate(elapsed);
+        }
+    }
+
+    private void shutdown() {
+        shutdown = true;
+        unregister();
+        if (owned == null) {
+            if (delegate != null) {
+                // Does nothing if RESTEasy is using the container's managed executor
+                delegate.shutdown();
+            }
+            return;
+        }
+        owned.shutdown();
+        try {
+            if (!owned.awaitTermination(shutdownTimeout, TimeUnit.SECONDS)) {
+                logger.debugf("%s: %d async tasks still running after %d seconds", name, active.get(),
+                        shutdownTimeout);
+                owned.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            owned.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void register() {
+        try {
+            final ObjectName on = new ObjectName(
+                    "dev.resteasy.grpc:type=AsyncExecutor,context=" + ObjectName.quote(name));
+            final MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+            if (server.isRegistered(on)) {
+                // Left behind by an earlier deployment with the same context path which wasn't destroyed
+                server.unregisterMBean(on);
+            }
+            server.registerMBean(this, on);
+            objectName = on;
+        } catch (JMException | SecurityException e) {
+            logger.debugf(e, "%s: unable to register the async executor with JMX", name);
+        }
+    }
+
+    private void unregister() {
+        final ObjectName on = objectName;
+        if (on == null) {
+            return;
+        }
+        objectName = null;
+        try {
+            ManagementFactory.getPlatformMBeanServer().unregisterMBean(on);
+        } catch (JMException | SecurityException e) {
+            logger.debugf(e, "%s: unable to unregister the async executor from JMX", name);
+        }
+    }
+
+    private static String getName(final ServletContext context) {
+        final String path = context.getContextPath();
+        return path == null || path.isEmpty() ? "/" : path;
+    }
+
+    private static String getParameter(final ServletConfig config, final ServletContext context, final String key) {
+        String value = config == null ? null : config.getInitParameter(key);
+        if (value == null && context != null) {
+            value = context.getInitParameter(key);
+        }
+        if (value == null) {
+            value = System.getProperty(key);
+        }
+        return value;
+    }
+
+    private static int getIntParameter(final ServletConfig config, final ServletContext context, final String key,
+            final int defaultValue) {
+        final String value = getParameter(config, context, key);
+        if (value == null) {
+            return defaultValue;
+        }
+        try {
+            int i = Integer.parseInt(value.trim());
+            if (i > 0) {
+                return i;
+            }
+        } catch (NumberFormatException e) {
+            // fall through
+        }
+        throw Messages.MESSAGES.invalidPositiveInteger(value, key);
+    }
+
+    private static double toMillis(final long nanos) {
+        return nanos / 1_000_000.0;
+    }
+
+    private static ExecutorService createFixedExecutor(final String name, final int poolSize, final int queueSize) {
+        final ThreadPoolExecutor tpe = new ThreadPoolExecutor(poolSize, poolSize, 60L, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<Runnable>(queueSize), new AsyncThreadFactory(name),
+                (r, e) -> {
+                    throw e.isShutdown() ? Messages.MESSAGES.asyncExecutorShutDown(name)
+                            : Messages.MESSAGES.asyncExecutorQueueFull(name, queueSize);
+                });
+        tpe.allowCoreThreadTimeOut(true);
+        return tpe;
+    }
+
+    private static ExecutorService createVirtualExecutor(final String name) {
+        if (NEW_VIRTUAL_THREAD_EXECUTOR != null) {
+            try {
+                return (ExecutorService) NEW_VIRTUAL_THREAD_EXECUTOR.invoke();
+            } catch (Throwable t) {
+                logger.debug("Unable to create virtual thread executor", t);
+            }
+        }
+        logger.debug("Virtual threads are not available, using a cached thread pool");
+        return Executors.newCachedThreadPool(new AsyncThreadFactory(name));
+    }
+
+    private static MethodHandle findVirtualThreadExecutorFactory() {
+        // Executors.newVirtualThreadPerTaskExecutor() is only available from Java 21, the project targets Java 17
+        try {
+            return MethodHandles.publicLookup().findStatic(Executors.class, "newVirtualThreadPerTaskExecutor",
+                    MethodType.methodType(ExecutorService.class));
+        } catch (NoSuchMethodException | IllegalAccessException e) {
+            return null;
+        }
+    }
+
+    private static class AsyncThreadFactory implements ThreadFactory {
+        private final AtomicInteger counter = new AtomicInteger();
+        private final String name;
+
+        AsyncThreadFactory(final String name) {
+            this.name = name;
+        }
+
+        @Override
+        public Thread newThread(final Runnable r) {
+            final Thread thread = new Thread(r, "grpc-async-" + name + "-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
+}
@@ -0,0 +1,77 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ *
+ * Copyright 2026 Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package dev.resteasy.grpc.bridge.runtime.servlet;
+
+/**
+ * Management interface of an {@link AsyncExecutor}, registered with the platform MBean server as
+ * {@code dev.resteasy.grpc:type=AsyncExecutor,context="<context path>"}.
+ */
+public interface AsyncExecutorMXBean {
+
+    /**
+     * @return the configured type: {@code default}, {@code fixed}, {@code virtual} or {@code grpc}
+     */
+    String getType();
+
+    /**
+     * @return the number of tasks which are currently running
+     */
+    int getActiveCount();
+
+    /**
+     * @return the number of tasks which have been accepted but haven't started
+     */
+    int getQueuedCount();
+
+    /**
+     * @return the number of tasks which have finished, normally or not
+     */
+    long getCompletedCount();
+
+    /**
+     * @return the number of tasks which have been rejected
+     */
+    long getRejectedCount();
+
+    /**
+     * @return the average time, in milliseconds, between the submission of a task and its start
+     */
+    double getAverageWaitMillis();
+
+    /**
+     * @return the longest time, in milliseconds, between the submission of a task and its start
+     */
+    double getMaxWaitMillis();
+
+    /**
+     * @return the average running time of a task, in milliseconds
+     */
+    double getAverageRunMillis();
+
+    /**
+     * @return the longest running time of a task, in milliseconds
+     */
+    double getMaxRunMillis();
+
+    /**
+     * Resets the completed and rejected counts and the latencies.
+     */
+    void resetStatistics();
+}
@@ -21,11 +21,65 @@ package dev.resteasy.grpc.bridge.runtime.servlet;
 
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
-import java.util.ArrayList;
+import java.io.InterruptedIOException;
+import java.util.ArrayDeque;
+import java.util.Locale;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
 
+import com.google.protobuf.ByteString;
+import com.google.protobuf.UnsafeByteOperations;
+
+import dev.resteasy.grpc.bridge.runtime.i18n.Messages;
+
+/**
+ * Holds the buffers written by an asynchronous resource method until the generated service hands them to
+ * gRPC. A buffer is a {@link ByteString}, so it is passed on without being copied. The queue is bounded by
+ * {@value #QUEUE_SIZE} (default 256), and {@value #OVERFLOW_POLICY} determines what happens when a buffer is
+ * released into a full queue:
+ * <ul>
+ * <li>block: the producer waits until there is room (the default)</li>
+ * <li>drop-oldest: the oldest buffer in the queue is discarded</li>
+ * <li>fail: {@link #release(ByteString)} throws an {@link IOException}</li>
+ * </ul>
+ * A producer can learn when a buffer is taken from the queue with {@link #track(CompletableFuture)}.
+ * <p>
+ * A non-blocking producer can instead register a {@link jakarta.servlet.WriteListener}. With the block and
+ * fail policies, {@link #isReady()} is false while the queue is full, and the listener's
+ * {@code onWritePossible()} is called by the thread which takes the next buffer from the queue. For an SSE
+ * call, that is the {@link AsyncStreamDrainer}, which only takes buffers while the gRPC call is ready, so the
+ * producer follows gRPC flow control without a thread being blocked. If the call is cancelled while the
+ * producer is waiting, the listener's {@code onError()} is called instead.
+ */
 public class AsyncMockServletOutputStream extends MockServletOutputStream {
 
-    private static final ByteArrayOutputStream CLOSE_MARKER = new ByteArrayOutputStream();
+    public static final String QUEUE_SIZE = "dev.resteasy.grpc.sse.queue-size";
+    public static final String OVERFLOW_POLICY = "dev.resteasy.grpc.sse.overflow";
+
+    // A distinct instance, compared by identity
+    private static final ByteString CLOSE_MARKER = UnsafeByteOperations.unsafeWrap(new byte[0]);
+    private static final int DEFAULT_QUEUE_SIZE = 256;
+
+    public enum OverflowPolicy {
+        BLOCK,
+        DROP_OLDEST,
+        FAIL;
+
+        /**
+         * Parses a configured value, ignoring case. "drop-oldest" and "drop_oldest" are both accepted.
+         *
+         * @param value the configured value
+         * @param key   the configuration key, used for error reporting
+         * @return the matching policy
+         */
+        public static OverflowPolicy parse(final String value, final String key) {
+            try {
+                return valueOf(value.trim().replace('-', '_').toUpperCase(Locale.ROOT));
+            } catch (IllegalArgumentException e) {
+                throw Messages.MESSAGES.invalidOverflowPolicy(value, key);
+            }
+        }
+    }
 
     private enum STATE {
         OPEN,
@@ -33,72 +87,342 @@ public class AsyncMockServletOutputStream extends MockServletOutputStream {
         CLOSED
     }
 
-    ;
+    private final int queueSize;
+    private final OverflowPolicy overflowPolicy;
+    private final ArrayDeque<ByteString> queue = new ArrayDeque<ByteString>();
+    // Futures of tracked buffers, in queue order
+    private final ArrayDeque<Tracked> tracked = new ArrayDeque<Tracked>();
+    private CompletableFuture<Void> nextTracked;
+    private volatile STATE state = STATE.OPEN;
+    private Consumer<ByteString> callback;
+    private volatile Runnable listener;
+    // isReady() has returned false, and onWritePossible() is owed to the WriteListener
+    private boolean writeBlocked;
+
+    public AsyncMockServletOutputStream() {
+        this(getQueueSize(), OverflowPolicy.parse(System.getProperty(OVERFLOW_POLICY, "block"), OVERFLOW_POLICY));
+    }
 
-    private STATE state = STATE.OPEN;
-    private volatile ArrayList<ByteArrayOutputStream> list = new ArrayList<ByteArrayOutputStream>();
+    public AsyncMockServletOutputStream(final int queueSize, final OverflowPolicy overflowPolicy) {
+        this.queueSize = queueSize;
+        this.overflowPolicy = overflowPolicy;
+    }
 
     @Override
     public boolean isClosed() {
         return state == STATE.CLOSED;
     }
 
-    public synchronized ByteArrayOutputStream await() throws InterruptedException {
-        if (state == STATE.CLOSED) {
-            return null;
+    /**
+     * @return false if a write followed by {@link #release()} would have to wait for room in the queue, or fail
+     */
+    @Override
+    public synchronized boolean isReady() {
+        if (state == STATE.OPEN && overflowPolicy != OverflowPolicy.DROP_OLDEST && queue.size() >= queueSize) {
+            writeBlocked = true;
+            return false;
         }
-        if (state == STATE.CLOSING) {
-            ByteArrayOutputStream baos = list.remove(0);
-            if (CLOSE_MARKER == baos) {
-                state = STATE.CLOSED;
+        return true;
+    }
+
+    public ByteString await() throws InterruptedException {
+        final ByteString bytes;
+        final boolean writable;
+        synchronized (this) {
+            while (true) {
+                if (state == STATE.CLOSED) {
+                    return null;
+                }
+                if (!queue.isEmpty()) {
+                    bytes = take();
+                    writable = unblockWriter();
+                    break;
+                }
+                try {
+                    wait();
+                } catch (InterruptedException e) {
+                    //
+                }
+            }
+        }
+        if (writable) {
+            fireWritePossible();
+        }
+        return bytes;
+    }
+
+    /**
+     * Attaches {@code future} to the next buffer released by the calling producer. The future is completed
+     * when that buffer is taken from the queue, or exceptionally if it is dropped or the stream is cancelled.
+     * Passing null detaches a future which wasn't used.
+     *
+     * @param future the future, or null
+     * @return false if a previously attached future wasn't used because no buffer was released
+     */
+    public synchronized boolean track(CompletableFuture<Void> future) {
+        final boolean used = nextTracked == null;
+        nextTracked = future;
+        return used;
+    }
+
+    /**
+     * Returns the next buffer without waiting.
+     *
+     * @return the next buffer, or null if there is none. If the stream has been closed, and all of the
+     *         buffers have been taken, {@link #isClosed()} returns true.
+     */
+    public ByteString poll() {
+        final ByteString bytes;
+        final boolean writable;
+        synchronized (this) {
+            if (state == STATE.CLOSED || queue.isEmpty()) {
                 return null;
             }
-            return baos;
+            bytes = take();
+            writable = unblockWriter();
+        }
+        if (writable) {
+            fireWritePossible();
         }
-        while (true) {
-            if (list.size() > 0) {
-                ByteArrayOutputStream baos = list.remove(0);
-                if (CLOSE_MARKER == baos) {
+        return bytes;
+    }
+
+    /**
+     * Registers a listener which is called, outside of any lock, after each buffer is released and after
+     * the stream is closed.
+     *
+     * @param listener the listener
+     */
+    public void setListener(Runnable listener) {
+        this.listener = listener;
+    }
+
+    /**
+     * Registers a callback which is called once, with the first buffer released, or with null if the stream
+     * is closed first. If a buffer has already been released, or the stream is already closed, the callback
+     * is called before this method returns. Otherwise, it is called by the thread which calls
+     * {@link #release()}, {@link #release(ByteString)}, or {@link #close()}.
+     * <p>
+     * Unlike {@link #await()}, this doesn't tie up a thread while an asynchronous resource method is
+     * computing its result.
+     *
+     * @param callback the callback
+     */
+    public void whenReleased(Consumer<ByteString> callback) {
+        ByteString bytes;
+        synchronized (this) {
+            if (state == STATE.OPEN && queue.isEmpty()) {
+                this.callback = callback;
+                return;
+            }
+            bytes = queue.isEmpty() ? null : queue.poll();
+            if (bytes == CLOSE_MARKER) {
+                bytes = null;
+            }
+            state = STATE.CLOSED;
+            notifyAll();
+        }
+        callback.accept(bytes);
+    }
+
+    /**
+     * Releases everything written to this stream since the last release as one buffer.
+     */
+    public void release() throws IOException {
+        final ByteString bytes;
+        synchronized (this) {
+            bytes = toByteString();
+            reset();
+        }
+        release(bytes);
+    }
+
+    /**
+     * Releases the content of {@code baos} as one buffer.
+     *
+     * @param baos the bytes to release
+     * @deprecated use {@link #release(ByteString)}, which doesn't copy
+     */
+    @Deprecated
+    public void release(ByteArrayOutputStream baos) throws IOException {
+        release(ByteString.copyFrom(baos.toByteArray()));
+    }
+
+    public void release(ByteString bytes) throws IOException {
+        Consumer<ByteString> c = null;
+        synchronized (this) {
+            if (state != STATE.OPEN) {
+                return;
+            }
+            if (callback == null) {
+                if (!enqueue(bytes)) {
+                    return;
+                }
+            } else {
+                c = callback;
+                callback = null;
+                state = STATE.CLOSED;
+                if (nextTracked != null) {
+                    nextTracked.complete(null);
+                    nextTracked = null;
+                }
+            }
+        }
+        if (c != null) {
+            c.accept(bytes);
+        } else {
+            notifyListener();
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        Consumer<ByteString> c = null;
+        synchronized (this) {
+            if (state != STATE.OPEN) {
+                return;
+            }
+            if (callback == null) {
+                if (queue.isEmpty()) {
                     state = STATE.CLOSED;
-                    return null;
+                } else {
+                    // The consumer closes the stream when it reaches the marker
+                    state = STATE.CLOSING;
+                    queue.add(CLOSE_MARKER);
                 }
-                return baos;
+                notifyAll();
+            } else {
+                c = callback;
+                callback = null;
+                state = STATE.CLOSED;
             }
-            try {
-                wait();
-            } catch (InterruptedException e) {
-                //
+        }
+        if (c != null) {
+            c.accept(null);
+        } else {
+            notifyListener();
+        }
+    }
+
+    /**
+     * Closes the stream and discards any buffers which haven't been taken. A producer waiting for room in
+     * the queue returns without queuing its buffer.
+     */
+    public void cancel() {
+        final boolean blocked;
+        synchronized (this) {
+            state = STATE.CLOSED;
+            callback = null;
+            queue.clear();
+            for (Tracked t = tracked.poll(); t != null; t = tracked.poll()) {
+                t.future.cancel(false);
             }
+            blocked = writeBlocked;
+            writeBlocked = false;
+            notifyAll();
+        }
+        if (blocked) {
+            fireWriteError(Messages.MESSAGES.callCancelled());
         }
     }
 
-    public synchronized void release() throws IOException {
-        if (state != STATE.OPEN) {
-            return;
+    // Called with the lock held and the queue not empty
+    private ByteString take() {
+        ByteString bytes = queue.poll();
+        // there may be a producer waiting for room
+        notifyAll();
+        completeTracked(bytes, null);
+        if (CLOSE_MARKER == bytes) {
+            state = STATE.CLOSED;
+            return null;
         }
-        list.add(getDelegate());
-        notify();
+        return bytes;
     }
 
-    public synchronized void release(ByteArrayOutputStream baos) throws IOException {
-        if (state != STATE.OPEN) {
-            return;
+    // Called with the lock held; returns true if onWritePossible() should now be called
+    private boolean unblockWriter() {
+        if (writeBlocked && queue.size() < queueSize) {
+            writeBlocked = false;
+            return true;
         }
-        list.add(baos);
-        notify();
+        return false;
     }
 
-    @Override
-    public synchronized void close() throws IOException {
-        if (state != STATE.OPEN) {
+    // Called with the lock held; returns false if the stream was closed while waiting for room
+    private boolean enqueue(ByteString bytes) throws IOException {
+        while (queue.size() >= queueSize) {
+            switch (overflowPolicy) {
+                case BLOCK:
+                    try {
+                        wait();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        throw new InterruptedIOException();
+                    }
+                    if (state != STATE.OPEN) {
+                        return false;
+                    }
+                    break;
+                case DROP_OLDEST:
+                    completeTracked(queue.poll(), Messages.MESSAGES.asyncQueueFull(queueSize));
+                    break;
+                default:
+                    throw Messages.MESSAGES.asyncQueueFull(queueSize);
+            }
+        }
+        queue.add(bytes);
+        if (nextTracked != null) {
+            tracked.add(new Tracked(bytes, nextTracked));
+            nextTracked = null;
+        }
+        notifyAll();
+        return true;
+    }
+
+    // Called with the lock held
+    private void completeTracked(ByteString bytes, Throwable t) {
+        final Tracked first = tracked.peek();
+        if (first == null || first.bytes != bytes) {
             return;
         }
-        if (list.isEmpty()) {
-            state = STATE.CLOSED;
+        tracked.poll();
+        if (t == null) {
+            first.future.complete(null);
         } else {
-            state = STATE.CLOSING;
+            first.future.completeExceptionally(t);
         }
-        list.add(CLOSE_MARKER);
-        notifyAll();
+    }
+
+    private void notifyListener() {
+        Runnable l = listener;
+        if (l != null) {
+            l.run();
+        }
+    }
+
+    private static final class Tracked {
+        private final ByteString bytes;
+        private final CompletableFuture<Void> future;
+
+        private Tracked(final ByteString bytes, final CompletableFuture<Void> future) {
+            this.bytes = bytes;
+            this.future = future;
+        }
+    }
+
+    private static int getQueueSize() {
+        String value = System.getProperty(QUEUE_SIZE);
+        if (value == null) {
+            return DEFAULT_QUEUE_SIZE;
+        }
+        try {
+            int i = Integer.parseInt(value.trim());
+            if (i > 0) {
+                return i;
+            }
+        } catch (NumberFormatException e) {
+            // fall through
+        }
+        throw Messages.MESSAGES.invalidPositiveInteger(value, QUEUE_SIZE);
     }
 }
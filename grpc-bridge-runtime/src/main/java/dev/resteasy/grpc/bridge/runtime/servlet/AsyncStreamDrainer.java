@@ -0,0 +1,107 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ *
+ * Copyright 2026 Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package dev.resteasy.grpc.bridge.runtime.servlet;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+import java.util.function.Consumer;
+
+import com.google.protobuf.ByteString;
+
+/**
+ * Passes the buffers released to an {@link AsyncMockServletOutputStream} on to a consumer, but only while the
+ * consumer reports that it is ready for more. The generated &lt;prefix&gt;ServiceGrpcImpl uses it to tie SSE
+ * streams to gRPC flow control: {@link #drain()} is called whenever a buffer is released and whenever
+ * the gRPC call becomes ready, and buffers which the client can't take yet stay in the stream's bounded queue.
+ * <p>
+ * Calls to {@link #drain()} may come from any thread; only one of them moves buffers at a time.
+ */
+public class AsyncStreamDrainer {
+
+    private final BooleanSupplier ready;
+    private final AtomicInteger wip = new AtomicInteger();
+    private volatile AsyncMockServletOutputStream stream;
+    private volatile Consumer<ByteString> onNext;
+    private volatile Runnable onCompleted;
+    private volatile boolean cancelled;
+    private boolean completed;
+
+    /**
+     * @param ready reports whether the consumer can take another buffer
+     */
+    public AsyncStreamDrainer(final BooleanSupplier ready) {
+        this.ready = ready;
+    }
+
+    /**
+     * Starts moving buffers from {@code stream}.
+     *
+     * @param stream      the stream the resource method writes to
+     * @param onNext      called with each buffer
+     * @param onCompleted called once, after the stream has been closed and all of its buffers passed on
+     */
+    public void start(final AsyncMockServletOutputStream stream, final Consumer<ByteString> onNext,
+            final Runnable onCompleted) {
+        this.onNext = onNext;
+        this.onCompleted = onCompleted;
+        this.stream = stream;
+        if (cancelled) {
+            stream.cancel();
+            return;
+        }
+        stream.setListener(this::drain);
+        drain();
+    }
+
+    /**
+     * Stops passing buffers on, and cancels the stream so that a producer waiting for room is released.
+     */
+    public void cancel() {
+        cancelled = true;
+        final AsyncMockServletOutputStream s = stream;
+        if (s != null) {
+            s.cancel();
+        }
+    }
+
+    public void drain() {
+        if (wip.getAndIncrement() != 0) {
+            return;
+        }
+        int missed = 1;
+        do {
+            final AsyncMockServletOutputStream s = stream;
+            if (s != null && !cancelled && !completed) {
+                while (ready.getAsBoolean()) {
+                    final ByteString bytes = s.poll();
+                    if (bytes == null) {
+                        break;
+                    }
+                    onNext.accept(bytes);
+                }
+                if (s.isClosed() && !cancelled) {
+                    completed = true;
+                    onCompleted.run();
+                }
+            }
+            missed = wip.addAndGet(-missed);
+        } while (missed != 0);
+    }
+}
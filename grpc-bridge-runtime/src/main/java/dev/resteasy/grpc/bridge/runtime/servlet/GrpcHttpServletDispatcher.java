@@ -19,8 +19,10 @@
 
 package dev.resteasy.grpc.bridge.runtime.servlet;
 
-import java.util.HashMap;
+import java.time.Duration;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
 
 import jakarta.servlet.Servlet;
 import jakarta.servlet.ServletConfig;
@@ -32,8 +34,9 @@ import org.jboss.resteasy.plugins.server.servlet.HttpServlet30Dispatcher;
 public class GrpcHttpServletDispatcher extends HttpServlet30Dispatcher {
 
     private static final long serialVersionUID = -7323100224345687064L;
-    private static final Map<String, Servlet> servletMap = new HashMap<String, Servlet>();
-    private static final Map<Servlet, ServletContext> servletContextMap = new HashMap<Servlet, ServletContext>();
+    private static final Map<String, Servlet> servletMap = new ConcurrentHashMap<String, Servlet>();
+    private static final Map<Servlet, ServletContext> servletContextMap =
+            new ConcurrentHashMap<Servlet, ServletContext>();
     private String name;
 
     @Override
@@ -41,28 +44,59 @@ public class GrpcHttpServletDispatcher extends HttpServlet30Dispatcher {
         super.init(servletConfig);
         name = servletConfig.getServletName();
         addServlet(name, this, servletConfig.getServletContext());
+        AsyncExecutor.install(servletConfig);
     }
 
     @Override
     public void destroy() {
+        final ServletContext servletContext = getServletContext(this);
         super.destroy();
         removeServlet(name);
+        if (servletContext != null) {
+            AsyncExecutor.uninstall(servletContext);
+        }
     }
 
     public static void addServlet(String name, Servlet servlet, ServletContext servletContext) {
         servletMap.put(name, servlet);
         servletContextMap.put(servlet, servletContext);
+        synchronized (servletMap) {
+            servletMap.notifyAll();
+        }
     }
 
     public static void removeServlet(String name) {
-        servletContextMap.remove(servletMap.get(name));
-        servletMap.remove(name);
+        final Servlet servlet = servletMap.remove(name);
+        if (servlet != null) {
+            servletContextMap.remove(servlet);
+        }
     }
 
     public static Servlet getServlet(String name) {
         return servletMap.get(name);
     }
 
+    /**
+     * Waits for the servlet named {@code name} to be initialized. Unless it has a load-on-startup, a
+     * container initializes a servlet when it receives the first request for it.
+     *
+     * @return the servlet, or {@code null} if it was not initialized within {@code timeout}
+     */
+    public static Servlet awaitServlet(String name, Duration timeout) throws InterruptedException {
+        final long deadline = System.nanoTime() + timeout.toNanos();
+        synchronized (servletMap) {
+            Servlet servlet;
+            while ((servlet = servletMap.get(name)) == null) {
+                final long remaining = deadline - System.nanoTime();
+                if (remaining <= 0) {
+                    return null;
+                }
+                TimeUnit.NANOSECONDS.timedWait(servletMap, remaining);
+            }
+            return servlet;
+        }
+    }
+
     public static ServletContext getServletContext(String servletName) {
         Servlet servlet = servletMap.get(servletName);
         if (servlet == null) {
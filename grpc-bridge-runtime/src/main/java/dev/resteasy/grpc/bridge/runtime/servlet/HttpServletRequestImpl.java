@@ -56,14 +56,15 @@ import jakarta.servlet.http.HttpSession;
 import jakarta.servlet.http.HttpUpgradeHandler;
 import jakarta.servlet.http.Part;
 import jakarta.ws.rs.core.HttpHeaders;
+import jakarta.ws.rs.core.MediaType;
 import jakarta.ws.rs.core.MultivaluedMap;
 import jakarta.ws.rs.core.UriInfo;
 
 import org.jboss.resteasy.specimpl.ResteasyUriInfo;
 
+import dev.resteasy.grpc.bridge.runtime.HeaderMap;
 import dev.resteasy.grpc.bridge.runtime.i18n.Messages;
 import io.undertow.util.DateUtils;
-import io.undertow.util.LocaleUtils;
 
 /*
  * The http servlet request implementation. This class is not thread safe.
@@ -86,7 +87,7 @@ public class HttpServletRequestImpl implements HttpServletRequest {
     private String method;
     private ServletInputStream inputStream;
     private String entityType;
-    private Map<String, List<String>> headers;
+    private final HeaderMap headers;
     private Cookie[] cookies;
     private ServletContext servletContext;
     private volatile boolean asyncStarted;
@@ -117,34 +118,21 @@ public class HttpServletRequestImpl implements HttpServletRequest {
         this.method = method;
         this.inputStream = sis;
         this.entityType = entity;
-        this.headers = headers == null ? new HashMap<String, List<String>>() : headers;
-        this.cookies = cookies;
-        this.formParameters = formParameters;
-        List<String> acceptList = new ArrayList<String>();
-        acceptList.add("application/grpc-jaxrs");
-        acceptList.add("*/*;grpc-jaxrs=true");
-        headers.put("Accept", acceptList);
-        List<String> contentTypeList = new ArrayList<String>();
-        contentTypeList.add("*/*;grpc-jaxrs=true");
-        headers.put("Content-Type", contentTypeList);
+        this.headers = new HeaderMap();
+        if (headers != null) {
+            this.headers.putAll(headers);
+        }
+        this.headers.put(HttpHeaders.ACCEPT, HeaderMap.ACCEPT_VALUES);
+        this.headers.put(HttpHeaders.CONTENT_TYPE, HeaderMap.CONTENT_TYPE_VALUES);
         if ("com.google.protobuf.Any".equals(entity)) {
-            acceptList = new ArrayList<String>();
-            acceptList.add("true");
-            headers.put(ANY, acceptList);
+            this.headers.put(ANY, HeaderMap.ANY_VALUES);
         }
         this.cookies = cookies;
         this.formParameters = formParameters;
     }
 
     public HttpServletRequestImpl() {
-        List<String> acceptList = new ArrayList<String>();
-        acceptList.add("application/grpc-jaxrs");
-        acceptList.add("*/*;grpc-jaxrs=true");
-        headers = new HashMap<String, List<String>>();
-        headers.put("Accept", acceptList);
-        List<String> contentTypeList = new ArrayList<String>();
-        contentTypeList.add("*/*;grpc-jaxrs=true");
-        headers.put("Content-Type", contentTypeList);
+        headers = HeaderMap.withBridgeDefaults();
     }
 
     @Override
@@ -302,8 +290,7 @@ public class HttpServletRequestImpl implements HttpServletRequest {
 
     @Override
     public Enumeration<Locale> getLocales() {
-        final List<String> acceptLanguage = headers.get(HttpHeaders.ACCEPT_LANGUAGE);
-        List<Locale> ret = LocaleUtils.getLocalesFromHeader(acceptLanguage);
+        List<Locale> ret = headers.getLocales();
         if (ret.isEmpty()) {
             return Collections.enumeration(Collections.singletonList(Locale.getDefault()));
         }
@@ -393,6 +380,7 @@ public class HttpServletRequestImpl implements HttpServletRequest {
         if (asyncStarted) {
             throw Messages.MESSAGES.asyncAlreadyStarted();
         }
+        asyncStarted = true;
         return asyncContext = new AsyncContextImpl(servletRequest, servletResponse);
     }
 
@@ -431,7 +419,7 @@ public class HttpServletRequestImpl implements HttpServletRequest {
 
     @Override
     public long getDateHeader(String name) {
-        String header = headers.get(name).get(0);
+        String header = getHeader(name);
         if (header == null) {
             return -1;
         }
@@ -444,16 +432,16 @@ public class HttpServletRequestImpl implements HttpServletRequest {
 
     @Override
     public String getHeader(String name) {
-        List<String> list = headers.get(name);
-        if (list == null) {
-            return null;
-        }
-        return list.get(0);
+        return headers.getFirst(name);
     }
 
     @Override
     public Enumeration<String> getHeaders(String name) {
-        return Collections.enumeration(headers.get(name));
+        List<String> list = headers.get(name);
+        if (list == null) {
+            return Collections.emptyEnumeration();
+        }
+        return Collections.enumeration(list);
     }
 
     @Override
@@ -772,14 +760,16 @@ public class HttpServletRequestImpl implements HttpServletRequest {
         if ("com.google.protobuf.Any".equals(entityType)
                 || "google.protobuf.Any".equals(entityType)
                 || "Any".equals(entityType)) {
-            List<String> list = new ArrayList<String>();
-            list.add("true");
-            headers.put(ANY, list);
+            headers.put(ANY, HeaderMap.ANY_VALUES);
         }
     }
 
     private String getCharacterEncodingFromHeader() {
-        String contentType = headers.get(HttpHeaders.CONTENT_TYPE).get(0);
+        MediaType mediaType = headers.getMediaType();
+        if (mediaType != null) {
+            return mediaType.getParameters().get(MediaType.CHARSET_PARAMETER);
+        }
+        String contentType = headers.getFirst(HttpHeaders.CONTENT_TYPE);
         if (contentType == null) {
             return null;
         }
@@ -22,15 +22,17 @@ package dev.resteasy.grpc.bridge.runtime.servlet;
 import static dev.resteasy.grpc.bridge.runtime.Constants.ANY;
 
 import java.io.IOException;
+import java.io.OutputStream;
 import java.io.PrintWriter;
 import java.nio.charset.StandardCharsets;
-import java.text.SimpleDateFormat;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Date;
 import java.util.List;
 import java.util.Locale;
-import java.util.TimeZone;
 
 import jakarta.servlet.ServletContext;
 import jakarta.servlet.ServletOutputStream;
@@ -39,10 +41,18 @@ import jakarta.servlet.http.HttpServletResponse;
 import jakarta.ws.rs.core.HttpHeaders;
 import jakarta.ws.rs.core.MultivaluedHashMap;
 import jakarta.ws.rs.core.MultivaluedMap;
+import jakarta.ws.rs.core.NewCookie;
 import jakarta.ws.rs.core.Response;
+import jakarta.ws.rs.ext.RuntimeDelegate;
+
+import org.jboss.resteasy.core.ResteasyContext;
+import org.jboss.resteasy.spi.HttpResponse;
 
 import com.google.protobuf.Descriptors.FieldDescriptor;
 import com.google.protobuf.GeneratedMessage;
+import com.google.protobuf.InvalidProtocolBufferException;
+import com.google.protobuf.Message;
+import com.google.protobuf.Parser;
 
 import dev.resteasy.grpc.bridge.runtime.i18n.Messages;
 
@@ -56,14 +66,24 @@ public class HttpServletResponseImpl implements HttpServletResponse {
 
     public static final String GRPC_ASYNC = "grpc-async";
 
+    /**
+     * Set to "false" to make the generated MessageBodyWriter always serialize the entity to the output stream.
+     */
+    public static final String ENTITY_HANDOFF = "dev.resteasy.grpc.entity.handoff";
+    private static final boolean ENTITY_HANDOFF_ENABLED = !"false"
+            .equalsIgnoreCase(System.getProperty(ENTITY_HANDOFF, "true"));
+
     public enum ResponseState {
         NONE,
         STREAM,
         WRITER
     }
 
-    private static final String RFC1123_PATTERN = "EEE, dd MMM yyyy HH:mm:ss z";
-    private static final SimpleDateFormat SDF = new SimpleDateFormat(RFC1123_PATTERN, Locale.US);
+    private static final String RFC1123_PATTERN = "EEE, dd MMM yyyy HH:mm:ss 'GMT'";
+    private static final DateTimeFormatter RFC1123_FORMATTER = DateTimeFormatter.ofPattern(RFC1123_PATTERN, Locale.US)
+            .withZone(ZoneOffset.UTC);
+    // Date headers are usually the current time, so the last second formatted is kept
+    private static volatile FormattedDate lastDate = new FormattedDate(Long.MIN_VALUE, null);
 
     private GeneratedMessage.Builder<?> builder;
     private FieldDescriptor fd;
@@ -76,7 +96,9 @@ public class HttpServletResponseImpl implements HttpServletResponse {
     private int statusCode;
     private Locale locale;
     private List<Cookie> cookies = new ArrayList<Cookie>();
+    private List<NewCookie> newCookies;
     private ResponseState responseState = ResponseState.NONE;
+    private Message entityMessage;
 
     public HttpServletResponseImpl(final String retn, final String async, final ServletContext servletContext,
             final GeneratedMessage.Builder<?> builder, final FieldDescriptor fd) {
@@ -215,9 +237,11 @@ public class HttpServletResponseImpl implements HttpServletResponse {
 
     @Override
     public void reset() {
-        msos.getDelegate().reset();
+        msos.reset();
+        entityMessage = null;
         writer = null;
         headers.clear();
+        newCookies = null;
         responseState = ResponseState.NONE;
         statusCode = Response.Status.OK.getStatusCode();
     }
@@ -243,7 +267,7 @@ public class HttpServletResponseImpl implements HttpServletResponse {
 
     @Override
     public boolean containsHeader(String name) {
-        return headers.containsKey(name);
+        return headers.containsKey(name) || (isSetCookie(name) && newCookies != null && !newCookies.isEmpty());
     }
 
     @Override
@@ -283,12 +307,12 @@ public class HttpServletResponseImpl implements HttpServletResponse {
 
     @Override
     public void setDateHeader(String name, long date) {
-        setHeader(name, toDateString(new Date(date)));
+        setHeader(name, toDateString(date));
     }
 
     @Override
     public void addDateHeader(String name, long date) {
-        addHeader(name, toDateString(new Date(date)));
+        addHeader(name, toDateString(date));
     }
 
     @Override
@@ -296,11 +320,21 @@ public class HttpServletResponseImpl implements HttpServletResponse {
         if (name == null) {
             throw Messages.MESSAGES.headerNameWasNull();
         }
+        if (isSetCookie(name)) {
+            newCookies = null;
+            headers.remove(name);
+            if (addSetCookie(value)) {
+                return;
+            }
+        }
         headers.put(name, toList(value));
     }
 
     @Override
     public void addHeader(String name, String value) {
+        if (isSetCookie(name) && addSetCookie(value)) {
+            return;
+        }
         List<String> list = headers.get(name);
         if (list == null) {
             list = new ArrayList<String>();
@@ -336,21 +370,36 @@ public class HttpServletResponseImpl implements HttpServletResponse {
 
     @Override
     public String getHeader(String name) {
-        List<String> list = headers.get(name);
-        if (list == null || list.size() == 0) {
+        Collection<String> values = getHeaders(name);
+        if (values == null || values.isEmpty()) {
             return null;
         }
-        return list.get(0);
+        return values.iterator().next();
     }
 
     @Override
     public Collection<String> getHeaders(String name) {
-        return headers.get(name);
+        List<String> list = headers.get(name);
+        if (!isSetCookie(name) || newCookies == null || newCookies.isEmpty()) {
+            return list;
+        }
+        List<String> values = list == null ? new ArrayList<String>() : new ArrayList<String>(list);
+        RuntimeDelegate.HeaderDelegate<NewCookie> delegate = RuntimeDelegate.getInstance()
+                .createHeaderDelegate(NewCookie.class);
+        for (NewCookie newCookie : newCookies) {
+            values.add(delegate.toString(newCookie));
+        }
+        return values;
     }
 
     @Override
     public Collection<String> getHeaderNames() {
-        return headers.keySet();
+        if (newCookies == null || newCookies.isEmpty() || headers.containsKey(HttpHeaders.SET_COOKIE)) {
+            return headers.keySet();
+        }
+        List<String> names = new ArrayList<String>(headers.keySet());
+        names.add(HttpHeaders.SET_COOKIE);
+        return names;
     }
 
     ////////////////////////////////////////////////////////////////////////////////////////////////
@@ -360,10 +409,118 @@ public class HttpServletResponseImpl implements HttpServletResponse {
         return cookies;
     }
 
+    /**
+     * Adds a cookie set by a Jakarta REST resource. It is kept as is, so the generated service can build
+     * the gNewCookie without formatting and parsing a Set-Cookie header.
+     */
+    public void addNewCookie(final NewCookie newCookie) {
+        if (newCookies == null) {
+            newCookies = new ArrayList<NewCookie>();
+        }
+        newCookies.add(newCookie);
+    }
+
+    /**
+     * Returns the cookies set with {@link #addNewCookie(NewCookie)} or as Set-Cookie headers.
+     */
+    public List<NewCookie> getNewCookies() {
+        return newCookies == null ? List.of() : newCookies;
+    }
+
+    /**
+     * Returns the headers, leaving out the cookies returned by {@link #getNewCookies()}.
+     */
+    public MultivaluedMap<String, String> getHeaderMap() {
+        return headers;
+    }
+
     public void removeHeader(String name) {
         headers.remove(name);
     }
 
+    /**
+     * Offers the javabuf form of the entity so that the generated service can put it in the
+     * GeneralReturnMessage without serializing and parsing it again. The message is only accepted
+     * on the synchronous path, when the response is not an Any, when nothing has been written
+     * to the output stream yet, and when {@code entityStream} {@link #writesDirectlyTo(OutputStream) writes
+     * directly} to it.
+     *
+     * @param message      the translated entity
+     * @param entityStream the stream passed to the MessageBodyWriter
+     * @return true if the message was accepted, false if it must be written to {@code entityStream}
+     */
+    public boolean handOffEntity(final Message message, final OutputStream entityStream) {
+        if (!ENTITY_HANDOFF_ENABLED
+                || message == null
+                || msos instanceof AsyncMockServletOutputStream
+                || headers.containsKey(ANY)
+                || msos.size() > 0
+                || !writesDirectlyTo(entityStream)) {
+            return false;
+        }
+        entityMessage = message;
+        return true;
+    }
+
+    /**
+     * Returns true if {@code entityStream}, the stream passed to a MessageBodyWriter, is this response's
+     * output stream or the stream RESTEasy wraps around it. If a WriterInterceptor, such as GZIP encoding,
+     * has replaced it, the entity has to be written through the interceptor's stream instead of being
+     * handed off or released as is.
+     *
+     * @param entityStream the stream passed to the MessageBodyWriter
+     * @return true if nothing stands between {@code entityStream} and the output stream
+     */
+    public boolean writesDirectlyTo(final OutputStream entityStream) {
+        if (entityStream == msos) {
+            return true;
+        }
+        final HttpResponse response = ResteasyContext.getContextData(HttpResponse.class);
+        try {
+            return response != null && entityStream == response.getOutputStream();
+        } catch (IOException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Prepares the output stream for an entity of {@code size} bytes, without committing the response to
+     * {@link #getOutputStream()}.
+     *
+     * @param size the serialized size of the entity
+     */
+    public void presize(final int size) {
+        msos.presize(size);
+    }
+
+    /**
+     * @return the entity accepted by {@link #handOffEntity(Message, OutputStream)}, or null
+     */
+    public Message getEntityMessage() {
+        return entityMessage;
+    }
+
+    /**
+     * Returns the response entity as an instance of {@code type}. A message accepted by
+     * {@link #handOffEntity(Message, OutputStream)} is used as is. The bytes in the output stream are only parsed
+     * if some other provider or filter wrote them.
+     *
+     * @param type   the javabuf class of the entity
+     * @param parser the parser for {@code type}
+     * @return the response entity
+     * @throws InvalidProtocolBufferException if the entity cannot be parsed
+     */
+    public <T extends Message> T getEntity(final Class<T> type, final Parser<T> parser)
+            throws InvalidProtocolBufferException {
+        if (entityMessage != null && msos.size() == 0) {
+            if (type.isInstance(entityMessage)) {
+                return type.cast(entityMessage);
+            }
+            return parser.parseFrom(entityMessage.toByteString());
+        }
+        return parser.parseFrom(msos.toByteString());
+    }
+
     ////////////////////////////////////////////////////////////////////////////////////////////////
     //////////////////////////////////////////   private   /////////////////////////////////////////
     ////////////////////////////////////////////////////////////////////////////////////////////////
@@ -373,6 +530,26 @@ public class HttpServletResponseImpl implements HttpServletResponse {
         return list;
     }
 
+    private static boolean isSetCookie(final String name) {
+        return HttpHeaders.SET_COOKIE.equalsIgnoreCase(name);
+    }
+
+    /**
+     * Keeps a Set-Cookie header as a NewCookie. Returns false if it can't be parsed, in which case it is
+     * kept as a plain header.
+     */
+    private boolean addSetCookie(final String value) {
+        if (value == null) {
+            return false;
+        }
+        try {
+            addNewCookie(RuntimeDelegate.getInstance().createHeaderDelegate(NewCookie.class).fromString(value));
+            return true;
+        } catch (IllegalArgumentException e) {
+            return false;
+        }
+    }
+
     private ContentTypeInfo parseContentType(String type) {
         String contentType = type;
         String charset = null;
@@ -436,11 +613,21 @@ public class HttpServletResponseImpl implements HttpServletResponse {
      * @author Stuart Douglas
      */
     public static String toDateString(final Date date) {
-        //we always need to set the time zone
-        //because date format is stupid, and calling parse() can mutate the timezone
-        //see UNDERTOW-458
-        SDF.setTimeZone(TimeZone.getTimeZone("GMT"));
-        return SDF.format(date);
+        return toDateString(date.getTime());
+    }
+
+    /**
+     * Converts milliseconds since the epoch to an RFC-1123 date. The last second converted is cached, and
+     * this method is thread safe.
+     */
+    public static String toDateString(final long date) {
+        final long second = Math.floorDiv(date, 1000L);
+        FormattedDate formatted = lastDate;
+        if (formatted.second != second) {
+            formatted = new FormattedDate(second, RFC1123_FORMATTER.format(Instant.ofEpochSecond(second)));
+            lastDate = formatted;
+        }
+        return formatted.value;
     }
 
     /**
@@ -469,4 +656,14 @@ public class HttpServletResponseImpl implements HttpServletResponse {
             return contentType;
         }
     }
+
+    private static final class FormattedDate {
+        private final long second;
+        private final String value;
+
+        FormattedDate(final long second, final String value) {
+            this.second = second;
+            this.value = value;
+        }
+    }
 }
@@ -21,37 +21,261 @@ package dev.resteasy.grpc.bridge.runtime.servlet;
 
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.Arrays;
+import java.util.Objects;
 
 import jakarta.servlet.ReadListener;
 import jakarta.servlet.ServletInputStream;
 
+import com.google.protobuf.Message;
+
+import dev.resteasy.grpc.bridge.runtime.i18n.Messages;
+
+/**
+ * The request entity of a gRPC call. The entity is already in memory when the resource method runs, so reads
+ * never block: {@link #isReady()} is always true, and a {@link ReadListener} is called back on the thread which
+ * registers it, with {@link ReadListener#onDataAvailable()} followed, once everything has been read, by
+ * {@link ReadListener#onAllDataRead()}.
+ * <p>
+ * A stream created from a javabuf entity serializes it into an array the first time it is read as bytes,
+ * and reads from that array in bulk; {@link #readAllBytes()} and {@link #transferTo(OutputStream)} avoid even
+ * that copy when nothing has been read yet.
+ */
 public class MockServletInputStream extends ServletInputStream {
+    private static final byte[] EMPTY = new byte[0];
+
     private InputStream is;
+    private Message message;
+    // The serialized message, once something has read it as bytes
+    private byte[] buf;
+    private int pos;
+    private int count;
+    // For a stream created from an InputStream: it has returned -1
+    private boolean eof;
+    private ReadListener readListener;
+    private boolean inOnDataAvailable;
+    private boolean allDataRead;
 
     public MockServletInputStream(final InputStream is) {
         this.is = is;
     }
 
+    /**
+     * Creates a stream backed by an already parsed javabuf entity. The entity is only serialized
+     * if something actually reads from the stream.
+     *
+     * @param message the javabuf entity
+     */
+    public MockServletInputStream(final Message message) {
+        this.message = message;
+    }
+
+    /**
+     * @return the javabuf entity this stream was created with, or null if it was created from an
+     *         {@link InputStream} or if the entity has already been read as bytes
+     */
+    public Message getMessage() {
+        return is == null && buf == null ? message : null;
+    }
+
+    /**
+     * @return true if all of the entity has been read
+     */
     @Override
     public boolean isFinished() {
-        try {
-            return is.available() > 0;
-        } catch (IOException e) {
-            return true;
+        if (is != null) {
+            return eof;
         }
+        if (buf == null) {
+            return message == null || message.getSerializedSize() == 0;
+        }
+        return pos >= count;
     }
 
+    /**
+     * @return true, since the entity is in memory and a read never blocks
+     */
     @Override
     public boolean isReady() {
         return true;
     }
 
+    /**
+     * Calls {@link ReadListener#onDataAvailable()}, unless there is nothing to read, and then
+     * {@link ReadListener#onAllDataRead()} if the entity has been read, all on the calling thread. If the
+     * listener leaves part of the entity to be read later, {@code onAllDataRead()} is called by the read which
+     * reaches the end of it. An exception thrown by a callback is passed to {@link ReadListener#onError(Throwable)}.
+     *
+     * @param readListener the listener
+     * @throws IllegalStateException if a listener has already been set
+     */
     @Override
     public void setReadListener(ReadListener readListener) {
+        Objects.requireNonNull(readListener, "readListener");
+        if (this.readListener != null) {
+            throw Messages.MESSAGES.readListenerAlreadySet();
+        }
+        this.readListener = readListener;
+        if (!isFinished()) {
+            inOnDataAvailable = true;
+            try {
+                readListener.onDataAvailable();
+            } catch (IOException | RuntimeException e) {
+                readListener.onError(e);
+                return;
+            } finally {
+                inOnDataAvailable = false;
+            }
+        }
+        if (isFinished()) {
+            fireAllDataRead();
+        }
     }
 
     @Override
     public int read() throws IOException {
-        return is.read();
+        if (is != null) {
+            final int b = is.read();
+            if (b < 0) {
+                endOfStream();
+            }
+            return b;
+        }
+        fill();
+        if (pos >= count) {
+            endOfStream();
+            return -1;
+        }
+        final int b = buf[pos++] & 0xff;
+        if (pos >= count) {
+            endOfStream();
+        }
+        return b;
+    }
+
+    @Override
+    public int read(byte[] b, int off, int len) throws IOException {
+        Objects.checkFromIndexSize(off, len, b.length);
+        if (is != null) {
+            final int n = is.read(b, off, len);
+            if (n < 0) {
+                endOfStream();
+            }
+            return n;
+        }
+        if (len == 0) {
+            return 0;
+        }
+        fill();
+        if (pos >= count) {
+            endOfStream();
+            return -1;
+        }
+        final int n = Math.min(len, count - pos);
+        System.arraycopy(buf, pos, b, off, n);
+        pos += n;
+        if (pos >= count) {
+            endOfStream();
+        }
+        return n;
+    }
+
+    @Override
+    public byte[] readAllBytes() throws IOException {
+        if (is != null) {
+            final byte[] bytes = is.readAllBytes();
+            endOfStream();
+            return bytes;
+        }
+        final byte[] bytes;
+        if (buf == null) {
+            // Nothing has been read: the serialized message is the result, and it needn't be copied
+            bytes = message == null ? EMPTY : message.toByteArray();
+            buf = bytes;
+            pos = count = bytes.length;
+        } else {
+            bytes = Arrays.copyOfRange(buf, pos, count);
+            pos = count;
+        }
+        endOfStream();
+        return bytes;
+    }
+
+    @Override
+    public long transferTo(OutputStream out) throws IOException {
+        Objects.requireNonNull(out, "out");
+        final long n;
+        if (is != null) {
+            n = is.transferTo(out);
+        } else if (buf == null) {
+            // Nothing has been read: serialize straight into out
+            n = message == null ? 0 : message.getSerializedSize();
+            if (message != null) {
+                message.writeTo(out);
+            }
+            buf = EMPTY;
+            pos = count = 0;
+        } else {
+            n = count - pos;
+            out.write(buf, pos, count - pos);
+            pos = count;
+        }
+        endOfStream();
+        return n;
+    }
+
+    @Override
+    public long skip(long n) throws IOException {
+        if (is != null) {
+            return is.skip(n);
+        }
+        if (n <= 0) {
+            return 0;
+        }
+        fill();
+        final int k = (int) Math.min(n, count - pos);
+        pos += k;
+        if (pos >= count) {
+            endOfStream();
+        }
+        return k;
+    }
+
+    @Override
+    public int available() throws IOException {
+        if (is != null) {
+            return is.available();
+        }
+        if (buf == null) {
+            return message == null ? 0 : message.getSerializedSize();
+        }
+        return count - pos;
+    }
+
+    private void fill() {
+        if (buf == null) {
+            buf = message == null ? EMPTY : message.toByteArray();
+            count = buf.length;
+        }
+    }
+
+    private void endOfStream() {
+        eof = true;
+        if (readListener != null && !inOnDataAvailable) {
+            fireAllDataRead();
+        }
+    }
+
+    private void fireAllDataRead() {
+        if (allDataRead) {
+            return;
+        }
+        allDataRead = true;
+        try {
+            readListener.onAllDataRead();
+        } catch (IOException | RuntimeException e) {
+            readListener.onError(e);
+        }
     }
 }
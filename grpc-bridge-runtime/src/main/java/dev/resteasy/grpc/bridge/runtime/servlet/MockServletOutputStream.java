@@ -21,31 +21,140 @@ package dev.resteasy.grpc.bridge.runtime.servlet;
 
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.util.Objects;
 
 import jakarta.servlet.ServletOutputStream;
 import jakarta.servlet.WriteListener;
 
+import com.google.protobuf.ByteString;
+
+import dev.resteasy.grpc.bridge.runtime.i18n.Messages;
+
+/**
+ * Collects the entity written by a resource method, or by the generated MessageBodyWriter, in a
+ * {@link ByteString.Output}. The bytes are kept in a list of segments, so the stream grows without copying
+ * what has already been written, and {@link #toByteString()} hands the full segments to protobuf without
+ * copying them either. If the size of the entity is known in advance, {@link #presize(int)} makes the
+ * first segment large enough to hold all of it.
+ * <p>
+ * Since a write to memory never blocks, {@link #isReady()} is always true, and a {@link WriteListener} is
+ * told that it can write as soon as it is registered. {@link AsyncMockServletOutputStream} refines this.
+ */
 public class MockServletOutputStream extends ServletOutputStream {
-    protected ByteArrayOutputStream baos = new ByteArrayOutputStream();
+    private static final int DEFAULT_CAPACITY = 256;
+
+    protected ByteString.Output buffer = ByteString.newOutput(DEFAULT_CAPACITY);
 
     private boolean closed;
+    private volatile WriteListener writeListener;
 
     @Override
     public boolean isReady() {
         return true;
     }
 
+    /**
+     * Registers {@code writeListener} and, if {@link #isReady()} is true, calls its
+     * {@link WriteListener#onWritePossible()} method on the calling thread.
+     *
+     * @param writeListener the listener
+     * @throws IllegalStateException if a listener has already been set
+     */
     @Override
     public void setWriteListener(WriteListener writeListener) {
+        Objects.requireNonNull(writeListener, "writeListener");
+        synchronized (this) {
+            if (this.writeListener != null) {
+                throw Messages.MESSAGES.writeListenerAlreadySet();
+            }
+            this.writeListener = writeListener;
+        }
+        if (isReady()) {
+            fireWritePossible();
+        }
+    }
+
+    /**
+     * Calls {@link WriteListener#onWritePossible()}, if a listener is registered, passing anything it throws
+     * to {@link WriteListener#onError(Throwable)}. It must not be called with a lock held.
+     */
+    protected void fireWritePossible() {
+        final WriteListener l = writeListener;
+        if (l == null) {
+            return;
+        }
+        try {
+            l.onWritePossible();
+        } catch (IOException | RuntimeException e) {
+            l.onError(e);
+        }
+    }
+
+    /**
+     * Calls {@link WriteListener#onError(Throwable)}, if a listener is registered. It must not be called
+     * with a lock held.
+     *
+     * @param t the error
+     */
+    protected void fireWriteError(Throwable t) {
+        final WriteListener l = writeListener;
+        if (l != null) {
+            l.onError(t);
+        }
     }
 
     @Override
     public void write(int b) throws IOException {
-        baos.write(b);
+        buffer.write(b);
+    }
+
+    @Override
+    public void write(byte[] b, int off, int len) throws IOException {
+        buffer.write(b, off, len);
+    }
+
+    /**
+     * Prepares for an entity of {@code size} bytes. It has no effect once something has been written.
+     *
+     * @param size the expected number of bytes
+     */
+    public void presize(int size) {
+        if (size > DEFAULT_CAPACITY && buffer.size() == 0) {
+            buffer = ByteString.newOutput(size);
+        }
+    }
+
+    /**
+     * @return the number of bytes written since the stream was created or last reset
+     */
+    public int size() {
+        return buffer.size();
+    }
+
+    /**
+     * Discards everything written so far.
+     */
+    public void reset() {
+        buffer.reset();
+    }
+
+    /**
+     * @return the bytes written so far. Full segments are shared with the result rather than copied.
+     */
+    public ByteString toByteString() {
+        return buffer.toByteString();
     }
 
+    /**
+     * The bytes are no longer kept in a {@link ByteArrayOutputStream}, so there is no delegate to return.
+     *
+     * @return never
+     * @throws UnsupportedOperationException always
+     * @deprecated use {@link #toByteString()}, {@link #size()} or {@link #reset()}
+     */
+    @Deprecated
     public ByteArrayOutputStream getDelegate() {
-        return baos;
+        throw Messages.MESSAGES.noDelegate();
     }
 
     public void close() throws IOException {
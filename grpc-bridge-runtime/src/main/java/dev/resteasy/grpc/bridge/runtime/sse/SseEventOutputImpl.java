@@ -19,8 +19,9 @@
 
 package dev.resteasy.grpc.bridge.runtime.sse;
 
-import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.io.OutputStream;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CompletionStage;
 
 import jakarta.ws.rs.core.GenericType;
@@ -28,10 +29,11 @@ import jakarta.ws.rs.ext.MessageBodyWriter;
 import jakarta.ws.rs.sse.OutboundSseEvent;
 import jakarta.ws.rs.sse.SseEventSink;
 
+import dev.resteasy.grpc.bridge.runtime.i18n.Messages;
 import dev.resteasy.grpc.bridge.runtime.servlet.AsyncMockServletOutputStream;
 
 public class SseEventOutputImpl extends GenericType<OutboundSseEvent> implements SseEventSink {
-    private boolean closed;
+    private volatile boolean closed;
 
     private final MessageBodyWriter<Object> writer;
     private final AsyncMockServletOutputStream amsos;
@@ -52,19 +54,43 @@ public class SseEventOutputImpl extends GenericType<OutboundSseEvent> implements
         }
     }
 
+    /**
+     * @return true if the sink has been closed, or the gRPC call has been cancelled
+     */
     @Override
     public boolean isClosed() {
-        return closed;
+        return closed || amsos.isClosed();
     }
 
+    /**
+     * Writes {@code event} to the gRPC stream.
+     *
+     * @return a stage which completes when the event is handed to gRPC, or exceptionally if it can't be
+     *         queued, is dropped, or the call is cancelled first
+     */
     @Override
-    public CompletionStage<?> send(OutboundSseEvent event) {
+    public synchronized CompletionStage<?> send(OutboundSseEvent event) {
+        CompletableFuture<Void> future = new CompletableFuture<Void>();
+        if (isClosed()) {
+            future.completeExceptionally(Messages.MESSAGES.sseEventSinkClosed());
+            return future;
+        }
+        amsos.track(future);
         try {
-            ByteArrayOutputStream baos = new ByteArrayOutputStream();
-            writer.writeTo(event, null, null, null, null, null, baos);
+            // The generated writer releases the event to amsos itself
+            writer.writeTo(event, null, null, null, null, null, OutputStream.nullOutputStream());
         } catch (IOException e) {
-            //
+            future.completeExceptionally(e);
+        } finally {
+            if (!amsos.track(null) && !future.isDone()) {
+                // Nothing was queued: the writer skipped the event, or the stream has been closed
+                if (amsos.isClosed()) {
+                    future.completeExceptionally(Messages.MESSAGES.sseEventSinkClosed());
+                } else {
+                    future.complete(null);
+                }
+            }
         }
-        return null; //???
+        return future;
     }
 }
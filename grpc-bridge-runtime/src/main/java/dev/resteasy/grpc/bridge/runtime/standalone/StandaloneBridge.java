@@ -0,0 +1,228 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ *
+ * Copyright 2026 Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package dev.resteasy.grpc.bridge.runtime.standalone;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import jakarta.servlet.ServletConfig;
+import jakarta.servlet.ServletContext;
+import jakarta.servlet.ServletException;
+import jakarta.ws.rs.core.Application;
+
+import org.jboss.logging.Logger;
+import org.jboss.resteasy.plugins.server.servlet.ResteasyContextParameters;
+import org.jboss.resteasy.spi.ResteasyDeployment;
+
+import dev.resteasy.grpc.bridge.runtime.i18n.Messages;
+import dev.resteasy.grpc.bridge.runtime.servlet.GrpcHttpServletDispatcher;
+
+/**
+ * Runs the Jakarta REST side of the bridge without a servlet container.
+ * <p>
+ * A deployed bridge gets its {@link ServletContext} from the container, which the generated
+ * {@code <prefix>_Server} captures when {@code /grpcserver/context} is called. A standalone bridge
+ * instead creates a {@link StandaloneServletContext} holding the parameters that would otherwise be
+ * in web.xml, and initializes a {@link GrpcHttpServletDispatcher} with it. The dispatcher bootstraps
+ * the {@link ResteasyDeployment} as it would in a container, from {@code jakarta.ws.rs.Application},
+ * {@code resteasy.resources}, {@code resteasy.providers} and the other RESTEasy parameters, and
+ * registers itself under the servlet name the bridge was generated with.
+ * <p>
+ * The generated {@code <prefix>_Server.startStandalone()} then serves the bridge over gRPC:
+ *
+ * <pre>
+ * StandaloneBridge bridge = StandaloneBridge.builder("GrpcServlet")
+ *         .resources(Greeter.class)
+ *         .initParameter(ResteasyContextParameters.RESTEASY_SERVLET_MAPPING_PREFIX, "/grpcToJakartaRest")
+ *         .start();
+ * Greeter_Server server = Greeter_Server.startStandalone(bridge, GrpcServerConfig.load(bridge.getServletContext()));
+ * </pre>
+ */
+public class StandaloneBridge implements AutoCloseable {
+
+    private static final Logger logger = Logger.getLogger(StandaloneBridge.class);
+
+    private final StandaloneServletContext servletContext;
+    private final ServletConfig servletConfig;
+    private final GrpcHttpServletDispatcher servlet;
+    private volatile boolean closed;
+
+    private StandaloneBridge(final StandaloneServletContext servletContext, final ServletConfig servletConfig,
+            final GrpcHttpServletDispatcher servlet) {
+        this.servletContext = servletContext;
+        this.servletConfig = servletConfig;
+        this.servlet = servlet;
+    }
+
+    /**
+     * Starts describing a standalone bridge.
+     *
+     * @param servletName the servlet name the bridge was generated with, the second argument of
+     *                    {@code ServiceGrpcExtender}
+     * @return a new builder
+     */
+    public static Builder builder(final String servletName) {
+        return new Builder(servletName);
+    }
+
+    public ServletContext getServletContext() {
+        return servletContext;
+    }
+
+    public ServletConfig getServletConfig() {
+        return servletConfig;
+    }
+
+    public GrpcHttpServletDispatcher getServlet() {
+        return servlet;
+    }
+
+    /**
+     * @return the deployment bootstrapped by the dispatcher
+     */
+    public ResteasyDeployment getDeployment() {
+        return (ResteasyDeployment) servletContext.getAttribute(ResteasyDeployment.class.getName());
+    }
+
+    /**
+     * Destroys the dispatcher, which stops the deployment and unregisters the servlet.
+     */
+    @Override
+    public void close() {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        servlet.destroy();
+    }
+
+    public static class Builder {
+        private final String servletName;
+        private final Map<String, String> initParameters = new LinkedHashMap<String, String>();
+        private String contextPath = "";
+        private ClassLoader classLoader;
+
+        private Builder(final String servletName) {
+            this.servletName = servletName;
+        }
+
+        /**
+         * @param contextPath the context path seen by resources, "" by default
+         */
+        public Builder contextPath(final String contextPath) {
+            this.contextPath = contextPath == null ? "" : contextPath;
+            return this;
+        }
+
+        /**
+         * @param classLoader the class loader of the resources and providers, by default the thread context
+         *                    class loader of the thread calling {@link #start()}
+         */
+        public Builder classLoader(final ClassLoader classLoader) {
+            this.classLoader = classLoader;
+            return this;
+        }
+
+        /**
+         * Adds a context parameter, as in a {@code <context-param>} of web.xml.
+         */
+        public Builder initParameter(final String name, final String value) {
+            initParameters.put(name, value);
+            return this;
+        }
+
+        public Builder initParameters(final Map<String, String> parameters) {
+            initParameters.putAll(parameters);
+            return this;
+        }
+
+        /**
+         * Adds the system properties whose names start with {@code resteasy.}, {@code jakarta.ws.rs.} or
+         * {@code dev.resteasy.grpc.} as context parameters, so that a standalone bridge can be configured
+         * from the command line.
+         */
+        public Builder systemParameters() {
+            for (String name : System.getProperties().stringPropertyNames()) {
+                if (name.startsWith("resteasy.") || name.startsWith("jakarta.ws.rs.")
+                        || name.startsWith("dev.resteasy.grpc.")) {
+                    initParameters.put(name, System.getProperty(name));
+                }
+            }
+            return this;
+        }
+
+        public Builder application(final Class<? extends Application> application) {
+            initParameters.put(Application.class.getName(), application.getName());
+            return this;
+        }
+
+        public Builder resources(final Class<?>... resources) {
+            return append(ResteasyContextParameters.RESTEASY_RESOURCES, resources);
+        }
+
+        public Builder providers(final Class<?>... providers) {
+            return append(ResteasyContextParameters.RESTEASY_PROVIDERS, providers);
+        }
+
+        /**
+         * Creates the servlet context and initializes the dispatcher, which bootstraps the deployment.
+         *
+         * @return the started bridge
+         * @throws ServletException if the deployment cannot be started
+         */
+        public StandaloneBridge start() throws ServletException {
+            final long begin = System.nanoTime();
+            final Thread thread = Thread.currentThread();
+            final ClassLoader tccl = thread.getContextClassLoader();
+            final ClassLoader loader = classLoader == null ? tccl : classLoader;
+            final StandaloneServletContext servletContext = new StandaloneServletContext(contextPath, loader,
+                    initParameters);
+            final ServletConfig servletConfig = new StandaloneServletConfig(servletName, servletContext);
+            final GrpcHttpServletDispatcher servlet = new GrpcHttpServletDispatcher();
+            // RESTEasy loads the classes named in the parameters with the thread context class loader.
+            thread.setContextClassLoader(loader);
+            try {
+                servlet.init(servletConfig);
+            } finally {
+                thread.setContextClassLoader(tccl);
+            }
+            logger.info(Messages.MESSAGES.standaloneBridgeStarted(servletName,
+                    TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - begin)));
+            return new StandaloneBridge(servletContext, servletConfig, servlet);
+        }
+
+        private Builder append(final String name, final Class<?>... classes) {
+            final StringBuilder sb = new StringBuilder();
+            final String current = initParameters.get(name);
+            if (current != null && !current.isBlank()) {
+                sb.append(current);
+            }
+            for (Class<?> clazz : classes) {
+                if (sb.length() > 0) {
+                    sb.append(',');
+                }
+                sb.append(clazz.getName());
+            }
+            initParameters.put(name, sb.toString());
+            return this;
+        }
+    }
+}
@@ -0,0 +1,378 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ *
+ * Copyright 2026 Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package dev.resteasy.grpc.bridge.runtime.standalone;
+
+import java.io.InputStream;
+import java.net.URL;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.Enumeration;
+import java.util.EventListener;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import jakarta.servlet.Filter;
+import jakarta.servlet.FilterRegistration;
+import jakarta.servlet.RequestDispatcher;
+import jakarta.servlet.Servlet;
+import jakarta.servlet.ServletContext;
+import jakarta.servlet.ServletRegistration;
+import jakarta.servlet.SessionCookieConfig;
+import jakarta.servlet.SessionTrackingMode;
+import jakarta.servlet.descriptor.JspConfigDescriptor;
+
+import org.jboss.logging.Logger;
+
+import dev.resteasy.grpc.bridge.runtime.i18n.Messages;
+
+/**
+ * The {@link ServletContext} of a bridge running without a servlet container, see {@link StandaloneBridge}.
+ * <p>
+ * It holds the init parameters and attributes which RESTEasy and the bridge read, and loads resources
+ * from its class loader. Methods which only make sense in a servlet container, such as registering
+ * servlets, filters or listeners, throw a {@link jakarta.ws.rs.NotSupportedException}.
+ */
+public class StandaloneServletContext implements ServletContext {
+
+    private static final Logger logger = Logger.getLogger(StandaloneServletContext.class);
+
+    private final String contextPath;
+    private final ClassLoader classLoader;
+    private final Map<String, String> initParameters = new ConcurrentHashMap<String, String>();
+    private final Map<String, Object> attributes = new ConcurrentHashMap<String, Object>();
+    private volatile int sessionTimeout;
+    private volatile String requestCharacterEncoding;
+    private volatile String responseCharacterEncoding;
+
+    /**
+     * @param contextPath    the context path, "" for the root context
+     * @param classLoader    the class loader of the deployment
+     * @param initParameters the context parameters, as in web.xml
+     */
+    public StandaloneServletContext(final String contextPath, final ClassLoader classLoader,
+            final Map<String, String> initParameters) {
+        this.contextPath = contextPath;
+        this.classLoader = classLoader;
+        this.initParameters.putAll(initParameters);
+    }
+
+    @Override
+    public String getContextPath() {
+        return contextPath;
+    }
+
+    @Override
+    public ServletContext getContext(String uripath) {
+        return null;
+    }
+
+    @Override
+    public int getMajorVersion() {
+        return 5;
+    }
+
+    @Override
+    public int getMinorVersion() {
+        return 0;
+    }
+
+    @Override
+    public int getEffectiveMajorVersion() {
+        return 5;
+    }
+
+    @Override
+    public int getEffectiveMinorVersion() {
+        return 0;
+    }
+
+    @Override
+    public String getMimeType(String file) {
+        return null;
+    }
+
+    @Override
+    public Set<String> getResourcePaths(String path) {
+        return null;
+    }
+
+    @Override
+    public URL getResource(String path) {
+        return classLoader.getResource(toResourceName(path));
+    }
+
+    @Override
+    public InputStream getResourceAsStream(String path) {
+        return classLoader.getResourceAsStream(toResourceName(path));
+    }
+
+    @Override
+    public RequestDispatcher getRequestDispatcher(String path) {
+        return null;
+    }
+
+    @Override
+    public RequestDispatcher getNamedDispatcher(String name) {
+        return null;
+    }
+
+    @Override
+    public Servlet getServlet(String name) {
+        return null;
+    }
+
+    @Override
+    public Enumeration<Servlet> getServlets() {
+        return Collections.emptyEnumeration();
+    }
+
+    @Override
+    public Enumeration<String> getServletNames() {
+        return Collections.emptyEnumeration();
+    }
+
+    @Override
+    public void log(String msg) {
+        logger.info(msg);
+    }
+
+    @Override
+    public void log(Exception exception, String msg) {
+        logger.error(msg, exception);
+    }
+
+    @Override
+    public void log(String message, Throwable throwable) {
+        logger.error(message, throwable);
+    }
+
+    @Override
+    public String getRealPath(String path) {
+        return null;
+    }
+
+    @Override
+    public String getServerInfo() {
+        return "resteasy-grpc standalone";
+    }
+
+    @Override
+    public String getInitParameter(String name) {
+        return initParameters.get(name);
+    }
+
+    @Override
+    public Enumeration<String> getInitParameterNames() {
+        return Collections.enumeration(initParameters.keySet());
+    }
+
+    @Override
+    public boolean setInitParameter(String name, String value) {
+        return initParameters.putIfAbsent(name, value) == null;
+    }
+
+    @Override
+    public Object getAttribute(String name) {
+        return attributes.get(name);
+    }
+
+    @Override
+    public Enumeration<String> getAttributeNames() {
+        return Collections.enumeration(attributes.keySet());
+    }
+
+    @Override
+    public void setAttribute(String name, Object object) {
+        if (object == null) {
+            attributes.remove(name);
+        } else {
+            attributes.put(name, object);
+        }
+    }
+
+    @Override
+    public void removeAttribute(String name) {
+        attributes.remove(name);
+    }
+
+    @Override
+    public String getServletContextName() {
+        return contextPath.isEmpty() ? "/" : contextPath;
+    }
+
+    @Override
+    public ServletRegistration.Dynamic addServlet(String servletName, String className) {
+        throw Messages.MESSAGES.isNotImplemented("addServlet()");
+    }
+
+    @Override
+    public ServletRegistration.Dynamic addServlet(String servletName, Servlet servlet) {
+        throw Messages.MESSAGES.isNotImplemented("addServlet()");
+    }
+
+    @Override
+    public ServletRegistration.Dynamic addServlet(String servletName, Class<? extends Servlet> servletClass) {
+        throw Messages.MESSAGES.isNotImplemented("addServlet()");
+    }
+
+    @Override
+    public ServletRegistration.Dynamic addJspFile(String servletName, String jspFile) {
+        throw Messages.MESSAGES.isNotImplemented("addJspFile()");
+    }
+
+    @Override
+    public <T extends Servlet> T createServlet(Class<T> clazz) {
+        throw Messages.MESSAGES.isNotImplemented("createServlet()");
+    }
+
+    @Override
+    public ServletRegistration getServletRegistration(String servletName) {
+        return null;
+    }
+
+    @Override
+    public Map<String, ? extends ServletRegistration> getServletRegistrations() {
+        return Collections.emptyMap();
+    }
+
+    @Override
+    public FilterRegistration.Dynamic addFilter(String filterName, String className) {
+        throw Messages.MESSAGES.isNotImplemented("addFilter()");
+    }
+
+    @Override
+    public FilterRegistration.Dynamic addFilter(String filterName, Filter filter) {
+        throw Messages.MESSAGES.isNotImplemented("addFilter()");
+    }
+
+    @Override
+    public FilterRegistration.Dynamic addFilter(String filterName, Class<? extends Filter> filterClass) {
+        throw Messages.MESSAGES.isNotImplemented("addFilter()");
+    }
+
+    @Override
+    public <T extends Filter> T createFilter(Class<T> clazz) {
+        throw Messages.MESSAGES.isNotImplemented("createFilter()");
+    }
+
+    @Override
+    public FilterRegistration getFilterRegistration(String filterName) {
+        return null;
+    }
+
+    @Override
+    public Map<String, ? extends FilterRegistration> getFilterRegistrations() {
+        return Collections.emptyMap();
+    }
+
+    @Override
+    public SessionCookieConfig getSessionCookieConfig() {
+        throw Messages.MESSAGES.isNotImplemented("getSessionCookieConfig()");
+    }
+
+    @Override
+    public void setSessionTrackingModes(Set<SessionTrackingMode> sessionTrackingModes) {
+        throw Messages.MESSAGES.isNotImplemented("setSessionTrackingModes()");
+    }
+
+    @Override
+    public Set<SessionTrackingMode> getDefaultSessionTrackingModes() {
+        return EnumSet.noneOf(SessionTrackingMode.class);
+    }
+
+    @Override
+    public Set<SessionTrackingMode> getEffectiveSessionTrackingModes() {
+        return EnumSet.noneOf(SessionTrackingMode.class);
+    }
+
+    @Override
+    public void addListener(String className) {
+        throw Messages.MESSAGES.isNotImplemented("addListener()");
+    }
+
+    @Override
+    public <T extends EventListener> void addListener(T t) {
+        throw Messages.MESSAGES.isNotImplemented("addListener()");
+    }
+
+    @Override
+    public void addListener(Class<? extends EventListener> listenerClass) {
+        throw Messages.MESSAGES.isNotImplemented("addListener()");
+    }
+
+    @Override
+    public <T extends EventListener> T createListener(Class<T> clazz) {
+        throw Messages.MESSAGES.isNotImplemented("createListener()");
+    }
+
+    @Override
+    public JspConfigDescriptor getJspConfigDescriptor() {
+        return null;
+    }
+
+    @Override
+    public ClassLoader getClassLoader() {
+        return classLoader;
+    }
+
+    @Override
+    public void declareRoles(String... roleNames) {
+    }
+
+    @Override
+    public String getVirtualServerName() {
+        return "localhost";
+    }
+
+    @Override
+    public int getSessionTimeout() {
+        return sessionTimeout;
+    }
+
+    @Override
+    public void setSessionTimeout(int sessionTimeout) {
+        this.sessionTimeout = sessionTimeout;
+    }
+
+    @Override
+    public String getRequestCharacterEncoding() {
+        return requestCharacterEncoding;
+    }
+
+    @Override
+    public void setRequestCharacterEncoding(String encoding) {
+        this.requestCharacterEncoding = encoding;
+    }
+
+    @Override
+    public String getResponseCharacterEncoding() {
+        return responseCharacterEncoding;
+    }
+
+    @Override
+    public void setResponseCharacterEncoding(String encoding) {
+        this.responseCharacterEncoding = encoding;
+    }
+
+    private static String toResourceName(final String path) {
+        return path.startsWith("/") ? path.substring(1) : path;
+    }
+}
@@ -32,37 +32,64 @@ class ServerGrpcGenerator {
     private final Path sourceDir;
     private final String packageName;
     private final String prefix;
+    private final String servletName;
 
-    ServerGrpcGenerator(final Path sourceDir, final String packageName, final String prefix) {
+    ServerGrpcGenerator(final Path sourceDir, final String packageName, final String prefix,
+            final String servletName) {
         this.sourceDir = sourceDir;
         this.packageName = packageName;
         this.prefix = prefix;
+        this.servletName = servletName;
     }
 
     public String generate() throws IOException {
         final var file = sourceDir.resolve(packageName.replace('.', File.separatorChar))
                 .resolve(prefix + "_Server.java");
         Files.createDirectories(file.getParent());
+        final String className = qualify(prefix + "_Server");
         try (SourceWriter writer = new SourceWriter(file)) {
             // Write the package name
             writer.writeLine("package ", packageName, ";");
 
             // Write the imports
-            writer.writeLine("import dev.resteasy.grpc.bridge.runtime.i18n.Messages;")
+            writer.writeLine("import dev.resteasy.grpc.bridge.runtime.dispatch.RpcDispatcher;")
+                    .writeLine("import dev.resteasy.grpc.bridge.runtime.i18n.Messages;")
+                    .writeLine("import dev.resteasy.grpc.bridge.runtime.server.GrpcServerConfig;")
+                    .writeLine("import dev.resteasy.grpc.bridge.runtime.server.HealthReporter;")
+                    .writeLine("import dev.resteasy.grpc.bridge.runtime.server.InProcessTransport;")
+                    .writeLine("import dev.resteasy.grpc.bridge.runtime.server.NettyServerTransport;")
+                    .writeLine("import dev.resteasy.grpc.bridge.runtime.server.WarmUp;")
+                    .writeLine("import dev.resteasy.grpc.bridge.runtime.servlet.GrpcHttpServletDispatcher;")
+                    .writeLine("import dev.resteasy.grpc.bridge.runtime.standalone.StandaloneBridge;")
                     .writeLine("import java.security.AccessController;")
                     .writeLine("import java.security.PrivilegedExceptionAction;")
+                    .writeLine("import java.util.concurrent.ExecutorService;")
+                    .writeLine("import java.util.concurrent.LinkedBlockingQueue;")
+                    .writeLine("import java.util.concurrent.ThreadPoolExecutor;")
                     .writeLine("import java.util.concurrent.TimeUnit;")
+                    .writeLine("import java.util.logging.Level;")
                     .writeLine("import java.util.logging.Logger;")
                     .writeLine()
+                    .writeLine("import io.grpc.BindableService;")
+                    .writeLine("import io.grpc.CallOptions;")
+                    .writeLine("import io.grpc.ManagedChannel;")
+                    .writeLine("import io.grpc.ManagedChannelBuilder;")
+                    .writeLine("import io.grpc.MethodDescriptor;")
                     .writeLine("import io.grpc.Server;")
                     .writeLine("import io.grpc.ServerBuilder;")
+                    .writeLine("import io.grpc.ServerMethodDefinition;")
+                    .writeLine("import io.grpc.ServerServiceDefinition;")
+                    .writeLine("import io.grpc.StatusRuntimeException;")
+                    .writeLine("import io.grpc.stub.ClientCalls;")
+                    .writeLine("import jakarta.servlet.Servlet;")
                     .writeLine("import jakarta.servlet.ServletContext;")
                     .writeLine("import jakarta.servlet.http.HttpServletRequest;")
                     .writeLine("import jakarta.ws.rs.GET;")
                     .writeLine("import jakarta.ws.rs.Path;")
                     .writeLine("import jakarta.ws.rs.core.Context;")
                     .writeLine("import jakarta.ws.rs.core.Response;")
-                    .writeLine("import java.util.concurrent.atomic.AtomicBoolean;");
+                    .writeLine("import java.util.concurrent.atomic.AtomicBoolean;")
+                    .writeLine("import org.jboss.resteasy.plugins.server.servlet.HttpServletDispatcher;");
 
             // Start the type
             writer.writeLine("@Path(\"grpcserver\")")
@@ -73,18 +100,131 @@ class ServerGrpcGenerator {
             writer.writeLine(
                     "private static final Logger logger = Logger.getLogger(", prefix, "_Server.class.getName());")
                     .writeLine("private static ServletContext servletContext;")
-                    .writeLine("private static int PORT = 8082;")
+                    .writeLine("/**")
+                    .writeLine("* The default name of the in-process server, see newInProcessChannel().")
+                    .writeLine("*/")
+                    .writeLine("public static final String IN_PROCESS_NAME = \"", className, "\";")
+                    .writeLine("/**")
+                    .writeLine("* The name the bridge servlet is registered under.")
+                    .writeLine("*/")
+                    .writeLine("public static final String SERVLET_NAME = \"", servletName, "\";")
+                    .writeLine("private static final String PROTO_CLASS = \"", qualify(prefix + "_proto"), "\";")
+                    .writeLine("private static final String TRANSLATOR_CLASS = \"",
+                            qualify(prefix + "JavabufTranslator"), "\";")
+                    .writeLine("private static volatile ", prefix, "_Server running;")
+                    .writeLine("private static volatile String inProcessName;")
+                    .writeLine("private static final AtomicBoolean started = new AtomicBoolean(false);")
+                    .writeLine("/**")
+                    .writeLine("* Starts and stops the server one at a time. Its thread ends when idle, so that it")
+                    .writeLine("* doesn't outlive the deployment.")
+                    .writeLine("*/")
+                    .writeLine("private static final ExecutorService lifecycle = new ThreadPoolExecutor(0, 1, 30,",
+                            " TimeUnit.SECONDS,")
+                    .writeLine("        new LinkedBlockingQueue<Runnable>(), r -> {")
+                    .writeLine("            final Thread thread = new Thread(r, \"", prefix, "_Server lifecycle\");")
+                    .writeLine("            thread.setDaemon(true);")
+                    .writeLine("            return thread;")
+                    .writeLine("        });")
+                    .writeLine("private GrpcServerConfig config;")
                     .writeLine("private Server server;")
+                    .writeLine("private Server inProcessServer;")
+                    .writeLine("private NettyServerTransport transport;")
+                    .writeLine("private ExecutorService callExecutor;")
+                    .writeLine("private RpcDispatcher dispatcher;")
+                    .writeLine("private HealthReporter health;")
+                    .writeLine("private ServerServiceDefinition serviceDefinition;")
+                    .writeLine("private Thread shutdownHook;")
+                    .writeLine("private volatile boolean ready;")
                     .writeLine("private static final AtomicBoolean servletContextInitialized = new AtomicBoolean(false);");
 
             // Write the main method
             writer.writeLine("/**")
-                    .writeLine("* Main launches the server from the command line.")
+                    .writeLine("* Main launches a standalone bridge from the command line. The deployment and the")
+                    .writeLine("* server are configured with system properties, see")
+                    .writeLine("* StandaloneBridge.Builder.systemParameters().")
                     .writeLine("*/")
                     .startBlock("public static void main(String[] args) throws Exception, InterruptedException {")
-                    .writeLine("final ", prefix, "_Server server = new ", prefix, "_Server();")
-                    .writeLine("server.start();")
+                    .startBlock("try (StandaloneBridge bridge = StandaloneBridge.builder(SERVLET_NAME)",
+                            ".systemParameters().start()) {")
+                    .writeLine("final ", prefix, "_Server server = startStandalone(bridge,",
+                            " GrpcServerConfig.load(bridge.getServletContext()));")
                     .writeLine("server.blockUntilShutdown();")
+                    .endBlock()
+                    .endBlock();
+
+            writer.writeLine("/**")
+                    .writeLine("* Starts the gRPC server for a bridge running without a servlet container. The caller")
+                    .writeLine("* closes the bridge after calling shutdown().")
+                    .writeLine("*/")
+                    .startBlock("public static ", prefix, "_Server startStandalone(final StandaloneBridge bridge,",
+                            " final GrpcServerConfig serverConfig) throws Exception {")
+                    .writeLine("servletContext = bridge.getServletContext();")
+                    .writeLine("servletContextInitialized.set(true);")
+                    .writeLine("final ", prefix, "_Server server = new ", prefix, "_Server();")
+                    .writeLine("server.start(serverConfig);")
+                    .writeLine("return server;")
+                    .endBlock();
+
+            writer.writeLine("/**")
+                    .writeLine("* Stops a server started with startStandalone().")
+                    .writeLine("*/")
+                    .startBlock("public void shutdown() throws InterruptedException {")
+                    .writeLine("stop();")
+                    .endBlock();
+
+            writer.writeLine("/**")
+                    .writeLine("* Called by ", prefix, "_ServerListener when the deployment starts. If")
+                    .writeLine("* dev.resteasy.grpc.server.autostart is true, the server is started and warmed up")
+                    .writeLine("* in the background.")
+                    .writeLine("*/")
+                    .startBlock("public static void autoStart(final ServletContext context) {")
+                    .writeLine("servletContext = context;")
+                    .writeLine("servletContextInitialized.set(true);")
+                    .writeLine("final GrpcServerConfig serverConfig = GrpcServerConfig.load(context);")
+                    .startBlock("if (serverConfig.isAutoStart()) {")
+                    .writeLine("startAsync(serverConfig);")
+                    .endBlock()
+                    .endBlock();
+
+            writer.writeLine("/**")
+                    .writeLine("* Called by ", prefix, "_ServerListener when the deployment stops. Waits for a start")
+                    .writeLine("* in progress, then stops the running server.")
+                    .writeLine("*/")
+                    .startBlock("public static void autoStop() throws Exception {")
+                    .startBlock("lifecycle.submit(() -> {")
+                    .writeLine("final ", prefix, "_Server server = running;")
+                    .startBlock("if (server != null) {")
+                    .writeLine("server.stop();")
+                    .endBlock()
+                    .writeLine("return null;")
+                    .endBlock("}).get(60, TimeUnit.SECONDS);")
+                    .endBlock();
+
+            writer.writeLine("/**")
+                    .writeLine("* Returns true once the running server has finished warming up.")
+                    .writeLine("*/")
+                    .startBlock("public static boolean isReady() {")
+                    .writeLine("final ", prefix, "_Server server = running;")
+                    .writeLine("return server != null && server.ready;")
+                    .endBlock();
+
+            writer.writeLine("/**")
+                    .writeLine("* Starts the server on the lifecycle thread, unless it is already started.")
+                    .writeLine("*/")
+                    .startBlock("private static void startAsync(final GrpcServerConfig serverConfig) {")
+                    .startBlock("if (!started.compareAndSet(false, true)) {")
+                    .writeLine("return;")
+                    .endBlock()
+                    .startBlock("lifecycle.execute(() -> {")
+                    .startBlock("try {")
+                    .writeLine("new ", prefix, "_Server().start(serverConfig);")
+                    .writeLine("logger.info(Messages.MESSAGES.startedGrpcServer(serverConfig.getPort()));")
+                    .endAndStart("} catch (Exception e) {")
+                    .writeLine("started.set(false);")
+                    .writeLine("logger.log(Level.SEVERE, Messages.MESSAGES.cannotStartGrpcServer(",
+                            "serverConfig.getPort()), e);")
+                    .endBlock()
+                    .endBlock("});")
                     .endBlock();
 
             // The static servlet context
@@ -92,6 +232,25 @@ class ServerGrpcGenerator {
                     .writeLine("return servletContext;")
                     .endBlock();
 
+            writer.writeLine("/**")
+                    .writeLine("* Returns a channel to the in-process server, for callers in the same JVM. The caller")
+                    .writeLine("* shuts the channel down when done with it.")
+                    .writeLine("*")
+                    .writeLine("* @throws IllegalStateException if the server is not running or the in-process")
+                    .writeLine("*                               transport is not available")
+                    .writeLine("*/")
+                    .startBlock("public static ManagedChannel newInProcessChannel() {")
+                    .writeLine("final String name = inProcessName;")
+                    .writeLine("final Object builder = name == null ? null",
+                            " : InProcessTransport.newChannelBuilder(name, ", prefix,
+                            "_Server.class.getClassLoader());")
+                    .startBlock("if (builder == null) {")
+                    .writeLine("throw Messages.MESSAGES.inProcessServerNotRunning(",
+                            "name == null ? IN_PROCESS_NAME : name);")
+                    .endBlock()
+                    .writeLine("return ((ManagedChannelBuilder<?>) builder).directExecutor().build();")
+                    .endBlock();
+
             writer.writeLine("@Path(\"context\")")
                     .writeLine("@GET")
                     .startBlock("public Response startContext(@Context HttpServletRequest request) throws Exception {")
@@ -106,75 +265,178 @@ class ServerGrpcGenerator {
                     .writeLine("@GET")
                     .startBlock("public String startGRPC(@Context HttpServletRequest request) throws Exception {")
                     .writeLine("servletContext = request.getServletContext();")
-                    .writeLine("final ", prefix, "_Server server = new ", prefix, "_Server();")
-                    .startBlock("new Thread() {")
-                    .writeLine("@SuppressWarnings({\"deprecation\", \"removal\"})")
-                    .startBlock("public void run() {")
-                    .startBlock("try {")
-                    .startBlock("if (System.getSecurityManager() == null) {")
-                    .writeLine("server.start();")
-                    .endAndStart("} else {")
-                    .writeLine(
-                            "AccessController.doPrivileged((PrivilegedExceptionAction<Void>) () -> {server.start(); return null;});")
-                    .endBlock()
-                    .writeLine("logger.info(Messages.MESSAGES.startedGrpcServer(PORT));")
-                    .writeLine("server.blockUntilShutdown();")
-                    .endAndStart("} catch (Exception e) {")
-                    .endBlock()
-                    .endBlock()
-                    .endBlock("}.start();")
-                    .writeLine("return Messages.MESSAGES.startingGrpcServer(PORT);")
+                    .writeLine("final GrpcServerConfig serverConfig = GrpcServerConfig.load(servletContext);")
+                    .writeLine("startAsync(serverConfig);")
+                    .writeLine("return Messages.MESSAGES.startingGrpcServer(serverConfig.getPort());")
                     .endBlock()
                     .writeLine();
 
             writer.writeLine("@Path(\"ready\")")
                     .writeLine("@GET")
-                    .startBlock("public String ready() {")
+                    .startBlock("public Response ready() {")
+                    .startBlock("if (!isReady()) {")
+                    .writeLine("return Response.status(Response.Status.SERVICE_UNAVAILABLE)",
+                            ".entity(Messages.MESSAGES.notReady()).build();")
+                    .endBlock()
                     .writeLine("logger.info(Messages.MESSAGES.gRPCServerReady());")
-                    .writeLine("return Messages.MESSAGES.ready();")
+                    .writeLine("return Response.ok(Messages.MESSAGES.ready()).build();")
                     .endBlock()
                     .writeLine();
 
             writer.writeLine("@Path(\"stop\")")
                     .writeLine("@GET")
                     .startBlock("public void stopGRPC() throws Exception {")
-                    .writeLine("logger.info(Messages.MESSAGES.stoppingGrpcServer(PORT));")
+                    .writeLine("logger.info(Messages.MESSAGES.stoppingGrpcServer(",
+                            "GrpcServerConfig.load(servletContext).getPort()));")
+                    .writeLine("final ", prefix, "_Server server = running;")
+                    .startBlock("if (server != null) {")
+                    .writeLine("server.stop();")
+                    .endAndStart("} else {")
                     .writeLine("stop();")
                     .endBlock()
+                    .endBlock()
                     .writeLine();
 
             writer.writeLine("/**")
-                    .writeLine("* Start gRPC server.")
+                    .writeLine("* Start gRPC server with the given configuration.")
                     .writeLine("*/")
                     .writeLine("@SuppressWarnings({\"removal\", \"deprecation\"})")
-                    .startBlock("private void start() throws Exception {")
+                    .startBlock("private void start(final GrpcServerConfig serverConfig) throws Exception {")
+                    .writeLine("config = serverConfig;")
+                    .writeLine("final ", prefix, "ServiceGrpcImpl service = new ", prefix, "ServiceGrpcImpl();")
+                    .writeLine("dispatcher = service.getDispatcher();")
+                    .writeLine("dispatcher.configure(config::getDispatchParameter);")
+                    .writeLine("serviceDefinition = service.bindService();")
+                    .writeLine("final String serviceName = serviceDefinition.getServiceDescriptor().getName();")
+                    .writeLine("health = HealthReporter.create(", prefix, "_Server.class.getClassLoader());")
+                    .startBlock("if (health != null) {")
+                    .writeLine("health.setServing(serviceName, false);")
+                    .endBlock()
+                    .startBlock("try {")
                     .startBlock("if (System.getSecurityManager() == null) {")
-                    .writeLine("server = ServerBuilder.forPort(PORT)")
-                    .writeLine(".addService(new ", prefix, "ServiceGrpcImpl())")
-                    .writeLine(".build()")
-                    .writeLine(".start();")
+                    .writeLine("server = buildServer(service).start();")
+                    .writeLine("startInProcessServer(service);")
                     .endAndStart("} else {")
                     .startBlock("AccessController.doPrivileged((PrivilegedExceptionAction<Server>) () -> {")
-                    .writeLine("server = ServerBuilder.forPort(PORT)")
-                    .writeLine(".addService(new ", prefix, "ServiceGrpcImpl())")
-                    .writeLine(".build()")
-                    .writeLine(".start();")
+                    .writeLine("server = buildServer(service).start();")
+                    .writeLine("startInProcessServer(service);")
                     .writeLine("return server;")
                     .endBlock("});")
                     .endBlock()
-                    .writeLine("logger.info(Messages.MESSAGES.serverStarted(PORT));")
-                    .startBlock("Runtime.getRuntime().addShutdownHook(new Thread() {")
-                    .writeLine("@Override")
-                    .startBlock("public void run() {")
+                    .endAndStart("} catch (Exception e) {")
+                    .writeLine("// Don't leave the TCP server running if the in-process server failed to start")
+                    .writeLine("stop();")
+                    .writeLine("throw e;")
+                    .endBlock()
+                    .writeLine("running = this;")
+                    .writeLine("started.set(true);")
+                    .startBlock("shutdownHook = new Thread(() -> {")
                     .writeLine("// Use stderr here since the logger may have been reset by its JVM shutdown hook.")
                     .writeLine("System.err.println(Messages.MESSAGES.shuttingDownGrpcServer());")
                     .startBlock("try {")
-                    .writeLine(prefix, "_Server.this.stop();")
+                    .writeLine("stop();")
                     .endAndStart("} catch (InterruptedException e) {")
                     .endBlock()
                     .writeLine("System.err.println(Messages.MESSAGES.serverShutDown());")
-                    .endBlock()
                     .endBlock("});")
+                    .writeLine("Runtime.getRuntime().addShutdownHook(shutdownHook);")
+                    .writeLine("logger.info(Messages.MESSAGES.serverStarted(config.getPort()));")
+                    .writeLine("warmUp();")
+                    .writeLine("ready = true;")
+                    .startBlock("if (health != null) {")
+                    .writeLine("health.setServing(HealthReporter.ALL_SERVICES, true);")
+                    .writeLine("health.setServing(serviceName, true);")
+                    .endBlock()
+                    .endBlock()
+                    .writeLine();
+
+            writer.writeLine("/**")
+                    .writeLine("* Build the gRPC server described by the configuration.")
+                    .writeLine("*/")
+                    .startBlock("private Server buildServer(final ", prefix, "ServiceGrpcImpl service) {")
+                    .writeLine("transport = NettyServerTransport.create(config, ", prefix,
+                            "_Server.class.getClassLoader());")
+                    .writeLine("final ServerBuilder<?> builder;")
+                    .startBlock("if (transport != null) {")
+                    .writeLine("builder = (ServerBuilder<?>) transport.getServerBuilder();")
+                    .endAndStart("} else {")
+                    .startBlock("if (config.hasNettySettings()) {")
+                    .writeLine("logger.warning(Messages.MESSAGES.nettyNotAvailable(config));")
+                    .endBlock()
+                    .writeLine("builder = ServerBuilder.forPort(config.getPort());")
+                    .endBlock()
+                    .writeLine("callExecutor = config.createCallExecutor();")
+                    .startBlock("if (config.getExecutor() == GrpcServerConfig.CallExecutor.DIRECT) {")
+                    .writeLine("builder.directExecutor();")
+                    .endAndStart("} else if (callExecutor != null) {")
+                    .writeLine("builder.executor(callExecutor);")
+                    .endBlock()
+                    .startBlock("if (config.getMaxInboundMessageSize() != null) {")
+                    .writeLine("builder.maxInboundMessageSize(config.getMaxInboundMessageSize());")
+                    .endBlock()
+                    .startBlock("if (config.getMaxInboundMetadataSize() != null) {")
+                    .writeLine("builder.maxInboundMetadataSize(config.getMaxInboundMetadataSize());")
+                    .endBlock()
+                    .startBlock("if (config.getKeepAliveTime() != null) {")
+                    .writeLine("builder.keepAliveTime(config.getKeepAliveTime().toNanos(), TimeUnit.NANOSECONDS);")
+                    .endBlock()
+                    .startBlock("if (config.getKeepAliveTimeout() != null) {")
+                    .writeLine("builder.keepAliveTimeout(config.getKeepAliveTimeout().toNanos(),",
+                            " TimeUnit.NANOSECONDS);")
+                    .endBlock()
+                    .startBlock("if (config.getPermitKeepAliveTime() != null) {")
+                    .writeLine("builder.permitKeepAliveTime(config.getPermitKeepAliveTime().toNanos(),",
+                            " TimeUnit.NANOSECONDS);")
+                    .endBlock()
+                    .startBlock("if (config.getPermitKeepAliveWithoutCalls() != null) {")
+                    .writeLine("builder.permitKeepAliveWithoutCalls(config.getPermitKeepAliveWithoutCalls());")
+                    .endBlock()
+                    .startBlock("if (config.getMaxConnectionIdle() != null) {")
+                    .writeLine("builder.maxConnectionIdle(config.getMaxConnectionIdle().toNanos(),",
+                            " TimeUnit.NANOSECONDS);")
+                    .endBlock()
+                    .startBlock("if (config.getMaxConnectionAge() != null) {")
+                    .writeLine("builder.maxConnectionAge(config.getMaxConnectionAge().toNanos(),",
+                            " TimeUnit.NANOSECONDS);")
+                    .endBlock()
+                    .startBlock("if (config.getMaxConnectionAgeGrace() != null) {")
+                    .writeLine("builder.maxConnectionAgeGrace(config.getMaxConnectionAgeGrace().toNanos(),",
+                            " TimeUnit.NANOSECONDS);")
+                    .endBlock()
+                    .startBlock("if (health != null) {")
+                    .writeLine("builder.addService((BindableService) health.getHealthService());")
+                    .endBlock()
+                    .writeLine("return builder.addService(service).build();")
+                    .endBlock()
+                    .writeLine();
+
+            writer.writeLine("/**")
+                    .writeLine("* Register the service with gRPC's in-process transport, unless that is disabled.")
+                    .writeLine("*/")
+                    .startBlock("private void startInProcessServer(final ", prefix,
+                            "ServiceGrpcImpl service) throws java.io.IOException {")
+                    .startBlock("if (!config.isInProcess()) {")
+                    .writeLine("return;")
+                    .endBlock()
+                    .writeLine("final String name = config.getInProcessName() == null ? IN_PROCESS_NAME",
+                            " : config.getInProcessName();")
+                    .writeLine("final Object builder = InProcessTransport.newServerBuilder(name, ", prefix,
+                            "_Server.class.getClassLoader());")
+                    .startBlock("if (builder == null) {")
+                    .writeLine("logger.warning(Messages.MESSAGES.inProcessNotAvailable(name));")
+                    .writeLine("return;")
+                    .endBlock()
+                    .writeLine("final ServerBuilder<?> inProcessBuilder = (ServerBuilder<?>) builder;")
+                    .startBlock("if (config.getExecutor() == GrpcServerConfig.CallExecutor.DIRECT) {")
+                    .writeLine("inProcessBuilder.directExecutor();")
+                    .endAndStart("} else if (callExecutor != null) {")
+                    .writeLine("inProcessBuilder.executor(callExecutor);")
+                    .endBlock()
+                    .startBlock("if (health != null) {")
+                    .writeLine("inProcessBuilder.addService((BindableService) health.getHealthService());")
+                    .endBlock()
+                    .writeLine("inProcessServer = inProcessBuilder.addService(service).build().start();")
+                    .writeLine("inProcessName = name;")
                     .endBlock()
                     .writeLine();
 
@@ -182,9 +444,108 @@ class ServerGrpcGenerator {
                     .writeLine("* Stop gRPC server.")
                     .writeLine("*/")
                     .startBlock("private void stop() throws InterruptedException {")
+                    .writeLine("ready = false;")
+                    .startBlock("if (shutdownHook != null && Thread.currentThread() != shutdownHook) {")
+                    .startBlock("try {")
+                    .writeLine("Runtime.getRuntime().removeShutdownHook(shutdownHook);")
+                    .endAndStart("} catch (IllegalStateException e) {")
+                    .writeLine("// the JVM is already shutting down")
+                    .endBlock()
+                    .writeLine("shutdownHook = null;")
+                    .endBlock()
+                    .startBlock("if (running == this) {")
+                    .writeLine("running = null;")
+                    .writeLine("started.set(false);")
+                    .endBlock()
+                    .startBlock("if (health != null) {")
+                    .writeLine("health.shutdown();")
+                    .endBlock()
+                    .startBlock("if (inProcessServer != null) {")
+                    .writeLine("inProcessName = null;")
+                    .writeLine("inProcessServer.shutdown().awaitTermination(30, TimeUnit.SECONDS);")
+                    .endBlock()
                     .startBlock("if (server != null) {")
                     .writeLine("server.shutdown().awaitTermination(30, TimeUnit.SECONDS);")
                     .endBlock()
+                    .startBlock("if (transport != null) {")
+                    .writeLine("transport.close();")
+                    .endBlock()
+                    .startBlock("if (callExecutor != null) {")
+                    .writeLine("callExecutor.shutdown();")
+                    .endBlock()
+                    .startBlock("if (dispatcher != null) {")
+                    .writeLine("dispatcher.shutdown();")
+                    .endBlock()
+                    .endBlock()
+                    .writeLine();
+
+            writer.writeLine("/**")
+                    .writeLine("* Warm up before reporting readiness: initialize the javabuf translators, resolve the")
+                    .writeLine("* entity providers of the resource methods without calling them and, if")
+                    .writeLine("* dev.resteasy.grpc.server.warm-up-methods is given, call those methods through the")
+                    .writeLine("* in-process transport, which lets the JIT compile the request path.")
+                    .writeLine("*/")
+                    .startBlock("private void warmUp() throws InterruptedException {")
+                    .startBlock("if (!config.isWarmUp()) {")
+                    .writeLine("return;")
+                    .endBlock()
+                    .writeLine("final long begin = System.nanoTime();")
+                    .writeLine("final int translators = WarmUp.translators(PROTO_CLASS, TRANSLATOR_CLASS, ", prefix,
+                            "_Server.class.getClassLoader());")
+                    .writeLine("int invokers = 0;")
+                    .writeLine("int calls = 0;")
+                    .writeLine("final Servlet servlet = GrpcHttpServletDispatcher.awaitServlet(SERVLET_NAME, ",
+                            "config.getWarmUpTimeout());")
+                    .startBlock("if (servlet == null) {")
+                    .writeLine("logger.warning(Messages.MESSAGES.warmUpServletNotInitialized(SERVLET_NAME,",
+                            " config.getWarmUpTimeout()));")
+                    .endAndStart("} else {")
+                    .startBlock("if (servlet instanceof HttpServletDispatcher) {")
+                    .writeLine("invokers = WarmUp.invokers(((HttpServletDispatcher) servlet).getDispatcher());")
+                    .endBlock()
+                    .startBlock("if (!config.getWarmUpMethods().isEmpty() && inProcessServer != null) {")
+                    .writeLine("calls = warmUpCalls();")
+                    .endBlock()
+                    .endBlock()
+                    .writeLine("logger.info(Messages.MESSAGES.warmedUp(translators, invokers, calls,",
+                            " TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - begin)));")
+                    .endBlock()
+                    .writeLine();
+
+            writer.writeLine("/**")
+                    .writeLine("* Call each warm-up method with an empty message. The calls may fail, since an empty")
+                    .writeLine("* message may not suit the resource method, but they warm up the path either way.")
+                    .writeLine("*/")
+                    .writeLine("@SuppressWarnings(\"unchecked\")")
+                    .startBlock("private int warmUpCalls() {")
+                    .writeLine("int calls = 0;")
+                    .writeLine("final ManagedChannel channel = newInProcessChannel();")
+                    .startBlock("try {")
+                    .startBlock("for (ServerMethodDefinition<?, ?> definition : serviceDefinition.getMethods()) {")
+                    .writeLine("final MethodDescriptor<Object, Object> method = ",
+                            "(MethodDescriptor<Object, Object>) definition.getMethodDescriptor();")
+                    .startBlock("if (method.getType() != MethodDescriptor.MethodType.UNARY")
+                    .writeLine("        || !config.isWarmUpMethod(method.getBareMethodName())")
+                    .writeLine("        || !(method.getRequestMarshaller()",
+                            " instanceof MethodDescriptor.PrototypeMarshaller)) {")
+                    .writeLine("continue;")
+                    .endBlock()
+                    .writeLine("final Object request = ((MethodDescriptor.PrototypeMarshaller<Object>) ",
+                            "method.getRequestMarshaller())")
+                    .writeLine("        .getMessagePrototype();")
+                    .startBlock("for (int i = 0; i < config.getWarmUpIterations(); i++) {")
+                    .startBlock("try {")
+                    .writeLine("ClientCalls.blockingUnaryCall(channel, method, CallOptions.DEFAULT, request);")
+                    .endAndStart("} catch (StatusRuntimeException e) {")
+                    .writeLine("// the path is warm all the same")
+                    .endBlock()
+                    .writeLine("calls++;")
+                    .endBlock()
+                    .endBlock()
+                    .endAndStart("} finally {")
+                    .writeLine("channel.shutdownNow();")
+                    .endBlock()
+                    .writeLine("return calls;")
                     .endBlock()
                     .writeLine();
 
@@ -201,6 +562,53 @@ class ServerGrpcGenerator {
             // End the class
             writer.endBlock();
         }
-        return packageName.endsWith(".") ? packageName + prefix + "_Server" : packageName + "." + prefix + "_Server";
+        generateListener();
+        return className;
+    }
+
+    private void generateListener() throws IOException {
+        final var file = sourceDir.resolve(packageName.replace('.', File.separatorChar))
+                .resolve(prefix + "_ServerListener.java");
+        try (SourceWriter writer = new SourceWriter(file)) {
+            writer.writeLine("package ", packageName, ";");
+
+            writer.writeLine("import jakarta.servlet.ServletContextEvent;")
+                    .writeLine("import jakarta.servlet.ServletContextListener;")
+                    .writeLine("import jakarta.servlet.annotation.WebListener;")
+                    .writeLine();
+
+            writer.writeLine("/**")
+                    .writeLine("* Stores the ServletContext of the deployment and stops ", prefix,
+                            "_Server with the deployment. If")
+                    .writeLine("* dev.resteasy.grpc.server.autostart is true, it also starts the server with the",
+                            " deployment.")
+                    .writeLine("*/")
+                    .writeLine("@WebListener")
+                    .startBlock("public class ", prefix, "_ServerListener implements ServletContextListener {")
+                    .writeLine();
+
+            writer.writeLine("@Override")
+                    .startBlock("public void contextInitialized(final ServletContextEvent event) {")
+                    .writeLine(prefix, "_Server.autoStart(event.getServletContext());")
+                    .endBlock()
+                    .writeLine();
+
+            writer.writeLine("@Override")
+                    .startBlock("public void contextDestroyed(final ServletContextEvent event) {")
+                    .startBlock("try {")
+                    .writeLine(prefix, "_Server.autoStop();")
+                    .endAndStart("} catch (InterruptedException e) {")
+                    .writeLine("Thread.currentThread().interrupt();")
+                    .endAndStart("} catch (Exception e) {")
+                    .writeLine("event.getServletContext().log(e.getMessage(), e);")
+                    .endBlock()
+                    .endBlock();
+
+            writer.endBlock();
+        }
+    }
+
+    private String qualify(final String simpleName) {
+        return packageName.endsWith(".") ? packageName + simpleName : packageName + "." + simpleName;
     }
 }
@@ -36,6 +36,7 @@ import java.util.Set;
 import org.jboss.logging.Logger;
 
 import dev.resteasy.grpc.bridge.generator.i18n.Messages;
+import dev.resteasy.grpc.bridge.runtime.MetadataHeaders;
 import dev.resteasy.grpc.bridge.runtime.servlet.HttpServletRequestImpl;
 
 /**
@@ -109,10 +110,6 @@ public class ServiceGrpcExtender {
             String s = scanner.findWithinHorizon("service ", 0);
             while (s != null) {
                 serviceName = scanner.next();
-                sbHeader.append("import ")
-                        .append(packageName).append(".")
-                        .append(serviceName).append("Grpc").append(".")
-                        .append(serviceName).append("ImplBase;" + LS);
                 service(scanner, sbHeader, sbBody, root);
                 s = scanner.findWithinHorizon("service ", 0);
             }
@@ -124,7 +121,7 @@ public class ServiceGrpcExtender {
 
             // Write the prefix_Server
             final ServerGrpcGenerator generator = new ServerGrpcGenerator(Path.of(generatedSourcePath), packageName,
-                    root);
+                    root, servletName);
             generator.generate();
         } catch (Exception e) {
             throw new RuntimeException(e);
@@ -162,26 +159,35 @@ public class ServiceGrpcExtender {
                 .append("import com.google.protobuf.Descriptors.FieldDescriptor;" + LS)
                 .append("import com.google.protobuf.GeneratedMessage;" + LS)
                 .append("import com.google.protobuf.Timestamp;" + LS)
+                .append("import io.grpc.Metadata;" + LS)
+                .append("import io.grpc.Status;" + LS)
+                .append("import io.grpc.stub.ServerCallStreamObserver;" + LS)
                 .append("import io.grpc.stub.StreamObserver;" + LS)
-                .append("import java.io.ByteArrayInputStream;" + LS)
-                .append("import java.io.ByteArrayOutputStream;" + LS)
                 .append("import java.security.AccessController;" + LS)
                 .append("import java.security.PrivilegedAction;" + LS)
-                .append("import java.text.ParseException;" + LS)
-                .append("import java.time.ZonedDateTime;" + LS)
-                .append("import java.time.format.DateTimeFormatter;" + LS)
                 .append("import java.util.ArrayList;" + LS)
                 .append("import java.util.Collection;" + LS)
                 .append("import java.util.HashMap;" + LS)
                 .append("import java.util.Iterator;" + LS)
                 .append("import java.util.List;" + LS)
                 .append("import java.util.Map;" + LS)
+                .append("import java.util.concurrent.RejectedExecutionException;" + LS)
+                .append("import java.util.concurrent.atomic.AtomicBoolean;" + LS)
                 .append("import jakarta.enterprise.context.control.RequestContextController;" + LS)
                 .append("import jakarta.servlet.ServletContext;" + LS)
                 .append("import jakarta.servlet.http.Cookie;" + LS)
                 .append("import jakarta.servlet.http.HttpServletRequest;" + LS)
                 .append("import jakarta.servlet.http.HttpServletResponse;" + LS)
+                .append("import dev.resteasy.grpc.bridge.runtime.HeaderMap;" + LS)
+                .append("import dev.resteasy.grpc.bridge.runtime.MetadataHeaders;" + LS)
+                .append("import dev.resteasy.grpc.bridge.runtime.direct.CachedResourceInvoker;" + LS)
+                .append("import dev.resteasy.grpc.bridge.runtime.direct.DirectDispatcher;" + LS)
+                .append("import dev.resteasy.grpc.bridge.runtime.direct.GrpcHttpRequest;" + LS)
+                .append("import dev.resteasy.grpc.bridge.runtime.direct.GrpcSecurityContext;" + LS)
+                .append("import dev.resteasy.grpc.bridge.runtime.dispatch.RpcDispatcher;" + LS)
+                .append("import dev.resteasy.grpc.bridge.runtime.servlet.AsyncContextImpl;" + LS)
                 .append("import dev.resteasy.grpc.bridge.runtime.servlet.AsyncMockServletOutputStream;" + LS)
+                .append("import dev.resteasy.grpc.bridge.runtime.servlet.AsyncStreamDrainer;" + LS)
                 .append("import dev.resteasy.grpc.bridge.runtime.servlet.GrpcHttpServletDispatcher;" + LS)
                 .append("import dev.resteasy.grpc.bridge.runtime.servlet.HttpServletRequestImpl;" + LS)
                 .append("import dev.resteasy.grpc.bridge.runtime.servlet.HttpServletResponseImpl;" + LS)
@@ -225,16 +231,36 @@ public class ServiceGrpcExtender {
     private void service(Scanner scanner, StringBuilder sbHeader, StringBuilder sbBody, String root) {
         sbBody.append("public class ")
                 .append(serviceName)
-                .append("GrpcImpl extends ")
+                .append("GrpcImpl implements io.grpc.BindableService, ")
                 .append(serviceName)
-                .append("ImplBase {" + LS + LS)
-                .append("   private static ").append(root).append("_proto.gString.Builder builder = ").append(root)
-                .append("_proto.gString.newBuilder();" + LS)
-                .append("   private static FieldDescriptor fd = builder.getDescriptorForType().getFields().iterator().next();"
-                        + LS)
-                .append("   private HttpServletDispatcher servlet;" + LS)
-                .append("   private RequestContextController requestContextController;" + LS)
-                .append("   private ClassLoader tccl;" + LS);
+                .append("Grpc.AsyncService {" + LS + LS)
+                .append("   private static final FieldDescriptor fd = ").append(root)
+                .append("_proto.gString.getDescriptor().getFields().iterator().next();" + LS)
+                .append("   private final RpcDispatcher dispatcher = new RpcDispatcher(\"").append(serviceName)
+                .append("\");" + LS)
+                .append("   private volatile HttpServletDispatcher servlet;" + LS + LS)
+                .append("   static final io.grpc.Context.Key<Metadata> REQUEST_METADATA =" + LS)
+                .append("         io.grpc.Context.key(\"jaxrs-request\");" + LS)
+                .append("   static final io.grpc.Context.Key<Metadata> RESPONSE_METADATA =" + LS)
+                .append("         io.grpc.Context.key(\"jaxrs-response\");" + LS)
+                .append("   static final io.grpc.Context.Key<javax.net.ssl.SSLSession> SSL_SESSION =" + LS)
+                .append("         io.grpc.Context.key(\"jaxrs-ssl-session\");" + LS)
+                .append("   private static final Metadata.Key<String> NEGOTIATION_KEY = Metadata.Key.of(" + LS)
+                .append("         MetadataHeaders.NEGOTIATION_KEY, Metadata.ASCII_STRING_MARSHALLER);" + LS)
+                .append("   private static final Metadata.Key<String> COOKIE_KEY = Metadata.Key.of(" + LS)
+                .append("         MetadataHeaders.COOKIE_KEY, Metadata.ASCII_STRING_MARSHALLER);" + LS)
+                .append("   private static final Metadata.Key<String> SET_COOKIE_KEY = Metadata.Key.of(" + LS)
+                .append("         MetadataHeaders.SET_COOKIE_KEY, Metadata.ASCII_STRING_MARSHALLER);" + LS + LS)
+                .append("   /**" + LS)
+                .append("    * Binds the service with a MetadataInterceptor, so that a client can send and" + LS)
+                .append("    * receive HTTP headers and cookies as gRPC metadata. The ImplBase generated by" + LS)
+                .append("    * gRPC makes bindService() final, so this class implements AsyncService directly." + LS)
+                .append("    */" + LS)
+                .append("   @java.lang.Override" + LS)
+                .append("   public io.grpc.ServerServiceDefinition bindService() {" + LS)
+                .append("      return io.grpc.ServerInterceptors.intercept(").append(serviceName)
+                .append("Grpc.bindService(this), new MetadataInterceptor());" + LS)
+                .append("   }" + LS);
         scanner.nextLine();
         scanner.skip("//");
         String path = scanner.next();
@@ -248,9 +274,11 @@ public class ServiceGrpcExtender {
             actualReturnClass = "Any";
         }
         String syncType = scanner.next();
+        boolean direct = isDirect(scanner, syncType);
         String rpc = scanner.findWithinHorizon(" rpc ", 0);
         while (rpc != null) {
-            rpc(scanner, root, "/" + path, actualEntityClass, actualReturnClass, httpMethod, syncType, sbHeader, sbBody);
+            rpc(scanner, root, "/" + path, actualEntityClass, actualReturnClass, httpMethod, syncType, direct, sbHeader,
+                    sbBody);
             scanner.nextLine();
             if (!scanner.hasNext("//")) {
                 break;
@@ -267,12 +295,24 @@ public class ServiceGrpcExtender {
             }
             httpMethod = scanner.next();
             syncType = scanner.next();
+            direct = isDirect(scanner, syncType);
             rpc = scanner.findWithinHorizon(" rpc ", 0);
         }
     }
 
+    /**
+     * Reads the optional dispatch token that follows the sync type in an rpc comment. "direct" means the
+     * resource method doesn't use servlet types, so a synchronous call can skip the servlet emulation layer.
+     */
+    private static boolean isDirect(Scanner scanner, String syncType) {
+        if (!scanner.hasNext("direct|servlet")) {
+            return false;
+        }
+        return "direct".equals(scanner.next()) && "sync".equals(syncType);
+    }
+
     private void rpc(Scanner scanner, String root, String path, String actualEntityClass, String actualReturnClass,
-            String httpMethod, String syncType, StringBuilder sbHeader, StringBuilder sbBody) {
+            String httpMethod, String syncType, boolean direct, StringBuilder sbHeader, StringBuilder sbBody) {
         if ("dev.resteasy.grpc.arrays.dev_resteasy_grpc_arrays___ArrayHolder".equals(actualEntityClass)) {
             actualEntityClass = "dev.resteasy.grpc.arrays.Array_proto.dev_resteasy_grpc_arrays___ArrayHolder";
         }
@@ -333,11 +373,50 @@ public class ServiceGrpcExtender {
         scanner.findWithinHorizon("returns", 0);
         scanner.findWithinHorizon("\\(", 0);
         String retn = getReturnType(packageName, outerClassName, scanner.next());
+        boolean sse = "sse".equals(syncType);
         sbBody.append("   public void ")
                 .append(method).append("(")
                 .append(param).append(" param, ")
                 .append("StreamObserver<").append(retn).append("> responseObserver) {" + LS);
-        rpcBody(scanner, root, path, actualEntityClass, actualReturnClass, httpMethod, syncType, sbBody, retn);
+        if (sse) {
+            // Flow control handlers can only be set before the rpc method returns
+            sbBody.append("      ServerCallStreamObserver<").append(retn)
+                    .append("> sseObserver = (ServerCallStreamObserver<").append(retn).append(">) responseObserver;" + LS)
+                    .append("      AsyncStreamDrainer drainer = new AsyncStreamDrainer(sseObserver::isReady);" + LS)
+                    .append("      sseObserver.setOnReadyHandler(drainer::drain);" + LS)
+                    .append("      sseObserver.setOnCancelHandler(drainer::cancel);" + LS);
+        }
+        sbBody.append("      try {" + LS)
+                .append("         dispatcher.dispatch(\"").append(method)
+                .append("\", io.grpc.Context.current().wrap(() -> ").append(method)
+                .append("Dispatched(param, responseObserver").append(sse ? ", drainer" : "").append(")),"
+                        + LS)
+                .append("               t -> responseObserver.onError(Status.INTERNAL.withCause(t).asRuntimeException()));"
+                        + LS)
+                .append("      } catch (RejectedExecutionException e) {" + LS)
+                .append("         responseObserver.onError(Status.RESOURCE_EXHAUSTED.withDescription(e.getMessage()).asRuntimeException());"
+                        + LS)
+                .append("      }" + LS)
+                .append("   }" + LS + LS);
+        // Resource methods with a static path can skip request matching once their invoker is known
+        String cachedInvoker = null;
+        if (direct && !path.contains("{") && !HttpServletRequestImpl.LOCATOR.equals(httpMethod)) {
+            cachedInvoker = method + "Invoker";
+            sbBody.append("   private static final CachedResourceInvoker ")
+                    .append(cachedInvoker)
+                    .append(" = new CachedResourceInvoker(\"")
+                    .append("/\"\"".equals(path) ? "/" : path)
+                    .append("\", \"")
+                    .append(httpMethod)
+                    .append("\");" + LS + LS);
+        }
+        sbBody.append("   private void ")
+                .append(method).append("Dispatched(")
+                .append(param).append(" param, ")
+                .append("StreamObserver<").append(retn).append("> responseObserver")
+                .append(sse ? ", AsyncStreamDrainer drainer" : "").append(") {" + LS);
+        rpcBody(scanner, root, path, actualEntityClass, actualReturnClass, httpMethod, syncType, direct, cachedInvoker,
+                sbBody, retn);
         sbBody.append("   }" + LS);
         scanner.reset();
     }
@@ -355,14 +434,21 @@ public class ServiceGrpcExtender {
     }
 
     private void rpcBody(Scanner scanner, String root, String path, String actualEntityClass, String actualReturnClass,
-            String method, String syncType, StringBuilder sb, String retn) {
+            String method, String syncType, boolean direct, String cachedInvoker, StringBuilder sb, String retn) {
         if (actualReturnClass.contains(".")) {
             actualReturnClass = actualReturnClass.substring(actualReturnClass.lastIndexOf(".") + 1);
         }
         if ("/\"\"".equals(path)) {
             path = "/";
         }
+        // The callback and an exception thrown after it was registered could both complete the call
+        final boolean guarded = isCallback(syncType, actualReturnClass) && !"sse".equals(syncType);
+        if (guarded) {
+            sb.append("      AtomicBoolean completed = new AtomicBoolean();" + LS);
+        }
         sb.append("      HttpServletRequest request = null;" + LS)
+                .append("      Invocation invocation = new Invocation();" + LS)
+                .append("      Metadata responseMetadata = RESPONSE_METADATA.get();" + LS)
                 .append("      try {" + LS)
                 .append("         HttpServletResponseImpl response = new HttpServletResponseImpl(\"")
                 .append(actualReturnClass)
@@ -370,11 +456,37 @@ public class ServiceGrpcExtender {
                 .append(syncType)
                 .append("\", ")
                 .append(root)
-                .append("_Server.getServletContext(), builder, fd);" + LS)
+                .append("_Server.getServletContext(), ")
+                .append(root)
+                .append("_proto.gString.newBuilder(), fd);" + LS)
                 .append("         GeneratedMessage actualParam = param.")
                 .append(getGetterMethod(actualEntityClass))
                 .append(";" + LS)
-                .append("         request = getHttpServletRequest(param, actualParam, \"")
+                .append("         HttpServletDispatcher servlet = getServlet();" + LS);
+        String indent = "         ";
+        if (direct) {
+            sb.append("         if (DirectDispatcher.isEnabled() && !param.hasFormField()) {" + LS)
+                    .append("            invocation.activate();" + LS)
+                    .append("            DirectDispatcher.invoke(servlet, getGrpcHttpRequest(param, actualParam, \"")
+                    .append(path)
+                    .append("\", \"")
+                    .append(method)
+                    .append("\", \"")
+                    .append(actualEntityClass)
+                    .append("\", servlet), response, ")
+                    .append(cachedInvoker)
+                    .append(", GrpcSecurityContext.of(SSL_SESSION.get())," + LS)
+                    .append("                  () -> getHttpServletRequest(param, actualParam, \"")
+                    .append(path)
+                    .append("\", response, \"")
+                    .append(method)
+                    .append("\", \"")
+                    .append(actualEntityClass)
+                    .append("\"));" + LS)
+                    .append("         } else {" + LS);
+            indent = "            ";
+        }
+        sb.append(indent).append("request = getHttpServletRequest(param, actualParam, \"")
                 .append(path)
                 .append("\", response, ")
                 .append("\"")
@@ -382,145 +494,235 @@ public class ServiceGrpcExtender {
                 .append("\", \"")
                 .append(actualEntityClass)
                 .append("\");" + LS)
-                .append("         HttpServletDispatcher servlet = getServlet();" + LS)
-                .append("         activateRequestContext();" + LS)
-                .append("         servlet.service(request.getMethod(), request, response);" + LS);
+                .append(indent).append("invocation.activate();" + LS)
+                .append(indent).append("servlet.service(request.getMethod(), request, response);" + LS);
+        if (direct) {
+            sb.append("         }" + LS);
+        }
+        if ("suspended".equals(syncType) || "completionStage".equals(syncType) || "sse".equals(syncType)) {
+            sb.append("         cancelOnCallCancellation(request, response);" + LS);
+        }
         if ("suspended".equals(syncType)) {
             sb.append("         AsyncMockServletOutputStream amsos = (AsyncMockServletOutputStream) response.getOutputStream();"
                     + LS)
-                    .append("         amsos.await();" + LS)
-                    .append("         ByteArrayOutputStream baos = amsos.getDelegate();" + LS)
-                    .append("         ByteArrayInputStream bais = new ByteArrayInputStream(baos.toByteArray());" + LS)
-                    .append("         Any reply = Any.parseFrom(bais);" + LS)
-                    .append("         ").append(retn)
-                    .append(".Builder grmb = createGeneralReturnMessageBuilder(response);" + LS)
-                    .append("         ").append(getSetterMethod(actualReturnClass)).append("(reply);" + LS)
-                    .append("         responseObserver.onNext(grmb.build());" + LS);
+                    .append("         amsos.whenReleased(released -> {" + LS)
+                    .append("            if (!completed.compareAndSet(false, true)) {" + LS)
+                    .append("               return;" + LS)
+                    .append("            }" + LS)
+                    .append("            try {" + LS)
+                    .append("               Any reply = Any.parseFrom(released != null ? released : amsos.toByteString());"
+                            + LS)
+                    .append("               ").append(retn)
+                    .append(".Builder grmb = createGeneralReturnMessageBuilder(response, responseMetadata);" + LS)
+                    .append("               ").append(getSetterMethod(actualReturnClass)).append("(reply);" + LS)
+                    .append("               responseObserver.onNext(grmb.build());" + LS)
+                    .append("            } catch (Exception e) {" + LS)
+                    .append("               responseObserver.onError(e);" + LS)
+                    .append("               return;" + LS)
+                    .append("            }" + LS)
+                    .append("            responseObserver.onCompleted();" + LS)
+                    .append("         });" + LS);
         } else if (isInterface(actualReturnClass)) {
             sb.append("         MockServletOutputStream msos = (MockServletOutputStream) response.getOutputStream();" + LS)
-                    .append("         ByteArrayOutputStream baos = msos.getDelegate();" + LS)
-                    .append("         ByteArrayInputStream bais = new ByteArrayInputStream(baos.toByteArray());" + LS)
-                    .append("         Any reply = Any.parseFrom(bais);" + LS)
+                    .append("         Any reply = Any.parseFrom(msos.toByteString());" + LS)
                     .append("         ").append(retn)
-                    .append(".Builder grmb = createGeneralReturnMessageBuilder(response);" + LS)
+                    .append(".Builder grmb = createGeneralReturnMessageBuilder(response, responseMetadata);" + LS)
                     .append("         ").append("grmb.setAnyField(reply);" + LS)
                     .append("         responseObserver.onNext(grmb.build());" + LS);
         } else if ("completionStage".equals(syncType)) {
             sb.append("         AsyncMockServletOutputStream amsos = (AsyncMockServletOutputStream) response.getOutputStream();"
                     + LS)
-                    .append("         ByteArrayOutputStream baos = amsos.await();" + LS)
-                    .append("         ByteArrayInputStream bais = new ByteArrayInputStream(baos.toByteArray());" + LS)
-                    .append("         ").append(actualReturnClass).append(" reply = ").append(actualReturnClass)
-                    .append(".parseFrom(bais);" + LS)
-                    .append("         ").append(retn)
-                    .append(".Builder grmb = createGeneralReturnMessageBuilder(response);" + LS)
-                    .append("         ").append(getSetterMethod(actualReturnClass)).append("(reply);" + LS)
-                    .append("         responseObserver.onNext(grmb.build());" + LS);
+                    .append("         amsos.whenReleased(released -> {" + LS)
+                    .append("            if (!completed.compareAndSet(false, true)) {" + LS)
+                    .append("               return;" + LS)
+                    .append("            }" + LS)
+                    .append("            try {" + LS)
+                    .append("               ").append(actualReturnClass).append(" reply = ").append(actualReturnClass)
+                    .append(".parseFrom(released != null ? released : amsos.toByteString());" + LS)
+                    .append("               ").append(retn)
+                    .append(".Builder grmb = createGeneralReturnMessageBuilder(response, responseMetadata);" + LS)
+                    .append("               ").append(getSetterMethod(actualReturnClass)).append("(reply);" + LS)
+                    .append("               responseObserver.onNext(grmb.build());" + LS)
+                    .append("            } catch (Exception e) {" + LS)
+                    .append("               responseObserver.onError(e);" + LS)
+                    .append("               return;" + LS)
+                    .append("            }" + LS)
+                    .append("            responseObserver.onCompleted();" + LS)
+                    .append("         });" + LS);
         } else if ("sse".equals(syncType)) {
             sb.append("         AsyncMockServletOutputStream amsos = (AsyncMockServletOutputStream) response.getOutputStream();"
                     + LS)
-                    .append("         while (true) {" + LS)
-                    .append("            if (amsos.isClosed()) {" + LS)
-                    .append("               break;" + LS)
-                    .append("            }" + LS)
-                    .append("            ByteArrayOutputStream baos = amsos.await();" + LS)
-                    .append("            if (amsos.isClosed()) {" + LS)
-                    .append("               break;" + LS)
-                    .append("            }" + LS)
-                    .append("            byte[] bytes = baos.toByteArray();" + LS)
-                    .append("            if (bytes.length == 2 && bytes[0] == 10 && bytes[1] == 10) {" + LS)
-                    .append("               continue;" + LS)
+                    .append("         drainer.start(amsos, bytes -> {" + LS)
+                    .append("            if (bytes.size() == 2 && bytes.byteAt(0) == 10 && bytes.byteAt(1) == 10) {" + LS)
+                    .append("               return;" + LS)
                     .append("            }" + LS)
                     .append("            try {" + LS)
-                    .append("               ")
+                    .append("               responseObserver.onNext(")
                     .append(SSE_EVENT_CLASSNAME)
-                    .append(" sseEvent = ")
-                    .append(SSE_EVENT_CLASSNAME)
-                    .append(".parseFrom(bytes);" + LS)
-                    .append("               responseObserver.onNext(sseEvent);" + LS)
+                    .append(".parseFrom(bytes));" + LS)
                     .append("            } catch (Exception e) {" + LS)
-                    .append("               continue;" + LS)
+                    .append("               // skip anything which isn't an event" + LS)
                     .append("            }" + LS)
-                    .append("         }" + LS);
+                    .append("         }, responseObserver::onCompleted);" + LS);
         } else {
-            sb.append("         MockServletOutputStream msos = (MockServletOutputStream) response.getOutputStream();" + LS)
-                    .append("         ByteArrayOutputStream baos = msos.getDelegate();" + LS)
-                    .append("         ByteArrayInputStream bais = new ByteArrayInputStream(baos.toByteArray());" + LS);
             if (!"Empty".equals(actualReturnClass)) {
-                sb.append("         ").append(actualReturnClass).append(" reply = ").append(actualReturnClass)
-                        .append(".parseFrom(bais);" + LS);
+                sb.append("         ").append(actualReturnClass).append(" reply = response.getEntity(")
+                        .append(actualReturnClass).append(".class, ")
+                        .append(actualReturnClass).append(".parser());" + LS);
             }
             sb.append("         ").append(retn)
-                    .append(".Builder grmb = createGeneralReturnMessageBuilder(response);" + LS);
+                    .append(".Builder grmb = createGeneralReturnMessageBuilder(response, responseMetadata);" + LS);
             if (!"Empty".equals(actualReturnClass)) {
                 sb.append("         ").append(getSetterMethod(actualReturnClass)).append("(reply);" + LS);
             }
             sb.append("         responseObserver.onNext(grmb.build());" + LS);
         }
-        sb.append("      } catch (Exception e) {" + LS)
-                .append("         responseObserver.onError(e);" + LS)
-                .append("      } finally {" + LS)
-                .append("         responseObserver.onCompleted();" + LS)
-                .append("         if (requestContextController != null) {" + LS)
-                .append("            requestContextController.deactivate();" + LS)
-                .append("         }" + LS)
-                .append("         if (tccl != null) {" + LS)
-                .append("            Thread.currentThread().setContextClassLoader(tccl);" + LS)
-                .append("         }" + LS)
+        sb.append("      } catch (Exception e) {" + LS);
+        if (guarded) {
+            sb.append("         if (completed.compareAndSet(false, true)) {" + LS)
+                    .append("            responseObserver.onError(e);" + LS)
+                    .append("         }" + LS);
+        } else {
+            sb.append("         responseObserver.onError(e);" + LS);
+        }
+        sb.append("      } finally {" + LS);
+        // An asynchronous call is completed by the callback registered with AsyncMockServletOutputStream,
+        // or by the AsyncStreamDrainer of an SSE call
+        if (!isCallback(syncType, actualReturnClass)) {
+            sb.append("         responseObserver.onCompleted();" + LS);
+        }
+        sb.append("         invocation.deactivate();" + LS)
                 .append("      }" + LS);
     }
 
+    private boolean isCallback(String syncType, String actualReturnClass) {
+        return "suspended".equals(syncType)
+                || "sse".equals(syncType)
+                || ("completionStage".equals(syncType) && !isInterface(actualReturnClass));
+    }
+
     private void nonStaticMethods(StringBuilder sb) {
         sb.append("" + LS)
-                .append("//=============================  non-static methods =============================" + LS)
-                .append("   private void activateRequestContext() {" + LS)
-                .append("      if (System.getSecurityManager() == null) {" + LS)
+                .append("//=============================  invocation state =============================" + LS)
+                .append("   /**" + LS)
+                .append("    * Holds the state of a single rpc invocation. gRPC calls a service instance from many threads" + LS)
+                .append("    * at once, so nothing belonging to a call may be stored on the service itself." + LS)
+                .append("    */" + LS)
+                .append("   private static final class Invocation {" + LS)
+                .append("      private static volatile boolean cdiUnavailable;" + LS)
+                .append("      private ClassLoader tccl;" + LS)
+                .append("      private boolean tcclSwapped;" + LS)
+                .append("      private RequestContextController requestContextController;" + LS + LS)
+                .append("      void activate() {" + LS)
+                .append("         if (System.getSecurityManager() == null) {" + LS)
+                .append("            doActivate();" + LS)
+                .append("            return;" + LS)
+                .append("         }" + LS)
+                .append("         AccessController.doPrivileged((PrivilegedAction<Void>) () -> {" + LS)
+                .append("            doActivate();" + LS)
+                .append("            return null;" + LS)
+                .append("         });" + LS)
+                .append("      }" + LS + LS)
+                .append("      private void doActivate() {" + LS)
                 .append("         tccl = Thread.currentThread().getContextClassLoader();" + LS)
-                .append("         Thread.currentThread().setContextClassLoader(getClass().getClassLoader());" + LS)
-                .append("         requestContextController = CDI.current().select(RequestContextController.class).get();" + LS)
-                .append("         requestContextController.activate();" + LS)
-                .append("         return;" + LS)
+                .append("         Thread.currentThread().setContextClassLoader(").append(serviceName)
+                .append("GrpcImpl.class.getClassLoader());" + LS)
+                .append("         tcclSwapped = true;" + LS)
+                .append("         if (cdiUnavailable) {" + LS)
+                .append("            return;" + LS)
+                .append("         }" + LS)
+                .append("         RequestContextController controller;" + LS)
+                .append("         try {" + LS)
+                .append("            controller = CDI.current().select(RequestContextController.class).get();" + LS)
+                .append("         } catch (IllegalStateException | LinkageError e) {" + LS)
+                .append("            // No CDI container, as in a standalone bridge" + LS)
+                .append("            cdiUnavailable = true;" + LS)
+                .append("            return;" + LS)
+                .append("         }" + LS)
+                .append("         if (controller.activate()) {" + LS)
+                .append("            requestContextController = controller;" + LS)
+                .append("         }" + LS)
+                .append("      }" + LS + LS)
+                .append("      void deactivate() {" + LS)
+                .append("         try {" + LS)
+                .append("            if (requestContextController != null) {" + LS)
+                .append("               requestContextController.deactivate();" + LS)
+                .append("               requestContextController = null;" + LS)
+                .append("            }" + LS)
+                .append("         } finally {" + LS)
+                .append("            if (tcclSwapped) {" + LS)
+                .append("               Thread.currentThread().setContextClassLoader(tccl);" + LS)
+                .append("               tcclSwapped = false;" + LS)
+                .append("            }" + LS)
+                .append("         }" + LS)
+                .append("      }" + LS)
+                .append("   }" + LS + LS)
+                .append("   /**" + LS)
+                .append("    * If the client sends " + MetadataHeaders.NEGOTIATION_KEY
+                        + ", makes its metadata available to the rpc methods and sends" + LS)
+                .append("    * the response headers they collect, along with the gRPC response headers." + LS)
+                .append("    * The TLS session of the call, if any, is made available in any case." + LS)
+                .append("    */" + LS)
+                .append("   public static final class MetadataInterceptor implements io.grpc.ServerInterceptor {"
+                        + LS + LS)
+                .append("      @java.lang.Override" + LS)
+                .append("      public <ReqT, RespT> io.grpc.ServerCall.Listener<ReqT> interceptCall(" + LS)
+                .append("            io.grpc.ServerCall<ReqT, RespT> call, Metadata headers," + LS)
+                .append("            io.grpc.ServerCallHandler<ReqT, RespT> next) {" + LS)
+                .append("         javax.net.ssl.SSLSession sslSession = call.getAttributes()" + LS)
+                .append("               .get(io.grpc.Grpc.TRANSPORT_ATTR_SSL_SESSION);" + LS)
+                .append("         io.grpc.Context context = sslSession == null ? io.grpc.Context.current()" + LS)
+                .append("               : io.grpc.Context.current().withValue(SSL_SESSION, sslSession);" + LS)
+                .append("         if (!headers.containsKey(NEGOTIATION_KEY)) {" + LS)
+                .append("            return sslSession == null ? next.startCall(call, headers)" + LS)
+                .append("                  : io.grpc.Contexts.interceptCall(context, call, headers, next);" + LS)
+                .append("         }" + LS)
+                .append("         Metadata responseMetadata = new Metadata();" + LS)
+                .append("         responseMetadata.put(NEGOTIATION_KEY, \"true\");" + LS)
+                .append("         context = context.withValues(REQUEST_METADATA, headers," + LS)
+                .append("               RESPONSE_METADATA, responseMetadata);" + LS)
+                .append("         io.grpc.ServerCall<ReqT, RespT> forwardingCall = "
+                        + "new io.grpc.ForwardingServerCall.SimpleForwardingServerCall<ReqT, RespT>(call) {" + LS)
+                .append("            @java.lang.Override" + LS)
+                .append("            public void sendHeaders(Metadata responseHeaders) {" + LS)
+                .append("               // gRPC sends the headers with the first message," + LS)
+                .append("               // after the resource method has set them" + LS)
+                .append("               responseHeaders.merge(responseMetadata);" + LS)
+                .append("               super.sendHeaders(responseHeaders);" + LS)
+                .append("            }" + LS)
+                .append("         };" + LS)
+                .append("         return io.grpc.Contexts.interceptCall(context, forwardingCall, headers, next);" + LS)
                 .append("      }" + LS)
-                .append("      AccessController.doPrivileged((PrivilegedAction<Void>) () -> {" + LS)
-                .append("         tccl = Thread.currentThread().getContextClassLoader();" + LS)
-                .append("         Thread.currentThread().setContextClassLoader(getClass().getClassLoader());" + LS)
-                .append("         requestContextController = CDI.current().select(RequestContextController.class).get();" + LS)
-                .append("         requestContextController.activate();" + LS)
-                .append("         return null;" + LS)
-                .append("      });" + LS)
                 .append("   }" + LS);
     }
 
     private void staticMethods(StringBuilder sb, String root, String pkg) {
         sb.append("" + LS)
                 .append("//=============================  static methods =============================" + LS)
+                .append("   /**" + LS)
+                .append("    * Returns the dispatcher of this service, which the generated server configures and shuts down."
+                        + LS)
+                .append("    */" + LS)
+                .append("   public RpcDispatcher getDispatcher() {" + LS)
+                .append("      return dispatcher;" + LS)
+                .append("   }" + LS + LS)
                 .append("   private HttpServletDispatcher getServlet() throws Exception {" + LS)
-                .append("      if (servlet == null) {" + LS)
+                .append("      HttpServletDispatcher result = servlet;" + LS)
+                .append("      if (result == null) {" + LS)
                 .append("         synchronized(this) {" + LS)
-                .append("            if (servlet != null) {" + LS)
-                .append("               return servlet;" + LS)
-                .append("            }" + LS)
-                .append("            servlet = (HttpServletDispatcher) GrpcHttpServletDispatcher.getServlet(\"")
+                .append("            result = servlet;" + LS)
+                .append("            if (result == null) {" + LS)
+                .append("               servlet = result = (HttpServletDispatcher) GrpcHttpServletDispatcher.getServlet(\"")
                 .append(servletName).append("\");" + LS)
+                .append("            }" + LS)
                 .append("         }" + LS)
                 .append("      }" + LS)
-                .append("      return servlet;" + LS)
+                .append("      return result;" + LS)
                 .append("   }" + LS + LS);
-        sb.append("   private static Map<String, List<String>> convertHeaders(Map<String, ").append(pkg).append(".")
+        sb.append("   private static HeaderMap convertHeaders(Map<String, ").append(pkg).append(".")
                 .append(root).append("_proto.gHeader> protoHeaders) {" + LS)
-                .append("      Map<String, List<String>> headers = new HashMap<String, List<String>>();" + LS)
-                .append("      for (Map.Entry<String, ").append(pkg).append(".").append(root)
-                .append("_proto.gHeader> entry : protoHeaders.entrySet()) {" + LS)
-                .append("         String key = entry.getKey();" + LS)
-                .append("         ").append(pkg).append(".").append(root)
-                .append("_proto.gHeader protoHeader = entry.getValue();" + LS)
-                .append("         List<String> values = new ArrayList<String>();" + LS)
-                .append("         for (int i = 0; i < protoHeader.getValuesCount(); i++) {" + LS)
-                .append("            values.add(protoHeader.getValues(i));" + LS)
-                .append("         }" + LS)
-                .append("         headers.put(key, values);" + LS)
-                .append("      }" + LS)
-                .append("      return headers;" + LS)
+                .append("      return HeaderMap.of(protoHeaders, ").append(pkg).append(".").append(root)
+                .append("_proto.gHeader::getValuesList);" + LS)
                 .append("   }" + LS + LS);
         sb.append("   private static HttpServletRequest getHttpServletRequest(")
                 .append(pkg)
@@ -531,10 +733,10 @@ public class ServiceGrpcExtender {
                                 + LS)
                 .append("      String url = \"\".equals(param.getURL()) ? \"http://localhost:8080\" + path : param.getURL();"
                         + LS)
-                .append("      ByteArrayInputStream bais = new ByteArrayInputStream(actualParam.toByteArray());" + LS)
-                .append("      MockServletInputStream msis = new MockServletInputStream(bais);" + LS)
-                .append("      Map<String, List<String>> headers = convertHeaders(param.getHeadersMap());" + LS)
-                .append("      Cookie[] cookies = convertCookies(param.getCookiesList());" + LS)
+                .append("      MockServletInputStream msis = new MockServletInputStream(actualParam);" + LS)
+                .append("      Metadata requestMetadata = REQUEST_METADATA.get();" + LS)
+                .append("      HeaderMap headers = convertHeaders(param.getHeadersMap());" + LS)
+                .append("      Cookie[] cookies = convertCookies(param.getCookiesList(), requestMetadata);" + LS)
                 .append("      String httpMethod = param.getHttpMethod();" + LS)
                 .append("      ServletContext servletContext = getServletContext();" + LS)
                 .append("      HttpServletRequestImpl request = new HttpServletRequestImpl();" + LS)
@@ -547,6 +749,9 @@ public class ServiceGrpcExtender {
                 .append("      request.setInputStream(msis);" + LS)
                 .append("      request.setEntityType(type);" + LS)
                 .append("      request.setHeaders(headers);" + LS)
+                .append("      if (requestMetadata != null) {" + LS)
+                .append("         addMetadataHeaders(request.getHeaders(), requestMetadata);" + LS)
+                .append("      }" + LS)
                 .append("      request.setCookies(cookies);" + LS)
                 .append("      request.setFormParameters(extractFormData(param));" + LS)
                 .append("      ")
@@ -570,6 +775,72 @@ public class ServiceGrpcExtender {
                 .append("      }" + LS)
                 .append("      return request;" + LS)
                 .append("   }" + LS + LS);
+        sb.append("   private static GrpcHttpRequest getGrpcHttpRequest(")
+                .append(pkg)
+                .append(".")
+                .append(root)
+                .append(
+                        "_proto.GeneralEntityMessage param, GeneratedMessage actualParam, String path, String verb, String type, HttpServletDispatcher servlet) {"
+                                + LS)
+                .append("      String url = \"\".equals(param.getURL()) ? \"http://localhost:8080\" + path : param.getURL();"
+                        + LS)
+                .append("      String httpMethod = param.getHttpMethod();" + LS)
+                .append("      GrpcHttpRequest request = new GrpcHttpRequest(DirectDispatcher.getUriInfo(servlet, url),"
+                        + LS)
+                .append("            httpMethod != null && !\"\".equals(httpMethod) ? httpMethod : verb, new MockServletInputStream(actualParam));"
+                        + LS)
+                .append("      request.setEntityType(type);" + LS)
+                .append("      request.setHeaders(convertHeaders(param.getHeadersMap()));" + LS)
+                .append("      Metadata requestMetadata = REQUEST_METADATA.get();" + LS)
+                .append("      if (requestMetadata != null) {" + LS)
+                .append("         addMetadataHeaders(request.getMutableHeaders(), requestMetadata);" + LS)
+                .append("         Iterable<String> metadataCookies = requestMetadata.getAll(COOKIE_KEY);" + LS)
+                .append("         if (metadataCookies != null) {" + LS)
+                .append("            for (String metadataCookie : metadataCookies) {" + LS)
+                .append("               request.addCookie(MetadataHeaders.toCookie(metadataCookie));" + LS)
+                .append("            }" + LS)
+                .append("         }" + LS)
+                .append("      }" + LS)
+                .append("      for (")
+                .append(pkg)
+                .append(".")
+                .append(root)
+                .append("_proto.gCookie protoCookie : param.getCookiesList()) {" + LS)
+                .append("         request.addCookie(new jakarta.ws.rs.core.Cookie.Builder(protoCookie.getName())" + LS)
+                .append("               .value(protoCookie.getValue())" + LS)
+                .append("               .path(protoCookie.getPath())" + LS)
+                .append("               .domain(protoCookie.getDomain())" + LS)
+                .append("               .version(protoCookie.getVersion())" + LS)
+                .append("               .build());" + LS)
+                .append("      }" + LS)
+                .append("      if (param.hasServletInfo()) {" + LS)
+                .append("         ")
+                .append(pkg)
+                .append(".")
+                .append(root)
+                .append("_proto.ServletInfo servletInfo = param.getServletInfo();" + LS)
+                .append("         if (!servletInfo.getClientAddress().isEmpty()) {" + LS)
+                .append("            request.setRemoteAddress(servletInfo.getClientAddress());" + LS)
+                .append("         }" + LS)
+                .append("         if (!servletInfo.getClientHost().isEmpty()) {" + LS)
+                .append("            request.setRemoteHost(servletInfo.getClientHost());" + LS)
+                .append("         }" + LS)
+                .append("      }" + LS)
+                .append("      return request;" + LS)
+                .append("   }" + LS + LS);
+        sb.append("   /**" + LS)
+                .append("    * Stops an asynchronous resource method's work if the client cancels the call or its deadline expires." + LS)
+                .append("    */" + LS)
+                .append("   private static void cancelOnCallCancellation(HttpServletRequest request, HttpServletResponse response) {"
+                        + LS)
+                .append("      io.grpc.Context.current().addListener(context -> {" + LS)
+                .append("         if (context.cancellationCause() == null) {" + LS)
+                .append("            return; // the call completed normally" + LS)
+                .append("         }" + LS)
+                .append("         io.grpc.Deadline deadline = context.getDeadline();" + LS)
+                .append("         AsyncContextImpl.cancel(request, response, deadline != null && deadline.isExpired());" + LS)
+                .append("      }, Runnable::run);" + LS)
+                .append("   }" + LS + LS);
         sb.append("   private static ServletContext getServletContext() {" + LS)
                 .append("      ServletContext servletContext = ")
                 .append(root)
@@ -585,28 +856,82 @@ public class ServiceGrpcExtender {
                 .append(pkg)
                 .append(".")
                 .append(root)
-                .append("_proto.gCookie> cookieList) {" + LS)
-                .append("      jakarta.servlet.http.Cookie[] cookieArray = new jakarta.servlet.http.Cookie[cookieList.size()];"
-                        + LS)
-                .append("      int i = 0;" + LS)
-                .append("      for (Iterator<")
-                .append(pkg)
-                .append(".")
-                .append(root)
-                .append("_proto.gCookie> it = cookieList.iterator(); it.hasNext(); ) {" + LS)
-                .append("         ")
+                .append("_proto.gCookie> cookieList, Metadata metadata) {" + LS)
+                .append("      Iterable<String> metadataCookies =" + LS)
+                .append("            metadata == null ? null : metadata.getAll(COOKIE_KEY);" + LS)
+                .append("      List<jakarta.servlet.http.Cookie> cookies =" + LS)
+                .append("            new ArrayList<jakarta.servlet.http.Cookie>();" + LS)
+                .append("      for (")
                 .append(pkg)
                 .append(".")
                 .append(root)
-                .append("_proto.gCookie protoCookie = it.next();" + LS)
+                .append("_proto.gCookie protoCookie : cookieList) {" + LS)
                 .append("         jakarta.servlet.http.Cookie cookie = new jakarta.servlet.http.Cookie(protoCookie.getName(), protoCookie.getValue());"
                         + LS)
                 .append("         cookie.setVersion(protoCookie.getVersion());" + LS)
                 .append("         cookie.setPath(protoCookie.getPath());" + LS)
                 .append("         cookie.setDomain(protoCookie.getDomain());" + LS)
-                .append("         cookieArray[i++] = cookie;" + LS)
+                .append("         cookies.add(cookie);" + LS)
+                .append("      }" + LS)
+                .append("      if (metadataCookies != null) {" + LS)
+                .append("         for (String metadataCookie : metadataCookies) {" + LS)
+                .append("            cookies.add(MetadataHeaders.toServletCookie(metadataCookie));" + LS)
+                .append("         }" + LS)
+                .append("      }" + LS)
+                .append("      return cookies.toArray(new jakarta.servlet.http.Cookie[cookies.size()]);" + LS)
+                .append("   }" + LS + LS);
+        sb.append("   /**" + LS)
+                .append("    * Adds the HTTP headers a client sent as gRPC metadata. They replace headers of the" + LS)
+                .append("    * same name sent in the GeneralEntityMessage." + LS)
+                .append("    */" + LS)
+                .append("   private static void addMetadataHeaders(Map<String, List<String>> headers," + LS)
+                .append("         Metadata metadata) {" + LS)
+                .append("      for (String key : metadata.keys()) {" + LS)
+                .append("         String name = MetadataHeaders.toHeaderName(key);" + LS)
+                .append("         if (name != null) {" + LS)
+                .append("            List<String> values = new ArrayList<String>();" + LS)
+                .append("            Metadata.Key<String> metadataKey =" + LS)
+                .append("                  Metadata.Key.of(key, Metadata.ASCII_STRING_MARSHALLER);" + LS)
+                .append("            for (String value : metadata.getAll(metadataKey)) {" + LS)
+                .append("               values.add(value);" + LS)
+                .append("            }" + LS)
+                .append("            headers.put(name, values);" + LS)
+                .append("         }" + LS)
+                .append("      }" + LS)
+                .append("   }" + LS + LS);
+        sb.append("   /**" + LS)
+                .append("    * Puts the response headers and cookies into the metadata that" + LS)
+                .append("    * MetadataInterceptor sends as response headers, and returns the names of" + LS)
+                .append("    * any headers which can't be expressed as metadata keys." + LS)
+                .append("    */" + LS)
+                .append("   private static Collection<String> toResponseMetadata(" + LS)
+                .append("         HttpServletResponseImpl response, Metadata metadata) {" + LS)
+                .append("      List<String> remaining = new ArrayList<String>();" + LS)
+                .append("      for (Map.Entry<String, List<String>> header : response.getHeaderMap().entrySet()) {"
+                        + LS)
+                .append("         String headerName = header.getKey();" + LS)
+                .append("         Metadata.Key<String> key;" + LS)
+                .append("         if (\"Set-Cookie\".equalsIgnoreCase(headerName)) {" + LS)
+                .append("            key = SET_COOKIE_KEY;" + LS)
+                .append("         } else {" + LS)
+                .append("            String name = MetadataHeaders.toMetadataKey(headerName);" + LS)
+                .append("            if (name == null) {" + LS)
+                .append("               remaining.add(headerName);" + LS)
+                .append("               continue;" + LS)
+                .append("            }" + LS)
+                .append("            key = Metadata.Key.of(name, Metadata.ASCII_STRING_MARSHALLER);" + LS)
+                .append("         }" + LS)
+                .append("         for (String value : header.getValue()) {" + LS)
+                .append("            metadata.put(key, value);" + LS)
+                .append("         }" + LS)
                 .append("      }" + LS)
-                .append("      return cookieArray;" + LS)
+                .append("      for (jakarta.ws.rs.core.NewCookie newCookie : response.getNewCookies()) {" + LS)
+                .append("         metadata.put(SET_COOKIE_KEY, MetadataHeaders.toSetCookie(newCookie));" + LS)
+                .append("      }" + LS)
+                .append("      for (Cookie cookie : response.getCookies()) {" + LS)
+                .append("         metadata.put(SET_COOKIE_KEY, MetadataHeaders.toSetCookie(cookie));" + LS)
+                .append("      }" + LS)
+                .append("      return remaining;" + LS)
                 .append("   }" + LS + LS);
         sb.append("   private static Map<String, String[]> extractFormData(GeneralEntityMessage param) {" + LS)
                 .append("      if (!param.hasFormField()) {" + LS)
@@ -624,27 +949,30 @@ public class ServiceGrpcExtender {
                 .append("      return formParams;" + LS)
                 .append("   }" + LS + LS);
         sb.append(
-                "   private static GeneralReturnMessage.Builder createGeneralReturnMessageBuilder(HttpServletResponseImpl response) throws ParseException {"
-                        + LS)
+                "   private static GeneralReturnMessage.Builder createGeneralReturnMessageBuilder("
+                        + "HttpServletResponseImpl response," + LS)
+                .append("         Metadata responseMetadata) {" + LS)
                 .append("      GeneralReturnMessage.Builder grmBuilder = GeneralReturnMessage.newBuilder();" + LS)
                 .append("      gNewCookie.Builder cookieBuilder = gNewCookie.newBuilder();" + LS)
-                .append("      if (!response.getHeaderNames().isEmpty()) {" + LS)
-                .append("         gHeader.Builder headerBuilder = gHeader.newBuilder();" + LS)
-                .append("         for (String headerName : response.getHeaderNames()) {" + LS)
-                .append("            if (\"Set-Cookie\".equals(headerName)) {" + LS)
-                .append("               Collection<String> cookies = response.getHeaders(\"Set-Cookie\");" + LS)
-                .append("               for (String s : cookies) {" + LS)
-                .append("                  grmBuilder.addCookies(parseNewCookie(cookieBuilder, s));" + LS)
-                .append("                  cookieBuilder.clear();" + LS)
-                .append("               }" + LS)
-                .append("            } else {" + LS)
-                .append("               for (String value : response.getHeaders(headerName)) {" + LS)
-                .append("                   headerBuilder.addValues(value);" + LS)
-                .append("               }" + LS)
+                .append("      gHeader.Builder headerBuilder = gHeader.newBuilder();" + LS)
+                .append("      if (responseMetadata != null) {" + LS)
+                .append("         for (String headerName : toResponseMetadata(response, responseMetadata)) {" + LS)
+                .append("            headerBuilder.addAllValues(response.getHeaderMap().get(headerName));" + LS)
                 .append("            grmBuilder.putHeaders(headerName, headerBuilder.build());" + LS)
                 .append("            headerBuilder.clear();" + LS)
-                .append("            }" + LS)
                 .append("         }" + LS)
+                .append("         grmBuilder.setStatus(response.getStatus());" + LS)
+                .append("         return grmBuilder;" + LS)
+                .append("      }" + LS)
+                .append("      for (Map.Entry<String, List<String>> header : response.getHeaderMap().entrySet()) {"
+                        + LS)
+                .append("         grmBuilder.putHeaders(header.getKey(), headerBuilder.addAllValues(header.getValue())"
+                        + ".build());" + LS)
+                .append("         headerBuilder.clear();" + LS)
+                .append("      }" + LS)
+                .append("      for (jakarta.ws.rs.core.NewCookie newCookie : response.getNewCookies()) {" + LS)
+                .append("         grmBuilder.addCookies(toGNewCookie(cookieBuilder, newCookie));" + LS)
+                .append("         cookieBuilder.clear();" + LS)
                 .append("      }" + LS)
                 .append("      if (!response.getCookies().isEmpty()) {" + LS)
                 .append("         for (Cookie cookie : response.getCookies()) {" + LS)
@@ -680,46 +1008,36 @@ public class ServiceGrpcExtender {
                 .append("      grmBuilder.setStatus(response.getStatus());" + LS)
                 .append("      return grmBuilder;" + LS)
                 .append("   }" + LS + LS);
-        sb.append("   private static gNewCookie parseNewCookie(gNewCookie.Builder ncb, String s) throws ParseException {" + LS)
-                .append("      String[] fields = s.split(\";\");" + LS)
-                .append("      for (String field : fields) {" + LS)
-                .append("         String[] subfields = field.split(\"=\");" + LS)
-                .append("         switch (subfields[0].strip()) {" + LS)
-                .append("            case \"Domain\":" + LS)
-                .append("               ncb.setDomain(subfields[1].trim());" + LS)
-                .append("               break;" + LS)
-                .append("            case \"Path\":" + LS)
-                .append("               ncb.setPath(subfields[1].trim());" + LS)
-                .append("               break;" + LS)
-                .append("            case \"Version\":" + LS)
-                .append("               ncb.setVersion(Integer.valueOf(subfields[1].trim()));" + LS)
-                .append("               break;" + LS)
-                .append("            case \"Comment\":" + LS)
-                .append("               ncb.setComment(subfields[1].trim());" + LS)
-                .append("               break;" + LS)
-                .append("            case \"Expires\":" + LS)
-                .append("               DateTimeFormatter formatter = DateTimeFormatter.ofPattern(\"EEE, DD-MMM-yyyy HH:mm:ss zzz\");"
-                        + LS)
-                .append("               ZonedDateTime zdt = ZonedDateTime.parse(subfields[1].trim(), formatter);" + LS)
-                .append("               ncb.setExpiry(Timestamp.newBuilder().setSeconds(zdt.toEpochSecond()));" + LS)
-                .append("               break;" + LS)
-                .append("            case \"HttpOnly\":" + LS)
-                .append("               ncb.setHttpOnly(true);" + LS)
-                .append("               break;" + LS)
-                .append("            case \"Max-Age\":" + LS)
-                .append("               ncb.setMaxAge(Integer.valueOf(subfields[1].trim()));" + LS)
-                .append("               break;" + LS)
-                .append("            case \"SameSite\":" + LS)
-                .append("               ncb.setSameSite(gNewCookie.SameSite.valueOf(subfields[1].trim()));" + LS)
-                .append("               break;" + LS)
-                .append("            case \"Secure\":" + LS)
-                .append("               ncb.setSecure(true);" + LS)
-                .append("               break;" + LS)
-                .append("            default:" + LS)
-                .append("               ncb.setName(subfields[0].trim());" + LS)
-                .append("               ncb.setValue(subfields[1].trim());" + LS)
-                .append("         }" + LS)
+        sb.append("   private static gNewCookie toGNewCookie(gNewCookie.Builder ncb," + LS)
+                .append("         jakarta.ws.rs.core.NewCookie newCookie) {" + LS)
+                .append("      ncb.setVersion(newCookie.getVersion());" + LS)
+                .append("      if (newCookie.getName() != null) {" + LS)
+                .append("         ncb.setName(newCookie.getName());" + LS)
+                .append("      }" + LS)
+                .append("      if (newCookie.getValue() != null) {" + LS)
+                .append("         ncb.setValue(newCookie.getValue());" + LS)
+                .append("      }" + LS)
+                .append("      if (newCookie.getPath() != null) {" + LS)
+                .append("         ncb.setPath(newCookie.getPath());" + LS)
+                .append("      }" + LS)
+                .append("      if (newCookie.getDomain() != null) {" + LS)
+                .append("         ncb.setDomain(newCookie.getDomain());" + LS)
+                .append("      }" + LS)
+                .append("      if (newCookie.getComment() != null) {" + LS)
+                .append("         ncb.setComment(newCookie.getComment());" + LS)
+                .append("      }" + LS)
+                .append("      if (newCookie.getMaxAge() != jakarta.ws.rs.core.NewCookie.DEFAULT_MAX_AGE) {" + LS)
+                .append("         ncb.setMaxAge(newCookie.getMaxAge());" + LS)
+                .append("      }" + LS)
+                .append("      if (newCookie.getExpiry() != null) {" + LS)
+                .append("         long seconds = Math.floorDiv(newCookie.getExpiry().getTime(), 1000L);" + LS)
+                .append("         ncb.setExpiry(Timestamp.newBuilder().setSeconds(seconds));" + LS)
+                .append("      }" + LS)
+                .append("      if (newCookie.getSameSite() != null) {" + LS)
+                .append("         ncb.setSameSite(gNewCookie.SameSite.valueOf(newCookie.getSameSite().name()));" + LS)
                 .append("      }" + LS)
+                .append("      ncb.setSecure(newCookie.isSecure());" + LS)
+                .append("      ncb.setHttpOnly(newCookie.isHttpOnly());" + LS)
                 .append("      return ncb.build();" + LS)
                 .append("   }" + LS);
     }
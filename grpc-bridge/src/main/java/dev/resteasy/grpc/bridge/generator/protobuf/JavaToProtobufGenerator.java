@@ -44,6 +44,7 @@ import java.util.concurrent.CompletionStage;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.CopyOnWriteArraySet;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.regex.Pattern;
 
 import jakarta.ws.rs.container.AsyncResponse;
 import jakarta.ws.rs.core.MediaType;
@@ -310,6 +311,11 @@ public class JavaToProtobufGenerator {
     private static int counter = 1;
     private static boolean isSSE;
 
+    // Used to find resource methods which might need the servlet emulation layer
+    private static final Pattern SERVLET_TYPES = Pattern
+            .compile("\\b(HttpServletRequest|HttpServletResponse|ServletRequest|ServletResponse|ServletContext|ServletConfig"
+                    + "|SecurityContext)\\b|\\b(jakarta|javax)\\.servlet\\.");
+
     // Used to build dev_resteasy_grpc_arrays___ArrayHolder
     private static SortedSet<String> repeatedTypes = new TreeSet<String>();
 
@@ -1076,7 +1082,8 @@ public class JavaToProtobufGenerator {
                             .append(entityType).append(" ")
                             .append(returnType).append(" ")
                             .append(httpMethod).append(" ")
-                            .append(syncType).append("" + LS);
+                            .append(syncType).append(" ")
+                            .append(usesServletTypes(subClass, md) ? "servlet" : "direct").append("" + LS);
 
                     sb.append("  rpc ")
                             .append(getRpcName(rpcNames, md.getNameAsString()))
@@ -1724,6 +1731,48 @@ public class JavaToProtobufGenerator {
         return false;
     }
 
+    /**
+     * Determines if a resource method, the class it belongs to, or one of the superclasses and interfaces of that
+     * class might refer to servlet types. If not, the generated service can invoke it without creating the emulated
+     * servlet request. Filters, providers and CDI beans can't be seen from here, which is why the direct path is
+     * off by default.
+     */
+    private static boolean usesServletTypes(ClassOrInterfaceDeclaration clazz, MethodDeclaration md) {
+        if (SERVLET_TYPES.matcher(md.toString()).find()) {
+            return true;
+        }
+        for (BodyDeclaration<?> bd : clazz.getMembers()) {
+            if ((bd.isFieldDeclaration() || bd.isConstructorDeclaration() || bd.isInitializerDeclaration())
+                    && SERVLET_TYPES.matcher(bd.toString()).find()) {
+                return true;
+            }
+        }
+        try {
+            for (ResolvedReferenceType ancestor : clazz.resolve().getAllAncestors()) {
+                Optional<ResolvedReferenceTypeDeclaration> declaration = ancestor.getTypeDeclaration();
+                if (declaration.isEmpty() || Object.class.getName().equals(ancestor.getQualifiedName())) {
+                    continue;
+                }
+                Optional<Node> ast = declaration.get().toAst();
+                if (ast.isPresent()) {
+                    if (SERVLET_TYPES.matcher(ast.get().toString()).find()) {
+                        return true;
+                    }
+                    continue;
+                }
+                for (ResolvedFieldDeclaration field : declaration.get().getDeclaredFields()) {
+                    if (SERVLET_TYPES.matcher(field.getType().describe()).find()) {
+                        return true;
+                    }
+                }
+            }
+        } catch (RuntimeException e) {
+            // An ancestor which can't be resolved might refer to servlet types
+            return true;
+        }
+        return false;
+    }
+
     private static boolean isCompletionStage(MethodDeclaration md) {
         for (Node node : md.getChildNodes()) {
             if (node instanceof Type) {
@@ -24,7 +24,7 @@ import java.io.IOException;
 import java.lang.reflect.Constructor;
 import java.lang.reflect.Field;
 import java.lang.reflect.Modifier;
-import java.lang.reflect.Parameter;
+import java.lang.reflect.RecordComponent;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
@@ -40,6 +40,9 @@ import java.util.Set;
 
 import org.jboss.logging.Logger;
 
+import com.google.protobuf.Descriptors.Descriptor;
+import com.google.protobuf.Descriptors.FieldDescriptor;
+import com.google.protobuf.Descriptors.FieldDescriptor.JavaType;
 import com.google.protobuf.DynamicMessage;
 import com.google.protobuf.Message;
 
@@ -48,6 +51,9 @@ import dev.resteasy.grpc.bridge.runtime.HolderMap;
 import dev.resteasy.grpc.bridge.runtime.Utility;
 import dev.resteasy.grpc.bridge.runtime.protobuf.AssignFromJavabuf;
 import dev.resteasy.grpc.bridge.runtime.protobuf.AssignToJavabuf;
+import dev.resteasy.grpc.bridge.runtime.protobuf.FieldAccessor;
+import dev.resteasy.grpc.bridge.runtime.protobuf.InstantiationPlan;
+import dev.resteasy.grpc.bridge.runtime.protobuf.JavabufSetter;
 import dev.resteasy.grpc.bridge.runtime.protobuf.JavabufTranslator;
 import dev.resteasy.grpc.bridge.runtime.protobuf.ReturnJavaClass;
 import dev.resteasy.grpc.bridge.runtime.protobuf.TranslateFromJavabuf;
@@ -161,13 +167,8 @@ public class CC5 {
       private static List<AssignToJavabuf> <STRONG>assignList</STRONG> = new ArrayList<AssignToJavabuf>();
 
       static {
-         for (FieldDescriptor f : descriptor.getFields()) {
-            String name = f.getName();
-            if (descriptor.findFieldByName(name) == null) {
-               continue;
-            }
-            assignList.add(<STRONG>toJavabuf</STRONG>(dev.resteasy.grpc.example.CC5.class, descriptor.findFieldByName(name)));
-         }
+         Class<?> javaClass = dev.resteasy.grpc.example.CC5.class;
+         assignList.add(<STRONG>toJavabufInt</STRONG>(javaClass, descriptor.findFieldByName("k"), dev_resteasy_grpc_example___CC5.Builder::setK));
       }
 
       public Message assignToJavabuf(Object c1) {
@@ -232,7 +233,9 @@ public class CC5 {
  *
  * In {@code dev_resteasy_grpc_example___CC5_ToJavabuf}, the field {@code assignList} holds,
  * for each field in {@code dev_resteasy_grpc_example___CC5_ToJavabuf}, an instance of
- * {@code AssignToJavabuf} generated by the method {@code toJavabuf()}. When
+ * {@code AssignToJavabuf} generated by the method {@code toJavabuf()}, or, for a scalar field, by
+ * {@code toJavabufInt()}, {@code toJavabufString()}, etc., which pass the value to a typed setter
+ * of the builder without boxing it. When
  * {@code assignToJavabuf()} is called, an instance of {@code dev_resteasy_grpc_example___CC5.Builder}
  * is created, and each element in {@code assignList} is called to
  * set the value of one field in the instance of {@code dev_resteasy_grpc_example___CC5} being
@@ -276,6 +279,7 @@ public class JavabufTranslatorGenerator {
     private static final Map<String, String> GET_METHODS = new HashMap<String, String>();
     private static final Map<Class<?>, String> PRIMITIVE_DEFAULTS = new HashMap<Class<?>, String>();
     private static final Map<String, String> WRAPPER_TO_PRIMITIVE = new HashMap<String, String>();
+    private static final Map<JavaType, Class<?>> TYPED_SETTERS = new HashMap<JavaType, Class<?>>();
     private static final Set<String> NULLABLE_WRAPPERS = new HashSet<String>();
     private static final Set<String> JAVA_WRAPPER_TYPES = new HashSet<String>();
     private static final Map<String, String> JAVA_WRAPPER_MAP = new HashMap<String, String>();
@@ -719,7 +723,7 @@ public class JavabufTranslatorGenerator {
             + "         try {%n"
             + "            %1$s m = (%1$s) message;%n"
             + "            String classname = m.getClassname();%n"
-            + "            Collection collection = (Collection) Class.forName(classname).newInstance();%n"
+            + "            Collection collection = (Collection) newInstance(classname);%n"
             + "            for (%3$s l : m.getDataList()) {%n"
             + "               collection.add(%4$s);%n"
             + "            }%n"
@@ -768,7 +772,7 @@ public class JavabufTranslatorGenerator {
             + "         try {%n"
             + "            %1$s m = (%1$s) message;%n"
             + "            String classname = m.getClassname();%n"
-            + "            Map<%2$s, %3$s> map = (Map<%2$s, %3$s>) Class.forName(classname).newInstance();%n"
+            + "            Map<%2$s, %3$s> map = (Map<%2$s, %3$s>) newInstance(classname);%n"
             + "            for (%1$s.Pair pair : m.getDataList()) {%n"
             + "               map.put((%2$s) %4$s, (%3$s) %5$s);%n"
             + "            }%n"
@@ -819,7 +823,7 @@ public class JavabufTranslatorGenerator {
             + "         try {%n"
             + "            %1$s m = (%1$s) message;%n"
             + "            String classname = m.getClassname();%n"
-            + "            MultivaluedMap<%2$s, %3$s> map = (MultivaluedMap<%2$s, %3$s>) Class.forName(classname).newInstance();%n"
+            + "            MultivaluedMap<%2$s, %3$s> map = (MultivaluedMap<%2$s, %3$s>) newInstance(classname);%n"
             + "            for (%1$s.Pair pair : m.getDataList()) {%n"
             + "               map.add((%2$s) %4$s, (%3$s) %5$s);%n"
             + "            }%n"
@@ -846,10 +850,10 @@ public class JavabufTranslatorGenerator {
             + "%n"
             + "      @Override%n"
             + "      public %2$s assignFromJavabuf(Message message) {%n"
-            + "         HolderMap map = new HolderMap();%n"
+            + "         Object[] components = new Object[%3$s];%n"
             + "         for (AssignFromJavabuf assignFrom : assignList) {%n"
             + "            try {%n"
-            + "               assignFrom.assign(message, map);%n"
+            + "               assignFrom.assign(message, components);%n"
             + "            } catch (Exception e) {%n"
             + "               throw new RuntimeException(e);%n"
             + "            }%n"
@@ -857,12 +861,12 @@ public class JavabufTranslatorGenerator {
             + "         return new %2$s(%4$s);%n"
             + "      }%n";
 
-    private static final String RAW_AGGREGATE_TO_JAVABUF = "   private static TranslateToJavabuf rawAggregateTranslationToJavabuf(Object o) {%n"
-            + "      if (List.class.isAssignableFrom(o.getClass())) {%n"
+    private static final String RAW_AGGREGATE_TO_JAVABUF = "   private static TranslateToJavabuf rawAggregateTranslationToJavabuf(Class<?> clazz) {%n"
+            + "      if (List.class.isAssignableFrom(clazz)) {%n"
             + "         return new java_util___List_ToJavabuf();%n"
-            + "      } else if (Set.class.isAssignableFrom(o.getClass())) {%n"
+            + "      } else if (Set.class.isAssignableFrom(clazz)) {%n"
             + "         return new java_util___Set_ToJavabuf();%n"
-            + "      } else if (Map.class.isAssignableFrom(o.getClass())) {%n"
+            + "      } else if (Map.class.isAssignableFrom(clazz)) {%n"
             + "         return new java_util___Map_ToJavabuf();%n"
             + "      }%n"
             + "      return null;%n"
@@ -1035,6 +1039,13 @@ public class JavabufTranslatorGenerator {
         WRAPPER_TO_PRIMITIVE.put("String", "String");
         WRAPPER_TO_PRIMITIVE.put("Any", "Any");
 
+        TYPED_SETTERS.put(JavaType.INT, int.class);
+        TYPED_SETTERS.put(JavaType.LONG, long.class);
+        TYPED_SETTERS.put(JavaType.FLOAT, float.class);
+        TYPED_SETTERS.put(JavaType.DOUBLE, double.class);
+        TYPED_SETTERS.put(JavaType.BOOLEAN, boolean.class);
+        TYPED_SETTERS.put(JavaType.STRING, String.class);
+
         NULLABLE_WRAPPERS.add("dev_resteasy_grpc_arrays___Boolean");
         NULLABLE_WRAPPERS.add("dev_resteasy_grpc_arrays___Byte");
         NULLABLE_WRAPPERS.add("dev_resteasy_grpc_arrays___Short");
@@ -1220,6 +1231,7 @@ public class JavabufTranslatorGenerator {
         IMPORTS.add("java.util.List");
         IMPORTS.add("java.util.Map");
         IMPORTS.add("java.util.Set");
+        IMPORTS.add("java.util.concurrent.ConcurrentHashMap");
         IMPORTS.add("com.google.protobuf.Any");
         IMPORTS.add("com.google.protobuf.ByteString");
         IMPORTS.add("com.google.protobuf.DescriptorProtos.FieldDescriptorProto");
@@ -1232,6 +1244,9 @@ public class JavabufTranslatorGenerator {
         IMPORTS.add(Utility.class.getCanonicalName());
         IMPORTS.add(AssignFromJavabuf.class.getCanonicalName());
         IMPORTS.add(AssignToJavabuf.class.getCanonicalName());
+        IMPORTS.add(FieldAccessor.class.getCanonicalName());
+        IMPORTS.add(InstantiationPlan.class.getCanonicalName());
+        IMPORTS.add(JavabufSetter.class.getCanonicalName());
         IMPORTS.add(JavabufTranslator.class.getCanonicalName());
         IMPORTS.add(ReturnJavaClass.class.getCanonicalName());
         IMPORTS.add(TranslateFromJavabuf.class.getCanonicalName());
@@ -1415,6 +1430,7 @@ public class JavabufTranslatorGenerator {
                 .append("import java.util.List;" + LS)
                 .append("import java.util.Map;" + LS)
                 .append("import java.util.Set;" + LS)
+                .append("import java.util.concurrent.ConcurrentHashMap;" + LS)
                 .append("import com.google.protobuf.Any;" + LS)
                 .append("import com.google.protobuf.ByteString;" + LS)
                 .append("import com.google.protobuf.DescriptorProtos.FieldDescriptorProto;" + LS)
@@ -1427,6 +1443,9 @@ public class JavabufTranslatorGenerator {
                 .append("import ").append(Utility.class.getCanonicalName()).append(";" + LS)
                 .append("import ").append(AssignFromJavabuf.class.getCanonicalName()).append(";" + LS)
                 .append("import ").append(AssignToJavabuf.class.getCanonicalName()).append(";" + LS)
+                .append("import ").append(FieldAccessor.class.getCanonicalName()).append(";" + LS)
+                .append("import ").append(InstantiationPlan.class.getCanonicalName()).append(";" + LS)
+                .append("import ").append(JavabufSetter.class.getCanonicalName()).append(";" + LS)
                 .append("import ").append(JavabufTranslator.class.getCanonicalName()).append(";" + LS)
                 .append("import ").append(ReturnJavaClass.class.getCanonicalName()).append(";" + LS)
                 .append("import ").append(TranslateFromJavabuf.class.getCanonicalName()).append(";" + LS)
@@ -1701,32 +1720,37 @@ public class JavabufTranslatorGenerator {
                 .append("   @Override" + LS)
                 .append("   public boolean handlesFromJavabuf(Type genericType, Class<?> clazz) {" + LS)
                 .append("      return clazz.isPrimitive() || " + LS)
-                .append("         (genericType != null && toJavabufMap.containsKey(simplifyTypeName(normalize(genericType).getTypeName()))) || "
-                        + LS)
+                .append("         (genericType != null && handlesType(genericType)) || " + LS)
                 .append("         toJavabufMap.containsKey(clazz.getName());" + LS)
                 .append("   }" + LS + LS)
 
                 .append("   @Override" + LS)
                 .append("   public boolean handlesToJavabuf(Type genericType, Class<?> clazz) {" + LS)
                 .append("      return clazz.isPrimitive() || " + LS)
-                .append("         (genericType != null && toJavabufMap.containsKey(simplifyTypeName(normalize(genericType).getTypeName()))) || "
-                        + LS)
+                .append("         (genericType != null && handlesType(genericType)) || " + LS)
                 .append("         toJavabufMap.containsKey(clazz.getName());" + LS)
                 .append("   }" + LS + LS)
 
                 .append("   @Override" + LS)
                 .append("   public Object translateFromJavabuf(Message message) {" + LS)
-                .append("      String s = null;" + LS)
                 .append("      try {" + LS)
-                .append("         s = message.getDescriptorForType().getFullName();" + LS)
-                .append("         s = s.substring(s.lastIndexOf(\".\") + 1);" + LS)
-                .append("         TranslateFromJavabuf tfj = fromJavabufMap.get(s);" + LS)
-                .append("         if (tfj == null) {" + LS)
-                .append("            tfj = rawAggregateTranslationFromJavabuf(s, message);" + LS)
-                .append("         }" + LS)
+                .append("         Descriptor descriptor = message.getDescriptorForType();" + LS)
+                .append("         TranslateFromJavabuf tfj = fromJavabufByDescriptor.get(descriptor);" + LS)
                 .append("         if (tfj == null) {" + LS)
-                .append("            throw Messages.MESSAGES.dontRecognizeType(message.getClass().getName());"
+                .append("            String s = descriptor.getFullName();" + LS)
+                .append("            s = s.substring(s.lastIndexOf(\".\") + 1);" + LS)
+                .append("            tfj = fromJavabufMap.get(s);" + LS)
+                .append("            if (tfj == null) {" + LS)
+                .append("               tfj = rawAggregateTranslationFromJavabuf(s, message);" + LS)
+                .append("            }" + LS)
+                .append("            if (tfj == null) {" + LS)
+                .append("               throw Messages.MESSAGES.dontRecognizeType(message.getClass().getName());" + LS)
+                .append("            }" + LS)
+                .append("            // Descriptors of generated messages are singletons; dynamic ones may not be."
                         + LS)
+                .append("            if (!(message instanceof com.google.protobuf.DynamicMessage)) {" + LS)
+                .append("               fromJavabufByDescriptor.put(descriptor, tfj);" + LS)
+                .append("            }" + LS)
                 .append("         }" + LS)
                 .append("         return tfj.assignFromJavabuf(message);" + LS)
                 .append("      } catch (Exception e) {" + LS)
@@ -1743,22 +1767,15 @@ public class JavabufTranslatorGenerator {
                 .append("   public Message translateToJavabuf(Object o, GenericType genericType) {" + LS)
                 .append("      TranslateToJavabuf ttj = null;" + LS)
                 .append("      if (genericType != null) {" + LS)
-                .append("         GenericType<?> gt = normalize(genericType);" + LS)
-                .append("         ttj = toJavabufMap.get(simplifyTypeName(gt.getType().toString()));" + LS)
+                .append("         ttj = translatorForType(genericType.getType());" + LS)
                 .append("         if (ttj == null) {" + LS)
                 .append("            ttj = toJavabufMap.get(genericType.getRawType().getName());" + LS)
                 .append("         }" + LS)
                 .append("      }" + LS)
                 .append("      if (ttj == null) {" + LS)
-                .append("         ttj = toJavabufMap.get(o.getClass().getTypeName());" + LS)
+                .append("         ttj = toJavabufByClass.get(o.getClass());" + LS)
                 .append("      }" + LS)
-                .append("      if (ttj == null && o.getClass().isArray() && o.getClass().componentType().isArray()) {" + LS)
-                .append("         return new dev_resteasy_grpc_arrays___ArrayHolder_ToJavabuf().assignToJavabuf(o);" + LS)
-                .append("      }" + LS)
-                .append("      if (ttj == null) {" + LS)
-                .append("         ttj = rawAggregateTranslationToJavabuf(o);" + LS)
-                .append("      }" + LS)
-                .append("      if (ttj == null) {" + LS)
+                .append("      if (ttj == NO_TRANSLATOR) {" + LS)
                 .append("         throw Messages.MESSAGES.dontRecognizeType(o.getClass().getName());"
                         + LS)
                 .append("      }" + LS)
@@ -1782,19 +1799,24 @@ public class JavabufTranslatorGenerator {
 
                 .append("   @Override" + LS)
                 .append("   public GenericType<?> normalize(GenericType<?> genericType) {" + LS)
-                .append("      if (NORMALIZER.containsKey(simplifyTypeName(genericType.getType().getTypeName()))) {" + LS)
-                .append("         return NORMALIZER.get(simplifyTypeName(genericType.getType().getTypeName()));" + LS)
+                .append("      GenericType<?> normalized = NORMALIZER.get(simplifyTypeName(genericType.getType().getTypeName()));"
+                        + LS)
+                .append("      if (normalized != null) {" + LS)
+                .append("         return normalized;" + LS)
                 .append("      }" + LS)
                 .append("      return Utility.objectify(genericType);" + LS)
                 .append("   }" + LS + LS)
 
                 .append("   @Override" + LS)
                 .append("   public Type normalize(Type type) {" + LS)
-                .append("       if (NORMALIZER.containsKey(simplifyTypeName(type.getTypeName()))) {" + LS)
-                .append("          return NORMALIZER.get(simplifyTypeName(type.getTypeName())).getType();" + LS)
-                .append("       }" + LS)
-                .append("       return Utility.objectify(type);" + LS)
-                .append("     }" + LS + LS);
+                .append("      Type normalized = normalizedTypes.get(type);" + LS)
+                .append("      if (normalized == null) {" + LS)
+                .append("         GenericType<?> gt = NORMALIZER.get(simplifyTypeName(type.getTypeName()));" + LS)
+                .append("         normalized = gt != null ? gt.getType() : Utility.objectify(type);" + LS)
+                .append("         normalizedTypes.put(type, normalized);" + LS)
+                .append("      }" + LS)
+                .append("      return normalized;" + LS)
+                .append("   }" + LS + LS);
     }
 
     private static void createTranslator(String[] args, Class<?> clazz, StringBuilder sb) throws Exception {
@@ -1818,6 +1840,31 @@ public class JavabufTranslatorGenerator {
                 + LS);
         sb.append("   private static final Map<Class<?>, Method> arraySetters = new HashMap<Class<?>, Method>();" + LS);
         sb.append("   private static Map<String, Constructor<?>> constructors = new HashMap<String, Constructor<?>>();" + LS);
+        sb.append("   private static final Map<String, InstantiationPlan> instantiationPlans =" + LS)
+                .append("         new ConcurrentHashMap<String, InstantiationPlan>();" + LS);
+        sb.append("   private static final TranslateToJavabuf NO_TRANSLATOR = o -> null;" + LS);
+        sb.append("   private static final Map<Descriptor, TranslateFromJavabuf> fromJavabufByDescriptor =" + LS)
+                .append("         new ConcurrentHashMap<Descriptor, TranslateFromJavabuf>();" + LS);
+        sb.append("   private static final Map<Type, TranslateToJavabuf> toJavabufByType =" + LS)
+                .append("         new ConcurrentHashMap<Type, TranslateToJavabuf>();" + LS);
+        sb.append("   private static final Map<Type, Boolean> handledTypes = new ConcurrentHashMap<Type, Boolean>();"
+                        + LS);
+        sb.append("   private static final Map<Type, Type> normalizedTypes = new ConcurrentHashMap<Type, Type>();"
+                        + LS);
+        sb.append("   private static final ClassValue<TranslateToJavabuf> toJavabufByClass = new ClassValue<TranslateToJavabuf>() {"
+                + LS)
+                .append("      @Override" + LS)
+                .append("      protected TranslateToJavabuf computeValue(Class<?> clazz) {" + LS)
+                .append("         TranslateToJavabuf ttj = toJavabufMap.get(clazz.getTypeName());" + LS)
+                .append("         if (ttj == null && clazz.isArray() && clazz.componentType().isArray()) {" + LS)
+                .append("            ttj = new dev_resteasy_grpc_arrays___ArrayHolder_ToJavabuf();" + LS)
+                .append("         }" + LS)
+                .append("         if (ttj == null) {" + LS)
+                .append("            ttj = rawAggregateTranslationToJavabuf(clazz);" + LS)
+                .append("         }" + LS)
+                .append("         return ttj == null ? NO_TRANSLATOR : ttj;" + LS)
+                .append("      }" + LS)
+                .append("   };" + LS);
     }
 
     private static void privateMethods(StringBuilder sb, Class<?>[] classes, String[] args) {
@@ -1825,141 +1872,179 @@ public class JavabufTranslatorGenerator {
                 .append("                                    private methods" + LS)
                 .append("   ******************************************************************************************/" + LS)
                 .append("   private static AssignToJavabuf toJavabuf(Class<?> clazz, FieldDescriptor fd) {" + LS)
+                .append("      final FieldAccessor accessor;" + LS)
                 .append("      try {" + LS)
-                .append("         AssignToJavabuf assignToJavabuf = (obj, messageBuilder) -> {" + LS)
-                .append("            try {" + LS)
-                .append("               if (obj == null) {" + LS)
-                .append("                  return;" + LS)
-                .append("               }" + LS)
-                .append("               final Field field = Utility.getField(clazz, fd.getName());" + LS)
-                .append("               field.setAccessible(true);" + LS)
-                .append("               if (field.getType().isArray() || (field.get(obj) != null && field.get(obj).getClass().isArray())) {"
-                        + LS)
-                .append("                  Object array = field.get(obj);" + LS)
-                .append("                  if (array == null) {" + LS)
-                .append("                     return;" + LS)
-                .append("                  }" + LS)
-                .append("                  Class<?> componentType = array.getClass().getComponentType();" + LS)
-                .append("                  if (isPrimitive(fd)) {" + LS)
-                .append("                     toPrimitiveJavabufArray(messageBuilder, fd, componentType, array);" + LS)
-                .append("                  } else {" + LS)
-                .append("                     messageBuilder.setField(fd, INSTANCE.translateToJavabuf(array));" + LS)
-                .append("                  }" + LS)
-                .append("               } else if (\".google.protobuf.Any\".equals(fd.toProto().getTypeName())) {" + LS)
-                .append("                  if (field.get(obj) != null) {" + LS)
-                .append("                     Class<?> c = field.get(obj).getClass();" + LS)
-                .append("                     if (Any.class.equals(c)) {" + LS)
-                .append("                        messageBuilder.setField(fd, field.get(obj));" + LS)
-                .append("                     } else {" + LS)
-                .append("                        Message message = toJavabufMap.get(c.getName()).assignToJavabuf(field.get(obj));"
-                        + LS)
-                .append("                        messageBuilder.setField(fd, Any.pack(message));" + LS)
-                .append("                     }" + LS)
-                .append("                  }" + LS)
-                .append("               } else if (field.get(obj) != null" + LS)
-                .append("                        && !field.get(obj).getClass().isPrimitive()" + LS)
-                .append("                        && !WRAPPER_TYPES.contains(field.get(obj).getClass())) {" + LS)
-                .append("                  if (toJavabufMap.keySet().contains(getTypeName(fd))) {" + LS)
-                .append("                     Message message = toJavabufMap.get(getTypeName(fd)).assignToJavabuf(field.get(obj));"
-                        + LS)
-                .append("                     if (message != null) {" + LS)
-                .append("                        messageBuilder.setField(fd, message);" + LS)
-                .append("                     }" + LS)
-                .append("                  } else if (toJavabufMap.keySet().contains(field.get(obj).getClass().getTypeName())) {"
-                        + LS)
-                .append("                     Message message = toJavabufMap.get(field.get(obj).getClass().getTypeName()).assignToJavabuf(field.get(obj));"
-                        + LS)
-                .append("                     if (message != null) {" + LS)
-                .append("                        messageBuilder.setField(fd, message);" + LS)
-                .append("                     }" + LS)
-                .append("                  } else {" + LS)
-                .append("                     throw Messages.MESSAGES.dontRecognizeType(field.get(obj).getClass().getName());"
-                        + LS)
-                .append("                  }" + LS)
-                .append("               } else if (field.get(obj) != null) {" + LS)
-                .append("                  if (Byte.class.equals(field.getType()) || byte.class.equals(field.getType())) {"
-                        + LS)
-                .append("                     Byte b = field.getByte(obj);" + LS)
-                .append("                     messageBuilder.setField(fd, b.intValue());" + LS)
-                .append("                  } else if (Short.class.equals(field.getType()) || short.class.equals(field.getType())) {"
+                .append("         accessor = FieldAccessor.of(clazz, fd.getName());" + LS)
+                .append("      } catch (RuntimeException e) {" + LS)
+                .append("         return (obj, messageBuilder) -> {" + LS)
+                .append("            if (obj != null) {" + LS)
+                .append("               throw new RuntimeException(e);" + LS)
+                .append("            }" + LS)
+                .append("         };" + LS)
+                .append("      }" + LS)
+                .append("      final Class<?> type = accessor.getType();" + LS)
+                .append("      final boolean isArray = type.isArray();" + LS)
+                .append("      final boolean isPrimitive = isPrimitive(fd);" + LS)
+                .append("      final boolean isAny = \".google.protobuf.Any\".equals(fd.toProto().getTypeName());" + LS)
+                .append("      final String typeName = getTypeName(fd);" + LS)
+                .append("      final boolean isByte = Byte.class.equals(type) || byte.class.equals(type);" + LS)
+                .append("      final boolean isShort = Short.class.equals(type) || short.class.equals(type);" + LS)
+                .append("      final boolean isChar = Character.class.equals(type) || char.class.equals(type);" + LS)
+                .append("      final boolean isByteString = Descriptors.FieldDescriptor.JavaType.BYTE_STRING.equals(fd.getJavaType());"
                         + LS)
-                .append("                     Short s = field.getShort(obj);" + LS)
-                .append("                     messageBuilder.setField(fd, s.intValue());" + LS)
-                .append("                  } else if (Character.class.equals(field.getType()) || char.class.equals(field.getType())) {"
+                .append("      return (obj, messageBuilder) -> {" + LS)
+                .append("         try {" + LS)
+                .append("            if (obj == null) {" + LS)
+                .append("               return;" + LS)
+                .append("            }" + LS)
+                .append("            final Object value = accessor.get(obj);" + LS)
+                .append("            if (value == null) {" + LS)
+                .append("               return;" + LS)
+                .append("            }" + LS)
+                .append("            if (isArray || value.getClass().isArray()) {" + LS)
+                .append("               if (isPrimitive) {" + LS)
+                .append("                  toPrimitiveJavabufArray(messageBuilder, fd, value.getClass().getComponentType(), value);"
                         + LS)
-                .append("                     Character c = field.getChar(obj);" + LS)
-                .append("                     messageBuilder.setField(fd, String.valueOf(c));" + LS)
-                .append("                  } else if (Descriptors.FieldDescriptor.JavaType.BYTE_STRING.equals(fd.getJavaType())) {"
+                .append("               } else {" + LS)
+                .append("                  messageBuilder.setField(fd, INSTANCE.translateToJavabuf(value));" + LS)
+                .append("               }" + LS)
+                .append("            } else if (isAny) {" + LS)
+                .append("               if (Any.class.equals(value.getClass())) {" + LS)
+                .append("                  messageBuilder.setField(fd, value);" + LS)
+                .append("               } else {" + LS)
+                .append("                  Message message = toJavabufMap.get(value.getClass().getName()).assignToJavabuf(value);"
                         + LS)
-                .append("                     ByteString bs = ByteString.copyFrom((byte[]) field.get(obj));" + LS)
-                .append("                     messageBuilder.setField(fd, bs);" + LS)
-                .append("                  } else {" + LS)
-                .append("                     messageBuilder.setField(fd, field.get(obj));" + LS)
-                .append("                  }" + LS)
+                .append("                  messageBuilder.setField(fd, Any.pack(message));" + LS)
                 .append("               }" + LS)
-                .append("            } catch (Exception e) {" + LS)
-                .append("               throw new RuntimeException(e);" + LS)
+                .append("            } else if (!WRAPPER_TYPES.contains(value.getClass())) {" + LS)
+                .append("               TranslateToJavabuf translator = toJavabufMap.get(typeName);" + LS)
+                .append("               if (translator == null) {" + LS)
+                .append("                  translator = toJavabufMap.get(value.getClass().getTypeName());" + LS)
+                .append("               }" + LS)
+                .append("               if (translator == null) {" + LS)
+                .append("                  throw Messages.MESSAGES.dontRecognizeType(value.getClass().getName());" + LS)
+                .append("               }" + LS)
+                .append("               Message message = translator.assignToJavabuf(value);" + LS)
+                .append("               if (message != null) {" + LS)
+                .append("                  messageBuilder.setField(fd, message);" + LS)
+                .append("               }" + LS)
+                .append("            } else if (isByte) {" + LS)
+                .append("               messageBuilder.setField(fd, ((Byte) value).intValue());" + LS)
+                .append("            } else if (isShort) {" + LS)
+                .append("               messageBuilder.setField(fd, ((Short) value).intValue());" + LS)
+                .append("            } else if (isChar) {" + LS)
+                .append("               messageBuilder.setField(fd, String.valueOf(((Character) value).charValue()));"
+                        + LS)
+                .append("            } else if (isByteString) {" + LS)
+                .append("               messageBuilder.setField(fd, ByteString.copyFrom((byte[]) value));" + LS)
+                .append("            } else {" + LS)
+                .append("               messageBuilder.setField(fd, value);" + LS)
                 .append("            }" + LS)
-                .append("         };" + LS)
-                .append("         return assignToJavabuf;" + LS)
-                .append("      } catch (Exception e) {" + LS)
-                .append("         throw new RuntimeException(e);" + LS)
+                .append("         } catch (Exception e) {" + LS)
+                .append("            throw new RuntimeException(e);" + LS)
+                .append("         }" + LS)
+                .append("      };" + LS)
+                .append("   }" + LS + LS);
+        for (Class<?> type : new Class<?>[] { int.class, long.class, float.class, double.class, boolean.class }) {
+            String kind = type.getSimpleName().substring(0, 1).toUpperCase() + type.getSimpleName().substring(1);
+            sb.append("   @SuppressWarnings(\"unchecked\")" + LS)
+                    .append("   private static <B> AssignToJavabuf toJavabuf" + kind
+                            + "(Class<?> clazz, FieldDescriptor fd, JavabufSetter.Of" + kind + "<B> setter) {" + LS)
+                    .append("      final FieldAccessor accessor = typedAccessor(clazz, fd, " + type.getName() + ".class);"
+                            + LS)
+                    .append("      if (accessor == null) {" + LS)
+                    .append("         return toJavabuf(clazz, fd);" + LS)
+                    .append("      }" + LS)
+                    .append("      return (obj, messageBuilder) -> {" + LS)
+                    .append("         if (obj != null) {" + LS)
+                    .append("            setter.set((B) messageBuilder, accessor.get" + kind + "(obj));" + LS)
+                    .append("         }" + LS)
+                    .append("      };" + LS)
+                    .append("   }" + LS + LS);
+        }
+        sb.append("   @SuppressWarnings(\"unchecked\")" + LS)
+                .append("   private static <B> AssignToJavabuf toJavabufString(Class<?> clazz, FieldDescriptor fd,"
+                        + " JavabufSetter.OfString<B> setter) {" + LS)
+                .append("      final FieldAccessor accessor = typedAccessor(clazz, fd, String.class);" + LS)
+                .append("      if (accessor == null) {" + LS)
+                .append("         return toJavabuf(clazz, fd);" + LS)
+                .append("      }" + LS)
+                .append("      return (obj, messageBuilder) -> {" + LS)
+                .append("         if (obj != null) {" + LS)
+                .append("            String value = (String) accessor.get(obj);" + LS)
+                .append("            if (value != null) {" + LS)
+                .append("               setter.set((B) messageBuilder, value);" + LS)
+                .append("            }" + LS)
+                .append("         }" + LS)
+                .append("      };" + LS)
+                .append("   }" + LS + LS);
+        sb.append("   /**" + LS)
+                .append("    * @return an accessor for the field if it has the given primitive type, after widening," + LS)
+                .append("    *         or is a String; otherwise null, and toJavabuf() handles the field" + LS)
+                .append("    */" + LS)
+                .append("   private static FieldAccessor typedAccessor(Class<?> clazz, FieldDescriptor fd, Class<?> type) {"
+                        + LS)
+                .append("      try {" + LS)
+                .append("         FieldAccessor accessor = FieldAccessor.of(clazz, fd.getName());" + LS)
+                .append("         boolean typed = String.class.equals(type)" + LS)
+                .append("               ? String.class.equals(accessor.getType())" + LS)
+                .append("               : accessor.isReadableAs(type);" + LS)
+                .append("         return typed ? accessor : null;" + LS)
+                .append("      } catch (RuntimeException e) {" + LS)
+                .append("         return null;" + LS)
                 .append("      }" + LS)
                 .append("   }" + LS + LS);
         sb.append("   private static AssignFromJavabuf fromJavabuf(Class<?> javaClass, FieldDescriptor fd) {" + LS)
+                .append("      final FieldAccessor accessor;" + LS)
                 .append("      try {" + LS)
-                .append("         AssignFromJavabuf assignFromJavabuf = (message, object) -> {" + LS)
-                .append("            try {" + LS)
-                .append("               final Field field = Utility.getField(javaClass, javabufClassToJavaClass(fd.getName()));"
-                        + LS)
-                .append("               field.setAccessible(true);" + LS)
-                .append("               if (field.getType().isArray() && !field.getType().getName().startsWith(\"[[\") && field.getType().getComponentType().isPrimitive()) {"
-                        + LS)
-                .append("                  Object m = message.getField(fd);" + LS)
-                .append("                  Object array = toPrimitiveJavaArray(m, field.getType().getComponentType());" + LS)
-                .append("                  Utility.setField(field, object, array, INSTANCE);" + LS)
-                .append("               } else if (message.getField(fd) instanceof AbstractList) {" + LS)
-                .append("                  List<?> list = (List<?>) message.getField(fd);" + LS)
-                .append("                  if (list.size() > 0) {" + LS)
-                .append("                     Class<?> clazz = list.get(0).getClass();" + LS)
-                .append("                     Object array = toPrimitiveJavaArray(list, clazz);" + LS)
-                .append("                     Utility.setField(field, object, array, INSTANCE);" + LS)
-                .append("                  }" + LS)
-                .append("               } else if (Descriptors.FieldDescriptor.Type.MESSAGE.equals(fd.getType())" + LS)
-                .append("                     && fromJavabufMap.keySet().contains(fd.getMessageType().getName())) {" + LS)
-                .append("                  if (message.hasField(fd)) {" + LS)
-                .append("                     Message submessage = (Message) message.getField(fd);" + LS)
-                .append("                     Object obj = fromJavabufMap.get(fd.getMessageType().getName()).assignFromJavabuf(submessage);"
-                        + LS)
-                .append("                     Utility.setField(field, object, obj, INSTANCE);" + LS)
-                .append("                  }" + LS)
-                .append("               } else {" + LS)
-                .append("                  Object ooo = message.getField(fd);" + LS)
-                .append("                  if (Integer.class.equals(ooo.getClass()) && (Byte.class.equals(field.getType()) || byte.class.equals(field.getType()))) {"
-                        + LS)
-                .append("                     Utility.setField(field, object, ((Integer) ooo).byteValue(), INSTANCE);" + LS)
-                .append("                  } else if (Integer.class.equals(ooo.getClass()) && (Short.class.equals(field.getType()) || short.class.equals(field.getType()))) {"
+                .append("         accessor = FieldAccessor.of(javaClass, javabufClassToJavaClass(fd.getName()));" + LS)
+                .append("      } catch (RuntimeException e) {" + LS)
+                .append("         return (message, object) -> {" + LS)
+                .append("            throw new RuntimeException(e);" + LS)
+                .append("         };" + LS)
+                .append("      }" + LS)
+                .append("      final Class<?> type = accessor.getType();" + LS)
+                .append("      final Class<?> primitiveComponentType = type.isArray() && !type.getName().startsWith(\"[[\")"
                         + LS)
-                .append("                     Utility.setField(field, object, ((Integer) ooo).shortValue(), INSTANCE);" + LS)
-                .append("                  } else if (Integer.class.equals(ooo.getClass()) && (Character.class.equals(field.getType()) || char.class.equals(field.getType()))) {"
+                .append("            && type.getComponentType().isPrimitive() ? type.getComponentType() : null;" + LS)
+                .append("      final boolean isMessage = Descriptors.FieldDescriptor.Type.MESSAGE.equals(fd.getType());"
                         + LS)
-                .append("                     int i = ((Integer)ooo).intValue();" + LS)
-                .append("                     Utility.setField(field, object, Character.toChars(i)[0], INSTANCE);" + LS)
-                .append("                  } else if (ooo instanceof ByteString) {" + LS)
-                .append("                     Utility.setField(field, object, ((ByteString) ooo).newInput().readAllBytes(), INSTANCE);"
+                .append("      final String messageTypeName = isMessage ? fd.getMessageType().getName() : null;" + LS)
+                .append("      final boolean isByte = Byte.class.equals(type) || byte.class.equals(type);" + LS)
+                .append("      final boolean isShort = Short.class.equals(type) || short.class.equals(type);" + LS)
+                .append("      final boolean isChar = Character.class.equals(type) || char.class.equals(type);" + LS)
+                .append("      return (message, object) -> {" + LS)
+                .append("         try {" + LS)
+                .append("            final Object value = message.getField(fd);" + LS)
+                .append("            if (primitiveComponentType != null) {" + LS)
+                .append("               accessor.set(object, toPrimitiveJavaArray(value, primitiveComponentType), INSTANCE);"
                         + LS)
-                .append("                  } else {" + LS)
-                .append("                     Utility.setField(field, object, ooo, INSTANCE);" + LS)
-                .append("                  }" + LS)
+                .append("            } else if (value instanceof AbstractList) {" + LS)
+                .append("               List<?> list = (List<?>) value;" + LS)
+                .append("               if (list.size() > 0) {" + LS)
+                .append("                  Class<?> clazz = list.get(0).getClass();" + LS)
+                .append("                  accessor.set(object, toPrimitiveJavaArray(list, clazz), INSTANCE);" + LS)
                 .append("               }" + LS)
-                .append("            } catch (Exception e) {" + LS)
-                .append("               throw new RuntimeException(e);" + LS)
+                .append("            } else if (isMessage && fromJavabufMap.containsKey(messageTypeName)) {" + LS)
+                .append("               if (message.hasField(fd)) {" + LS)
+                .append("                  Object obj = fromJavabufMap.get(messageTypeName).assignFromJavabuf((Message) value);" + LS)
+                .append("                  accessor.set(object, obj, INSTANCE);" + LS)
+                .append("               }" + LS)
+                .append("            } else if (value instanceof Integer && isByte) {" + LS)
+                .append("               accessor.set(object, ((Integer) value).byteValue(), INSTANCE);" + LS)
+                .append("            } else if (value instanceof Integer && isShort) {" + LS)
+                .append("               accessor.set(object, ((Integer) value).shortValue(), INSTANCE);" + LS)
+                .append("            } else if (value instanceof Integer && isChar) {" + LS)
+                .append("               accessor.set(object, Character.toChars((Integer) value)[0], INSTANCE);" + LS)
+                .append("            } else if (value instanceof ByteString) {" + LS)
+                .append("               accessor.set(object, ((ByteString) value).toByteArray(), INSTANCE);" + LS)
+                .append("            } else {" + LS)
+                .append("               accessor.set(object, value, INSTANCE);" + LS)
                 .append("            }" + LS)
-                .append("         };" + LS)
-                .append("         return assignFromJavabuf;" + LS)
-                .append("      } catch (Exception e) {" + LS)
-                .append("         throw new RuntimeException(e);" + LS)
-                .append("      }" + LS)
+                .append("         } catch (Exception e) {" + LS)
+                .append("            throw new RuntimeException(e);" + LS)
+                .append("         }" + LS)
+                .append("      };" + LS)
                 .append("   }" + LS + LS);
         sb.append("   private static String javabufClassToJavaClass(String fieldName) {" + LS)
                 .append("      int pos = fieldName.lastIndexOf(\"___\");" + LS)
@@ -2032,6 +2117,34 @@ public class JavabufTranslatorGenerator {
                 .append("      constructors.put(classname, cons);" + LS)
                 .append("      return cons;" + LS)
                 .append("   }" + LS + LS);
+        sb.append("   private static TranslateToJavabuf translatorForType(Type type) {" + LS)
+                .append("      TranslateToJavabuf ttj = toJavabufByType.get(type);" + LS)
+                .append("      if (ttj == null) {" + LS)
+                .append("         ttj = toJavabufMap.get(simplifyTypeName(INSTANCE.normalize(type).toString()));" + LS)
+                .append("         if (ttj == null) {" + LS)
+                .append("            ttj = NO_TRANSLATOR;" + LS)
+                .append("         }" + LS)
+                .append("         toJavabufByType.put(type, ttj);" + LS)
+                .append("      }" + LS)
+                .append("      return ttj == NO_TRANSLATOR ? null : ttj;" + LS)
+                .append("   }" + LS + LS);
+        sb.append("   private static boolean handlesType(Type type) {" + LS)
+                .append("      Boolean handles = handledTypes.get(type);" + LS)
+                .append("      if (handles == null) {" + LS)
+                .append("         handles = toJavabufMap.containsKey(simplifyTypeName(INSTANCE.normalize(type).getTypeName()));"
+                        + LS)
+                .append("         handledTypes.put(type, handles);" + LS)
+                .append("      }" + LS)
+                .append("      return handles;" + LS)
+                .append("   }" + LS + LS);
+        sb.append("   private static Object newInstance(String classname) throws Exception {" + LS)
+                .append("      InstantiationPlan plan = instantiationPlans.get(classname);" + LS)
+                .append("      if (plan == null) {" + LS)
+                .append("         plan = InstantiationPlan.of(Class.forName(classname));" + LS)
+                .append("         instantiationPlans.put(classname, plan);" + LS)
+                .append("      }" + LS)
+                .append("      return plan.newInstance();" + LS)
+                .append("   }" + LS + LS);
         sb.append("   private static String simplifyTypeName(String name) {" + LS)
                 .append("      return name.replace(\"class \", \"\").replace(\"interface \", \"\");" + LS)
                 .append("   }" + LS + LS);
@@ -2236,21 +2349,24 @@ public class JavabufTranslatorGenerator {
                     getMapAssignmentToJavabuf(clazz.getSimpleName(), KEY_TYPE_JAVA, KEY_TYPE_JAVABUF, "Key"),
                     getMapAssignmentToJavabuf(clazz.getSimpleName(), VALUE_TYPE_JAVA, VALUE_TYPE_JAVABUF, "Value")));
         } else {
+            Descriptor descriptor = (Descriptor) clazz.getMethod("getDescriptor").invoke(null);
+            Class<?> builderClass = clazz.getMethod("newBuilder").getReturnType();
             sb.append("      private static Descriptor descriptor = ").append(clazz.getCanonicalName())
                     .append(".getDescriptor();" + LS)
                     .append("      private static List<AssignToJavabuf> assignList = new ArrayList<AssignToJavabuf>();" + LS
                             + LS)
-                    .append("      static {" + LS)
-                    .append("         for (FieldDescriptor f : descriptor.getFields()) {" + LS)
-                    .append("            String name = f.getName();" + LS)
-                    .append("            if (descriptor.findFieldByName(name) == null) {" + LS)
-                    .append("               continue;" + LS)
-                    .append("            }" + LS)
-                    .append("            assignList.add(toJavabuf(")
-                    .append(getJavabufClassValue(clazz.getSimpleName(), false, true));
-            sb.append(", descriptor.findFieldByName(name)));" + LS)
-                    .append("         }" + LS)
-                    .append("      }" + LS + LS)
+                    .append("      static {" + LS);
+            if (!descriptor.getFields().isEmpty()) {
+                sb.append("         Class<?> javaClass = ")
+                        .append(getJavabufClassValue(clazz.getSimpleName(), false, true)).append(";" + LS);
+            }
+            String builderName = fqnify(clazz.getSimpleName()) + ".Builder";
+            for (FieldDescriptor fd : descriptor.getFields()) {
+                sb.append("         assignList.add(")
+                        .append(getFieldAssignmentToJavabuf(fd, builderClass, builderName))
+                        .append(");" + LS);
+            }
+            sb.append("      }" + LS + LS)
                     .append("      @Override" + LS)
                     .append("      public Message assignToJavabuf(Object c1) {" + LS)
                     .append("         if (c1 == null) {" + LS)
@@ -2454,25 +2570,21 @@ public class JavabufTranslatorGenerator {
                     : javaClassString;
             Class<?> javaClass = Class.forName(javaClassStringSimple);
             StringBuilder sb0 = new StringBuilder(); // generate parameter values
-            Constructor<?> cons = javaClass.getConstructors()[0];
-            Parameter[] params = cons.getParameters();
-            int i = 0;
-            boolean first = true;
-            for (Field field : javaClass.getDeclaredFields()) {
-                if (!first) {
+            RecordComponent[] components = javaClass.getRecordComponents();
+            for (int i = 0; i < components.length; i++) {
+                if (i > 0) {
                     sb0.append(", ");
                 }
-                first = false;
                 sb0.append("(")
-                        .append(field.getType().getSimpleName())
-                        .append(") map.get(")
-                        .append("\"" + params[i].getName() + "\")");
-                i++;
+                        .append(components[i].getType().getSimpleName())
+                        .append(") components[")
+                        .append(i)
+                        .append("]");
             }
             sb.append(String.format(RECORD_FROM_JAVABUF,
                     clazz.getSimpleName(),
                     javaClass.getSimpleName(),
-                    javaClass.getDeclaredFields().length,
+                    components.length,
                     sb0.toString()));
         } else {
             Constructor<?> cons = null;
@@ -2505,10 +2617,15 @@ public class JavabufTranslatorGenerator {
                 sb.append("      @Override" + LS)
                         .append("      public Object assignFromJavabuf(Message message) {" + LS)
                         .append("         try {" + LS)
-                        .append("            Object obj = getConstructor(\"")
-                        .append(originalInnerClassName(clazz.getSimpleName()))
-                        .append("\").newInstance(");
-                writeArguments(cons, true, sb);
+                        .append("            Object obj = ");
+                if (cons.getParameterCount() == 0) {
+                    sb.append("newInstance(\"").append(originalInnerClassName(clazz.getSimpleName())).append("\"");
+                } else {
+                    sb.append("getConstructor(\"")
+                            .append(originalInnerClassName(clazz.getSimpleName()))
+                            .append("\").newInstance(");
+                    writeArguments(cons, true, sb);
+                }
                 sb.append(");" + LS)
                         .append("            for (AssignFromJavabuf assignFrom : assignList) {" + LS)
                         .append("               assignFrom.assign(message, obj);" + LS)
@@ -2791,6 +2908,49 @@ public class JavabufTranslatorGenerator {
         }
     }
 
+    /**
+     * Scalar fields are assigned through a typed setter of the builder, e.g. {@code CC5.Builder::setK},
+     * if the builder has one under its usual name. Everything else goes through {@code toJavabuf()}.
+     */
+    private static String getFieldAssignmentToJavabuf(FieldDescriptor fd, Class<?> builderClass, String builderName) {
+        String field = "descriptor.findFieldByName(\"" + fd.getName() + "\")";
+        Class<?> type = fd.isRepeated() ? null : TYPED_SETTERS.get(fd.getJavaType());
+        if (type != null) {
+            String setter = "set" + javabufCamelCase(fd.getName());
+            String kind = type.getSimpleName().substring(0, 1).toUpperCase() + type.getSimpleName().substring(1);
+            try {
+                builderClass.getMethod(setter, type);
+                return "toJavabuf" + kind + "(javaClass, " + field + ", " + builderName + "::" + setter + ")";
+            } catch (NoSuchMethodException e) {
+                // protoc renamed the accessor, e.g. to avoid a clash
+            }
+        }
+        return "toJavabuf(javaClass, " + field + ")";
+    }
+
+    /**
+     * Follows protoc's naming of the accessors of a field in the generated java classes.
+     */
+    private static String javabufCamelCase(String name) {
+        StringBuilder sb = new StringBuilder();
+        boolean capitalizeNext = true;
+        for (char c : name.toCharArray()) {
+            if ('a' <= c && c <= 'z') {
+                sb.append(capitalizeNext ? Character.toUpperCase(c) : c);
+                capitalizeNext = false;
+            } else if ('A' <= c && c <= 'Z') {
+                sb.append(c);
+                capitalizeNext = false;
+            } else if ('0' <= c && c <= '9') {
+                sb.append(c);
+                capitalizeNext = true;
+            } else {
+                capitalizeNext = true;
+            }
+        }
+        return sb.toString();
+    }
+
     private static String getMapAssignmentToJavabuf(String javabufName, Map<String, String> javaMap,
             Map<String, String> javabufMap, String field) {
         String assignment = null;
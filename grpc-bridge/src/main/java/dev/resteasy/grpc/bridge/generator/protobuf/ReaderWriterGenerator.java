@@ -32,10 +32,12 @@ import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Map;
 import java.util.Set;
+import java.util.TreeMap;
 
 import org.jboss.logging.Logger;
 import org.jboss.resteasy.plugins.providers.sse.OutboundSseEventImpl;
 
+import dev.resteasy.grpc.bridge.runtime.protobuf.TypeCache;
 import dev.resteasy.grpc.bridge.runtime.servlet.HttpServletResponseImpl;
 
 /**
@@ -53,9 +55,7 @@ public class ReaderWriterGenerator {
     private static final Map<String, String> genericTypes = new HashMap<String, String>();
 
     private static String READER_WRITER_MAPS;
-    private static String ENTITY_MAP_SETUP;
     private static String JAVA_TO_JAVABUF_NAME;
-    private static String GET_PARSER;
 
     static {
         primitives.put("gBoolean", "boolean");
@@ -142,26 +142,6 @@ public class ReaderWriterGenerator {
                 + LS +
                 "   }" + LS + LS;
 
-        ENTITY_MAP_SETUP = "   static {%n"
-                + "        Path file = Paths.get(\"%1$s\", \"target\", \"entityTypes\");%n"
-                + "        try (BufferedReader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {%n"
-                + "            String line = reader.readLine();%n"
-                + "            while (line != null) {%n"
-                + "                int n = line.indexOf(\" \");%n"
-                + "                String l1 = line.substring(0, n);%n"
-                + "                String l2 = line.substring(n + 1);%n"
-                + "                ENTITY_MAP.put(l1, getParser(l2));%n"
-                + "                line = reader.readLine();%n"
-                + "            }%n"
-                + "        } catch (Exception e) {%n"
-                + "            throw new RuntimeException(e);%n"
-                + "        }%n"
-                + "   }%n%n";
-
-        GET_PARSER = "    private static Method getParser(String classname) throws Exception {%n"
-                + "       return Class.forName(classname).getDeclaredMethod(\"parseFrom\", InputStream.class);%n"
-                + "    }%n%n";
-
         JAVA_TO_JAVABUF_NAME = ""
                 + "    private static String javaToJavabufName(String javaName) {%n"
                 + "        try {%n"
@@ -237,19 +217,11 @@ public class ReaderWriterGenerator {
 
     private static void imports(Class<?>[] wrappedClasses, String rootClass, String rootPackage, StringBuilder sb) {
         sb.append("import static dev.resteasy.grpc.bridge.runtime.Constants.ANY;" + LS)
-                .append("import java.io.BufferedReader;" + LS)
-                .append("import java.io.ByteArrayOutputStream;" + LS)
-                .append("import java.io.File;" + LS)
                 .append("import java.io.IOException;" + LS)
                 .append("import java.io.InputStream;" + LS)
                 .append("import java.io.OutputStream;" + LS)
                 .append("import java.lang.annotation.Annotation;" + LS)
-                .append("import java.lang.reflect.Method;" + LS)
                 .append("import java.lang.reflect.Type;" + LS)
-                .append("import java.nio.charset.StandardCharsets;" + LS)
-                .append("import java.nio.file.Files;" + LS)
-                .append("import java.nio.file.Paths;" + LS)
-                .append("import java.nio.file.Path;" + LS)
                 .append("import java.util.Map;" + LS)
                 .append("import java.util.HashMap;" + LS)
                 .append("import jakarta.annotation.Priority;" + LS)
@@ -266,12 +238,15 @@ public class ReaderWriterGenerator {
                 .append("import com.google.protobuf.Any;" + LS)
                 .append("import com.google.protobuf.Message;" + LS)
                 .append("import com.google.protobuf.CodedInputStream;" + LS)
+                .append("import com.google.protobuf.Parser;" + LS)
                 .append("import com.google.protobuf.CodedOutputStream;" + LS)
                 .append("import ").append("jakarta.servlet.http.HttpServletResponse;" + LS)
                 .append("import ").append("dev.resteasy.grpc.bridge.runtime.servlet.AsyncMockServletOutputStream;" + LS)
+                .append("import ").append("dev.resteasy.grpc.bridge.runtime.servlet.MockServletInputStream;" + LS)
                 .append("import ").append("dev.resteasy.grpc.bridge.runtime.Utility;" + LS)
                 .append("import ").append("dev.resteasy.grpc.arrays.Array_proto;" + LS)
                 .append("import ").append("dev.resteasy.grpc.bridge.runtime.protobuf.JavabufTranslator;" + LS)
+                .append("import ").append(TypeCache.class.getCanonicalName()).append(";" + LS)
                 .append("import " + rootPackage + "." + rootClass + "_proto.GeneralEntityMessage;" + LS)
                 .append("import " + rootPackage + "." + rootClass + "_proto.GeneralReturnMessage;" + LS)
                 .append("import ").append(OutboundSseEventImpl.class.getCanonicalName()).append(";" + LS)
@@ -314,7 +289,8 @@ public class ReaderWriterGenerator {
         sb.append("" + LS + LS);
     }
 
-    private static void classBody(String[] args, Class<?>[] wrappedClasses, StringBuilder sb) {
+    private static void classBody(String[] args, Class<?>[] wrappedClasses, StringBuilder sb)
+            throws IOException, ClassNotFoundException {
         sb.append("@Provider" + LS)
                 .append("@Consumes({\"application/grpc-jaxrs;grpc-jaxrs=true\",\"application/grpc-part\"})" + LS)
                 .append("@Produces(\"*/*;grpc-jaxrs=true\")" + LS)
@@ -324,24 +300,65 @@ public class ReaderWriterGenerator {
                 .append(args[2])
                 .append("MessageBodyReaderWriter implements MessageBodyReader<Object>, MessageBodyWriter<Object> {" + LS + LS)
                 .append("   private static JavabufTranslator translator = new " + args[2] + "JavabufTranslator();" + LS)
-                .append("   private static Map<String, Method> ENTITY_MAP = new HashMap<String, Method>();" + LS)
+                .append("   private static final Map<String, Parser<? extends Message>> ENTITY_MAP")
+                .append(" = new HashMap<String, Parser<? extends Message>>();" + LS)
                 .append("   private static Map<String, String> PRIMITIVE_ARRAY_MAP = new HashMap<String, String>();" + LS)
                 .append("   private static Map<String, String> PRIMITIVE_MAP = new HashMap<String, String>();" + LS)
-                .append("   private static Map<String, String> PRIMITIVE_WRAPPER_MAP = new HashMap<String, String>();" + LS
+                .append("   private static Map<String, String> PRIMITIVE_WRAPPER_MAP = new HashMap<String, String>();"
+                        + LS)
+                .append("   private static final TypeCache<EntityType> ENTITY_TYPES = new TypeCache<EntityType>();" + LS
                         + LS)
                 .append(String.format(READER_WRITER_MAPS, args[1] + "_proto"))
-                .append(String.format(ENTITY_MAP_SETUP, args[3], args[5] + "." + args[2]).replace("\\", "\\\\"))
+                .append(entityMapSetup(args[3]))
+                .append("   /**" + LS)
+                .append("    * What this reader and writer decide about an entity type, computed once per (Class, Type)."
+                        + LS)
+                .append("    */" + LS)
+                .append("   private static final class EntityType {" + LS)
+                .append("      private final boolean readable;" + LS)
+                .append("      private final boolean writeable;" + LS)
+                .append("      private final Parser<? extends Message> parser;" + LS)
+                .append("      private final RuntimeException parserFailure;" + LS)
+                .append("      private final GenericType genericType;" + LS)
+                .append("      private final boolean interfaceType;" + LS + LS)
+                .append("      private EntityType(Class type, Type genericType) {" + LS)
+                .append("         readable = type.isInterface() || type.isArray()" + LS)
+                .append("               || translator.handlesFromJavabuf(genericType, type);" + LS)
+                .append("         writeable = type.isArray() || translator.handlesToJavabuf(genericType, type);" + LS)
+                .append("         Parser<? extends Message> p = null;" + LS)
+                .append("         RuntimeException failure = null;" + LS)
+                .append("         try {" + LS)
+                .append("            Type nType = translator.normalize(genericType);" + LS)
+                .append("            String gt = nType.getTypeName().replace(\"class \", \"\")" + LS)
+                .append("                  .replace(\"interface \", \"\").replace(\" \", \"\").replace(\"$\", \".\");"
+                        + LS)
+                .append("            p = ENTITY_MAP.containsKey(gt) ? ENTITY_MAP.get(gt) : ENTITY_MAP.get(type.getName());"
+                        + LS)
+                .append("         } catch (RuntimeException e) {" + LS)
+                .append("            // readFrom() rethrows it rather than using a null parser" + LS)
+                .append("            failure = e;" + LS)
+                .append("         }" + LS)
+                .append("         parser = p;" + LS)
+                .append("         parserFailure = failure;" + LS)
+                .append("         GenericType gt = null;" + LS)
+                .append("         if (genericType != null) {" + LS)
+                .append("            try {" + LS)
+                .append("               gt = new GenericType(genericType);" + LS)
+                .append("            } catch (IllegalArgumentException e) {" + LS)
+                .append("               // writeTo() reports it" + LS)
+                .append("            }" + LS)
+                .append("         }" + LS)
+                .append("         this.genericType = gt;" + LS)
+                .append("         interfaceType = gt != null && gt.getRawType().isInterface();" + LS)
+                .append("      }" + LS)
+                .append("   }" + LS + LS)
+                .append("   private static EntityType entityType(Class type, Type genericType) {" + LS)
+                .append("      return ENTITY_TYPES.get(type, genericType, EntityType::new);" + LS)
+                .append("   }" + LS + LS)
                 .append("   @Override" + LS)
                 .append("   public boolean isReadable(Class type, Type genericType, Annotation[] annotations, MediaType mediaType) {"
                         + LS)
-                .append("      if (type.isInterface()) {" + LS)
-                .append("         return true;" + LS)
-                .append("      } else if (type.isArray() && type.isArray()) {" + LS) // ??????????????????/
-                .append("         return true;" + LS)
-                .append("      } else {" + LS)
-                .append("         return ")
-                .append("translator.handlesFromJavabuf(genericType, type);" + LS)
-                .append("      }" + LS)
+                .append("      return entityType(type, genericType).readable;" + LS)
                 .append("   }" + LS + LS)
                 .append("   @SuppressWarnings(\"unchecked\")" + LS)
                 .append("   @Override" + LS)
@@ -352,26 +369,30 @@ public class ReaderWriterGenerator {
                 .append("      try {" + LS)
                 .append("         if (\"application/grpc-part\".equals(mediaType.toString())) {" + LS)
                 .append("            return new String(entityStream.readAllBytes());" + LS)
-                .append("         } else if (type.isInterface() || httpHeaders.getFirst(ANY) != null) {" + LS)
-                .append("            Any any =  Any.parseFrom(CodedInputStream.newInstance(entityStream));" + LS)
+                .append("         }" + LS)
+                .append("         Message entity = entityStream instanceof MockServletInputStream" + LS)
+                .append("               ? ((MockServletInputStream) entityStream).getMessage()" + LS)
+                .append("               : null;" + LS)
+                .append("         if (type.isInterface() || httpHeaders.getFirst(ANY) != null) {" + LS)
+                .append("            Any any = entity instanceof Any" + LS)
+                .append("                  ? (Any) entity" + LS)
+                .append("                  : Any.parseFrom(CodedInputStream.newInstance(entityStream));" + LS)
                 .append("            Class clazz = Utility.extractTypeFromAny(any, getClass().getClassLoader(), \"")
                 .append(args[2]).append("_proto\");" + LS)
                 .append("            Message m = any.unpack(clazz);" + LS)
                 .append("            return ")
                 .append("translator.translateFromJavabuf(m);" + LS)
                 .append("         }" + LS)
-                .append("         Type nType = translator.normalize(genericType);" + LS)
-                .append("         String gt = nType.getTypeName().replace(\"class \", \"\").replace(\"interface \", \"\").replace(\" \", \"\").replace(\"$\", \".\");"
-                        + LS)
-                .append("         if (ENTITY_MAP.containsKey(gt)) {" + LS)
-                .append("            GeneratedMessage message = (GeneratedMessage) ENTITY_MAP.get(gt).invoke(null, entityStream);"
-                        + LS)
-                .append("            return translator.translateFromJavabuf(message);" + LS)
-                .append("         } else {" + LS)
-                .append("            GeneratedMessage message = (GeneratedMessage) ENTITY_MAP.get(type.getName()).invoke(null, entityStream);"
-                        + LS)
-                .append("            return translator.translateFromJavabuf(message);" + LS)
+                .append("         EntityType entityType = entityType(type, genericType);" + LS)
+                .append("         if (entityType.parserFailure != null) {" + LS)
+                .append("            throw entityType.parserFailure;" + LS)
+                .append("         }" + LS)
+                .append("         Parser<? extends Message> parser = entityType.parser;" + LS)
+                .append("         if (entity != null && entity.getParserForType() == parser) {" + LS)
+                .append("            return translator.translateFromJavabuf(entity);" + LS)
                 .append("         }" + LS)
+                .append("         Message message = parser.parseFrom(CodedInputStream.newInstance(entityStream));" + LS)
+                .append("         return translator.translateFromJavabuf(message);" + LS)
                 .append("      } catch (Exception e) {" + LS)
                 .append("         throw new RuntimeException(e);" + LS)
                 .append("      }" + LS)
@@ -379,11 +400,7 @@ public class ReaderWriterGenerator {
                 .append("   @Override" + LS)
                 .append("   public boolean isWriteable(Class type, Type genericType, Annotation[] annotations, MediaType mediaType) {"
                         + LS)
-                .append("      if (type.isArray() && type.isArray()) {" + LS)
-                .append("         return true;" + LS)
-                .append("      } else {" + LS)
-                .append("         return translator.handlesToJavabuf(genericType, type);" + LS)
-                .append("      }" + LS)
+                .append("      return entityType(type, genericType).writeable;" + LS)
                 .append("   }" + LS + LS)
                 .append("   @Override" + LS)
                 .append("   public void writeTo(Object t, Class type, Type genericType, Annotation[] annotations, MediaType mediaType,"
@@ -391,14 +408,20 @@ public class ReaderWriterGenerator {
                 .append("      MultivaluedMap httpHeaders, OutputStream entityStream) throws IOException, WebApplicationException {"
                         + LS);
         if (hasSSE) {
-            sb.append("      if (t instanceof OutboundSseEventImpl) {" + LS)
+            // SseEventOutputImpl.send() passes OutputStream.nullOutputStream(), which no WriterInterceptor has wrapped,
+            // so an event counts as unwrapped and is released to the AsyncMockServletOutputStream of the response
+            sb.append("      boolean sseEvent = t instanceof OutboundSseEventImpl;" + LS)
+                    .append("      if (sseEvent) {" + LS)
                     .append("         t = convertSseEvent((OutboundSseEventImpl) t);" + LS)
                     .append("      }" + LS);
         }
         sb.append("      Message message = null;" + LS)
+                .append("      EntityType entityType = entityType(type, genericType);" + LS)
                 .append("      if (genericType != null) {" + LS)
-                .append("         GenericType gt =  new GenericType(genericType);" + LS)
-                .append("         if (gt.getRawType().isInterface()) {" + LS)
+                .append("         GenericType gt = entityType.genericType != null" + LS)
+                .append("               ? entityType.genericType" + LS)
+                .append("               : new GenericType(genericType);" + LS)
+                .append("         if (entityType.interfaceType) {" + LS)
                 .append("            message = translator.translateToJavabuf(t);" + LS)
                 .append("         } else {" + LS)
                 .append("            message = translator.translateToJavabuf(t, gt);" + LS)
@@ -408,35 +431,51 @@ public class ReaderWriterGenerator {
                 .append("      }" + LS)
                 .append("      HttpServletResponse servletResponse = ResteasyContext.getContextData(HttpServletResponse.class);"
                         + LS)
-                .append("      if ((servletResponse != null && servletResponse.getHeader(ANY) != null)" + LS)
-                .append("            || (genericType != null && new GenericType(genericType).getRawType().isInterface())) {"
+                .append("      // If a WriterInterceptor, such as GZIP encoding, wrapped entityStream, the entity must go through it."
                         + LS)
+                .append("      // An asynchronous response is then released when its AsyncContext completes." + LS)
+                .append("      boolean unwrapped = ").append(hasSSE ? "sseEvent || " : "")
+                .append("(servletResponse instanceof HttpServletResponseImpl" + LS)
+                .append("            && ((HttpServletResponseImpl) servletResponse).writesDirectlyTo(entityStream));" + LS)
+                .append("      if ((servletResponse != null && servletResponse.getHeader(ANY) != null)" + LS)
+                .append("            || entityType.interfaceType) {" + LS)
                 .append("         if (servletResponse instanceof HttpServletResponseImpl) {" + LS)
                 .append("            ((HttpServletResponseImpl) servletResponse).removeHeader(ANY);" + LS)
                 .append("         }" + LS)
-                .append("         CodedOutputStream cos = CodedOutputStream.newInstance(entityStream);" + LS)
-                .append("         Any.pack(message).writeTo(cos);" + LS)
+                .append("         Any any = Any.pack(message);" + LS)
+                .append("         CodedOutputStream cos = newCodedOutputStream(entityStream, servletResponse,")
+                .append(" any.getSerializedSize());" + LS)
+                .append("         any.writeTo(cos);" + LS)
                 .append("         cos.flush();" + LS)
-                .append("         if (servletResponse.getOutputStream() instanceof AsyncMockServletOutputStream) {" + LS)
+                .append("         if (unwrapped && servletResponse.getOutputStream() instanceof AsyncMockServletOutputStream) {"
+                        + LS)
                 .append("            AsyncMockServletOutputStream amsos = (AsyncMockServletOutputStream) servletResponse.getOutputStream();"
                         + LS)
                 .append("            amsos.release();" + LS)
                 .append("         }" + LS)
                 .append("         return;" + LS)
                 .append("      }" + LS)
-                .append("      if (servletResponse.getOutputStream() instanceof AsyncMockServletOutputStream) {" + LS)
+                .append("      if (unwrapped && servletResponse.getOutputStream() instanceof AsyncMockServletOutputStream" + LS)
+                .append("            && ((AsyncMockServletOutputStream) servletResponse.getOutputStream()).size() == 0) {" + LS)
                 .append("         AsyncMockServletOutputStream amsos = (AsyncMockServletOutputStream) servletResponse.getOutputStream();"
                         + LS)
-                .append("         ByteArrayOutputStream baos = new ByteArrayOutputStream();" + LS)
-                .append("         message.writeTo(baos);" + LS)
-                .append("         amsos.release(baos);" + LS)
-                .append("      } else {" + LS)
-                .append("         CodedOutputStream cos = CodedOutputStream.newInstance(entityStream);" + LS)
+                .append("         amsos.release(message.toByteString());" + LS)
+                .append("      } else if (!unwrapped" + LS)
+                .append("            || !((HttpServletResponseImpl) servletResponse).handOffEntity(message, entityStream)) {"
+                        + LS)
+                .append("         CodedOutputStream cos = newCodedOutputStream(entityStream, servletResponse,")
+                .append(" message.getSerializedSize());" + LS)
                 .append("         message.writeTo(cos);" + LS)
                 .append("         cos.flush();" + LS)
                 .append("      }" + LS)
                 .append("   }" + LS + LS) // Turn into switch
-                .append(String.format(GET_PARSER))
+                .append("   private static CodedOutputStream newCodedOutputStream(OutputStream entityStream," + LS)
+                .append("         HttpServletResponse servletResponse, int size) {" + LS)
+                .append("      if (servletResponse instanceof HttpServletResponseImpl) {" + LS)
+                .append("         ((HttpServletResponseImpl) servletResponse).presize(size);" + LS)
+                .append("      }" + LS)
+                .append("      return CodedOutputStream.newInstance(entityStream, Math.min(size, 4096));" + LS)
+                .append("   }" + LS + LS)
                 .append(String.format(JAVA_TO_JAVABUF_NAME, args[1]));
         if (hasSSE) {
             sb.append("   private SseEvent convertSseEvent(OutboundSseEventImpl osei) throws IOException {" + LS)
@@ -455,6 +494,34 @@ public class ReaderWriterGenerator {
         }
     }
 
+    /**
+     * Turns the entityTypes file written by {@code JavaToProtobufGenerator} into a static block which
+     * maps each entity type to the {@code Parser} of its javabuf class, so that the generated class
+     * needs neither the file nor reflection at runtime.
+     */
+    private static String entityMapSetup(String basedir) throws IOException, ClassNotFoundException {
+        Map<String, String> entityTypes = new TreeMap<String, String>();
+        Path file = Paths.get(basedir, "target", "entityTypes");
+        try (BufferedReader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            String line = null;
+            while ((line = reader.readLine()) != null) {
+                int n = line.indexOf(" ");
+                if (n > 0) {
+                    entityTypes.put(line.substring(0, n), line.substring(n + 1));
+                }
+            }
+        }
+        ClassLoader loader = Thread.currentThread().getContextClassLoader();
+        StringBuilder sb = new StringBuilder("   static {" + LS);
+        for (Map.Entry<String, String> entry : entityTypes.entrySet()) {
+            Class<?> javabufClass = Class.forName(entry.getValue(), false, loader);
+            sb.append("      ENTITY_MAP.put(\"").append(entry.getKey()).append("\", ")
+                    .append(javabufClass.getCanonicalName()).append(".parser());" + LS);
+        }
+        sb.append("   }" + LS + LS);
+        return sb.toString();
+    }
+
     private static void finishClass(StringBuilder sb) {
         sb.append("}" + LS);
     }
@@ -18,6 +18,8 @@
  */
 package dev.resteasy.grpc.example;
 
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Date;
@@ -26,15 +28,25 @@ import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
+import java.util.Queue;
 import java.util.Set;
 import java.util.SortedSet;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 
+import javax.management.ObjectName;
+
+import jakarta.inject.Inject;
+import jakarta.servlet.ReadListener;
 import jakarta.servlet.ServletConfig;
 import jakarta.servlet.ServletContext;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.WriteListener;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import jakarta.ws.rs.Consumes;
@@ -62,6 +74,7 @@ import jakarta.ws.rs.sse.SseEventSink;
 import org.jboss.resteasy.core.ResteasyContext;
 import org.jboss.resteasy.plugins.providers.sse.OutboundSseEventImpl;
 
+import dev.resteasy.grpc.bridge.runtime.servlet.MockServletInputStream;
 import dev.resteasy.grpc.example.InnerClasses.InnerClassHolder;
 import dev.resteasy.grpc.example.InnerClasses.PublicPrivate;
 import dev.resteasy.grpc.example.InnerClasses.PublicPublic;
@@ -69,6 +82,13 @@ import dev.resteasy.grpc.example.InnerClasses.PublicPublic;
 @Path("p")
 public class CC1 {
 
+    private static final Queue<AsyncResponse> HELD = new ConcurrentLinkedQueue<AsyncResponse>();
+
+    private static final Map<Integer, String> PAYLOADS = new ConcurrentHashMap<Integer, String>();
+
+    @Inject
+    private RequestScopedHolder requestScopedHolder;
+
     @SuppressWarnings("rawtypes")
     @Path("set")
     @GET
@@ -201,6 +221,24 @@ public class CC1 {
                 new CC3("eight"));
     }
 
+    @Path("translation")
+    @POST
+    public CC13 translation(CC13 cc13) {
+        return cc13;
+    }
+
+    @Path("list/cc7")
+    @POST
+    public List<CC7> listCC7(List<CC7> list) {
+        return list;
+    }
+
+    @Path("map/cc5")
+    @POST
+    public Map<String, CC5> mapCC5(Map<String, CC5> map) {
+        return map;
+    }
+
     @Path("response")
     @GET
     public Response getResponse() {
@@ -226,6 +264,12 @@ public class CC1 {
         return response;
     }
 
+    @Path("async/cs/null")
+    @GET
+    public CompletionStage<String> getNullCompletionStage() {
+        return CompletableFuture.supplyAsync(() -> null);
+    }
+
     @Path("cc7")
     @GET
     public CC7 getCC7() {
@@ -296,6 +340,12 @@ public class CC1 {
         return "x" + h1 + "y" + h2 + "z";
     }
 
+    @Path("headerParams/caseInsensitive")
+    @GET
+    public String headerParamsCaseInsensitive(@Context HttpServletRequest request, @HeaderParam("x-case") String h) {
+        return h + "|" + request.getHeader("X-CASE") + "|" + request.getLocale();
+    }
+
     @Path("params/{p1}/list/{p1}")
     @GET
     public String paramsList(
@@ -390,6 +440,136 @@ public class CC1 {
         t.start();
     }
 
+    @POST
+    @Path("suspend/readListener")
+    public void readListener(@Context HttpServletRequest request, @Suspended final AsyncResponse response)
+            throws IOException {
+        final ServletInputStream sis = request.getInputStream();
+        sis.setReadListener(new ReadListener() {
+            private final byte[] buffer = new byte[1024];
+            private int count;
+
+            @Override
+            public void onDataAvailable() throws IOException {
+                while (sis.isReady() && !sis.isFinished()) {
+                    int n = sis.read(buffer);
+                    if (n > 0) {
+                        count += n;
+                    }
+                }
+            }
+
+            @Override
+            public void onAllDataRead() {
+                response.resume("allDataRead: " + count);
+            }
+
+            @Override
+            public void onError(Throwable t) {
+                response.resume(t);
+            }
+        });
+    }
+
+    @GET
+    @Path("suspend/writeListener")
+    public void writeListener(@Context HttpServletResponse servletResponse, @Suspended final AsyncResponse response)
+            throws IOException {
+        final ServletOutputStream sos = servletResponse.getOutputStream();
+        sos.setWriteListener(new WriteListener() {
+            @Override
+            public void onWritePossible() {
+                response.resume("writePossible: " + sos.isReady());
+            }
+
+            @Override
+            public void onError(Throwable t) {
+                response.resume(t);
+            }
+        });
+    }
+
+    @GET
+    @Path("suspend/held")
+    public void suspendHeld(@Suspended final AsyncResponse response) {
+        HELD.add(response);
+    }
+
+    @GET
+    @Path("suspend/held/count")
+    public int heldCount() {
+        return HELD.size();
+    }
+
+    @GET
+    @Path("suspend/held/suspended")
+    public int heldSuspended() {
+        int count = 0;
+        for (AsyncResponse response : HELD) {
+            if (response.isSuspended()) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    @GET
+    @Path("suspend/release")
+    public int releaseHeld() {
+        int count = 0;
+        for (AsyncResponse response = HELD.poll(); response != null; response = HELD.poll()) {
+            response.resume("released");
+            count++;
+        }
+        return count;
+    }
+
+    @GET
+    @Path("async/start")
+    public void asyncStart(@Suspended final AsyncResponse response, @Context HttpServletRequest request) {
+        request.getAsyncContext().start(() -> response.resume("started"));
+    }
+
+    @GET
+    @Path("async/completed")
+    public long asyncCompleted(@Context HttpServletRequest request) throws Exception {
+        String contextPath = request.getServletContext().getContextPath();
+        ObjectName name = new ObjectName(
+                "dev.resteasy.grpc:type=AsyncExecutor,context=" + ObjectName.quote(contextPath));
+        return (Long) ManagementFactory.getPlatformMBeanServer().getAttribute(name, "CompletedCount");
+    }
+
+    @GET
+    @Path("payload")
+    public String payload(@QueryParam("size") int size) {
+        return PAYLOADS.computeIfAbsent(size, n -> "x".repeat(n));
+    }
+
+    @GET
+    @Path("payload/async")
+    public CompletionStage<String> payloadAsync(@QueryParam("size") int size) {
+        return CompletableFuture.completedFuture(PAYLOADS.computeIfAbsent(size, n -> "x".repeat(n)));
+    }
+
+    @GET
+    @Path("payload/suspended")
+    public void payloadSuspended(@QueryParam("size") int size, @Suspended final AsyncResponse response) {
+        response.resume(PAYLOADS.computeIfAbsent(size, n -> "x".repeat(n)));
+    }
+
+    @GET
+    @Path("allocated")
+    public long allocatedBytes() throws Exception {
+        return (Long) ManagementFactory.getPlatformMBeanServer()
+                .getAttribute(new ObjectName("java.lang:type=Threading"), "TotalThreadAllocatedBytes");
+    }
+
+    @GET
+    @Path("threads")
+    public int threads() {
+        return ManagementFactory.getThreadMXBean().getThreadCount();
+    }
+
     @GET
     @Path("contextPath")
     public String contextPath(@Context HttpServletRequest request) {
@@ -403,6 +583,15 @@ public class CC1 {
         return new CC2("x" + cc2.s + "y", cc2.j + 1);
     }
 
+    @Path("entity/parsed")
+    @POST
+    public String parsedEntity(CC2 cc2, @Context HttpServletRequest request) throws IOException {
+        final ServletInputStream sis = request.getInputStream();
+        final boolean parsed = sis instanceof MockServletInputStream
+                && ((MockServletInputStream) sis).getMessage() != null;
+        return (parsed ? "parsed: " : "serialized: ") + cc2.s + cc2.j;
+    }
+
     @Path("reference")
     @POST
     public CC4 referenceField(CC4 cc4) {
@@ -530,6 +719,15 @@ public class CC1 {
         return response.build();
     }
 
+    @Path("jaxrsResponse/cookieDate")
+    @GET
+    public Response jaxrsResponseCookieDate() {
+        // 2026-10-18T12:34:56Z: day of month and day of year differ
+        NewCookie newCookie = new NewCookie.Builder("n3").value("v3")
+                .expiry(new Date(1792326896000L)).sameSite(NewCookie.SameSite.LAX).build();
+        return Response.ok("jaxrsResponseCookieDate").cookie(newCookie).build();
+    }
+
     @Path("servletResponse")
     @GET
     public Response servletResponse(@Context HttpServletResponse response) {
@@ -661,6 +859,22 @@ public class CC1 {
         });
     }
 
+    @GET
+    @Path("sse/many")
+    @Produces(MediaType.SERVER_SENT_EVENTS)
+    public void sseMany(@QueryParam("count") int count, @Context SseEventSink eventSink, @Context Sse sse) {
+        final Map<Class<?>, Object> map = ResteasyContext.getContextDataMap();
+        Thread t = new Thread(() -> {
+            ResteasyContext.addCloseableContextDataLevel(map);
+            try (SseEventSink sink = eventSink) {
+                for (int i = 0; i < count; i++) {
+                    sink.send(sse.newEvent("event" + i)).toCompletableFuture().join();
+                }
+            }
+        });
+        t.start();
+    }
+
     @GET
     @Path("copy")
     public String copy(String s) {
@@ -794,4 +1008,16 @@ public class CC1 {
     public double same(double d) {
         return d;
     }
+
+    @POST
+    @Path("request/scope")
+    public String requestScope(String s) {
+        String previous = requestScopedHolder.getValue();
+        if (previous != null) {
+            return "leaked: " + previous;
+        }
+        requestScopedHolder.setValue(s);
+        Thread.yield();
+        return requestScopedHolder.getValue();
+    }
 }
@@ -0,0 +1,72 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ *
+ * Copyright 2026 Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package dev.resteasy.grpc.example;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Holds scalar, nested, repeated and map fields, to check that an object survives translation to javabuf and back.
+ */
+public class CC13 {
+    public int i;
+    public long l;
+    public byte by;
+    public char c;
+    public String s;
+    public Integer ii;
+    public CC4 cc4;
+    public List<CC2> cc2s;
+    public Map<String, CC5> cc5s;
+
+    public CC13() {
+    }
+
+    public CC13(int i, long l, byte by, char c, String s, CC4 cc4, List<CC2> cc2s, Map<String, CC5> cc5s) {
+        this.i = i;
+        this.l = l;
+        this.by = by;
+        this.c = c;
+        this.s = s;
+        this.cc4 = cc4;
+        this.cc2s = cc2s;
+        this.cc5s = cc5s;
+    }
+
+    public boolean equals(Object o) {
+        if (o == null || !CC13.class.equals(o.getClass())) {
+            return false;
+        }
+        CC13 cc13 = (CC13) o;
+        return i == cc13.i
+                && l == cc13.l
+                && by == cc13.by
+                && c == cc13.c
+                && Objects.equals(s, cc13.s)
+                && Objects.equals(ii, cc13.ii)
+                && Objects.equals(cc4, cc13.cc4)
+                && Objects.equals(cc2s, cc13.cc2s)
+                && Objects.equals(cc5s, cc13.cc5s);
+    }
+
+    public int hashCode() {
+        return Objects.hash(i, l, s);
+    }
+}
@@ -0,0 +1,52 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ *
+ * Copyright 2026 Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package dev.resteasy.grpc.example;
+
+import java.util.List;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.ws.rs.container.ContainerRequestContext;
+import jakarta.ws.rs.container.ContainerRequestFilter;
+import jakarta.ws.rs.core.Context;
+import jakarta.ws.rs.core.PathSegment;
+import jakarta.ws.rs.ext.Provider;
+
+/**
+ * Uses an injected {@link HttpServletRequest} and the {@link jakarta.ws.rs.core.SecurityContext} in a filter,
+ * which the generator can't see, to verify that calls to {@link DirectResource} get them on the direct path.
+ */
+@Provider
+public class DirectFilter implements ContainerRequestFilter {
+
+    public static final String HEADER = "x-direct-filter";
+
+    @Context
+    private HttpServletRequest request;
+
+    @Override
+    public void filter(ContainerRequestContext requestContext) {
+        List<PathSegment> segments = requestContext.getUriInfo().getPathSegments();
+        if (segments.isEmpty() || !"direct".equals(segments.get(0).getPath())) {
+            return;
+        }
+        requestContext.getHeaders().putSingle(HEADER,
+                request.getMethod() + " secure=" + requestContext.getSecurityContext().isSecure());
+    }
+}
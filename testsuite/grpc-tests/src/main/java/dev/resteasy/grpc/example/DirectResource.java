@@ -0,0 +1,49 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ *
+ * Copyright 2026 Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package dev.resteasy.grpc.example;
+
+import jakarta.ws.rs.GET;
+import jakarta.ws.rs.HeaderParam;
+import jakarta.ws.rs.Path;
+import jakarta.ws.rs.core.Context;
+
+import org.jboss.resteasy.spi.HttpRequest;
+
+import dev.resteasy.grpc.bridge.runtime.direct.GrpcHttpRequest;
+
+/**
+ * Resource methods which are marked "direct", but which get servlet types through {@link DirectFilter} and
+ * {@link ServletHelper}.
+ */
+@Path("direct")
+public class DirectResource {
+
+    @GET
+    @Path("filter")
+    public String directFilter(@HeaderParam(DirectFilter.HEADER) String filtered, @Context HttpRequest request) {
+        return filtered + " direct=" + (request instanceof GrpcHttpRequest);
+    }
+
+    @GET
+    @Path("helper")
+    public String directHelper(@Context HttpRequest request) {
+        return ServletHelper.method() + " direct=" + (request instanceof GrpcHttpRequest);
+    }
+}
@@ -30,6 +30,7 @@ import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicReference;
 
 import jakarta.ws.rs.client.Client;
 import jakarta.ws.rs.client.ClientBuilder;
@@ -96,7 +97,9 @@ import dev.resteasy.grpc.example.TestSubClass;
 import dev.resteasy.grpc.example.sub.CC8;
 import dev.resteasy.grpc.lists.sets.DD1;
 import dev.resteasy.grpc.maps.MapResource;
+import io.grpc.Metadata;
 import io.grpc.StatusRuntimeException;
+import io.grpc.stub.MetadataUtils;
 import io.grpc.stub.StreamObserver;
 
 /**
@@ -162,6 +165,7 @@ abstract class AbstractGrpcToJakartaRESTTest {
         this.testChar(stub);
         this.testCharacter(stub);
         this.testCompletionStage(stub);
+        this.testCompletionStageNull(stub);
         this.testConstructor(stub);
         this.testConsumes(stub);
         this.testCookieParams(stub);
@@ -170,11 +174,14 @@ abstract class AbstractGrpcToJakartaRESTTest {
         this.testFloat(stub);
         this.testFloatWrapper(stub);
         this.testHeaderParams(stub);
+        this.testHeaderParamsCaseInsensitive(stub);
         this.testInheritance(stub);
+        this.testParsedEntity(stub);
         this.testInnerClass(stub);
         this.testInt(stub);
         this.testInteger(stub);
         this.testJaxrsResponse(stub);
+        this.testJaxrsResponseCookieDate(stub);
         this.testLocatorGet(stub);
         this.testLocatorPost(stub);
         this.testLong(stub);
@@ -191,6 +198,7 @@ abstract class AbstractGrpcToJakartaRESTTest {
         this.testResponse(stub);
         this.testServerCookies(stub);
         this.testServerHeaders(stub);
+        this.testMetadataHeaders(stub);
         this.testServletConfigServletName(stub);
         this.testServletContextInitParam(stub);
         this.testServletContextPath(stub);
@@ -203,6 +211,8 @@ abstract class AbstractGrpcToJakartaRESTTest {
         this.testSSE(stub);
         this.testString(stub);
         this.testSuspend(stub);
+        this.testReadListener(stub);
+        this.testWriteListener(stub);
         this.testCopy(stub);
         this.testInterfaceEntity(stub);
         this.testInterfaceReturn(stub);
@@ -847,6 +857,24 @@ abstract class AbstractGrpcToJakartaRESTTest {
         }
     }
 
+    void testHeaderParamsCaseInsensitive(CC1ServiceBlockingStub stub) throws Exception {
+        GeneralEntityMessage.Builder messageBuilder = GeneralEntityMessage.newBuilder();
+        messageBuilder.setURL("http://localhost:8080" + "/p/headerParams/caseInsensitive");
+        messageBuilder.putHeaders("X-Case", gHeader.newBuilder().addValues("v1").build());
+        messageBuilder.putHeaders("accept-language", gHeader.newBuilder().addValues("fr-CA").build());
+        GeneralEntityMessage gem = messageBuilder.build();
+        try {
+            GeneralReturnMessage response = stub.headerParamsCaseInsensitive(gem);
+            Assertions.assertEquals("v1|v1|fr_CA", response.getGStringField().getValue());
+        } catch (StatusRuntimeException e) {
+
+            try (StringWriter writer = new StringWriter()) {
+                e.printStackTrace(new PrintWriter(writer));
+                Assertions.fail(writer.toString());
+            }
+        }
+    }
+
     void testParamsList(CC1ServiceBlockingStub stub) throws Exception {
         dev.resteasy.grpc.example.CC1_proto.GeneralEntityMessage.Builder builder = GeneralEntityMessage.newBuilder();
         builder.putHeaders("h1", gHeader.newBuilder().addValues("hv1").addValues("hv2").build());
@@ -946,6 +974,44 @@ abstract class AbstractGrpcToJakartaRESTTest {
         }
     }
 
+    void testReadListener(CC1ServiceBlockingStub stub) throws Exception {
+        dev.resteasy.grpc.example.CC1_proto.GeneralEntityMessage.Builder messageBuilder = dev.resteasy.grpc.example.CC1_proto.GeneralEntityMessage
+                .newBuilder();
+        messageBuilder.setURL("http://localhost:8080/p/suspend/readListener");
+        GeneralEntityMessage gem = messageBuilder.build();
+        try {
+            GeneralReturnMessage response = stub.readListener(gem);
+            Any any = response.getAnyField();
+            gString gS = any.unpack(gString.class);
+            Assertions.assertEquals("allDataRead: 0", gS.getValue());
+        } catch (StatusRuntimeException e) {
+
+            try (StringWriter writer = new StringWriter()) {
+                e.printStackTrace(new PrintWriter(writer));
+                Assertions.fail(writer.toString());
+            }
+        }
+    }
+
+    void testWriteListener(CC1ServiceBlockingStub stub) throws Exception {
+        dev.resteasy.grpc.example.CC1_proto.GeneralEntityMessage.Builder messageBuilder = dev.resteasy.grpc.example.CC1_proto.GeneralEntityMessage
+                .newBuilder();
+        messageBuilder.setURL("http://localhost:8080/p/suspend/writeListener");
+        GeneralEntityMessage gem = messageBuilder.build();
+        try {
+            GeneralReturnMessage response = stub.writeListener(gem);
+            Any any = response.getAnyField();
+            gString gS = any.unpack(gString.class);
+            Assertions.assertEquals("writePossible: true", gS.getValue());
+        } catch (StatusRuntimeException e) {
+
+            try (StringWriter writer = new StringWriter()) {
+                e.printStackTrace(new PrintWriter(writer));
+                Assertions.fail(writer.toString());
+            }
+        }
+    }
+
     void testCompletionStage(CC1ServiceBlockingStub stub) throws Exception {
         dev.resteasy.grpc.example.CC1_proto.GeneralEntityMessage.Builder messageBuilder = dev.resteasy.grpc.example.CC1_proto.GeneralEntityMessage
                 .newBuilder();
@@ -963,6 +1029,23 @@ abstract class AbstractGrpcToJakartaRESTTest {
         }
     }
 
+    void testCompletionStageNull(CC1ServiceBlockingStub stub) throws Exception {
+        GeneralEntityMessage gem = GeneralEntityMessage.newBuilder()
+                .setURL("http://localhost:8080/p/async/cs/null")
+                .build();
+        try {
+            GeneralReturnMessage response = stub.getNullCompletionStage(gem);
+            Assertions.assertEquals(204, response.getStatus());
+            Assertions.assertEquals("", response.getGStringField().getValue());
+        } catch (StatusRuntimeException e) {
+
+            try (StringWriter writer = new StringWriter()) {
+                e.printStackTrace(new PrintWriter(writer));
+                Assertions.fail(writer.toString());
+            }
+        }
+    }
+
     void testServletContextPath(CC1ServiceBlockingStub stub) throws Exception {
         GeneralEntityMessage.Builder messageBuilder = GeneralEntityMessage.newBuilder();
         GeneralEntityMessage gem = messageBuilder.build();
@@ -1067,6 +1150,28 @@ abstract class AbstractGrpcToJakartaRESTTest {
         }
     }
 
+    void testParsedEntity(CC1ServiceBlockingStub stub) throws Exception {
+        dev_resteasy_grpc_example___CC2 cc2 = dev_resteasy_grpc_example___CC2.newBuilder()
+                .setJ(17)
+                .setS("thag")
+                .build();
+        GeneralEntityMessage.Builder messageBuilder = GeneralEntityMessage.newBuilder();
+        messageBuilder.setURL("http://localhost:8080/p/entity/parsed").setDevResteasyGrpcExampleCC2Field(cc2);
+        GeneralEntityMessage gem = messageBuilder.build();
+        GeneralReturnMessage response;
+        try {
+            response = stub.parsedEntity(gem);
+            // The MessageBodyReader took the entity from MockServletInputStream.getMessage() without reading bytes
+            Assertions.assertEquals("parsed: thag17", response.getGStringField().getValue());
+        } catch (StatusRuntimeException e) {
+
+            try (StringWriter writer = new StringWriter()) {
+                e.printStackTrace(new PrintWriter(writer));
+                Assertions.fail(writer.toString());
+            }
+        }
+    }
+
     void testReferenceField(CC1ServiceBlockingStub stub) throws Exception {
         dev_resteasy_grpc_example___CC5 cc5 = dev_resteasy_grpc_example___CC5.newBuilder().setK(11).build();
         dev_resteasy_grpc_example___CC4 cc4 = dev_resteasy_grpc_example___CC4.newBuilder()
@@ -1179,6 +1284,58 @@ abstract class AbstractGrpcToJakartaRESTTest {
         }
     }
 
+    void testMetadataHeaders(CC1ServiceBlockingStub stub) throws Exception {
+        Metadata metadata = new Metadata();
+        metadata.put(asciiKey("jaxrs-metadata"), "true");
+        metadata.put(asciiKey("jaxrs-h-h1"), "v1.1");
+        metadata.put(asciiKey("jaxrs-h-h1"), "v1.2");
+        metadata.put(asciiKey("jaxrs-h-h2"), "v2");
+        metadata.put(asciiKey("jaxrs-cookie"), "$Version=1;c1=v1;$Path=a/b;$Domain=d1");
+        metadata.put(asciiKey("jaxrs-cookie"), "c2=v2");
+        AtomicReference<Metadata> responseHeaders = new AtomicReference<Metadata>();
+        AtomicReference<Metadata> trailers = new AtomicReference<Metadata>();
+        CC1ServiceBlockingStub metadataStub = stub.withInterceptors(
+                MetadataUtils.newAttachHeadersInterceptor(metadata),
+                MetadataUtils.newCaptureMetadataInterceptor(responseHeaders, trailers));
+        try {
+            GeneralEntityMessage.Builder messageBuilder = GeneralEntityMessage.newBuilder();
+            messageBuilder.setURL("http://localhost:8080/p/headerParams");
+            GeneralReturnMessage response = metadataStub.headerParams(messageBuilder.build());
+            Assertions.assertEquals("xv1.1yv2z", response.getGStringField().getValue());
+
+            messageBuilder.setURL("http://localhost:8080/p/cookieParams");
+            response = metadataStub.cookieParams(messageBuilder.build());
+            Assertions.assertEquals("xc1=v1;d1,a/b,1yc2=v2;null,null,0z", response.getGStringField().getValue());
+
+            response = metadataStub.serverHeaders(GeneralEntityMessage.newBuilder().build());
+            Assertions.assertEquals("headers", response.getGStringField().getValue());
+            Assertions.assertEquals(0, response.getHeadersCount());
+            Assertions.assertEquals("true", responseHeaders.get().get(asciiKey("jaxrs-metadata")));
+            List<String> h1 = new ArrayList<String>();
+            responseHeaders.get().getAll(asciiKey("jaxrs-h-h1")).forEach(h1::add);
+            Assertions.assertEquals(List.of("v1a", "v1b"), h1);
+            Assertions.assertEquals("v2", responseHeaders.get().get(asciiKey("jaxrs-h-h2")));
+
+            response = metadataStub.serverCookies(GeneralEntityMessage.newBuilder().build());
+            Assertions.assertEquals(0, response.getCookiesCount());
+            List<String> cookies = new ArrayList<String>();
+            responseHeaders.get().getAll(asciiKey("jaxrs-set-cookie")).forEach(cookies::add);
+            Assertions.assertEquals(2, cookies.size());
+            Assertions.assertTrue(cookies.get(0).startsWith("n1=v1;"), cookies.get(0));
+            Assertions.assertTrue(cookies.get(1).contains(";Max-Age=17;Secure;HttpOnly"), cookies.get(1));
+        } catch (StatusRuntimeException e) {
+
+            try (StringWriter writer = new StringWriter()) {
+                e.printStackTrace(new PrintWriter(writer));
+                Assertions.fail(writer.toString());
+            }
+        }
+    }
+
+    static Metadata.Key<String> asciiKey(String name) {
+        return Metadata.Key.of(name, Metadata.ASCII_STRING_MARSHALLER);
+    }
+
     void testServletPath(CC1ServiceBlockingStub stub) throws Exception {
         String contextPath;
         {
@@ -1324,6 +1481,17 @@ abstract class AbstractGrpcToJakartaRESTTest {
         }
     }
 
+    void testJaxrsResponseCookieDate(CC1ServiceBlockingStub stub) throws Exception {
+        GeneralEntityMessage gem = GeneralEntityMessage.newBuilder().build();
+        GeneralReturnMessage response = stub.jaxrsResponseCookieDate(gem);
+        Assertions.assertEquals(1, response.getCookiesCount());
+        gNewCookie cookie = response.getCookies(0);
+        Assertions.assertEquals("n3", cookie.getName());
+        Assertions.assertEquals("v3", cookie.getValue());
+        Assertions.assertEquals(1792326896L, cookie.getExpiry().getSeconds());
+        Assertions.assertEquals(gNewCookie.SameSite.LAX, cookie.getSameSite());
+    }
+
     void testServletResponse(CC1ServiceBlockingStub stub) throws Exception {
         GeneralEntityMessage.Builder messageBuilder = GeneralEntityMessage.newBuilder();
         GeneralEntityMessage gem = messageBuilder.build();
@@ -0,0 +1,251 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ *
+ * Copyright 2026 Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jboss.resteasy.test.grpc;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.jboss.arquillian.container.test.api.Deployment;
+import org.jboss.arquillian.container.test.api.RunAsClient;
+import org.jboss.arquillian.junit5.ArquillianExtension;
+import org.jboss.shrinkwrap.api.Archive;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.junit.jupiter.api.extension.ExtendWith;
+
+import com.google.common.util.concurrent.ListenableFuture;
+
+import dev.resteasy.grpc.example.CC1ServiceGrpc;
+import dev.resteasy.grpc.example.CC1_proto;
+import dev.resteasy.grpc.example.CC1_proto.GeneralEntityMessage;
+import dev.resteasy.grpc.example.CC1_proto.GeneralReturnMessage;
+import dev.resteasy.grpc.example.CC1_proto.gInteger;
+import dev.resteasy.grpc.example.CC1_proto.gString;
+import io.grpc.ManagedChannel;
+import io.grpc.ManagedChannelBuilder;
+import io.grpc.Status;
+import io.grpc.StatusRuntimeException;
+
+/**
+ * Runs many rpcs against a single generated service instance at once and verifies that
+ * each call sees its own CDI request context.
+ */
+@ExtendWith(ArquillianExtension.class)
+@RunAsClient
+public class GrpcConcurrencyTest extends AbstractGrpcToJakartaRESTTest {
+
+    private static final int CALLS = 500;
+
+    private static final int SUSPENDED_CALLS = 10_000;
+
+    // More than the default SSE queue size
+    private static final int SSE_EVENTS = 2_000;
+
+    // Generous allowance for the server's own pools; a thread per call would be SUSPENDED_CALLS
+    private static final int MAX_EXTRA_THREADS = 200;
+
+    @Deployment
+    public static Archive<?> deploy() throws Exception {
+        return doDeploy(GrpcConcurrencyTest.class.getSimpleName());
+    }
+
+    private static ManagedChannel channel;
+
+    private static CC1ServiceGrpc.CC1ServiceFutureStub futureStub;
+
+    private static CC1ServiceGrpc.CC1ServiceBlockingStub blockingStub;
+
+    @BeforeAll
+    public static void beforeClass() throws Exception {
+        accessServletContexts();
+        channel = ManagedChannelBuilder.forTarget("localhost:9555").usePlaintext().build();
+        futureStub = CC1ServiceGrpc.newFutureStub(channel);
+        blockingStub = CC1ServiceGrpc.newBlockingStub(channel);
+    }
+
+    @AfterAll
+    public static void afterClass() throws InterruptedException {
+        if (channel != null) {
+            channel.shutdownNow().awaitTermination(5, TimeUnit.SECONDS);
+        }
+    }
+
+    @Test
+    public void testRequestScopeIsolation() throws Exception {
+        final List<ListenableFuture<GeneralReturnMessage>> futures = new ArrayList<ListenableFuture<GeneralReturnMessage>>();
+        for (int i = 0; i < CALLS; i++) {
+            gString s = gString.newBuilder().setValue("call-" + i).build();
+            GeneralEntityMessage gem = GeneralEntityMessage.newBuilder()
+                    .setURL("http://localhost:8080/p/request/scope")
+                    .setGStringField(s)
+                    .build();
+            futures.add(futureStub.requestScope(gem));
+        }
+        for (int i = 0; i < CALLS; i++) {
+            GeneralReturnMessage response = futures.get(i).get(30, TimeUnit.SECONDS);
+            Assertions.assertEquals("call-" + i, response.getGStringField().getValue());
+        }
+    }
+
+    @Test
+    public void testMixedConcurrentCalls() throws Exception {
+        final List<ListenableFuture<GeneralReturnMessage>> scoped = new ArrayList<ListenableFuture<GeneralReturnMessage>>();
+        final List<ListenableFuture<GeneralReturnMessage>> ints = new ArrayList<ListenableFuture<GeneralReturnMessage>>();
+        final List<ListenableFuture<GeneralReturnMessage>> stages = new ArrayList<ListenableFuture<GeneralReturnMessage>>();
+        for (int i = 0; i < CALLS; i++) {
+            switch (i % 3) {
+                case 0:
+                    scoped.add(futureStub.requestScope(GeneralEntityMessage.newBuilder()
+                            .setURL("http://localhost:8080/p/request/scope")
+                            .setGStringField(gString.newBuilder().setValue("mixed-" + i))
+                            .build()));
+                    break;
+                case 1:
+                    ints.add(futureStub.getInt(GeneralEntityMessage.newBuilder()
+                            .setGIntegerField(gInteger.newBuilder().setValue(i))
+                            .build()));
+                    break;
+                default:
+                    stages.add(futureStub.getResponseCompletionStage(GeneralEntityMessage.newBuilder()
+                            .setURL("http://localhost:8080/p/async/cs")
+                            .build()));
+            }
+        }
+        for (int i = 0; i < scoped.size(); i++) {
+            Assertions.assertEquals("mixed-" + (i * 3),
+                    scoped.get(i).get(30, TimeUnit.SECONDS).getGStringField().getValue());
+        }
+        for (int i = 0; i < ints.size(); i++) {
+            Assertions.assertEquals(i * 3 + 2, ints.get(i).get(30, TimeUnit.SECONDS).getGIntegerField().getValue());
+        }
+        for (ListenableFuture<GeneralReturnMessage> future : stages) {
+            Assertions.assertEquals("cs", future.get(30, TimeUnit.SECONDS).getGStringField().getValue());
+        }
+    }
+
+    /**
+     * Suspended calls which haven't been resumed must not hold on to server threads. It is only run if the system
+     * property "grpc.benchmark" is "true", since it makes {@value #SUSPENDED_CALLS} calls.
+     */
+    @Test
+    @EnabledIfSystemProperty(named = "grpc.benchmark", matches = "true")
+    public void testSuspendedCallsDoNotPinThreads() throws Exception {
+        final GeneralEntityMessage empty = GeneralEntityMessage.newBuilder().build();
+        final int threadsBefore = blockingStub.threads(empty).getGIntegerField().getValue();
+        final List<ListenableFuture<GeneralReturnMessage>> futures = new ArrayList<ListenableFuture<GeneralReturnMessage>>();
+        try {
+            for (int i = 0; i < SUSPENDED_CALLS; i++) {
+                futures.add(futureStub.suspendHeld(empty));
+            }
+            final long deadline = System.currentTimeMillis() + TimeUnit.SECONDS.toMillis(60);
+            int held = 0;
+            while (held < SUSPENDED_CALLS && System.currentTimeMillis() < deadline) {
+                TimeUnit.MILLISECONDS.sleep(100);
+                held = blockingStub.heldCount(empty).getGIntegerField().getValue();
+            }
+            Assertions.assertEquals(SUSPENDED_CALLS, held);
+            final int threadsHeld = blockingStub.threads(empty).getGIntegerField().getValue();
+            Assertions.assertTrue(threadsHeld - threadsBefore < MAX_EXTRA_THREADS,
+                    "threads before: " + threadsBefore + ", threads with suspended calls: " + threadsHeld);
+        } finally {
+            blockingStub.releaseHeld(empty);
+        }
+        for (ListenableFuture<GeneralReturnMessage> future : futures) {
+            Assertions.assertEquals("released",
+                    future.get(30, TimeUnit.SECONDS).getAnyField().unpack(gString.class).getValue());
+        }
+    }
+
+    /**
+     * A client which reads an SSE stream slowly must still receive every event, in order.
+     */
+    @Test
+    public void testSlowSseClient() throws Exception {
+        final GeneralEntityMessage gem = GeneralEntityMessage.newBuilder()
+                .setURL("http://localhost:8080/p/sse/many?count=" + SSE_EVENTS)
+                .build();
+        final Iterator<CC1_proto.dev_resteasy_grpc_bridge_runtime_sse___SseEvent> events = blockingStub
+                .withDeadlineAfter(60, TimeUnit.SECONDS)
+                .sseMany(gem);
+        int i = 0;
+        while (events.hasNext()) {
+            final CC1_proto.dev_resteasy_grpc_bridge_runtime_sse___SseEvent event = events.next();
+            Assertions.assertEquals("event" + i, event.getData().unpack(gString.class).getValue());
+            if (i < 500) {
+                TimeUnit.MILLISECONDS.sleep(1);
+            }
+            i++;
+        }
+        Assertions.assertEquals(SSE_EVENTS, i);
+    }
+
+    /**
+     * When the deadline of a call expires, the suspended AsyncResponse behind it must not stay suspended.
+     */
+    @Test
+    public void testDeadlineEndsSuspendedCall() throws Exception {
+        final GeneralEntityMessage empty = GeneralEntityMessage.newBuilder().build();
+        blockingStub.releaseHeld(empty);
+        try {
+            StatusRuntimeException e = Assertions.assertThrows(StatusRuntimeException.class,
+                    () -> blockingStub.withDeadlineAfter(500, TimeUnit.MILLISECONDS).suspendHeld(empty));
+            Assertions.assertEquals(Status.Code.DEADLINE_EXCEEDED, e.getStatus().getCode());
+            final long deadline = System.currentTimeMillis() + TimeUnit.SECONDS.toMillis(10);
+            int suspended = 1;
+            while (suspended > 0 && System.currentTimeMillis() < deadline) {
+                TimeUnit.MILLISECONDS.sleep(100);
+                suspended = blockingStub.heldSuspended(empty).getGIntegerField().getValue();
+            }
+            Assertions.assertEquals(0, suspended);
+        } finally {
+            blockingStub.releaseHeld(empty);
+        }
+    }
+
+    /**
+     * Tasks passed to AsyncContext.start() run on the deployment's executor, which counts them.
+     */
+    @Test
+    public void testAsyncExecutorStatistics() throws Exception {
+        final GeneralEntityMessage empty = GeneralEntityMessage.newBuilder().build();
+        final long before = blockingStub.asyncCompleted(empty).getGLongField().getValue();
+        final List<ListenableFuture<GeneralReturnMessage>> futures = new ArrayList<ListenableFuture<GeneralReturnMessage>>();
+        for (int i = 0; i < CALLS; i++) {
+            futures.add(futureStub.asyncStart(empty));
+        }
+        for (ListenableFuture<GeneralReturnMessage> future : futures) {
+            Assertions.assertEquals("started",
+                    future.get(30, TimeUnit.SECONDS).getAnyField().unpack(gString.class).getValue());
+        }
+        // A task is counted when it returns, which may be after the response it resumed has arrived
+        final long deadline = System.currentTimeMillis() + TimeUnit.SECONDS.toMillis(10);
+        long after = blockingStub.asyncCompleted(empty).getGLongField().getValue();
+        while (after - before < CALLS && System.currentTimeMillis() < deadline) {
+            TimeUnit.MILLISECONDS.sleep(100);
+            after = blockingStub.asyncCompleted(empty).getGLongField().getValue();
+        }
+        Assertions.assertTrue(after - before >= CALLS, "completed before: " + before + ", after: " + after);
+    }
+}
@@ -0,0 +1,102 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ *
+ * Copyright 2026 Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jboss.resteasy.test.grpc;
+
+import java.util.concurrent.TimeUnit;
+
+import jakarta.ws.rs.client.Client;
+import jakarta.ws.rs.client.ClientBuilder;
+
+import org.jboss.arquillian.container.test.api.Deployment;
+import org.jboss.arquillian.junit5.ArquillianExtension;
+import org.jboss.shrinkwrap.api.Archive;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+
+import dev.resteasy.grpc.bridge.runtime.direct.DirectDispatcher;
+import dev.resteasy.grpc.example.CC1ServiceGrpc;
+import dev.resteasy.grpc.example.CC1ServiceGrpc.CC1ServiceBlockingStub;
+import dev.resteasy.grpc.example.CC1_Server;
+import dev.resteasy.grpc.example.CC1_proto.GeneralEntityMessage;
+import io.grpc.ManagedChannel;
+
+/**
+ * Runs rpcs marked "direct" with {@link DirectDispatcher} turned on, where a filter and a helper class reach
+ * the {@link jakarta.servlet.http.HttpServletRequest} and the {@link jakarta.ws.rs.core.SecurityContext} of the
+ * call. It runs inside the container, since the direct path is turned on there.
+ */
+@ExtendWith(ArquillianExtension.class)
+public class GrpcDirectDispatchTest extends AbstractGrpcToJakartaRESTTest {
+
+    private static final String SERVER = "http://localhost:8080/grpc-test/grpcToJakartaRest/grpcserver/";
+
+    @Deployment
+    public static Archive<?> deploy() throws Exception {
+        return doDeploy(GrpcDirectDispatchTest.class.getSimpleName());
+    }
+
+    @Test
+    public void testDirectDispatch() throws Exception {
+        get("context");
+        get("start");
+        final ManagedChannel channel = awaitInProcessChannel();
+        DirectDispatcher.setEnabled(true);
+        try {
+            final CC1ServiceBlockingStub stub = CC1ServiceGrpc.newBlockingStub(channel);
+            GeneralEntityMessage gem = GeneralEntityMessage.newBuilder()
+                    .setURL("http://localhost:8080/direct/filter")
+                    .build();
+            Assertions.assertEquals("GET secure=false direct=true",
+                    stub.directFilter(gem).getGStringField().getValue());
+            gem = GeneralEntityMessage.newBuilder()
+                    .setURL("http://localhost:8080/direct/helper")
+                    .build();
+            Assertions.assertEquals("GET direct=true", stub.directHelper(gem).getGStringField().getValue());
+
+            // The same call through the servlet emulation layer
+            DirectDispatcher.setEnabled(false);
+            Assertions.assertEquals("GET direct=false", stub.directHelper(gem).getGStringField().getValue());
+        } finally {
+            DirectDispatcher.setEnabled(Boolean.getBoolean(DirectDispatcher.DIRECT_DISPATCH));
+            channel.shutdownNow().awaitTermination(5, TimeUnit.SECONDS);
+        }
+    }
+
+    private static ManagedChannel awaitInProcessChannel() throws InterruptedException {
+        final long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(30);
+        while (true) {
+            try {
+                return CC1_Server.newInProcessChannel();
+            } catch (IllegalStateException e) {
+                if (System.nanoTime() > deadline) {
+                    throw e;
+                }
+                Thread.sleep(100);
+            }
+        }
+    }
+
+    private static void get(final String path) {
+        try (Client client = ClientBuilder.newClient()) {
+            client.target(SERVER + path).request().get().close();
+        }
+    }
+}
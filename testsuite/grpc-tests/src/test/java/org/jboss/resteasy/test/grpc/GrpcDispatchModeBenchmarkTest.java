@@ -0,0 +1,151 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ *
+ * Copyright 2026 Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jboss.resteasy.test.grpc;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import jakarta.ws.rs.client.Client;
+import jakarta.ws.rs.client.ClientBuilder;
+
+import org.jboss.arquillian.container.test.api.Deployment;
+import org.jboss.arquillian.junit5.ArquillianExtension;
+import org.jboss.logging.Logger;
+import org.jboss.shrinkwrap.api.Archive;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.junit.jupiter.api.extension.ExtendWith;
+
+import dev.resteasy.grpc.bridge.runtime.dispatch.DispatchMode;
+import dev.resteasy.grpc.bridge.runtime.dispatch.RpcDispatcher;
+import dev.resteasy.grpc.example.CC1ServiceGrpc;
+import dev.resteasy.grpc.example.CC1ServiceGrpc.CC1ServiceBlockingStub;
+import dev.resteasy.grpc.example.CC1_Server;
+import dev.resteasy.grpc.example.CC1_proto.GeneralEntityMessage;
+import dev.resteasy.grpc.example.CC1_proto.gInteger;
+import io.grpc.ManagedChannel;
+
+/**
+ * Compares the {@link DispatchMode}s of {@link RpcDispatcher} for calls to CC1. For each mode, the test sets
+ * {@code dev.resteasy.grpc.dispatch}, restarts CC1_Server so that it reads the setting, and measures the
+ * latency of sequential calls and the throughput of concurrent calls over the in-process channel. It runs
+ * inside the container, so its results are written to the server log. It is only run if the system property
+ * "grpc.benchmark" is "true" in both JVMs:
+ *
+ * <pre>
+ * mvn verify -Dgrpc.benchmark=true -DserverJvmArgs=-Dgrpc.benchmark=true -Dtest=GrpcDispatchModeBenchmarkTest
+ * </pre>
+ */
+@ExtendWith(ArquillianExtension.class)
+@EnabledIfSystemProperty(named = "grpc.benchmark", matches = "true")
+public class GrpcDispatchModeBenchmarkTest extends AbstractGrpcToJakartaRESTTest {
+
+    private static final Logger LOG = Logger.getLogger(GrpcDispatchModeBenchmarkTest.class);
+    private static final String SERVER = "http://localhost:8080/grpc-test/grpcToJakartaRest/grpcserver/";
+    private static final int WARMUP = Integer.getInteger("grpc.benchmark.warmup", 5_000);
+    private static final int ITERATIONS = Integer.getInteger("grpc.benchmark.iterations", 20_000);
+    private static final int THREADS = Integer.getInteger("grpc.benchmark.threads", 32);
+
+    @Deployment
+    public static Archive<?> deploy() throws Exception {
+        return doDeploy(GrpcDispatchModeBenchmarkTest.class.getSimpleName());
+    }
+
+    @AfterAll
+    public static void afterClass() {
+        System.clearProperty(RpcDispatcher.PROPERTY_PREFIX);
+        get("stop");
+    }
+
+    @Test
+    public void benchmarkDispatchModes() throws Exception {
+        final GeneralEntityMessage gem = GeneralEntityMessage.newBuilder()
+                .setGIntegerField(gInteger.newBuilder().setValue(3))
+                .build();
+        get("context");
+        for (DispatchMode mode : DispatchMode.values()) {
+            System.setProperty(RpcDispatcher.PROPERTY_PREFIX, mode.name());
+            get("stop");
+            get("start");
+            final ManagedChannel channel = awaitInProcessChannel();
+            try {
+                final CC1ServiceBlockingStub stub = CC1ServiceGrpc.newBlockingStub(channel);
+                Assertions.assertEquals(4, stub.getInt(gem).getGIntegerField().getValue());
+                for (int i = 0; i < WARMUP; i++) {
+                    stub.getInt(gem);
+                }
+                long start = System.nanoTime();
+                for (int i = 0; i < ITERATIONS; i++) {
+                    stub.getInt(gem);
+                }
+                final long latency = System.nanoTime() - start;
+
+                final ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+                try {
+                    final List<Future<?>> futures = new ArrayList<Future<?>>();
+                    start = System.nanoTime();
+                    for (int t = 0; t < THREADS; t++) {
+                        futures.add(executor.submit(() -> {
+                            for (int i = 0; i < ITERATIONS / THREADS; i++) {
+                                stub.getInt(gem);
+                            }
+                        }));
+                    }
+                    for (Future<?> future : futures) {
+                        future.get();
+                    }
+                } finally {
+                    executor.shutdown();
+                }
+                final long throughput = System.nanoTime() - start;
+                LOG.infof("/p/int %s: %.1f us/call sequential, %.0f calls/s with %d threads", mode,
+                        latency / 1000.0 / ITERATIONS, (ITERATIONS / THREADS * THREADS) * 1e9 / throughput, THREADS);
+            } finally {
+                channel.shutdownNow().awaitTermination(5, TimeUnit.SECONDS);
+            }
+        }
+    }
+
+    private static ManagedChannel awaitInProcessChannel() throws InterruptedException {
+        final long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(30);
+        while (true) {
+            try {
+                return CC1_Server.newInProcessChannel();
+            } catch (IllegalStateException e) {
+                if (System.nanoTime() > deadline) {
+                    throw e;
+                }
+                Thread.sleep(100);
+            }
+        }
+    }
+
+    private static void get(final String path) {
+        try (Client client = ClientBuilder.newClient()) {
+            client.target(SERVER + path).request().get().close();
+        }
+    }
+}
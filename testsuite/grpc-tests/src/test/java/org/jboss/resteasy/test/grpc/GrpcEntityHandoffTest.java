@@ -0,0 +1,193 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ *
+ * Copyright 2026 Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jboss.resteasy.test.grpc;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.annotation.Annotation;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.core.MultivaluedHashMap;
+
+import org.jboss.logging.Logger;
+import org.jboss.resteasy.core.ResteasyContext;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+
+import com.google.protobuf.ByteString;
+
+import dev.resteasy.grpc.bridge.runtime.servlet.AsyncContextImpl;
+import dev.resteasy.grpc.bridge.runtime.servlet.AsyncMockServletOutputStream;
+import dev.resteasy.grpc.bridge.runtime.servlet.HttpServletResponseImpl;
+import dev.resteasy.grpc.bridge.runtime.servlet.MockServletOutputStream;
+import dev.resteasy.grpc.example.CC1MessageBodyReaderWriter;
+import dev.resteasy.grpc.example.CC1_proto;
+import dev.resteasy.grpc.example.CC1_proto.dev_resteasy_grpc_example___CC7;
+import dev.resteasy.grpc.example.CC7;
+
+/**
+ * Checks when the generated MessageBodyReaderWriter hands the translated entity to
+ * {@link HttpServletResponseImpl} instead of writing it, and that an entity stream wrapped by a
+ * WriterInterceptor, here GZIP encoding, gets the whole entity on both the synchronous and the asynchronous
+ * path.
+ */
+public class GrpcEntityHandoffTest {
+
+    private static final Logger LOG = Logger.getLogger(GrpcEntityHandoffTest.class);
+    private static final Annotation[] NO_ANNOTATIONS = new Annotation[0];
+    private static final MediaType MEDIA_TYPE = MediaType.valueOf("*/*;grpc-jaxrs=true");
+    private static final dev_resteasy_grpc_example___CC7 EXPECTED = dev_resteasy_grpc_example___CC7.newBuilder()
+            .setM(11)
+            .setS("cc7")
+            .build();
+
+    private final CC1MessageBodyReaderWriter readerWriter = new CC1MessageBodyReaderWriter();
+
+    @BeforeEach
+    public void before() {
+        ResteasyContext.clearContextData();
+    }
+
+    @AfterEach
+    public void after() {
+        ResteasyContext.clearContextData();
+    }
+
+    @Test
+    public void testHandOff() throws Exception {
+        final HttpServletResponseImpl response = newResponse("");
+        final MockServletOutputStream msos = (MockServletOutputStream) response.getOutputStream();
+        write(msos);
+        Assertions.assertEquals(0, msos.size());
+        Assertions.assertEquals(EXPECTED, response.getEntityMessage());
+        Assertions.assertEquals(EXPECTED,
+                response.getEntity(dev_resteasy_grpc_example___CC7.class, dev_resteasy_grpc_example___CC7.parser()));
+    }
+
+    @Test
+    public void testGzipInterceptor() throws Exception {
+        final HttpServletResponseImpl response = newResponse("");
+        final MockServletOutputStream msos = (MockServletOutputStream) response.getOutputStream();
+        final GZIPOutputStream gzip = new GZIPOutputStream(msos);
+        write(gzip);
+        gzip.finish();
+        Assertions.assertNull(response.getEntityMessage());
+        Assertions.assertEquals(EXPECTED, dev_resteasy_grpc_example___CC7.parseFrom(gunzip(msos.toByteString())));
+    }
+
+    @Test
+    public void testAsyncRelease() throws Exception {
+        final HttpServletResponseImpl response = newResponse("suspended");
+        final AsyncMockServletOutputStream amsos = (AsyncMockServletOutputStream) response.getOutputStream();
+        final AtomicReference<ByteString> released = new AtomicReference<ByteString>();
+        amsos.whenReleased(released::set);
+        write(amsos);
+        Assertions.assertNotNull(released.get());
+        Assertions.assertEquals(EXPECTED, dev_resteasy_grpc_example___CC7.parseFrom(released.get()));
+    }
+
+    @Test
+    public void testAsyncGzipInterceptor() throws Exception {
+        final HttpServletResponseImpl response = newResponse("suspended");
+        final AsyncMockServletOutputStream amsos = (AsyncMockServletOutputStream) response.getOutputStream();
+        final AtomicReference<ByteString> released = new AtomicReference<ByteString>();
+        amsos.whenReleased(released::set);
+        final GZIPOutputStream gzip = new GZIPOutputStream(amsos);
+        write(gzip);
+        // GZIPEncodingInterceptor writes the trailer after the writer returns
+        gzip.finish();
+        Assertions.assertNull(released.get());
+        new AsyncContextImpl(null, response).complete();
+        Assertions.assertNotNull(released.get());
+        Assertions.assertEquals(EXPECTED, dev_resteasy_grpc_example___CC7.parseFrom(gunzip(released.get())));
+    }
+
+    /**
+     * Compares the synchronous path with and without the handoff. It is only run if the system property
+     * "grpc.benchmark" is "true".
+     */
+    @Test
+    @EnabledIfSystemProperty(named = "grpc.benchmark", matches = "true")
+    public void benchmarkHandOff() throws Exception {
+        final int warmup = Integer.getInteger("grpc.benchmark.warmup.calls", 100_000);
+        final int calls = Integer.getInteger("grpc.benchmark.calls", 1_000_000);
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        for (int i = 0; i < warmup; i++) {
+            handOff();
+            serialize(out);
+        }
+        long start = System.nanoTime();
+        for (int i = 0; i < calls; i++) {
+            handOff();
+        }
+        final long handOff = System.nanoTime() - start;
+        start = System.nanoTime();
+        for (int i = 0; i < calls; i++) {
+            serialize(out);
+        }
+        final long serialize = System.nanoTime() - start;
+        LOG.infof("CC7: handoff %.1f ns/call, write and parse %.1f ns/call", (double) handOff / calls,
+                (double) serialize / calls);
+    }
+
+    private void handOff() throws Exception {
+        final HttpServletResponseImpl response = newResponse("");
+        write(response.getOutputStream());
+        response.getEntity(dev_resteasy_grpc_example___CC7.class, dev_resteasy_grpc_example___CC7.parser());
+    }
+
+    private void serialize(final ByteArrayOutputStream out) throws Exception {
+        final HttpServletResponseImpl response = newResponse("");
+        out.reset();
+        // A stream other than the response's own is never handed off
+        write(out);
+        dev_resteasy_grpc_example___CC7.parseFrom(out.toByteArray());
+        response.getEntityMessage();
+    }
+
+    private static HttpServletResponseImpl newResponse(final String syncType) {
+        final HttpServletResponseImpl response = new HttpServletResponseImpl("dev_resteasy_grpc_example___CC7",
+                syncType, null, CC1_proto.gString.newBuilder(),
+                CC1_proto.gString.getDescriptor().getFields().iterator().next());
+        ResteasyContext.pushContext(HttpServletResponse.class, response);
+        return response;
+    }
+
+    private void write(final OutputStream entityStream) throws IOException {
+        final CC7 cc7 = new CC7("cc7", 11);
+        Assertions.assertTrue(readerWriter.isWriteable(CC7.class, CC7.class, NO_ANNOTATIONS, MEDIA_TYPE));
+        readerWriter.writeTo(cc7, CC7.class, CC7.class, NO_ANNOTATIONS, MEDIA_TYPE,
+                new MultivaluedHashMap<String, Object>(), entityStream);
+    }
+
+    private static byte[] gunzip(final ByteString bytes) throws IOException {
+        try (GZIPInputStream in = new GZIPInputStream(bytes.newInput())) {
+            return in.readAllBytes();
+        }
+    }
+}
@@ -0,0 +1,172 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ *
+ * Copyright 2026 Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jboss.resteasy.test.grpc;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+import jakarta.ws.rs.client.Client;
+import jakarta.ws.rs.client.ClientBuilder;
+
+import org.jboss.arquillian.container.test.api.Deployment;
+import org.jboss.arquillian.junit5.ArquillianExtension;
+import org.jboss.logging.Logger;
+import org.jboss.shrinkwrap.api.Archive;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.junit.jupiter.api.extension.ExtendWith;
+
+import dev.resteasy.grpc.bridge.runtime.server.GrpcServerConfig;
+import dev.resteasy.grpc.example.CC1ServiceGrpc;
+import dev.resteasy.grpc.example.CC1ServiceGrpc.CC1ServiceBlockingStub;
+import dev.resteasy.grpc.example.CC1_Server;
+import dev.resteasy.grpc.example.CC1_proto.GeneralEntityMessage;
+import dev.resteasy.grpc.example.CC1_proto.gInteger;
+import dev.resteasy.grpc.example.CC1_proto.gString;
+import io.grpc.ManagedChannel;
+import io.grpc.ManagedChannelBuilder;
+
+/**
+ * Compares calls to CC1 over loopback TCP, through the port of CC1_Server, with calls over the in-process
+ * channel returned by {@link CC1_Server#newInProcessChannel()}. Since the in-process transport only reaches
+ * servers in the same JVM, this test runs inside the container, and its results are written to the server
+ * log. It is only run if the system property "grpc.benchmark" is "true" in both JVMs:
+ *
+ * <pre>
+ * mvn verify -Dgrpc.benchmark=true -DserverJvmArgs=-Dgrpc.benchmark=true -Dtest=GrpcInProcessBenchmarkTest
+ * </pre>
+ */
+@ExtendWith(ArquillianExtension.class)
+@EnabledIfSystemProperty(named = "grpc.benchmark", matches = "true")
+public class GrpcInProcessBenchmarkTest extends AbstractGrpcToJakartaRESTTest {
+
+    private static final Logger LOG = Logger.getLogger(GrpcInProcessBenchmarkTest.class);
+    private static final String SERVER = "http://localhost:8080/grpc-test/grpcToJakartaRest/grpcserver/";
+    private static final int WARMUP = Integer.getInteger("grpc.benchmark.warmup", 5_000);
+    private static final int ITERATIONS = Integer.getInteger("grpc.benchmark.iterations", 20_000);
+    private static final int THREADS = Integer.getInteger("grpc.benchmark.threads", 8);
+
+    @Deployment
+    public static Archive<?> deploy() throws Exception {
+        return doDeploy(GrpcInProcessBenchmarkTest.class.getSimpleName());
+    }
+
+    private static ManagedChannel tcpChannel;
+
+    private static ManagedChannel inProcessChannel;
+
+    @BeforeAll
+    public static void beforeClass() throws Exception {
+        get("context");
+        get("start");
+        final long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(30);
+        while (inProcessChannel == null) {
+            try {
+                inProcessChannel = CC1_Server.newInProcessChannel();
+            } catch (IllegalStateException e) {
+                if (System.nanoTime() > deadline) {
+                    throw e;
+                }
+                Thread.sleep(100);
+            }
+        }
+        final int port = GrpcServerConfig.load(CC1_Server.getServletContext()).getPort();
+        tcpChannel = ManagedChannelBuilder.forAddress("localhost", port).usePlaintext().build();
+    }
+
+    @AfterAll
+    public static void afterClass() throws InterruptedException {
+        if (inProcessChannel != null) {
+            inProcessChannel.shutdownNow().awaitTermination(5, TimeUnit.SECONDS);
+        }
+        if (tcpChannel != null) {
+            tcpChannel.shutdownNow().awaitTermination(5, TimeUnit.SECONDS);
+        }
+        get("stop");
+    }
+
+    @Test
+    public void benchmarkInt() throws Exception {
+        final GeneralEntityMessage gem = GeneralEntityMessage.newBuilder()
+                .setGIntegerField(gInteger.newBuilder().setValue(3))
+                .build();
+        compare("/p/int", stub -> stub.getInt(gem).getGIntegerField().getValue(), 4);
+    }
+
+    @Test
+    public void benchmarkString() throws Exception {
+        final GeneralEntityMessage gem = GeneralEntityMessage.newBuilder()
+                .setGStringField(gString.newBuilder().setValue("abc"))
+                .build();
+        compare("/p/string", stub -> stub.getString(gem).getGStringField().getValue(), "ABC");
+    }
+
+    private static void compare(final String path, final Function<CC1ServiceBlockingStub, Object> call,
+            final Object expected) throws Exception {
+        for (ManagedChannel channel : List.of(tcpChannel, inProcessChannel)) {
+            final String transport = channel == tcpChannel ? "tcp" : "in-process";
+            final CC1ServiceBlockingStub stub = CC1ServiceGrpc.newBlockingStub(channel);
+            Assertions.assertEquals(expected, call.apply(stub));
+            for (int i = 0; i < WARMUP; i++) {
+                call.apply(stub);
+            }
+            long start = System.nanoTime();
+            for (int i = 0; i < ITERATIONS; i++) {
+                call.apply(stub);
+            }
+            final long latency = System.nanoTime() - start;
+
+            final ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+            try {
+                final List<Future<?>> futures = new ArrayList<Future<?>>();
+                start = System.nanoTime();
+                for (int t = 0; t < THREADS; t++) {
+                    futures.add(executor.submit(() -> {
+                        for (int i = 0; i < ITERATIONS / THREADS; i++) {
+                            call.apply(stub);
+                        }
+                    }));
+                }
+                for (Future<?> future : futures) {
+                    future.get();
+                }
+            } finally {
+                executor.shutdown();
+            }
+            final long throughput = System.nanoTime() - start;
+            LOG.infof("%s %s: %.1f us/call sequential, %.0f calls/s with %d threads", path, transport,
+                    latency / 1000.0 / ITERATIONS, (ITERATIONS / THREADS * THREADS) * 1e9 / throughput, THREADS);
+        }
+    }
+
+    private static void get(final String path) {
+        try (Client client = ClientBuilder.newClient()) {
+            client.target(SERVER + path).request().get().close();
+        }
+    }
+}
@@ -0,0 +1,135 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ *
+ * Copyright 2026 Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jboss.resteasy.test.grpc;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+import org.jboss.arquillian.container.test.api.Deployment;
+import org.jboss.arquillian.container.test.api.RunAsClient;
+import org.jboss.arquillian.junit5.ArquillianExtension;
+import org.jboss.logging.Logger;
+import org.jboss.shrinkwrap.api.Archive;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.junit.jupiter.api.extension.ExtendWith;
+
+import dev.resteasy.grpc.example.CC1ServiceGrpc;
+import dev.resteasy.grpc.example.CC1ServiceGrpc.CC1ServiceBlockingStub;
+import dev.resteasy.grpc.example.CC1_proto.GeneralEntityMessage;
+import dev.resteasy.grpc.example.CC1_proto.gBoolean;
+import dev.resteasy.grpc.example.CC1_proto.gInteger;
+import dev.resteasy.grpc.example.CC1_proto.gLong;
+import dev.resteasy.grpc.example.CC1_proto.gString;
+import io.grpc.ManagedChannel;
+import io.grpc.ManagedChannelBuilder;
+
+/**
+ * Measures the average time of a call to the primitive endpoints of CC1. It is only run if the system
+ * property "grpc.benchmark" is "true". To see the effect of cached resource invokers, which are only used on the
+ * direct path, run it twice:
+ *
+ * <pre>
+ * mvn verify -Dgrpc.benchmark=true -Dtest=GrpcInvokerBenchmarkTest \
+ *     -DserverJvmArgs=-Ddev.resteasy.grpc.direct=true
+ * mvn verify -Dgrpc.benchmark=true -Dtest=GrpcInvokerBenchmarkTest \
+ *     "-DserverJvmArgs=-Ddev.resteasy.grpc.direct=true -Ddev.resteasy.grpc.direct.cached-invokers=true"
+ * </pre>
+ */
+@ExtendWith(ArquillianExtension.class)
+@RunAsClient
+@EnabledIfSystemProperty(named = "grpc.benchmark", matches = "true")
+public class GrpcInvokerBenchmarkTest extends AbstractGrpcToJakartaRESTTest {
+
+    private static final Logger LOG = Logger.getLogger(GrpcInvokerBenchmarkTest.class);
+    private static final int WARMUP = Integer.getInteger("grpc.benchmark.warmup", 5_000);
+    private static final int ITERATIONS = Integer.getInteger("grpc.benchmark.iterations", 20_000);
+
+    @Deployment
+    public static Archive<?> deploy() throws Exception {
+        return doDeploy(GrpcInvokerBenchmarkTest.class.getSimpleName());
+    }
+
+    private static ManagedChannel channel;
+
+    private static CC1ServiceBlockingStub blockingStub;
+
+    @BeforeAll
+    public static void beforeClass() throws Exception {
+        accessServletContexts();
+        channel = ManagedChannelBuilder.forTarget("localhost:9555").usePlaintext().build();
+        blockingStub = CC1ServiceGrpc.newBlockingStub(channel);
+    }
+
+    @AfterAll
+    public static void afterClass() throws InterruptedException {
+        if (channel != null) {
+            channel.shutdownNow().awaitTermination(5, TimeUnit.SECONDS);
+        }
+    }
+
+    @Test
+    public void benchmarkInt() {
+        final GeneralEntityMessage gem = GeneralEntityMessage.newBuilder()
+                .setGIntegerField(gInteger.newBuilder().setValue(3))
+                .build();
+        run("/p/int", gem, m -> Assertions.assertEquals(4, blockingStub.getInt(m).getGIntegerField().getValue()));
+    }
+
+    @Test
+    public void benchmarkLong() {
+        final GeneralEntityMessage gem = GeneralEntityMessage.newBuilder()
+                .setGLongField(gLong.newBuilder().setValue(3L))
+                .build();
+        run("/p/long", gem, m -> Assertions.assertEquals(4L, blockingStub.getLong(m).getGLongField().getValue()));
+    }
+
+    @Test
+    public void benchmarkBoolean() {
+        final GeneralEntityMessage gem = GeneralEntityMessage.newBuilder()
+                .setGBooleanField(gBoolean.newBuilder().setValue(false))
+                .build();
+        run("/p/boolean", gem, m -> Assertions.assertTrue(blockingStub.getBoolean(m).getGBooleanField().getValue()));
+    }
+
+    @Test
+    public void benchmarkString() {
+        final GeneralEntityMessage gem = GeneralEntityMessage.newBuilder()
+                .setGStringField(gString.newBuilder().setValue("abc"))
+                .build();
+        run("/p/string", gem,
+                m -> Assertions.assertEquals("ABC", blockingStub.getString(m).getGStringField().getValue()));
+    }
+
+    private static void run(final String path, final GeneralEntityMessage gem, final Consumer<GeneralEntityMessage> call) {
+        for (int i = 0; i < WARMUP; i++) {
+            call.accept(gem);
+        }
+        final long start = System.nanoTime();
+        for (int i = 0; i < ITERATIONS; i++) {
+            call.accept(gem);
+        }
+        final long elapsed = System.nanoTime() - start;
+        LOG.infof("%s: %d calls, %.1f us/call", path, ITERATIONS, elapsed / 1000.0 / ITERATIONS);
+    }
+}
@@ -0,0 +1,154 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ *
+ * Copyright 2026 Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jboss.resteasy.test.grpc;
+
+import java.util.concurrent.TimeUnit;
+
+import org.jboss.arquillian.container.test.api.Deployment;
+import org.jboss.arquillian.container.test.api.RunAsClient;
+import org.jboss.arquillian.junit5.ArquillianExtension;
+import org.jboss.logging.Logger;
+import org.jboss.shrinkwrap.api.Archive;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.junit.jupiter.api.extension.ExtendWith;
+
+import dev.resteasy.grpc.example.CC1ServiceGrpc;
+import dev.resteasy.grpc.example.CC1ServiceGrpc.CC1ServiceBlockingStub;
+import dev.resteasy.grpc.example.CC1_proto.GeneralEntityMessage;
+import dev.resteasy.grpc.example.CC1_proto.gHeader;
+import io.grpc.ManagedChannel;
+import io.grpc.ManagedChannelBuilder;
+import io.grpc.Metadata;
+import io.grpc.netty.shaded.io.netty.buffer.ByteBuf;
+import io.grpc.netty.shaded.io.netty.buffer.Unpooled;
+import io.grpc.netty.shaded.io.netty.handler.codec.http2.DefaultHttp2Headers;
+import io.grpc.netty.shaded.io.netty.handler.codec.http2.DefaultHttp2HeadersEncoder;
+import io.grpc.netty.shaded.io.netty.handler.codec.http2.Http2Headers;
+import io.grpc.stub.MetadataUtils;
+
+/**
+ * Compares the bytes needed to send 30 request headers on every call of a channel, carried in the
+ * GeneralEntityMessage and carried as gRPC metadata. It is only run if the system property
+ * "grpc.benchmark" is "true":
+ *
+ * <pre>
+ * mvn verify -Dgrpc.benchmark=true -Dtest=GrpcMetadataHeadersBenchmarkTest
+ * </pre>
+ *
+ * gRPC doesn't compress messages by default, so the message encoding costs the serialized size of the
+ * headers on every call. The metadata encoding is measured with the HPACK encoder used by the Netty
+ * transport, keeping its dynamic table across calls as a connection does. Both figures leave out the
+ * HTTP/2 frame headers and the headers gRPC itself sends, which are the same either way.
+ */
+@ExtendWith(ArquillianExtension.class)
+@RunAsClient
+@EnabledIfSystemProperty(named = "grpc.benchmark", matches = "true")
+public class GrpcMetadataHeadersBenchmarkTest extends AbstractGrpcToJakartaRESTTest {
+
+    private static final Logger LOG = Logger.getLogger(GrpcMetadataHeadersBenchmarkTest.class);
+    private static final int HEADERS = 30;
+    private static final int CALLS = Integer.getInteger("grpc.benchmark.calls", 10_000);
+
+    @Deployment
+    public static Archive<?> deploy() throws Exception {
+        return doDeploy(GrpcMetadataHeadersBenchmarkTest.class.getSimpleName());
+    }
+
+    private static ManagedChannel channel;
+
+    private static CC1ServiceBlockingStub blockingStub;
+
+    @BeforeAll
+    public static void beforeClass() throws Exception {
+        accessServletContexts();
+        channel = ManagedChannelBuilder.forTarget("localhost:9555").usePlaintext().build();
+        blockingStub = CC1ServiceGrpc.newBlockingStub(channel);
+    }
+
+    @AfterAll
+    public static void afterClass() throws InterruptedException {
+        if (channel != null) {
+            channel.shutdownNow().awaitTermination(5, TimeUnit.SECONDS);
+        }
+    }
+
+    @Test
+    public void benchmarkHeaderBytes() throws Exception {
+        final GeneralEntityMessage.Builder builder = GeneralEntityMessage.newBuilder()
+                .setURL("http://localhost:8080/p/headerParams");
+        final GeneralEntityMessage withoutHeaders = builder.build();
+        final Metadata metadata = new Metadata();
+        metadata.put(asciiKey("jaxrs-metadata"), "true");
+        final Http2Headers http2Headers = new DefaultHttp2Headers();
+        http2Headers.add("jaxrs-metadata", "true");
+        for (int i = 0; i < HEADERS; i++) {
+            final String name = i == 0 ? "h1" : i == 1 ? "h2" : "x-benchmark-header-" + i;
+            final String value = "value-" + i + "-" + "abcdefghijklmnopqrstuvwxyz".substring(0, i % 26);
+            builder.putHeaders(name, gHeader.newBuilder().addValues(value).build());
+            metadata.put(asciiKey("jaxrs-h-" + name), value);
+            http2Headers.add("jaxrs-h-" + name, value);
+        }
+        final GeneralEntityMessage withHeaders = builder.build();
+        final long messageBytes = (long) CALLS * (withHeaders.getSerializedSize() - withoutHeaders.getSerializedSize());
+
+        final DefaultHttp2HeadersEncoder encoder = new DefaultHttp2HeadersEncoder();
+        final ByteBuf buffer = Unpooled.buffer();
+        long metadataBytes = 0;
+        int firstCallBytes = 0;
+        try {
+            for (int i = 0; i < CALLS; i++) {
+                buffer.clear();
+                encoder.encodeHeaders(2 * i + 1, http2Headers, buffer);
+                metadataBytes += buffer.readableBytes();
+                if (i == 0) {
+                    firstCallBytes = buffer.readableBytes();
+                }
+            }
+        } finally {
+            buffer.release();
+        }
+        LOG.infof("%d headers, %d calls: message %d bytes (%d/call), "
+                + "metadata %d bytes (%d first call, %.1f/call after)",
+                HEADERS, CALLS, messageBytes, messageBytes / CALLS, metadataBytes, firstCallBytes,
+                CALLS > 1 ? (double) (metadataBytes - firstCallBytes) / (CALLS - 1) : 0.0);
+        Assertions.assertTrue(metadataBytes < messageBytes);
+
+        // Both encodings reach the resource method alike
+        final CC1ServiceBlockingStub metadataStub = blockingStub
+                .withInterceptors(MetadataUtils.newAttachHeadersInterceptor(metadata));
+        final String expected = "x" + "value-0-" + "y" + "value-1-a" + "z";
+        long start = System.nanoTime();
+        for (int i = 0; i < CALLS; i++) {
+            Assertions.assertEquals(expected, blockingStub.headerParams(withHeaders).getGStringField().getValue());
+        }
+        final long messageElapsed = System.nanoTime() - start;
+        start = System.nanoTime();
+        for (int i = 0; i < CALLS; i++) {
+            Assertions.assertEquals(expected, metadataStub.headerParams(withoutHeaders).getGStringField().getValue());
+        }
+        final long metadataElapsed = System.nanoTime() - start;
+        LOG.infof("%d calls: message %.1f us/call, metadata %.1f us/call", CALLS,
+                messageElapsed / 1000.0 / CALLS, metadataElapsed / 1000.0 / CALLS);
+    }
+}
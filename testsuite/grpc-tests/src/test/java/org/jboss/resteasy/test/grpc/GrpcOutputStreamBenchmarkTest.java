@@ -0,0 +1,149 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ *
+ * Copyright 2026 Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jboss.resteasy.test.grpc;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+import org.jboss.arquillian.container.test.api.Deployment;
+import org.jboss.arquillian.container.test.api.RunAsClient;
+import org.jboss.arquillian.junit5.ArquillianExtension;
+import org.jboss.logging.Logger;
+import org.jboss.shrinkwrap.api.Archive;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.junit.jupiter.api.extension.ExtendWith;
+
+import dev.resteasy.grpc.example.CC1ServiceGrpc;
+import dev.resteasy.grpc.example.CC1ServiceGrpc.CC1ServiceBlockingStub;
+import dev.resteasy.grpc.example.CC1_proto.GeneralEntityMessage;
+import dev.resteasy.grpc.example.CC1_proto.gString;
+import io.grpc.ManagedChannel;
+import io.grpc.ManagedChannelBuilder;
+
+/**
+ * Measures the time of a call, and the number of bytes the server allocates for it, for entities of 1 KB,
+ * 64 KB and 4 MB. It is only run if the system property "grpc.benchmark" is "true":
+ *
+ * <pre>
+ * mvn verify -Dgrpc.benchmark=true -Dtest=GrpcOutputStreamBenchmarkTest
+ * </pre>
+ *
+ * A synchronous entity is normally handed to the generated service without being written to the output
+ * stream. To measure the output stream on the synchronous path as well, add
+ * {@code -DserverJvmArgs=-Ddev.resteasy.grpc.entity.handoff=false}.
+ * <p>
+ * The allocation figures are the growth of the server's TotalThreadAllocatedBytes, so they include
+ * everything else the server is doing at the time.
+ */
+@ExtendWith(ArquillianExtension.class)
+@RunAsClient
+@EnabledIfSystemProperty(named = "grpc.benchmark", matches = "true")
+public class GrpcOutputStreamBenchmarkTest extends AbstractGrpcToJakartaRESTTest {
+
+    private static final Logger LOG = Logger.getLogger(GrpcOutputStreamBenchmarkTest.class);
+    // Number of bytes to be transferred for warm up and for measurement, respectively
+    private static final long WARMUP_BYTES = Long.getLong("grpc.benchmark.warmup.bytes", 64L * 1024 * 1024);
+    private static final long BYTES = Long.getLong("grpc.benchmark.bytes", 256L * 1024 * 1024);
+    private static final int[] SIZES = { 1024, 64 * 1024, 4 * 1024 * 1024 };
+    private static final int MAX_MESSAGE_SIZE = 16 * 1024 * 1024;
+
+    @Deployment
+    public static Archive<?> deploy() throws Exception {
+        return doDeploy(GrpcOutputStreamBenchmarkTest.class.getSimpleName());
+    }
+
+    private static ManagedChannel channel;
+
+    private static CC1ServiceBlockingStub blockingStub;
+
+    @BeforeAll
+    public static void beforeClass() throws Exception {
+        accessServletContexts();
+        channel = ManagedChannelBuilder.forTarget("localhost:9555")
+                .usePlaintext()
+                .maxInboundMessageSize(MAX_MESSAGE_SIZE)
+                .build();
+        blockingStub = CC1ServiceGrpc.newBlockingStub(channel);
+    }
+
+    @AfterAll
+    public static void afterClass() throws InterruptedException {
+        if (channel != null) {
+            channel.shutdownNow().awaitTermination(5, TimeUnit.SECONDS);
+        }
+    }
+
+    @Test
+    public void benchmarkPayload() {
+        for (int size : SIZES) {
+            run("/p/payload", size,
+                    m -> Assertions.assertEquals(size, blockingStub.payload(m).getGStringField().getValue().length()));
+        }
+    }
+
+    @Test
+    public void benchmarkPayloadAsync() {
+        for (int size : SIZES) {
+            run("/p/payload/async", size,
+                    m -> Assertions.assertEquals(size,
+                            blockingStub.payloadAsync(m).getGStringField().getValue().length()));
+        }
+    }
+
+    @Test
+    public void benchmarkPayloadSuspended() {
+        for (int size : SIZES) {
+            run("/p/payload/suspended", size, m -> {
+                try {
+                    Assertions.assertEquals(size,
+                            blockingStub.payloadSuspended(m).getAnyField().unpack(gString.class).getValue().length());
+                } catch (Exception e) {
+                    Assertions.fail(e);
+                }
+            });
+        }
+    }
+
+    private static void run(final String path, final int size, final Consumer<GeneralEntityMessage> call) {
+        final GeneralEntityMessage gem = GeneralEntityMessage.newBuilder()
+                .setURL("http://localhost:8080" + path + "?size=" + size)
+                .build();
+        final GeneralEntityMessage empty = GeneralEntityMessage.newBuilder().build();
+        final long warmup = Math.max(1, WARMUP_BYTES / size);
+        final long iterations = Math.max(1, BYTES / size);
+        for (long i = 0; i < warmup; i++) {
+            call.accept(gem);
+        }
+        final long allocatedBefore = blockingStub.allocatedBytes(empty).getGLongField().getValue();
+        final long start = System.nanoTime();
+        for (long i = 0; i < iterations; i++) {
+            call.accept(gem);
+        }
+        final long elapsed = System.nanoTime() - start;
+        final long allocated = blockingStub.allocatedBytes(empty).getGLongField().getValue() - allocatedBefore;
+        LOG.infof("%s, %d bytes: %d calls, %.1f us/call, %d bytes allocated/call (%.2f x entity), %.1f MB/s",
+                path, size, iterations, elapsed / 1000.0 / iterations, allocated / iterations,
+                (double) allocated / iterations / size, allocated / (elapsed / 1e9) / (1024 * 1024));
+    }
+}
@@ -0,0 +1,140 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ *
+ * Copyright 2026 Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jboss.resteasy.test.grpc;
+
+import java.io.ByteArrayOutputStream;
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Proxy;
+import java.lang.reflect.Type;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.ws.rs.core.GenericType;
+import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.core.MultivaluedHashMap;
+
+import org.jboss.logging.Logger;
+import org.jboss.resteasy.core.ResteasyContext;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+
+import dev.resteasy.grpc.example.CC1MessageBodyReaderWriter;
+import dev.resteasy.grpc.example.CC5;
+import dev.resteasy.grpc.example.CC7;
+
+/**
+ * Measures isWriteable() followed by writeTo() on the generated MessageBodyReaderWriter, in the test JVM,
+ * for lists and maps of example classes. It is only run if the system property "grpc.benchmark" is "true":
+ *
+ * <pre>
+ * mvn verify -Dgrpc.benchmark=true -Dtest=GrpcReaderWriterBenchmarkTest
+ * </pre>
+ *
+ * The first call for a type computes and caches the provider's decisions about it; the figures after warm up
+ * are those of the cached path.
+ */
+@EnabledIfSystemProperty(named = "grpc.benchmark", matches = "true")
+public class GrpcReaderWriterBenchmarkTest {
+
+    private static final Logger LOG = Logger.getLogger(GrpcReaderWriterBenchmarkTest.class);
+    private static final int WARMUP_CALLS = Integer.getInteger("grpc.benchmark.warmup.calls", 100_000);
+    private static final int CALLS = Integer.getInteger("grpc.benchmark.calls", 1_000_000);
+    private static final Annotation[] NO_ANNOTATIONS = new Annotation[0];
+    private static final MediaType MEDIA_TYPE = MediaType.valueOf("*/*;grpc-jaxrs=true");
+
+    private static CC1MessageBodyReaderWriter readerWriter;
+
+    @BeforeAll
+    public static void beforeClass() {
+        readerWriter = new CC1MessageBodyReaderWriter();
+        // writeTo() looks for the servlet response; a plain one makes it write to the entity stream
+        ResteasyContext.pushContext(HttpServletResponse.class, (HttpServletResponse) Proxy.newProxyInstance(
+                GrpcReaderWriterBenchmarkTest.class.getClassLoader(), new Class<?>[] { HttpServletResponse.class },
+                (proxy, method, args) -> null));
+    }
+
+    @AfterAll
+    public static void afterClass() {
+        ResteasyContext.clearContextData();
+    }
+
+    @Test
+    public void benchmarkList() throws Exception {
+        final List<CC7> list = new ArrayList<CC7>();
+        for (int i = 0; i < 10; i++) {
+            list.add(new CC7("element-" + i, i));
+        }
+        run("List<CC7>", list, new GenericType<List<CC7>>() {
+        }.getType());
+    }
+
+    @Test
+    public void benchmarkMap() throws Exception {
+        final Map<String, CC5> map = new HashMap<String, CC5>();
+        for (int i = 0; i < 10; i++) {
+            map.put("key-" + i, new CC5(i));
+        }
+        run("Map<String, CC5>", map, new GenericType<Map<String, CC5>>() {
+        }.getType());
+    }
+
+    private static void run(final String name, final Object entity, final Type genericType) throws Exception {
+        final Class<?> type = entity.getClass();
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        final MultivaluedHashMap<String, Object> headers = new MultivaluedHashMap<String, Object>();
+
+        long start = System.nanoTime();
+        Assertions.assertTrue(readerWriter.isWriteable(type, genericType, NO_ANNOTATIONS, MEDIA_TYPE));
+        readerWriter.writeTo(entity, type, genericType, NO_ANNOTATIONS, MEDIA_TYPE, headers, out);
+        final long firstCall = System.nanoTime() - start;
+        Assertions.assertTrue(out.size() > 0);
+
+        for (int i = 0; i < WARMUP_CALLS; i++) {
+            call(entity, type, genericType, headers, out);
+        }
+        start = System.nanoTime();
+        for (int i = 0; i < CALLS; i++) {
+            readerWriter.isWriteable(type, genericType, NO_ANNOTATIONS, MEDIA_TYPE);
+        }
+        final long isWriteable = System.nanoTime() - start;
+        start = System.nanoTime();
+        for (int i = 0; i < CALLS; i++) {
+            call(entity, type, genericType, headers, out);
+        }
+        final long both = System.nanoTime() - start;
+        LOG.infof("%s: first call %.1f us, isWriteable %.1f ns/call, isWriteable + writeTo %.1f ns/call", name,
+                firstCall / 1000.0, (double) isWriteable / CALLS, (double) both / CALLS);
+    }
+
+    private static void call(final Object entity, final Class<?> type, final Type genericType,
+            final MultivaluedHashMap<String, Object> headers, final ByteArrayOutputStream out) throws Exception {
+        out.reset();
+        if (!readerWriter.isWriteable(type, genericType, NO_ANNOTATIONS, MEDIA_TYPE)) {
+            Assertions.fail();
+        }
+        readerWriter.writeTo(entity, type, genericType, NO_ANNOTATIONS, MEDIA_TYPE, headers, out);
+    }
+}
@@ -0,0 +1,150 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ *
+ * Copyright 2026 Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jboss.resteasy.test.grpc;
+
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.time.Duration;
+import java.util.Properties;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import dev.resteasy.grpc.bridge.runtime.server.GrpcServerConfig;
+import dev.resteasy.grpc.bridge.runtime.server.NettyServerTransport;
+import io.grpc.Server;
+import io.grpc.ServerBuilder;
+
+/**
+ * Checks the parsing of {@link GrpcServerConfig} and that {@link NettyServerTransport} produces a Netty
+ * server which starts with the configured settings. Runs without a container.
+ */
+public class GrpcServerConfigTest {
+
+    @Test
+    public void testDefaults() {
+        GrpcServerConfig config = GrpcServerConfig.load(new Properties());
+        Assertions.assertEquals(GrpcServerConfig.DEFAULT_PORT, config.getPort());
+        Assertions.assertEquals(GrpcServerConfig.Transport.AUTO, config.getTransport());
+        Assertions.assertEquals(GrpcServerConfig.CallExecutor.DEFAULT, config.getExecutor());
+        Assertions.assertNull(config.getMaxInboundMessageSize());
+        Assertions.assertNull(config.getKeepAliveTime());
+        Assertions.assertFalse(config.hasNettySettings());
+        Assertions.assertNull(config.createCallExecutor());
+    }
+
+    @Test
+    public void testParsing() {
+        Properties properties = new Properties();
+        properties.setProperty(GrpcServerConfig.PORT, "9000");
+        properties.setProperty(GrpcServerConfig.TRANSPORT, "NIO");
+        properties.setProperty(GrpcServerConfig.EXECUTOR, "direct");
+        properties.setProperty(GrpcServerConfig.MAX_INBOUND_MESSAGE_SIZE, "16777216");
+        properties.setProperty(GrpcServerConfig.KEEP_ALIVE_TIME, "30");
+        properties.setProperty(GrpcServerConfig.KEEP_ALIVE_TIMEOUT, "PT0.5S");
+        properties.setProperty(GrpcServerConfig.PERMIT_KEEP_ALIVE_WITHOUT_CALLS, "TRUE");
+        GrpcServerConfig config = GrpcServerConfig.load(properties);
+        Assertions.assertEquals(9000, config.getPort());
+        Assertions.assertEquals(GrpcServerConfig.Transport.NIO, config.getTransport());
+        Assertions.assertEquals(GrpcServerConfig.CallExecutor.DIRECT, config.getExecutor());
+        Assertions.assertEquals(16777216, config.getMaxInboundMessageSize());
+        Assertions.assertEquals(Duration.ofSeconds(30), config.getKeepAliveTime());
+        Assertions.assertEquals(Duration.ofMillis(500), config.getKeepAliveTimeout());
+        Assertions.assertEquals(Boolean.TRUE, config.getPermitKeepAliveWithoutCalls());
+        Assertions.assertTrue(config.hasNettySettings());
+    }
+
+    @Test
+    public void testLifecycle() {
+        GrpcServerConfig config = GrpcServerConfig.load(new Properties());
+        Assertions.assertTrue(config.isAutoStart());
+        Assertions.assertTrue(config.isWarmUp());
+        Assertions.assertTrue(config.getWarmUpMethods().isEmpty());
+        Assertions.assertFalse(config.isWarmUpMethod("getInt"));
+        Assertions.assertEquals(GrpcServerConfig.DEFAULT_WARM_UP_ITERATIONS, config.getWarmUpIterations());
+        Assertions.assertEquals(GrpcServerConfig.DEFAULT_WARM_UP_TIMEOUT, config.getWarmUpTimeout());
+
+        Properties properties = new Properties();
+        properties.setProperty(GrpcServerConfig.AUTOSTART, "false");
+        properties.setProperty(GrpcServerConfig.WARM_UP_METHODS, " getInt, getString ,");
+        properties.setProperty(GrpcServerConfig.WARM_UP_ITERATIONS, "10");
+        properties.setProperty(GrpcServerConfig.WARM_UP_TIMEOUT, "5");
+        config = GrpcServerConfig.load(properties);
+        Assertions.assertFalse(config.isAutoStart());
+        Assertions.assertEquals(Set.of("getInt", "getString"), config.getWarmUpMethods());
+        Assertions.assertTrue(config.isWarmUpMethod("getString"));
+        Assertions.assertFalse(config.isWarmUpMethod("getLong"));
+        Assertions.assertEquals(10, config.getWarmUpIterations());
+        Assertions.assertEquals(Duration.ofSeconds(5), config.getWarmUpTimeout());
+
+        properties.setProperty(GrpcServerConfig.WARM_UP_METHODS, "*");
+        Assertions.assertTrue(GrpcServerConfig.load(properties).isWarmUpMethod("getLong"));
+    }
+
+    @Test
+    public void testInvalidValues() {
+        assertInvalid(GrpcServerConfig.PORT, "-1");
+        assertInvalid(GrpcServerConfig.TRANSPORT, "kqueue");
+        assertInvalid(GrpcServerConfig.EXECUTOR, "virtual");
+        assertInvalid(GrpcServerConfig.KEEP_ALIVE_TIME, "30 seconds");
+        assertInvalid(GrpcServerConfig.PERMIT_KEEP_ALIVE_WITHOUT_CALLS, "yes");
+        assertInvalid(GrpcServerConfig.WARM_UP_ITERATIONS, "0");
+    }
+
+    @Test
+    public void testNettyServer() throws Exception {
+        Properties properties = new Properties();
+        properties.setProperty(GrpcServerConfig.PORT, Integer.toString(freePort()));
+        properties.setProperty(GrpcServerConfig.BIND_ADDRESS, "127.0.0.1");
+        properties.setProperty(GrpcServerConfig.TRANSPORT, "nio");
+        properties.setProperty(GrpcServerConfig.BOSS_THREADS, "1");
+        properties.setProperty(GrpcServerConfig.WORKER_THREADS, "2");
+        properties.setProperty(GrpcServerConfig.INITIAL_FLOW_CONTROL_WINDOW, "1048576");
+        properties.setProperty(GrpcServerConfig.MAX_CONCURRENT_CALLS_PER_CONNECTION, "100");
+        GrpcServerConfig config = GrpcServerConfig.load(properties);
+        NettyServerTransport transport = NettyServerTransport.create(config, getClass().getClassLoader());
+        Assertions.assertNotNull(transport);
+        try {
+            ServerBuilder<?> builder = (ServerBuilder<?>) transport.getServerBuilder();
+            Server server = builder.maxInboundMessageSize(1024 * 1024).build().start();
+            try {
+                Assertions.assertEquals(config.getPort(), server.getPort());
+            } finally {
+                server.shutdown().awaitTermination(10, TimeUnit.SECONDS);
+            }
+        } finally {
+            transport.close();
+        }
+    }
+
+    private static void assertInvalid(final String key, final String value) {
+        Properties properties = new Properties();
+        properties.setProperty(key, value);
+        Assertions.assertThrows(IllegalArgumentException.class, () -> GrpcServerConfig.load(properties));
+    }
+
+    private static int freePort() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+}
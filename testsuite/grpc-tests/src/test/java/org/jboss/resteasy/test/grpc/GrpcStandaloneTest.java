@@ -0,0 +1,163 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ *
+ * Copyright 2026 Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jboss.resteasy.test.grpc;
+
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.util.concurrent.TimeUnit;
+
+import org.jboss.logging.Logger;
+import org.jboss.resteasy.plugins.server.servlet.ResteasyContextParameters;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+
+import dev.resteasy.grpc.bridge.runtime.server.GrpcServerConfig;
+import dev.resteasy.grpc.bridge.runtime.server.WarmUp;
+import dev.resteasy.grpc.bridge.runtime.standalone.StandaloneBridge;
+import dev.resteasy.grpc.example.CC1;
+import dev.resteasy.grpc.example.CC1ServiceGrpc;
+import dev.resteasy.grpc.example.CC1ServiceGrpc.CC1ServiceBlockingStub;
+import dev.resteasy.grpc.example.CC1MessageBodyReaderWriter;
+import dev.resteasy.grpc.example.CC1_Server;
+import dev.resteasy.grpc.example.CC1_proto.GeneralEntityMessage;
+import dev.resteasy.grpc.example.CC1_proto.gInteger;
+import dev.resteasy.grpc.example.CC1_proto.gString;
+import io.grpc.ManagedChannel;
+import io.grpc.ManagedChannelBuilder;
+
+/**
+ * Runs CC1 with a {@link StandaloneBridge}, in the test JVM and without a container, and calls it both over
+ * TCP and over the in-process transport.
+ */
+public class GrpcStandaloneTest {
+
+    private static final Logger LOG = Logger.getLogger(GrpcStandaloneTest.class);
+
+    private static StandaloneBridge bridge;
+    private static CC1_Server server;
+    private static int port;
+    private static ManagedChannel tcpChannel;
+    private static ManagedChannel inProcessChannel;
+    private static long startupMillis;
+
+    @BeforeAll
+    public static void beforeClass() throws Exception {
+        // The first start in a JVM pays for class loading, so the second one is measured
+        start();
+        stop();
+        final long start = System.nanoTime();
+        start();
+        startupMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+        LOG.infof("Standalone bridge, server and warm-up started in %d ms", startupMillis);
+        tcpChannel = ManagedChannelBuilder.forAddress("localhost", port).usePlaintext().build();
+        inProcessChannel = CC1_Server.newInProcessChannel();
+    }
+
+    @AfterAll
+    public static void afterClass() throws InterruptedException {
+        if (inProcessChannel != null) {
+            inProcessChannel.shutdownNow().awaitTermination(5, TimeUnit.SECONDS);
+        }
+        if (tcpChannel != null) {
+            tcpChannel.shutdownNow().awaitTermination(5, TimeUnit.SECONDS);
+        }
+        stop();
+    }
+
+    private static void start() throws Exception {
+        port = freePort();
+        bridge = StandaloneBridge.builder(CC1_Server.SERVLET_NAME)
+                .contextPath("/grpc-test")
+                .resources(CC1.class)
+                .providers(CC1MessageBodyReaderWriter.class)
+                .initParameter("resteasy.use.builtin.providers", "false")
+                .initParameter(ResteasyContextParameters.RESTEASY_SERVLET_MAPPING_PREFIX, "/grpcToJakartaRest")
+                .initParameter(GrpcServerConfig.PORT, Integer.toString(port))
+                .initParameter(GrpcServerConfig.WARM_UP_METHODS, "getInt")
+                .initParameter(GrpcServerConfig.WARM_UP_ITERATIONS, "100")
+                .start();
+        server = CC1_Server.startStandalone(bridge, GrpcServerConfig.load(bridge.getServletContext()));
+    }
+
+    private static void stop() throws InterruptedException {
+        if (server != null) {
+            server.shutdown();
+            server = null;
+        }
+        if (bridge != null) {
+            bridge.close();
+            bridge = null;
+        }
+    }
+
+    @Test
+    public void testStarted() {
+        Assertions.assertNotNull(bridge.getDeployment());
+        Assertions.assertTrue(CC1_Server.isReady());
+        Assertions.assertEquals("/grpc-test", CC1_Server.getServletContext().getContextPath());
+    }
+
+    /**
+     * The deployment, the server and the warm-up together. Wall-clock bounds depend on the machine, so this only
+     * runs with {@code -Dgrpc.benchmark=true}.
+     */
+    @Test
+    @EnabledIfSystemProperty(named = "grpc.benchmark", matches = "true")
+    public void testStartupTime() {
+        Assertions.assertTrue(startupMillis < 500, "started in " + startupMillis + " ms");
+    }
+
+    @Test
+    public void testWarmUpResolvesResourceMethods() {
+        // getInt, getString, translation and the rest of CC1, without calling any of them
+        Assertions.assertTrue(WarmUp.invokers(bridge.getDeployment().getDispatcher()) > 10);
+    }
+
+    @Test
+    public void testInt() {
+        final GeneralEntityMessage gem = GeneralEntityMessage.newBuilder()
+                .setGIntegerField(gInteger.newBuilder().setValue(3))
+                .build();
+        for (ManagedChannel channel : new ManagedChannel[] { tcpChannel, inProcessChannel }) {
+            final CC1ServiceBlockingStub stub = CC1ServiceGrpc.newBlockingStub(channel);
+            Assertions.assertEquals(4, stub.getInt(gem).getGIntegerField().getValue());
+        }
+    }
+
+    @Test
+    public void testString() {
+        final GeneralEntityMessage gem = GeneralEntityMessage.newBuilder()
+                .setGStringField(gString.newBuilder().setValue("abc"))
+                .build();
+        for (ManagedChannel channel : new ManagedChannel[] { tcpChannel, inProcessChannel }) {
+            final CC1ServiceBlockingStub stub = CC1ServiceGrpc.newBlockingStub(channel);
+            Assertions.assertEquals("ABC", stub.getString(gem).getGStringField().getValue());
+        }
+    }
+
+    private static int freePort() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+}
@@ -0,0 +1,128 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ *
+ * Copyright 2026 Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.resteasy.test.grpc;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import jakarta.ws.rs.core.GenericType;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import com.google.protobuf.Message;
+
+import dev.resteasy.grpc.example.CC13;
+import dev.resteasy.grpc.example.CC1JavabufTranslator;
+import dev.resteasy.grpc.example.CC1_proto.dev_resteasy_grpc_example___CC13;
+import dev.resteasy.grpc.example.CC1_proto.dev_resteasy_grpc_example___CC3;
+import dev.resteasy.grpc.example.CC1_proto.dev_resteasy_grpc_example___CC9;
+import dev.resteasy.grpc.example.CC2;
+import dev.resteasy.grpc.example.CC3;
+import dev.resteasy.grpc.example.CC4;
+import dev.resteasy.grpc.example.CC5;
+import dev.resteasy.grpc.example.CC9;
+import dev.resteasy.grpc.example.RecordCC2;
+
+/**
+ * Translates objects to javabuf and back with the generated {@link CC1JavabufTranslator}. Each object is
+ * translated more than once, so that the later translations go through the field accessors, instantiation
+ * plans and dispatch maps cached by the first one, and have to give the same results.
+ */
+public class GrpcTranslationTest {
+
+    private static final CC1JavabufTranslator translator = new CC1JavabufTranslator();
+
+    @Test
+    public void testScalarFields() throws Exception {
+        CC9 cc9 = new CC9(true, (byte) 1, (short) 2, 3, 4L, 5.0f, 6.0d, '7', new CC3("eight"));
+        dev_resteasy_grpc_example___CC3 cc3 = dev_resteasy_grpc_example___CC3.newBuilder().setS("eight").build();
+        dev_resteasy_grpc_example___CC9 expected = dev_resteasy_grpc_example___CC9.newBuilder()
+                .setBo(true)
+                .setBy((byte) 1)
+                .setS((short) 2)
+                .setI(3)
+                .setL(4L)
+                .setF(5.0f)
+                .setD(6.0d)
+                .setC("7")
+                .setCc3(cc3)
+                .build();
+        Message first = translator.translateToJavabuf(cc9);
+        Assertions.assertEquals(expected, first);
+        Assertions.assertEquals(first, translator.translateToJavabuf(cc9));
+        Assertions.assertEquals(first, translator.translateToJavabuf(translator.translateFromJavabuf(first)));
+    }
+
+    @Test
+    public void testRoundTrip() throws Exception {
+        CC13 cc13 = newCC13();
+        Message first = translator.translateToJavabuf(cc13);
+        dev_resteasy_grpc_example___CC13 javabuf = (dev_resteasy_grpc_example___CC13) first;
+        Assertions.assertEquals(3, javabuf.getI());
+        Assertions.assertEquals(4L, javabuf.getL());
+        Assertions.assertEquals(5, javabuf.getBy());
+        Assertions.assertEquals("c", javabuf.getC());
+        Assertions.assertEquals("thirteen", javabuf.getS());
+        Assertions.assertEquals(6, javabuf.getIi());
+        Assertions.assertEquals("four", javabuf.getCc4().getS());
+        Assertions.assertEquals(5, javabuf.getCc4().getCc5().getK());
+
+        Assertions.assertEquals(first, translator.translateToJavabuf(cc13));
+        Assertions.assertEquals(first, translator.translateToJavabuf(cc13, new GenericType<CC13>() {
+        }));
+        Assertions.assertEquals(cc13, translator.translateFromJavabuf(first));
+        Assertions.assertEquals(cc13, translator.translateFromJavabuf(first));
+        Assertions.assertEquals(cc13,
+                translator.translateFromJavabuf(dev_resteasy_grpc_example___CC13.parseFrom(first.toByteArray())));
+    }
+
+    @Test
+    public void testEmptyCollections() throws Exception {
+        CC13 cc13 = newCC13();
+        cc13.cc2s = new ArrayList<CC2>();
+        cc13.cc5s = new HashMap<String, CC5>();
+        Message message = translator.translateToJavabuf(cc13);
+        Assertions.assertEquals(cc13, translator.translateFromJavabuf(message));
+        Assertions.assertEquals(message, translator.translateToJavabuf(translator.translateFromJavabuf(message)));
+    }
+
+    @Test
+    public void testRecord() throws Exception {
+        RecordCC2 record = new RecordCC2(new CC2("two", 2), 3);
+        Message first = translator.translateToJavabuf(record);
+        Assertions.assertEquals(first, translator.translateToJavabuf(record));
+        Assertions.assertEquals(record, translator.translateFromJavabuf(first));
+        Assertions.assertEquals(record, translator.translateFromJavabuf(first));
+    }
+
+    private static CC13 newCC13() {
+        List<CC2> cc2s = new ArrayList<CC2>();
+        cc2s.add(new CC2("a", 1));
+        cc2s.add(new CC2("b", 2));
+        Map<String, CC5> cc5s = new HashMap<String, CC5>();
+        cc5s.put("x", new CC5(7));
+        cc5s.put("y", new CC5(8));
+        CC13 cc13 = new CC13(3, 4L, (byte) 5, 'c', "thirteen", new CC4("four", new CC5(5)), cc2s, cc5s);
+        cc13.ii = 6;
+        return cc13;
+    }
+}